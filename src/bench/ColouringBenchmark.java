@@ -0,0 +1,58 @@
+package bench;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import model.algorithm.Colouring;
+import model.algorithm.CsrSnapshot;
+
+// Compares the two greedy colourings of model.algorithm.Colouring on random graphs of growing size,
+// reporting the median running time and the number of colours of each. Smallest-last won at every size
+// measured, so it is the one GraphPanel uses.
+public class ColouringBenchmark {
+    private static final int[] SIZES = {1_000, 10_000, 100_000, 1_000_000};
+    private static final int AVERAGE_DEGREE = 8;
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+
+    public static void main(String[] args) {
+        System.out.printf("%10s %16s %10s %16s %10s%n", "vertices", "smallest-last ms", "colours",
+                "jones-plassmann ms", "colours");
+        for (int n : SIZES) {
+            CsrSnapshot g = randomGraph(n, (long) n * AVERAGE_DEGREE / 2, n);
+            int[] sequential = Colouring.smallestLast(g);
+            int[] parallel = Colouring.jonesPlassmann(g, n);
+            System.out.printf("%10d %16.2f %10d %16.2f %10d%n", n,
+                    medianMillis(() -> Colouring.smallestLast(g)), Colouring.numOfColours(sequential),
+                    medianMillis(() -> Colouring.jonesPlassmann(g, n)), Colouring.numOfColours(parallel));
+        }
+    }
+
+    // EFFECTS: returns the median wall-clock time in milliseconds of MEASURED_RUNS runs of task, after
+    // WARMUP_RUNS unmeasured runs
+    private static double medianMillis(Runnable task) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            task.run();
+        }
+        double[] times = new double[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            task.run();
+            times[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(times);
+        return times[MEASURED_RUNS / 2];
+    }
+
+    // EFFECTS: returns a graph with n vertices and m edges whose endpoints are drawn uniformly at random
+    private static CsrSnapshot randomGraph(int n, long m, long seed) {
+        Random random = new Random(seed);
+        int[] firstEnd = new int[(int) m];
+        int[] secondEnd = new int[(int) m];
+        for (int i = 0; i < m; i++) {
+            firstEnd[i] = random.nextInt(n);
+            secondEnd[i] = random.nextInt(n);
+        }
+        return CsrSnapshot.fromEdgeList(n, firstEnd, secondEnd);
+    }
+}
@@ -0,0 +1,93 @@
+package bench;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import model.ConcurrentGraph;
+import model.exception.GraphException;
+
+// Measures how the throughput of model.ConcurrentGraph grows with the number of threads adding to it:
+// every thread adds its share of VERTICES vertices, then its share of EDGES random edges, and the
+// median time of the whole ingestion is reported as operations per second and as a speedup over one
+// thread. Scaling is bounded by the number of processors, which is printed first.
+public class ConcurrentGraphBenchmark {
+    private static final int[] THREADS = {1, 2, 4, 8, 16};
+    private static final int VERTICES = 200_000;
+    private static final int EDGES = 800_000;
+    private static final int WARMUP_RUNS = 2;
+    private static final int MEASURED_RUNS = 5;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.printf("%d processors%n", Runtime.getRuntime().availableProcessors());
+        System.out.printf("%8s %12s %14s %8s%n", "threads", "ms", "ops/s", "speedup");
+        double single = 0;
+        for (int threads : THREADS) {
+            double millis = medianMillis(threads);
+            single = threads == 1 ? millis : single;
+            System.out.printf("%8d %12.1f %14.0f %8.2f%n", threads, millis,
+                    (VERTICES + EDGES) / millis * 1000, single / millis);
+        }
+    }
+
+    // EFFECTS: returns the median wall-clock time in milliseconds of MEASURED_RUNS ingestions by the
+    // given number of threads, after WARMUP_RUNS unmeasured ones
+    private static double medianMillis(int threads) throws InterruptedException {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            ingest(threads);
+        }
+        double[] times = new double[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            times[i] = ingest(threads);
+        }
+        Arrays.sort(times);
+        return times[MEASURED_RUNS / 2];
+    }
+
+    // EFFECTS: fills a new graph using the given number of threads, and returns the time taken in
+    // milliseconds
+    private static double ingest(int threads) throws InterruptedException {
+        ConcurrentGraph graph = new ConcurrentGraph();
+        long start = System.nanoTime();
+        runAll(threads, t -> {
+            for (int label = t + 1; label <= VERTICES; label += threads) {
+                graph.addVertex(label, label, label);
+            }
+        });
+        runAll(threads, t -> {
+            Random random = new Random(t);
+            for (int i = t; i < EDGES; i += threads) {
+                graph.addEdge(random.nextInt(VERTICES) + 1, random.nextInt(VERTICES) + 1);
+            }
+        });
+        double millis = (System.nanoTime() - start) / 1e6;
+        if (graph.numOfVertices() != VERTICES || graph.numOfEdges() != EDGES) {
+            throw new IllegalStateException("lost updates");
+        }
+        return millis;
+    }
+
+    // EFFECTS: runs work on the given number of threads, numbered 0.., and waits for all of them
+    private static void runAll(int threads, Work work) throws InterruptedException {
+        Thread[] running = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int number = t;
+            running[t] = new Thread(() -> {
+                try {
+                    work.run(number);
+                } catch (GraphException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            running[t].start();
+        }
+        for (Thread thread : running) {
+            thread.join();
+        }
+    }
+
+    // The part of an ingestion done by one thread.
+    private interface Work {
+        // EFFECTS: does the share of the thread with this number
+        void run(int thread) throws GraphException;
+    }
+}
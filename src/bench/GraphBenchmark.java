@@ -0,0 +1,230 @@
+package bench;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import model.Graph;
+import model.Vertex;
+import model.generator.ErdosRenyi;
+import persistence.GraphWriter;
+import ui.GraphPanel;
+
+// Times the core operations of model.Graph, its loading and saving, and GraphPanel.paintComponent into a
+// BufferedImage, on random graphs of 1k to 10M vertices (with EDGES_PER_VERTEX times as many edges), so
+// that every optimization can be checked against a baseline. Each case reports the median time per
+// operation of MEASURED_RUNS runs, after WARMUP_RUNS unmeasured ones. A case stops growing once the next
+// size is predicted, from how its time grew so far, to take longer than BUDGET_MILLIS, or once it runs
+// out of memory. The cases to run can be named as arguments; all of them run by default.
+public class GraphBenchmark {
+    private static final int[] SIZES = {1_000, 10_000, 100_000, 1_000_000, 10_000_000};
+    private static final int EDGES_PER_VERTEX = 2;
+    private static final int QUERIES = 1_000; // per run of the cheap operations
+    private static final int SLOW_QUERIES = 10; // per run of the operations that scan the Graph
+    private static final int SPACING = 40; // Graph units between neighbouring vertices of the layout
+    private static final int WARMUP_RUNS = 1;
+    private static final int MEASURED_RUNS = 3;
+    private static final long BUDGET_MILLIS = 60_000;
+    private static final int VIEW_WIDTH = 1280;
+    private static final int VIEW_HEIGHT = 800;
+    private static final Map<String, Case> CASES = new LinkedHashMap<>();
+    private static volatile Object sink; // results are stored here, so that their computation is not skipped
+
+    static {
+        CASES.put("addVertex", GraphBenchmark::addVertices);
+        CASES.put("addEdge", GraphBenchmark::addEdges);
+        CASES.put("removeVertex", GraphBenchmark::removeVertices);
+        CASES.put("vertexWithLabel", GraphBenchmark::findLabels);
+        CASES.put("hasEdge", GraphBenchmark::findEdges);
+        CASES.put("firstUnusedLabel", GraphBenchmark::findUnusedLabels);
+        CASES.put("getEdges", GraphBenchmark::listEdges);
+        CASES.put("load", GraphBenchmark::load);
+        CASES.put("write", GraphBenchmark::write);
+        CASES.put("paint", GraphBenchmark::paint);
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        System.out.printf("%-18s %10s %14s %10s%n", "case", "vertices", "us/op", "total s");
+        for (String name : args.length > 0 ? Arrays.asList(args) : CASES.keySet()) {
+            run(name, CASES.get(name));
+        }
+    }
+
+    // EFFECTS: runs the given case at growing sizes while it stays within budget, printing a line each
+    private static void run(String name, Case benchmark) throws Exception {
+        double previous = 0;
+        for (int n : SIZES) {
+            long start = System.nanoTime();
+            double micros;
+            try {
+                micros = medianMicros(benchmark.prepare(n));
+            } catch (OutOfMemoryError e) {
+                System.out.printf("%-18s %10d %14s%n", name, n, "out of memory");
+                return;
+            }
+            double millis = (System.nanoTime() - start) / 1e6;
+            System.out.printf("%-18s %10d %14.2f %10.1f%n", name, n, micros, millis / 1000);
+            double predicted = millis * Math.max(10, previous > 0 ? millis / previous : 0);
+            if (predicted > BUDGET_MILLIS) {
+                return;
+            }
+            previous = millis;
+        }
+    }
+
+    // EFFECTS: returns the median time in microseconds per operation of MEASURED_RUNS runs of trial, after
+    // WARMUP_RUNS unmeasured runs
+    private static double medianMicros(Trial trial) throws Exception {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            trial.run();
+        }
+        double[] times = new double[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            int operations = trial.run();
+            times[i] = (System.nanoTime() - start) / 1e3 / operations;
+        }
+        Arrays.sort(times);
+        return times[MEASURED_RUNS / 2];
+    }
+
+    // EFFECTS: returns a Graph of n vertices labelled 1..n on a square grid, without edges
+    private static Graph vertices(int n) throws Exception {
+        Graph g = new Graph();
+        int side = (int) Math.ceil(Math.sqrt(n));
+        for (int label = 1; label <= n; label++) {
+            g.addVertex(new Vertex(label, (label - 1) % side * SPACING, (label - 1) / side * SPACING));
+        }
+        return g;
+    }
+
+    // EFFECTS: returns a Graph of n vertices labelled 1..n, and EDGES_PER_VERTEX * n edges between vertices
+    // chosen uniformly at random, built through the bulk operations of Graph
+    private static Graph graph(int n) {
+        return new ErdosRenyi(n, (long) EDGES_PER_VERTEX * n, n).toGraph();
+    }
+
+    private static Trial addVertices(int n) {
+        return () -> vertices(n).getVertices().size();
+    }
+
+    private static Trial addEdges(int n) throws Exception {
+        Graph g = vertices(n);
+        Random random = new Random(n);
+        return () -> {
+            for (int i = 0; i < QUERIES; i++) {
+                g.addEdge(random.nextInt(n) + 1, random.nextInt(n) + 1);
+            }
+            return QUERIES;
+        };
+    }
+
+    private static Trial removeVertices(int n) throws Exception {
+        Graph g = graph(n);
+        int[] next = {1}; // the labels are removed in increasing order
+        return () -> {
+            for (int i = 0; i < SLOW_QUERIES; i++) {
+                g.removeVertex(next[0]++);
+            }
+            return SLOW_QUERIES;
+        };
+    }
+
+    private static Trial findLabels(int n) throws Exception {
+        Graph g = vertices(n);
+        Random random = new Random(n);
+        return () -> {
+            for (int i = 0; i < QUERIES; i++) {
+                sink = g.vertexWithLabel(random.nextInt(n) + 1);
+            }
+            return QUERIES;
+        };
+    }
+
+    private static Trial findEdges(int n) throws Exception {
+        Graph g = graph(n);
+        Random random = new Random(n);
+        return () -> {
+            for (int i = 0; i < QUERIES; i++) {
+                sink = g.hasEdge(random.nextInt(n) + 1, random.nextInt(n) + 1);
+            }
+            return QUERIES;
+        };
+    }
+
+    private static Trial findUnusedLabels(int n) throws Exception {
+        Graph g = vertices(n);
+        return () -> {
+            for (int i = 0; i < SLOW_QUERIES; i++) {
+                sink = g.firstUnusedLabel();
+            }
+            return SLOW_QUERIES;
+        };
+    }
+
+    private static Trial listEdges(int n) throws Exception {
+        Graph g = graph(n);
+        return () -> {
+            sink = g.getEdges();
+            return 1;
+        };
+    }
+
+    private static Trial load(int n) throws Exception {
+        File file = File.createTempFile("graph", ".json");
+        file.deleteOnExit();
+        save(graph(n), file);
+        return () -> {
+            sink = new Graph(file);
+            return 1;
+        };
+    }
+
+    private static Trial write(int n) throws Exception {
+        Graph g = graph(n);
+        File file = File.createTempFile("graph", ".json");
+        file.deleteOnExit();
+        return () -> {
+            save(g, file);
+            return 1;
+        };
+    }
+
+    // EFFECTS: saves g to file
+    private static void save(Graph g, File file) throws Exception {
+        GraphWriter writer = new GraphWriter(file);
+        writer.open();
+        writer.write(g);
+        writer.close();
+    }
+
+    private static Trial paint(int n) throws Exception {
+        GraphPanel panel = new GraphPanel();
+        panel.setSize(VIEW_WIDTH, VIEW_HEIGHT);
+        panel.showGraph(graph(n));
+        BufferedImage image = new BufferedImage(panel.getWidth(), panel.getHeight(), BufferedImage.TYPE_INT_RGB);
+        return () -> {
+            Graphics2D g = image.createGraphics();
+            panel.paintComponent(g);
+            g.dispose();
+            return 1;
+        };
+    }
+
+    // A benchmark of one operation.
+    private interface Case {
+        // EFFECTS: builds what the benchmark needs at size n, untimed, and returns the work to time
+        Trial prepare(int n) throws Exception;
+    }
+
+    // The timed work of a benchmark at one size.
+    private interface Trial {
+        // EFFECTS: does the work once and returns the number of operations it did
+        int run() throws Exception;
+    }
+}
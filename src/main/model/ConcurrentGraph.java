@@ -0,0 +1,220 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import model.exception.*;
+
+// Undirected graph that several threads may add vertices and edges to at the same time, e.g. while
+// ingesting a large graph, before it is handed over to a Graph with toGraph(). Vertices are found by
+// label in a concurrent index. The edge list of a vertex is guarded by one of STRIPES locks, chosen by
+// the hash of its label; an edge update takes the locks of both ends in increasing stripe order, so
+// two updates can never wait for each other. Vertices cannot be removed.
+public class ConcurrentGraph {
+    private static final int STRIPES = 256; // a power of two, well above the number of threads
+
+    private final Map<Integer, Node> vertices = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[STRIPES];
+    private final AtomicLong numOfEdges = new AtomicLong();
+    private final AtomicLong version = new AtomicLong();
+
+    // EFFECTS: creates an empty graph
+    public ConcurrentGraph() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    // EFFECTS: returns the stripe guarding the vertex with this label
+    private static int stripe(int label) {
+        return (label * 0x9E3779B9) >>> 24; // Fibonacci hashing, so runs of labels spread out
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds a vertex with this label at (x, y).
+    // If label is negative, throws NegativeLabelException.
+    // If label already exists, throws UsedLabelException.
+    public void addVertex(int label, int x, int y) throws GraphException {
+        if (label <= 0) {
+            throw new NegativeLabelException();
+        }
+        if (vertices.putIfAbsent(label, new Node(x, y)) != null) {
+            throw new UsedLabelException();
+        }
+        version.incrementAndGet();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds an edge between the vertices with these labels.
+    // If either label is negative, throws NegativeLabelException.
+    // If either label doesn't exist, throws MissingLabelException.
+    public void addEdge(int firstLabel, int secondLabel) throws GraphException {
+        Node first = node(firstLabel);
+        Node second = node(secondLabel);
+        synchronized (lowerLock(firstLabel, secondLabel)) {
+            synchronized (higherLock(firstLabel, secondLabel)) {
+                first.add(secondLabel);
+                second.add(firstLabel);
+            }
+        }
+        numOfEdges.incrementAndGet();
+        version.incrementAndGet();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the first edge found between the vertices with these labels, and returns true if
+    // there was one.
+    // If either label is negative, throws NegativeLabelException.
+    // If either label doesn't exist, throws MissingLabelException.
+    public boolean removeEdge(int firstLabel, int secondLabel) throws GraphException {
+        Node first = node(firstLabel);
+        Node second = node(secondLabel);
+        synchronized (lowerLock(firstLabel, secondLabel)) {
+            synchronized (higherLock(firstLabel, secondLabel)) {
+                if (!first.remove(secondLabel)) {
+                    return false;
+                }
+                second.remove(firstLabel);
+            }
+        }
+        numOfEdges.decrementAndGet();
+        version.incrementAndGet();
+        return true;
+    }
+
+    // EFFECTS: returns the vertex with this label.
+    // If label is negative, throws NegativeLabelException.
+    // If label doesn't exist, throws MissingLabelException.
+    private Node node(int label) throws GraphException {
+        if (label <= 0) {
+            throw new NegativeLabelException();
+        }
+        Node result = vertices.get(label);
+        if (result == null) {
+            throw new MissingLabelException();
+        }
+        return result;
+    }
+
+    // EFFECTS: returns the lock of the two labels' stripes to take first
+    private Object lowerLock(int firstLabel, int secondLabel) {
+        return locks[Math.min(stripe(firstLabel), stripe(secondLabel))];
+    }
+
+    // EFFECTS: returns the lock of the two labels' stripes to take second (the same lock if they share one)
+    private Object higherLock(int firstLabel, int secondLabel) {
+        return locks[Math.max(stripe(firstLabel), stripe(secondLabel))];
+    }
+
+    // EFFECTS: returns true if there is an edge between the vertices with these labels
+    public boolean hasEdge(int firstLabel, int secondLabel) {
+        Node first = vertices.get(firstLabel);
+        if (first == null || !vertices.containsKey(secondLabel)) {
+            return false;
+        }
+        synchronized (locks[stripe(firstLabel)]) {
+            return first.indexOf(secondLabel) >= 0;
+        }
+    }
+
+    // EFFECTS: returns the number of edges of the vertex with this label (a self-loop counts twice), or 0
+    // if there is none
+    public int degree(int label) {
+        Node node = vertices.get(label);
+        if (node == null) {
+            return 0;
+        }
+        synchronized (locks[stripe(label)]) {
+            return node.size;
+        }
+    }
+
+    public boolean containsLabel(int label) {
+        return vertices.containsKey(label);
+    }
+
+    public int numOfVertices() {
+        return vertices.size();
+    }
+
+    public long numOfEdges() {
+        return numOfEdges.get();
+    }
+
+    // EFFECTS: returns the number of changes made to the graph so far
+    public long getVersion() {
+        return version.get();
+    }
+
+    // REQUIRES: no other thread changes this graph meanwhile
+    // EFFECTS: returns a Graph with the same vertices, in increasing order of label, and the same edges
+    public Graph toGraph() throws GraphException {
+        Graph result = new Graph();
+        Integer[] labels = vertices.keySet().toArray(new Integer[0]);
+        Arrays.sort(labels);
+        for (int label : labels) {
+            Node node = vertices.get(label);
+            result.addVertex(new Vertex(label, node.xpos, node.ypos));
+        }
+        for (int label : labels) {
+            Node node = vertices.get(label);
+            boolean loopSeen = false; // a self-loop has two entries in the edge list
+            for (int k = 0; k < node.size; k++) {
+                int other = node.ends[k];
+                loopSeen = other == label ? !loopSeen : loopSeen;
+                if (label < other || other == label && loopSeen) {
+                    result.addEdge(label, other);
+                }
+            }
+        }
+        return result;
+    }
+
+    // A vertex: its position and the labels of the other ends of its edges, in the order they were added.
+    // The edge list is guarded by the lock of the vertex's stripe.
+    private static final class Node {
+        private final int xpos;
+        private final int ypos;
+        private int[] ends = new int[4];
+        private int size;
+
+        // EFFECTS: creates a vertex at (x, y) without edges
+        private Node(int x, int y) {
+            this.xpos = x;
+            this.ypos = y;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: adds end at the end of the edge list
+        private void add(int end) {
+            if (size == ends.length) {
+                ends = Arrays.copyOf(ends, 2 * size);
+            }
+            ends[size++] = end;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: removes the first occurrence of end from the edge list, and returns true if there was one
+        private boolean remove(int end) {
+            int k = indexOf(end);
+            if (k < 0) {
+                return false;
+            }
+            System.arraycopy(ends, k + 1, ends, k, size - k - 1);
+            size--;
+            return true;
+        }
+
+        // EFFECTS: returns the position of the first occurrence of end in the edge list, or -1
+        private int indexOf(int end) {
+            for (int k = 0; k < size; k++) {
+                if (ends[k] == end) {
+                    return k;
+                }
+            }
+            return -1;
+        }
+    }
+}
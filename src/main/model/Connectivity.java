@@ -0,0 +1,262 @@
+package model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Union-find over the vertices of a Graph, kept up to date while the Graph is being edited so that
+// connectivity queries take near-constant (inverse Ackermann) amortized time between edits.
+// Edge insertions are merged directly. Deletions run a bounded local search from the endpoints;
+// every piece the search enumerates completely is moved onto fresh union-find nodes, and the old
+// nodes stay behind as "ghosts" so that paths through them remain valid for the rest of the set.
+// Only when the search cannot decide does the structure fall back to a full rebuild on the next query.
+class Connectivity {
+    private static final int LOCAL_SEARCH_LIMIT = 4096; // vertices visited per deletion before giving up
+    private static final int GHOST_SLACK = 64;
+
+    private final Graph graph;
+    private final Map<Vertex, Integer> nodeOf;
+    private int[] parent;
+    private int[] rank;
+    private int numOfNodes;
+    private int numOfComponents;
+    private boolean stale;
+
+    // EFFECTS: creates an up-to-date union-find for the (possibly non-empty) graph
+    Connectivity(Graph graph) {
+        this.graph = graph;
+        this.nodeOf = new IdentityHashMap<>();
+        rebuild();
+    }
+
+    // EFFECTS: returns the estimated bytes of the union-find, with the boxed node numbers in it
+    long estimatedBytes() {
+        return MemoryFootprint.object(3 * Integer.BYTES + 1 + 4 * MemoryFootprint.REFERENCE)
+                + MemoryFootprint.identityHashMap(nodeOf.size()) + nodeOf.size() * MemoryFootprint.INTEGER
+                + 2 * MemoryFootprint.array(parent.length, Integer.BYTES);
+    }
+
+    // EFFECTS: returns the number of connected components of the graph
+    int numOfComponents() {
+        refresh();
+        return numOfComponents;
+    }
+
+    // REQUIRES: both vertices are in the graph
+    // EFFECTS: returns true if there is a path connecting the two vertices
+    boolean isConnected(Vertex first, Vertex second) {
+        refresh();
+        return find(nodeOf.get(first)) == find(nodeOf.get(second));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: registers a newly added vertex as a component of its own, together with
+    // whatever edges it already carries.
+    void vertexAdded(Vertex v) {
+        if (stale) {
+            return;
+        }
+        nodeOf.put(v, newNode());
+        numOfComponents++;
+        for (Edge e : v.getAdjacent()) {
+            Integer other = nodeOf.get(e.getSecondVertex());
+            if (other != null) {
+                union(nodeOf.get(v), other);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: merges the components of the two endpoints of a newly added edge
+    void edgeAdded(Vertex first, Vertex second) {
+        if (stale) {
+            return;
+        }
+        union(nodeOf.get(first), nodeOf.get(second));
+    }
+
+    // REQUIRES: the edge has already been removed from the graph
+    // MODIFIES: this
+    // EFFECTS: splits the component of the two endpoints if the removed edge was a bridge
+    void edgeRemoved(Vertex first, Vertex second) {
+        if (stale || find(nodeOf.get(first)) != find(nodeOf.get(second))) {
+            return;
+        }
+        List<Vertex> sources = new ArrayList<>();
+        sources.add(first);
+        sources.add(second);
+        split(sources);
+    }
+
+    // REQUIRES: the vertex and all of its edges have already been removed from the graph;
+    // neighbours are the vertices it used to be adjacent to.
+    // MODIFIES: this
+    // EFFECTS: forgets the vertex and splits its former component into the pieces left behind
+    void vertexRemoved(Vertex v, List<Vertex> neighbours) {
+        if (stale) {
+            return;
+        }
+        nodeOf.remove(v);
+        neighbours.removeIf(n -> n == v || !nodeOf.containsKey(n));
+        split(neighbours);
+    }
+
+    // REQUIRES: all sources belonged to a single component before the deletion
+    // MODIFIES: this
+    // EFFECTS: enumerates, within LOCAL_SEARCH_LIMIT, the pieces of the old component reachable from
+    // the sources, then applies the split.
+    private void split(List<Vertex> sources) {
+        Map<Vertex, Boolean> visited = new IdentityHashMap<>();
+        List<List<Vertex>> pieces = new ArrayList<>();
+        int unexplored = 0;
+        int budget = LOCAL_SEARCH_LIMIT;
+        for (Vertex source : sources) {
+            if (visited.containsKey(source)) {
+                continue;
+            }
+            List<Vertex> piece = explore(source, visited, budget);
+            if (piece == null) {
+                unexplored++;
+                budget = 0;
+            } else {
+                pieces.add(piece);
+                budget -= piece.size();
+            }
+        }
+        applySplit(pieces, unexplored);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: if at most one piece of the old component is left unexplored, moves every other piece
+    // onto fresh nodes and updates the number of components; otherwise marks the structure stale.
+    private void applySplit(List<List<Vertex>> pieces, int unexplored) {
+        if (unexplored > 1) {
+            stale = true;
+            return;
+        }
+        int renamed = unexplored == 1 ? pieces.size() : pieces.size() - 1;
+        for (int i = 0; i < renamed; i++) {
+            renode(pieces.get(i));
+        }
+        numOfComponents += pieces.size() + unexplored - 1;
+        if (numOfNodes > 2 * nodeOf.size() + GHOST_SLACK) {
+            stale = true; // too many ghost nodes, compact on the next query
+        }
+    }
+
+    // MODIFIES: visited
+    // EFFECTS: breadth-first search from source; returns the whole piece containing it, or null if the
+    // piece has more than budget vertices.
+    private List<Vertex> explore(Vertex source, Map<Vertex, Boolean> visited, int budget) {
+        List<Vertex> piece = new ArrayList<>();
+        ArrayDeque<Vertex> queue = new ArrayDeque<>();
+        visited.put(source, true);
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            Vertex v = queue.poll();
+            if (piece.size() == budget) {
+                return null;
+            }
+            piece.add(v);
+            for (Edge e : v.getAdjacent()) {
+                Vertex next = e.getSecondVertex();
+                if (nodeOf.containsKey(next) && visited.put(next, true) == null) {
+                    queue.add(next);
+                }
+            }
+        }
+        return piece;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves a complete piece onto fresh nodes forming a single set
+    private void renode(List<Vertex> piece) {
+        int root = newNode();
+        for (Vertex v : piece) {
+            int node = root;
+            if (v != piece.get(0)) {
+                node = newNode();
+                parent[node] = root;
+            }
+            nodeOf.put(v, node);
+        }
+        rank[root] = 1;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: rebuilds the structure from scratch if it was marked stale
+    private void refresh() {
+        if (stale) {
+            rebuild();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: recomputes every component from the vertices and edges of the graph
+    private void rebuild() {
+        List<Vertex> vertices = graph.getVertices();
+        nodeOf.clear();
+        parent = new int[Math.max(vertices.size(), 1)];
+        rank = new int[parent.length];
+        numOfNodes = 0;
+        numOfComponents = 0;
+        stale = false;
+        for (Vertex v : vertices) {
+            nodeOf.put(v, newNode());
+            numOfComponents++;
+        }
+        for (Vertex v : vertices) {
+            for (Edge e : v.getAdjacent()) {
+                Integer other = nodeOf.get(e.getSecondVertex());
+                if (other != null) {
+                    union(nodeOf.get(v), other);
+                }
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: allocates a new singleton node and returns its index
+    private int newNode() {
+        if (numOfNodes == parent.length) {
+            parent = Arrays.copyOf(parent, parent.length * 2);
+            rank = Arrays.copyOf(rank, rank.length * 2);
+        }
+        parent[numOfNodes] = numOfNodes;
+        rank[numOfNodes] = 0;
+        return numOfNodes++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the root of the set containing node, halving the path on the way
+    private int find(int node) {
+        while (parent[node] != node) {
+            parent[node] = parent[parent[node]];
+            node = parent[node];
+        }
+        return node;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: merges the sets containing the two nodes (union by rank)
+    private void union(int first, int second) {
+        int a = find(first);
+        int b = find(second);
+        if (a == b) {
+            return;
+        }
+        if (rank[a] < rank[b]) {
+            int tmp = a;
+            a = b;
+            b = tmp;
+        }
+        parent[b] = a;
+        if (rank[a] == rank[b]) {
+            rank[a]++;
+        }
+        numOfComponents--;
+    }
+}
@@ -0,0 +1,143 @@
+package model;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+// Structure-of-arrays store of the positions of the vertices of a Graph. The vertex with id i (its
+// position in Graph.getVertices()) is at (x[i], y[i]), so loops over all positions (hit-testing,
+// layout, rendering) scan two dense int arrays instead of visiting every Vertex object. Removing a
+// vertex shifts the ones after it down, like the vertex list itself. Moves are reported to the Graph
+// owning the store, which keeps its snapshot up to date.
+public class Coordinates {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Graph owner;
+    private int[] xs;
+    private int[] ys;
+    private Vertex[] vertexAt;
+    private int size;
+
+    // EFFECTS: creates an empty store for the vertices of owner
+    Coordinates(Graph owner) {
+        this.owner = owner;
+        xs = new int[INITIAL_CAPACITY];
+        ys = new int[INITIAL_CAPACITY];
+        vertexAt = new Vertex[INITIAL_CAPACITY];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stores v at (x, y) with the next id and returns that id
+    int add(Vertex v, int x, int y) {
+        if (size == xs.length) {
+            xs = Arrays.copyOf(xs, 2 * size);
+            ys = Arrays.copyOf(ys, 2 * size);
+            vertexAt = Arrays.copyOf(vertexAt, 2 * size);
+        }
+        xs[size] = x;
+        ys[size] = y;
+        vertexAt[size] = v;
+        return size++;
+    }
+
+    // REQUIRES: 0 <= id < size()
+    // MODIFIES: this, the vertices after id
+    // EFFECTS: removes the vertex with this id, and gives every later vertex the id before its own
+    void remove(int id) {
+        System.arraycopy(xs, id + 1, xs, id, size - id - 1);
+        System.arraycopy(ys, id + 1, ys, id, size - id - 1);
+        System.arraycopy(vertexAt, id + 1, vertexAt, id, size - id - 1);
+        vertexAt[--size] = null;
+        for (int i = id; i < size; i++) {
+            vertexAt[i].setId(i);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getX(int id) {
+        return xs[id];
+    }
+
+    public int getY(int id) {
+        return ys[id];
+    }
+
+    public Vertex vertex(int id) {
+        return vertexAt[id];
+    }
+
+    // REQUIRES: 0 <= id < size()
+    // MODIFIES: this
+    // EFFECTS: moves the vertex with this id to (x, y)
+    public void setPos(int id, int x, int y) {
+        xs[id] = x;
+        ys[id] = y;
+        owner.vertexMoved(id, x, y);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves every vertex other than the one with id keep (which may be -1) to (x(id), y(id)); the
+    // Graph records all the moves at once, which is much cheaper than one setPos each
+    public void setAll(IntUnaryOperator x, IntUnaryOperator y, int keep) {
+        for (int i = 0; i < size; i++) {
+            if (i != keep) {
+                xs[i] = x.applyAsInt(i);
+                ys[i] = y.applyAsInt(i);
+            }
+        }
+        owner.verticesMoved();
+    }
+
+    // EFFECTS: returns the estimated bytes of this store, arrays included
+    long estimatedBytes() {
+        return MemoryFootprint.object(Integer.BYTES + 4 * MemoryFootprint.REFERENCE)
+                + 2 * MemoryFootprint.array(xs.length, Integer.BYTES)
+                + MemoryFootprint.array(vertexAt.length, MemoryFootprint.REFERENCE);
+    }
+
+    // EFFECTS: returns the Graph whose vertices are stored here
+    Graph getOwner() {
+        return owner;
+    }
+
+    // EFFECTS: returns the id of the first vertex whose circle of the given radius contains (x, y), or
+    // -1 if there is none
+    public int firstContaining(int x, int y, int radius) {
+        for (int i = 0; i < size; i++) {
+            if (contains(i, x, y, radius)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // EFFECTS: returns the number of vertices whose circle of the given radius contains (x, y)
+    public int countContaining(int x, int y, int radius) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (contains(i, x, y, radius)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // EFFECTS: returns true if the circle of the given radius around vertex i contains (x, y)
+    private boolean contains(int i, int x, int y, int radius) {
+        long dx = x - xs[i];
+        long dy = y - ys[i];
+        return dx * dx + dy * dy <= (long) radius * radius;
+    }
+
+    // EFFECTS: returns a copy of the x coordinates, indexed by id
+    public int[] copyOfXs() {
+        return Arrays.copyOf(xs, size);
+    }
+
+    // EFFECTS: returns a copy of the y coordinates, indexed by id
+    public int[] copyOfYs() {
+        return Arrays.copyOf(ys, size);
+    }
+}
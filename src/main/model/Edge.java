@@ -10,7 +10,7 @@ import persistence.Writable;
 public class Edge implements Writable, Shape {
     private Vertex firstVertex;
     private Vertex secondVertex;
-    private static final Color EDGE_COLOR = Color.green;
+    public static final Color EDGE_COLOR = Color.green;
 
     // EFFECTS: creates a new edge with a begin point/Vertex and an end point
     public Edge(Vertex beginPoint, Vertex endPoint) {
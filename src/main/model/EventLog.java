@@ -16,6 +16,7 @@ public class EventLog implements Iterable<Event> {
      */
     private static EventLog theLog;
     private Collection<Event> events;
+    private long eventBytes; // estimated bytes of the events logged since the log was last cleared
 
     /**
      * Prevent external construction.
@@ -46,6 +47,7 @@ public class EventLog implements Iterable<Event> {
      */
     public void logEvent(Event e) {
         events.add(e);
+        eventBytes += MemoryFootprint.event(e);
     }
 
     /**
@@ -53,9 +55,20 @@ public class EventLog implements Iterable<Event> {
      */
     public void clear() {
         events.clear();
+        eventBytes = 0;
         logEvent(new Event("Event log cleared."));
     }
 
+    /**
+     * Estimates the heap taken by the log, as reported by Graph.memoryFootprint().
+     *
+     * @return the estimated bytes of the log and the events in it
+     */
+    long estimatedBytes() {
+        return MemoryFootprint.object(MemoryFootprint.REFERENCE + Long.BYTES)
+                + MemoryFootprint.arrayList(events.size()) + eventBytes;
+    }
+
     @Override
     public Iterator<Event> iterator() {
         return events.iterator();
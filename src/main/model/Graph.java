@@ -9,6 +9,8 @@ import java.nio.charset.Charset;
 import java.nio.file.*;
 
 import model.exception.*;
+import model.metrics.Metric;
+import model.metrics.Metrics;
 import persistence.Writable;
 
 import org.json.JSONArray;
@@ -17,18 +19,27 @@ import org.json.JSONObject;
 import java.awt.*;
 
 // Undirected graph implementation, where for every edge A->B there is also an edge B->A.
+// Every change made through the Graph (or by moving or relabelling one of its vertices) also publishes
+// a new GraphSnapshot, which other threads can read instead of the Graph itself.
 public class Graph implements Writable {
     private List<Vertex> vertices;
+    private Connectivity connectivity;
+    private Coordinates coordinates;
+    private LabelIndex labels;
+    private volatile GraphSnapshot snapshot = GraphSnapshot.EMPTY;
 
     // EFFECTS: creates an empty graph
     public Graph() {
         vertices = new ArrayList<>();
+        connectivity = new Connectivity(this);
+        coordinates = new Coordinates(this);
+        labels = new LabelIndex();
     }
 
     // EFFECTS: creates a graph by reading from a file created by GraphWriter.
     public Graph(File file) throws IOException, FileNotFoundException {
-        vertices = new ArrayList<>();
-        // labelToVertex = new HashMap<>();
+        this();
+        long start = Metrics.start();
         try {
             JSONObject json = new JSONObject(Files.readString(Path.of(file.toString()), Charset.defaultCharset()));
             JSONArray jsonArray = json.getJSONArray("vertices");
@@ -50,16 +61,15 @@ public class Graph implements Writable {
         } catch (IOException | GraphException ge) {
             throw new IOException("Graph file is corrupted or probably deleted.");
         }
+        Metrics.stop(Metric.LOAD, start, vertices.size() + snapshot.numOfEdges());
     }
 
-    // EFFECTS: returns the Vertex having this label number; null otherwise
+    // EFFECTS: returns the Vertex having this label number; null otherwise. Takes constant expected time.
     public Vertex vertexWithLabel(int label) {
-        for (Vertex v : getVertices()) {
-            if (v.getLabel() == label) {
-                return v;
-            }
-        }
-        return null;
+        long start = Metrics.start();
+        Vertex v = labels.get(label);
+        Metrics.stop(Metric.VERTEX_WITH_LABEL, start);
+        return v;
     }
 
     // EFFECTS: returns whether the graph has a Vertex with this label number
@@ -69,22 +79,28 @@ public class Graph implements Writable {
 
     // EFFECTS: returns a list of edges currently in the graph.
     public List<Edge> getEdges() {
+        long start = Metrics.start();
         List<Edge> edges = new ArrayList<>();
         for (Vertex v : vertices) {
             edges.addAll(v.getAdjacent());
         }
+        Metrics.stop(Metric.GET_EDGES, start, edges.size());
         return edges;
     }
 
     // EFFECTS: return true if there is an edge connecting firstVertex and
     // secondVertex
     public boolean hasEdge(Vertex firstVertex, Vertex secondVertex) {
+        long start = Metrics.start();
+        boolean found = false;
         for (Edge e : firstVertex.getAdjacent()) {
             if (e.getFirstVertex() == firstVertex && e.getSecondVertex() == secondVertex) {
-                return true;
+                found = true;
+                break;
             }
         }
-        return false;
+        Metrics.stop(Metric.HAS_EDGE, start);
+        return found;
     }
 
     // EFFECTS: return true if there is an edge connecting any vertices with labels
@@ -102,8 +118,14 @@ public class Graph implements Writable {
     // MODIFIES: this
     // EFFECTS: Add a Vertex to the graph.
     public void addVertex(Vertex v) throws GraphException {
+        long start = Metrics.start();
         vertices.add(v);
+        v.attach(coordinates);
+        labels.add(v);
+        snapshot = snapshot.withVertex(v.getLabel(), v.getXpos(), v.getYpos());
+        connectivity.vertexAdded(v);
         EventLog.getInstance().logEvent(new Event("added vertex " + v.getLabel()));
+        Metrics.stop(Metric.ADD_VERTEX, start);
     }
 
     // EFFECTS: attempts to add an empty Vertex with a label to the graph.
@@ -119,18 +141,47 @@ public class Graph implements Writable {
         addVertex(new Vertex(label));
     }
 
+    // REQUIRES: the labels are positive, distinct and not in the Graph yet
+    // MODIFIES: this
+    // EFFECTS: adds count vertices at once, the i-th labelled labels[i] at (xs[i], ys[i]). Meant for
+    // loading large graphs: it logs one event for all of them.
+    public void addVertices(int[] labels, int[] xs, int[] ys, int count) {
+        long start = Metrics.start();
+        for (int i = 0; i < count; i++) {
+            Vertex v = new Vertex(labels[i], xs[i], ys[i]);
+            vertices.add(v);
+            v.attach(coordinates);
+            this.labels.add(v);
+            snapshot = snapshot.withVertex(labels[i], xs[i], ys[i]);
+            connectivity.vertexAdded(v);
+        }
+        EventLog.getInstance().logEvent(new Event("added " + count + " vertices"));
+        Metrics.stop(Metric.ADD_VERTICES, start, count);
+    }
+
     // REQUIRES: Vertex exists
     // MODIFIES: this
-    // EFFECTS: removes a Vertex from the Graph.
+    // EFFECTS: removes a Vertex from the Graph. Only the neighbours of v are visited to remove its edges;
+    // the rest of the work (renumbering later vertices, rebuilding the snapshot) is linear in the size of
+    // the Graph.
     public void removeVertex(Vertex v) {
-        for (Vertex other : vertices) {
-            v.removeEdge(other);
-            other.removeEdge(v);
+        long start = Metrics.start();
+        List<Vertex> neighbours = new ArrayList<>();
+        for (Edge e : v.getAdjacent()) {
+            neighbours.add(e.getSecondVertex());
         }
-        // labelToVertex.remove(v.getLabel());
-        vertices.remove(v);
+        for (Vertex other : neighbours) {
+            other.getAdjacent().removeIf(e -> e.getSecondVertex() == v);
+        }
+        v.getAdjacent().clear();
+        labels.remove(v, v.getLabel());
+        vertices.remove(v.getId());
+        v.detach();
+        snapshot = GraphSnapshot.of(this, snapshot.getVersion() + 1, snapshot.getTopologyVersion() + 1);
+        connectivity.vertexRemoved(v, neighbours);
         EventLog.getInstance().logEvent(new Event("removed vertex "
                 + v.getLabel()));
+        Metrics.stop(Metric.REMOVE_VERTEX, start, neighbours.size());
     }
 
     // MODIFIES: this
@@ -152,12 +203,16 @@ public class Graph implements Writable {
     // MODIFIES: this
     // EFFECTS: attempts to add an edge connecting two vertices in the graph.
     public void addEdge(Vertex firstVertex, Vertex secondVertex) throws GraphException {
+        long start = Metrics.start();
         Vertex begin = vertexWithLabel(firstVertex.getLabel());
         Vertex end = vertexWithLabel(secondVertex.getLabel());
         begin.addEdge(end);
         end.addEdge(begin);
+        snapshot = snapshot.withEdge(begin.getId(), end.getId());
+        connectivity.edgeAdded(begin, end);
         EventLog.getInstance().logEvent(new Event("added an edge connecting vertices "
                 + firstVertex.getLabel() + " and " + secondVertex.getLabel()));
+        Metrics.stop(Metric.ADD_EDGE, start);
     }
 
     // MODIFIES: this
@@ -176,19 +231,42 @@ public class Graph implements Writable {
         addEdge(firstVertex, secondVertex);
     }
 
+    // REQUIRES: every id in firstIds and secondIds is the id of a vertex of the Graph (its position in
+    // getVertices())
+    // MODIFIES: this
+    // EFFECTS: adds count edges at once, the i-th between the vertices with ids firstIds[i] and
+    // secondIds[i]. Meant for loading large graphs: no label is looked up, the snapshot is updated once,
+    // and one event is logged for all of them.
+    public void addEdgesBetween(int[] firstIds, int[] secondIds, int count) {
+        long start = Metrics.start();
+        for (int i = 0; i < count; i++) {
+            Vertex begin = vertices.get(firstIds[i]);
+            Vertex end = vertices.get(secondIds[i]);
+            begin.addEdge(end);
+            end.addEdge(begin);
+            connectivity.edgeAdded(begin, end);
+        }
+        snapshot = snapshot.withEdges(firstIds, secondIds, count);
+        EventLog.getInstance().logEvent(new Event("added " + count + " edges"));
+        Metrics.stop(Metric.ADD_EDGES, start, count);
+    }
+
     // MODIFIES: this
     // EFFECTS: attempts to remove the first edge found connecting two vertices in
     // the graph.
     // If the either vertices hasn't already existed, throw
     // MissingLabelException.
     public boolean removeEdge(Vertex firstVertex, Vertex secondVertex) throws GraphException {
-        if (firstVertex.removeEdge(secondVertex)
-                && secondVertex.removeEdge(firstVertex)) {
+        long start = Metrics.start();
+        boolean removed = firstVertex.removeEdge(secondVertex) && secondVertex.removeEdge(firstVertex);
+        if (removed) {
+            snapshot = snapshot.withoutEdge(firstVertex.getId(), secondVertex.getId());
+            connectivity.edgeRemoved(firstVertex, secondVertex);
             EventLog.getInstance().logEvent(new Event("removed the edge connecting vertices "
                     + firstVertex.getLabel() + " and " + secondVertex.getLabel()));
-            return true;
         }
-        return false;
+        Metrics.stop(Metric.REMOVE_EDGE, start);
+        return removed;
     }
 
     // MODIFIES: this
@@ -207,6 +285,39 @@ public class Graph implements Writable {
         return removeEdge(firstVertex, secondVertex);
     }
 
+    // EFFECTS: returns the number of connected components of the graph.
+    // Takes near-constant (inverse Ackermann) amortized time between edits.
+    public int numOfComponents() {
+        long start = Metrics.start();
+        int numOfComponents = connectivity.numOfComponents();
+        Metrics.stop(Metric.NUM_OF_COMPONENTS, start);
+        return numOfComponents;
+    }
+
+    // REQUIRES: both vertices are in the graph
+    // EFFECTS: returns true if there is a path connecting firstVertex and secondVertex.
+    // Takes near-constant (inverse Ackermann) amortized time between edits.
+    public boolean isConnected(Vertex firstVertex, Vertex secondVertex) {
+        long start = Metrics.start();
+        boolean connected = connectivity.isConnected(firstVertex, secondVertex);
+        Metrics.stop(Metric.IS_CONNECTED, start);
+        return connected;
+    }
+
+    // EFFECTS: returns true if there is a path connecting the vertices with labels firstLabel and
+    // secondLabel.
+    // If either labels is negative, throw NegativeLabelException.
+    // If either labels hasn't already existed, throw MissingLabelException.
+    public boolean isConnected(int firstLabel, int secondLabel) throws GraphException {
+        if (firstLabel <= 0 || secondLabel <= 0) {
+            throw new NegativeLabelException();
+        }
+        if (!containsLabel(firstLabel) || !containsLabel(secondLabel)) {
+            throw new MissingLabelException();
+        }
+        return isConnected(vertexWithLabel(firstLabel), vertexWithLabel(secondLabel));
+    }
+
     // EFFECTS: return a JSONArray consisting of JSONObject-s converted from items
     // of
     // getVertices()
@@ -246,36 +357,83 @@ public class Graph implements Writable {
     }
 
     // EFFECTS: get the first positive number not currently being a label of any
-    // Vertex. Used when adding new vertices in GUI.
+    // Vertex. Used when adding new vertices in GUI. Takes amortized logarithmic time.
     public int firstUnusedLabel() {
-        int i = 1;
-        while (true) {
-            if (!containsLabel(i)) {
-                return i;
-            }
-            i++;
-        }
+        long start = Metrics.start();
+        int label = labels.firstUnused();
+        Metrics.stop(Metric.FIRST_UNUSED_LABEL, start);
+        return label;
     }
 
     // EFFECTS: returns the first Vertex found contaning pos, or null if there is
     // none.
     public Vertex vertexAtPos(Point pos) {
-        for (Vertex v : getVertices()) {
-            if (v.contains(pos)) {
-                return v;
-            }
-        }
-        return null;
+        long start = Metrics.start();
+        int id = coordinates.firstContaining(pos.x, pos.y, Vertex.RADIUS);
+        Metrics.stop(Metric.VERTEX_AT_POS, start, coordinates.size());
+        return id < 0 ? null : coordinates.vertex(id);
     }
 
     // EFFECTS: returns the number of Vertex found contaning pos.
     public int numOfVertexAtPos(Point pos) {
-        int res = 0;
-        for (Vertex v : getVertices()) {
-            if (v.contains(pos)) {
-                res++;
-            }
+        return coordinates.countContaining(pos.x, pos.y, Vertex.RADIUS);
+    }
+
+    // EFFECTS: returns the positions of the vertices, indexed like getVertices()
+    public Coordinates getCoordinates() {
+        return coordinates;
+    }
+
+    // EFFECTS: returns the estimated bytes of heap taken by the structures behind the Graph, by structure,
+    // worked out from their actual sizes and capacities. Takes time linear in the number of vertices.
+    public MemoryFootprint memoryFootprint() {
+        long vertexBytes = MemoryFootprint.arrayList(vertices.size()) + vertices.size() * MemoryFootprint.VERTEX;
+        long edgeBytes = 0;
+        for (int i = 0; i < vertices.size(); i++) {
+            int degree = vertices.get(i).getAdjacent().size();
+            edgeBytes += MemoryFootprint.arrayList(degree) + degree * MemoryFootprint.EDGE;
         }
-        return res;
+        return new MemoryFootprint(vertexBytes, edgeBytes, labels.estimatedBytes() + connectivity.estimatedBytes(),
+                snapshot.estimatedBytes(), coordinates.estimatedBytes(), EventLog.getInstance().estimatedBytes());
+    }
+
+    // EFFECTS: returns an immutable view of the Graph as it is now, in constant time. Safe to call and
+    // to read from any thread, while the Graph keeps changing.
+    public GraphSnapshot snapshot() {
+        return snapshot;
+    }
+
+    // EFFECTS: returns the number of changes made to the Graph so far. Every change made through the Graph,
+    // or by moving or relabelling one of its vertices, increases it.
+    public long getVersion() {
+        return snapshot.getVersion();
+    }
+
+    // EFFECTS: returns the number of changes made to the vertices, labels and edges of the Graph so far; unlike
+    // getVersion(), moving vertices leaves it as it is
+    public long getTopologyVersion() {
+        return snapshot.getTopologyVersion();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records in the snapshot that the vertex with this id moved to (x, y)
+    void vertexMoved(int id, int x, int y) {
+        snapshot = snapshot.withPos(id, x, y);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records in the snapshot that any number of vertices moved
+    void verticesMoved() {
+        snapshot = snapshot.withPositions(coordinates.copyOfXs(), coordinates.copyOfYs());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records in the label index and the snapshot that the vertex with this id was relabelled
+    // from oldLabel to label
+    void vertexRelabelled(int id, int oldLabel, int label) {
+        Vertex v = coordinates.vertex(id);
+        labels.remove(v, oldLabel);
+        labels.add(v, label);
+        snapshot = snapshot.withLabel(id, label);
     }
 }
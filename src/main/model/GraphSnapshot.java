@@ -0,0 +1,387 @@
+package model;
+
+import java.util.Arrays;
+
+// Immutable view of a Graph as it was at one moment: the label and position of each vertex and the
+// other ends of its edges, all indexed by vertex id as in Graph.getVertices(). Every change to the Graph
+// makes a new snapshot sharing all unchanged data with the one before: per-vertex data is kept in
+// chunks of CHUNK_SIZE vertices, gathered into pages of CHUNKS_PER_PAGE chunks, and a change copies only
+// the small arrays of page references, the pages and the chunks it touches, so its cost does not grow
+// with the Graph. The arrays of page references have room for more pages than are used, so that adding
+// vertices one by one does not copy them every page. Nothing a snapshot can read is written after it is
+// published, so any thread may read snapshots while the Graph keeps changing, without locks, and always
+// sees a consistent Graph.
+public final class GraphSnapshot {
+    private static final int CHUNK_BITS = 8;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int PAGE_BITS = CHUNK_BITS + 8; // a page holds the chunks of 1 << PAGE_BITS vertices
+    private static final int CHUNKS_PER_PAGE = 1 << (PAGE_BITS - CHUNK_BITS);
+    private static final int[] NO_NEIGHBOURS = new int[0];
+
+    // the snapshot of a new, empty Graph
+    static final GraphSnapshot EMPTY = new GraphSnapshot(0, 0, 0, 0, new int[0][][], new int[0][][],
+            new int[0][][], new int[0][][][]);
+
+    private final long version;
+    private final long topologyVersion; // counts only the changes to the vertices, labels and edges
+    private final int size;
+    private final int numOfEntries; // each edge has an entry at both ends
+    private final int[][][] labels;
+    private final int[][][] xs;
+    private final int[][][] ys;
+    private final int[][][][] neighbours; // ids of the other ends of the edges of each vertex, in order
+
+    // EFFECTS: creates a snapshot from its parts, which must not change from now on
+    private GraphSnapshot(long version, long topologyVersion, int size, int numOfEntries, int[][][] labels,
+                          int[][][] xs, int[][][] ys, int[][][][] neighbours) {
+        this.version = version;
+        this.topologyVersion = topologyVersion;
+        this.size = size;
+        this.numOfEntries = numOfEntries;
+        this.labels = labels;
+        this.xs = xs;
+        this.ys = ys;
+        this.neighbours = neighbours;
+    }
+
+    // EFFECTS: returns a snapshot of g, numbered version and topologyVersion, built from scratch
+    static GraphSnapshot of(Graph g, long version, long topologyVersion) {
+        Coordinates coordinates = g.getCoordinates();
+        int n = coordinates.size();
+        int pages = (n + (1 << PAGE_BITS) - 1) >> PAGE_BITS;
+        int[][][] labels = new int[pages][][];
+        int[][][] xs = new int[pages][][];
+        int[][][] ys = new int[pages][][];
+        int[][][][] neighbours = new int[pages][][][];
+        int entries = 0;
+        for (int i = 0; i < n; i++) {
+            allocate(labels, i);
+            allocate(xs, i);
+            allocate(ys, i);
+            allocate(neighbours, i);
+            Vertex v = coordinates.vertex(i);
+            chunk(labels, i)[i & CHUNK_MASK] = v.getLabel();
+            chunk(xs, i)[i & CHUNK_MASK] = coordinates.getX(i);
+            chunk(ys, i)[i & CHUNK_MASK] = coordinates.getY(i);
+            setNeighbours(neighbours, i, liveNeighbours(v, coordinates));
+            entries += neighbours(neighbours, i).length;
+        }
+        return new GraphSnapshot(version, topologyVersion, n, entries, labels, xs, ys, neighbours);
+    }
+
+    // EFFECTS: returns the ids of the other ends of the edges of v, in order, leaving out removed vertices
+    private static int[] liveNeighbours(Vertex v, Coordinates coordinates) {
+        int[] ends = new int[v.getAdjacent().size()];
+        int degree = 0;
+        for (Edge e : v.getAdjacent()) {
+            Vertex w = e.getSecondVertex();
+            if (w.getId() < coordinates.size() && coordinates.vertex(w.getId()) == w) {
+                ends[degree++] = w.getId();
+            }
+        }
+        return Arrays.copyOf(ends, degree);
+    }
+
+    // EFFECTS: returns this snapshot with a vertex added at the end. The slot of the new vertex (and of its
+    // page and chunk, if it is the first of a new one) lies past the size of every earlier snapshot sharing
+    // its arrays, none of which ever reads it, so it is filled in place rather than copied.
+    GraphSnapshot withVertex(int label, int x, int y) {
+        int[][][] newLabels = allocate(grow(labels, size), size);
+        int[][][] newXs = allocate(grow(xs, size), size);
+        int[][][] newYs = allocate(grow(ys, size), size);
+        int[][][][] newNeighbours = allocate(grow(neighbours, size), size);
+        chunk(newLabels, size)[size & CHUNK_MASK] = label;
+        chunk(newXs, size)[size & CHUNK_MASK] = x;
+        chunk(newYs, size)[size & CHUNK_MASK] = y;
+        setNeighbours(newNeighbours, size, NO_NEIGHBOURS);
+        return new GraphSnapshot(version + 1, topologyVersion + 1, size + 1, numOfEntries, newLabels, newXs, newYs,
+                newNeighbours);
+    }
+
+    // REQUIRES: 0 <= id < numOfVertices()
+    // EFFECTS: returns this snapshot with the vertex id moved to (x, y)
+    GraphSnapshot withPos(int id, int x, int y) {
+        int[][][] newXs = copyOnWrite(xs.clone(), xs, id);
+        int[][][] newYs = copyOnWrite(ys.clone(), ys, id);
+        chunk(newXs, id)[id & CHUNK_MASK] = x;
+        chunk(newYs, id)[id & CHUNK_MASK] = y;
+        return new GraphSnapshot(version + 1, topologyVersion, size, numOfEntries, labels, newXs, newYs, neighbours);
+    }
+
+    // REQUIRES: newXs and newYs have numOfVertices() entries
+    // EFFECTS: returns this snapshot with every vertex moved, to (newXs[id], newYs[id])
+    GraphSnapshot withPositions(int[] newXs, int[] newYs) {
+        return new GraphSnapshot(version + 1, topologyVersion, size, numOfEntries, labels, toPages(newXs),
+                toPages(newYs), neighbours);
+    }
+
+    // REQUIRES: 0 <= id < numOfVertices()
+    // EFFECTS: returns this snapshot with the vertex id labelled label
+    GraphSnapshot withLabel(int id, int label) {
+        int[][][] newLabels = copyOnWrite(labels.clone(), labels, id);
+        chunk(newLabels, id)[id & CHUNK_MASK] = label;
+        return new GraphSnapshot(version + 1, topologyVersion + 1, size, numOfEntries, newLabels, xs, ys, neighbours);
+    }
+
+    // REQUIRES: both ids are in [0, numOfVertices())
+    // EFFECTS: returns this snapshot with an edge added between the vertices first and second, at the end
+    // of both their edge lists
+    GraphSnapshot withEdge(int first, int second) {
+        int[][][][] newNeighbours = copyOnWrite(neighbours.clone(), neighbours, first);
+        setNeighbours(newNeighbours, first, append(neighbours(newNeighbours, first), second));
+        copyOnWrite(newNeighbours, neighbours, second);
+        setNeighbours(newNeighbours, second, append(neighbours(newNeighbours, second), first));
+        return new GraphSnapshot(version + 1, topologyVersion + 1, size, numOfEntries + 2, labels, xs, ys,
+                newNeighbours);
+    }
+
+    // REQUIRES: every id in first and second is in [0, numOfVertices())
+    // EFFECTS: returns this snapshot with edges added between the vertices first[i] and second[i] for
+    // i < count, as withEdge would one after the other, but copying the array of page references once
+    // and every page and chunk touched at most once
+    GraphSnapshot withEdges(int[] first, int[] second, int count) {
+        long[] ends = new long[2 * count]; // vertex id in the high half, number of the edge end in the low
+        for (int i = 0; i < count; i++) {
+            ends[2 * i] = (long) first[i] << 32 | 2 * i;
+            ends[2 * i + 1] = (long) second[i] << 32 | 2 * i + 1;
+        }
+        Arrays.parallelSort(ends);
+        int[][][][] newNeighbours = neighbours.clone();
+        for (int from = 0; from < ends.length; ) {
+            int id = (int) (ends[from] >>> 32);
+            int to = from;
+            while (to < ends.length && (int) (ends[to] >>> 32) == id) {
+                to++;
+            }
+            copyOnWrite(newNeighbours, neighbours, id);
+            setNeighbours(newNeighbours, id, appendAll(neighbours(newNeighbours, id), ends, from, to, first, second));
+            from = to;
+        }
+        return new GraphSnapshot(version + count, topologyVersion + count, size, numOfEntries + 2 * count, labels, xs,
+                ys, newNeighbours);
+    }
+
+    // EFFECTS: returns a copy of ids followed by the other end of each edge end numbered in
+    // ends[from .. to - 1], where end 2i is first[i] and end 2i + 1 is second[i]
+    private static int[] appendAll(int[] ids, long[] ends, int from, int to, int[] first, int[] second) {
+        int[] result = Arrays.copyOf(ids, ids.length + to - from);
+        for (int k = from; k < to; k++) {
+            int end = (int) ends[k];
+            result[ids.length + k - from] = end % 2 == 0 ? second[end / 2] : first[end / 2];
+        }
+        return result;
+    }
+
+    // REQUIRES: there is an edge between the vertices first and second
+    // EFFECTS: returns this snapshot without the first edge found between the vertices first and second
+    GraphSnapshot withoutEdge(int first, int second) {
+        int[][][][] newNeighbours = copyOnWrite(neighbours.clone(), neighbours, first);
+        setNeighbours(newNeighbours, first, removeFirst(neighbours(newNeighbours, first), second));
+        copyOnWrite(newNeighbours, neighbours, second);
+        setNeighbours(newNeighbours, second, removeFirst(neighbours(newNeighbours, second), first));
+        return new GraphSnapshot(version + 1, topologyVersion + 1, size, numOfEntries - 2, labels, xs, ys,
+                newNeighbours);
+    }
+
+    // REQUIRES: copy is a copy of the array of page references original, or of a copy of it
+    // MODIFIES: copy
+    // EFFECTS: copies the page and the chunk holding id into copy, unless they were copied already, and
+    // returns copy
+    private static int[][][] copyOnWrite(int[][][] copy, int[][][] original, int id) {
+        int page = id >> PAGE_BITS;
+        int chunk = (id >> CHUNK_BITS) & (CHUNKS_PER_PAGE - 1);
+        if (copy[page] == original[page]) {
+            copy[page] = copy[page].clone();
+        }
+        if (copy[page][chunk] == original[page][chunk]) {
+            copy[page][chunk] = copy[page][chunk].clone();
+        }
+        return copy;
+    }
+
+    // REQUIRES: copy is a copy of the array of page references original, or of a copy of it
+    // MODIFIES: copy
+    // EFFECTS: copies the page and the chunk holding id into copy, unless they were copied already, and
+    // returns copy
+    private static int[][][][] copyOnWrite(int[][][][] copy, int[][][][] original, int id) {
+        int page = id >> PAGE_BITS;
+        int chunk = (id >> CHUNK_BITS) & (CHUNKS_PER_PAGE - 1);
+        if (copy[page] == original[page]) {
+            copy[page] = copy[page].clone();
+        }
+        if (copy[page][chunk] == original[page][chunk]) {
+            copy[page][chunk] = copy[page][chunk].clone();
+        }
+        return copy;
+    }
+
+    // EFFECTS: returns pages, or a copy of it with room for twice as many pages if the page of id is past
+    // its end
+    private static int[][][] grow(int[][][] pages, int id) {
+        return id >> PAGE_BITS < pages.length ? pages : Arrays.copyOf(pages, 2 * (id >> PAGE_BITS) + 1);
+    }
+
+    // EFFECTS: returns pages, or a copy of it with room for twice as many pages if the page of id is past
+    // its end
+    private static int[][][][] grow(int[][][][] pages, int id) {
+        return id >> PAGE_BITS < pages.length ? pages : Arrays.copyOf(pages, 2 * (id >> PAGE_BITS) + 1);
+    }
+
+    // REQUIRES: the page of id is within pages
+    // MODIFIES: pages
+    // EFFECTS: creates the page and the chunk holding id, if they do not exist yet, and returns pages
+    private static int[][][] allocate(int[][][] pages, int id) {
+        int page = id >> PAGE_BITS;
+        int chunk = (id >> CHUNK_BITS) & (CHUNKS_PER_PAGE - 1);
+        if (pages[page] == null) {
+            pages[page] = new int[CHUNKS_PER_PAGE][];
+        }
+        if (pages[page][chunk] == null) {
+            pages[page][chunk] = new int[CHUNK_SIZE];
+        }
+        return pages;
+    }
+
+    // REQUIRES: the page of id is within pages
+    // MODIFIES: pages
+    // EFFECTS: creates the page and the chunk holding id, if they do not exist yet, and returns pages
+    private static int[][][][] allocate(int[][][][] pages, int id) {
+        int page = id >> PAGE_BITS;
+        int chunk = (id >> CHUNK_BITS) & (CHUNKS_PER_PAGE - 1);
+        if (pages[page] == null) {
+            pages[page] = new int[CHUNKS_PER_PAGE][][];
+        }
+        if (pages[page][chunk] == null) {
+            pages[page][chunk] = new int[CHUNK_SIZE][];
+        }
+        return pages;
+    }
+
+    // EFFECTS: returns values cut into fresh pages and chunks
+    private int[][][] toPages(int[] values) {
+        int[][][] pages = new int[labels.length][][];
+        for (int id = 0; id < size; id += CHUNK_SIZE) {
+            allocate(pages, id);
+            System.arraycopy(values, id, chunk(pages, id), 0, Math.min(CHUNK_SIZE, size - id));
+        }
+        return pages;
+    }
+
+    // EFFECTS: returns the chunk holding the value of vertex id
+    private static int[] chunk(int[][][] pages, int id) {
+        return pages[id >> PAGE_BITS][(id >> CHUNK_BITS) & (CHUNKS_PER_PAGE - 1)];
+    }
+
+    // EFFECTS: returns the neighbours of vertex id kept in pages
+    private static int[] neighbours(int[][][][] pages, int id) {
+        return pages[id >> PAGE_BITS][(id >> CHUNK_BITS) & (CHUNKS_PER_PAGE - 1)][id & CHUNK_MASK];
+    }
+
+    // MODIFIES: pages
+    // EFFECTS: makes ends the neighbours of vertex id in pages
+    private static void setNeighbours(int[][][][] pages, int id, int[] ends) {
+        pages[id >> PAGE_BITS][(id >> CHUNK_BITS) & (CHUNKS_PER_PAGE - 1)][id & CHUNK_MASK] = ends;
+    }
+
+    // EFFECTS: returns a copy of ends with end added at the end
+    private static int[] append(int[] ends, int end) {
+        int[] result = Arrays.copyOf(ends, ends.length + 1);
+        result[ends.length] = end;
+        return result;
+    }
+
+    // REQUIRES: end is in ends
+    // EFFECTS: returns a copy of ends without the first occurrence of end
+    private static int[] removeFirst(int[] ends, int end) {
+        int k = 0;
+        while (ends[k] != end) {
+            k++;
+        }
+        int[] result = new int[ends.length - 1];
+        System.arraycopy(ends, 0, result, 0, k);
+        System.arraycopy(ends, k + 1, result, k, ends.length - k - 1);
+        return result;
+    }
+
+    // EFFECTS: returns the estimated bytes of this snapshot, counting every chunk and edge list it refers
+    // to, though older snapshots may share some of them
+    long estimatedBytes() {
+        long bytes = MemoryFootprint.object(Long.BYTES + 2 * Integer.BYTES + 4 * MemoryFootprint.REFERENCE)
+                + 4 * MemoryFootprint.array(labels.length, MemoryFootprint.REFERENCE);
+        for (int p = 0; p << PAGE_BITS < size; p++) {
+            bytes += 4 * MemoryFootprint.array(CHUNKS_PER_PAGE, MemoryFootprint.REFERENCE);
+        }
+        for (int c = 0; c << CHUNK_BITS < size; c++) {
+            bytes += 3 * MemoryFootprint.array(CHUNK_SIZE, Integer.BYTES)
+                    + MemoryFootprint.array(CHUNK_SIZE, MemoryFootprint.REFERENCE);
+        }
+        for (int i = 0; i < size; i++) {
+            int degree = degree(i);
+            bytes += degree == 0 ? 0 : MemoryFootprint.array(degree, Integer.BYTES); // NO_NEIGHBOURS is shared
+        }
+        return bytes;
+    }
+
+    // EFFECTS: returns the number of changes made to the Graph before this snapshot was taken
+    public long getVersion() {
+        return version;
+    }
+
+    // EFFECTS: returns the number of changes made to the vertices, labels and edges of the Graph before this
+    // snapshot was taken, leaving out moves of vertices
+    public long getTopologyVersion() {
+        return topologyVersion;
+    }
+
+    public int numOfVertices() {
+        return size;
+    }
+
+    public int numOfEdges() {
+        return numOfEntries / 2;
+    }
+
+    // REQUIRES: 0 <= id < numOfVertices(), and likewise below
+    public int getLabel(int id) {
+        return chunk(labels, id)[id & CHUNK_MASK];
+    }
+
+    public int getX(int id) {
+        return chunk(xs, id)[id & CHUNK_MASK];
+    }
+
+    public int getY(int id) {
+        return chunk(ys, id)[id & CHUNK_MASK];
+    }
+
+    public int degree(int id) {
+        return neighbours(neighbours, id).length;
+    }
+
+    // REQUIRES: 0 <= k < degree(id)
+    // EFFECTS: returns the id of the other end of the k-th edge of vertex id
+    public int neighbour(int id, int k) {
+        return neighbours(neighbours, id)[k];
+    }
+
+    // EFFECTS: returns the id of the vertex with this label, or -1 if there is none
+    public int idOfLabel(int label) {
+        for (int i = 0; i < size; i++) {
+            if (getLabel(i) == label) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // EFFECTS: returns true if there is an edge between the vertices first and second
+    public boolean hasEdge(int first, int second) {
+        for (int end : neighbours(neighbours, first)) {
+            if (end == second) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,70 @@
+package model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+// Index from labels to the vertices of a Graph, kept up to date by the Graph as vertices are added,
+// removed and relabelled, so that looking a label up takes constant expected time instead of a scan of
+// every vertex. It also finds the first unused label in amortized logarithmic time: every positive label
+// below the watermark is either in use or one of the free labels, so only labels from the watermark on
+// are ever scanned, and each of them at most once.
+class LabelIndex {
+    private final Map<Integer, Vertex> vertexOf;
+    private final TreeSet<Integer> freeLabels; // unused labels below the watermark
+    private int watermark;
+
+    // EFFECTS: creates an index of no vertices
+    LabelIndex() {
+        vertexOf = new HashMap<>();
+        freeLabels = new TreeSet<>();
+        watermark = 1;
+    }
+
+    // EFFECTS: returns the vertex with this label, or null if there is none
+    Vertex get(int label) {
+        return vertexOf.get(label);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: indexes v under its label. If another vertex already has it, that one stays indexed.
+    void add(Vertex v) {
+        add(v, v.getLabel());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: indexes v under label, unless another vertex is already indexed under it
+    void add(Vertex v, int label) {
+        vertexOf.putIfAbsent(label, v);
+        if (label < watermark) {
+            freeLabels.remove(label);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops indexing v under label, if it is indexed under it
+    void remove(Vertex v, int label) {
+        if (vertexOf.remove(label, v) && 0 < label && label < watermark) {
+            freeLabels.add(label);
+        }
+    }
+
+    // EFFECTS: returns the estimated bytes of the index, with the boxed labels in it
+    long estimatedBytes() {
+        return MemoryFootprint.object(Integer.BYTES + 2 * MemoryFootprint.REFERENCE)
+                + MemoryFootprint.hashMap(vertexOf.size()) + vertexOf.size() * MemoryFootprint.INTEGER
+                + MemoryFootprint.treeSet(freeLabels.size()) + freeLabels.size() * MemoryFootprint.INTEGER;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the first positive label no vertex is indexed under
+    int firstUnused() {
+        if (!freeLabels.isEmpty()) {
+            return freeLabels.first();
+        }
+        while (vertexOf.containsKey(watermark)) {
+            watermark++;
+        }
+        return watermark;
+    }
+}
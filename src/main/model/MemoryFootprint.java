@@ -0,0 +1,166 @@
+package model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Estimated bytes of heap taken by the structures behind a Graph, as returned by Graph.memoryFootprint().
+// Each structure adds up the objects and arrays it actually holds (their lengths and capacities, not the
+// number of vertices or edges alone), laid out as on a 64-bit HotSpot JVM with compressed references, the
+// default below 32 GB of heap: 12-byte object headers, 16-byte array headers, 4-byte references, and
+// every object padded to a multiple of 8 bytes. The static methods below give the sizes of the objects
+// used, for the structures to add up.
+public final class MemoryFootprint {
+    static final int OBJECT_HEADER = 12;
+    static final int ARRAY_HEADER = 16;
+    static final int REFERENCE = 4;
+    static final int ALIGNMENT = 8;
+    static final long INTEGER = object(Integer.BYTES); // a boxed Integer
+    static final long EDGE = object(2 * REFERENCE);
+    static final long VERTEX = object(4 * Integer.BYTES + 3 * REFERENCE + 1);
+    private static final int ARRAY_LIST_CAPACITY = 10; // of an ArrayList after its first add
+    private static final int HASH_MAP_CAPACITY = 16;
+    private static final long HASH_MAP_NODE = object(Integer.BYTES + 3 * REFERENCE);
+    private static final long TREE_MAP_ENTRY = object(5 * REFERENCE + 1);
+
+    private final long vertices;
+    private final long edges;
+    private final long indexes;
+    private final long snapshot;
+    private final long coordinates;
+    private final long eventLog;
+
+    // EFFECTS: creates a footprint of the given numbers of bytes
+    MemoryFootprint(long vertices, long edges, long indexes, long snapshot, long coordinates, long eventLog) {
+        this.vertices = vertices;
+        this.edges = edges;
+        this.indexes = indexes;
+        this.snapshot = snapshot;
+        this.coordinates = coordinates;
+        this.eventLog = eventLog;
+    }
+
+    // EFFECTS: returns the bytes of the Vertex objects and the list holding them
+    public long getVertices() {
+        return vertices;
+    }
+
+    // EFFECTS: returns the bytes of the adjacency lists and the Edge objects in them
+    public long getEdges() {
+        return edges;
+    }
+
+    // EFFECTS: returns the bytes of the label index and the union-find answering connectivity queries
+    public long getIndexes() {
+        return indexes;
+    }
+
+    // EFFECTS: returns the bytes of the current GraphSnapshot, counting all of it, though some of it may
+    // be shared with older snapshots still in use
+    public long getSnapshot() {
+        return snapshot;
+    }
+
+    // EFFECTS: returns the bytes of the Coordinates holding the positions of the vertices
+    public long getCoordinates() {
+        return coordinates;
+    }
+
+    // EFFECTS: returns the bytes of the EventLog, which is shared by every Graph
+    public long getEventLog() {
+        return eventLog;
+    }
+
+    // EFFECTS: returns the sum of all the parts
+    public long total() {
+        return vertices + edges + indexes + snapshot + coordinates + eventLog;
+    }
+
+    // EFFECTS: returns the bytes of every part, and the total, by name
+    public Map<String, Long> toMap() {
+        Map<String, Long> parts = new LinkedHashMap<>();
+        parts.put("vertices", vertices);
+        parts.put("edges", edges);
+        parts.put("indexes", indexes);
+        parts.put("snapshot", snapshot);
+        parts.put("coordinates", coordinates);
+        parts.put("eventLog", eventLog);
+        parts.put("total", total());
+        return parts;
+    }
+
+    // EFFECTS: returns one line per part, with its bytes in KB
+    @Override
+    public String toString() {
+        StringBuilder table = new StringBuilder();
+        for (Map.Entry<String, Long> part : toMap().entrySet()) {
+            table.append(String.format("%-12s %12d KB%n", part.getKey(), part.getValue() >> 10));
+        }
+        return table.toString();
+    }
+
+    // EFFECTS: returns the bytes of an object with fields of the given total number of bytes
+    static long object(int fieldBytes) {
+        return align(OBJECT_HEADER + fieldBytes);
+    }
+
+    // EFFECTS: returns the bytes of an array of length elements of elementBytes each
+    static long array(long length, int elementBytes) {
+        return align(ARRAY_HEADER + length * elementBytes);
+    }
+
+    // EFFECTS: returns the bytes of an ArrayList of size elements grown one by one, without the elements
+    static long arrayList(int size) {
+        long list = object(2 * Integer.BYTES + REFERENCE);
+        if (size == 0) {
+            return list; // shares one empty array with every other empty ArrayList
+        }
+        long capacity = ARRAY_LIST_CAPACITY;
+        while (capacity < size) {
+            capacity += capacity >> 1;
+        }
+        return list + array(capacity, REFERENCE);
+    }
+
+    // EFFECTS: returns the bytes of a HashMap of size entries grown one by one, without the keys and values
+    static long hashMap(int size) {
+        long map = object(4 * Integer.BYTES + 4 * REFERENCE);
+        if (size == 0) {
+            return map;
+        }
+        long capacity = HASH_MAP_CAPACITY;
+        while (capacity * 3 / 4 < size) {
+            capacity *= 2;
+        }
+        return map + array(capacity, REFERENCE) + size * HASH_MAP_NODE;
+    }
+
+    // EFFECTS: returns the bytes of an IdentityHashMap of size entries grown one by one, without the keys
+    // and values
+    static long identityHashMap(int size) {
+        long capacity = 2 * HASH_MAP_CAPACITY;
+        while (capacity * 2 / 3 < size) {
+            capacity *= 2;
+        }
+        return object(3 * Integer.BYTES + 4 * REFERENCE) + array(2 * capacity, REFERENCE);
+    }
+
+    // EFFECTS: returns the bytes of a TreeSet of size elements, without the elements
+    static long treeSet(int size) {
+        return object(REFERENCE) + object(3 * Integer.BYTES + 5 * REFERENCE) + size * TREE_MAP_ENTRY;
+    }
+
+    // EFFECTS: returns the bytes of a String of length Latin-1 characters
+    static long string(int length) {
+        return object(Integer.BYTES + 2 + REFERENCE) + array(length, 1);
+    }
+
+    // EFFECTS: returns the bytes of e, with its Date and description
+    static long event(Event e) {
+        return object(2 * REFERENCE) + object(Long.BYTES + REFERENCE) + string(e.getDescription().length());
+    }
+
+    // EFFECTS: returns bytes rounded up to a multiple of ALIGNMENT
+    private static long align(long bytes) {
+        return (bytes + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+}
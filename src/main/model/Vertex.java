@@ -20,10 +20,14 @@ public class Vertex implements Writable, Shape {
     }
 
     // REQUIRES: label > 0
-    // MODIFIES: this
+    // MODIFIES: this, the Graph holding this Vertex
     // EFFECTS: sets the label for the vertex
     public void setLabel(int label) {
+        int oldLabel = this.label;
         this.label = label;
+        if (coordinates != null) {
+            coordinates.getOwner().vertexRelabelled(id, oldLabel, label);
+        }
     }
 
     // MODIFIES: this
@@ -51,8 +55,8 @@ public class Vertex implements Writable, Shape {
     public JSONObject toJson() {
         JSONObject json = new JSONObject();
         json.put("label", this.label);
-        json.put("x", this.xpos);
-        json.put("y", ypos);
+        json.put("x", getXpos());
+        json.put("y", getYpos());
         return json;
     }
 
@@ -64,12 +68,19 @@ public class Vertex implements Writable, Shape {
         return this.adjacent;
     }
 
-    private static final int RADIUS = 40; // radius of vertex Circle.
+    public static final int RADIUS = 40; // radius of vertex Circle.
     private static final Color IDLE_COLOR = Color.orange;
     private static final Color ACTIVE_COLOR = Color.red;
-    private int xpos;
+    private static final float GOLDEN_RATIO_CONJUGATE = 0.618034f; // spreads consecutive palette hues apart
+    private static final float PALETTE_SATURATION = 0.45f;
+    public static final int LABEL_OFFSET_X = -3; // start of the label's baseline, relative to the centre
+    public static final int LABEL_OFFSET_Y = 4;
+    private int xpos; // position while the Vertex is in no Graph
     private int ypos;
+    private Coordinates coordinates; // where the position is kept while the Vertex is in a Graph
+    private int id; // index into coordinates
     private boolean isSelected; // whether the Vertex is being HOVERED ON by a mouse
+    private Color fillColor; // overrides IDLE_COLOR when not null, e.g. to show algorithm results
 
     // REQUIRES: label >= 0
     // EFFECTS: creates a new vertex with said label and no adjacent vertices
@@ -86,16 +97,28 @@ public class Vertex implements Writable, Shape {
     // selected, Shape is filled in
     // else, Shape is unfilled (white)
     public void draw(Graphics g) {
+        drawDisc(g, getXpos(), getYpos(), getDisplayColor());
+        g.drawString(Integer.toString(getLabel()), getXpos() + LABEL_OFFSET_X, getYpos() + LABEL_OFFSET_Y);
+    }
+
+    // MODIFIES: g
+    // EFFECTS: draws the circle of a Vertex centred at (x, y), filled with fill, without its label
+    public static void drawDisc(Graphics g, int x, int y, Color fill) {
         Color initialColor = g.getColor();
-        g.drawOval(xpos - RADIUS / 2, ypos - RADIUS / 2, RADIUS, RADIUS);
+        g.drawOval(x - RADIUS / 2, y - RADIUS / 2, RADIUS, RADIUS);
+        g.setColor(fill);
+        g.fillOval(x - RADIUS / 2, y - RADIUS / 2, RADIUS, RADIUS);
+        g.setColor(initialColor);
+    }
+
+    // EFFECTS: returns the color the Vertex is currently filled with
+    public Color getDisplayColor() {
         if (isSelected) {
-            g.setColor(ACTIVE_COLOR);
-        } else {
-            g.setColor(IDLE_COLOR);
+            return ACTIVE_COLOR;
+        } else if (fillColor != null) {
+            return fillColor;
         }
-        g.fillOval(xpos - RADIUS / 2, ypos - RADIUS / 2, RADIUS, RADIUS);
-        g.setColor(initialColor);
-        g.drawString(Integer.toString(getLabel()), xpos - 3, ypos + 4); // draw label
+        return IDLE_COLOR;
     }
 
     // Originally from SimpleDrawingPlayer
@@ -103,8 +126,8 @@ public class Vertex implements Writable, Shape {
     // representing the Vertex
     public boolean contains(Point point) {
         // Pythagoras' theorem
-        return (point.x - this.xpos) * (point.x - this.xpos)
-                + (point.y - this.ypos) * (point.y - this.ypos) <= RADIUS * RADIUS;
+        return (point.x - getXpos()) * (point.x - getXpos())
+                + (point.y - getYpos()) * (point.y - getYpos()) <= RADIUS * RADIUS;
     }
 
     // MODIFIES: this
@@ -117,19 +140,70 @@ public class Vertex implements Writable, Shape {
     // MODIFIES: this
     // EFFECTS: move the Vertex to a new location.
     public void setPos(Point point) {
-        this.xpos = point.x;
-        this.ypos = point.y;
+        if (coordinates == null) {
+            this.xpos = point.x;
+            this.ypos = point.y;
+        } else {
+            coordinates.setPos(id, point.x, point.y);
+        }
     }
 
     public int getXpos() {
-        return this.xpos;
+        return coordinates == null ? xpos : coordinates.getX(id);
     }
 
     public int getYpos() {
-        return this.ypos;
+        return coordinates == null ? ypos : coordinates.getY(id);
+    }
+
+    // REQUIRES: this is in no Graph
+    // MODIFIES: this, store
+    // EFFECTS: moves the position of this Vertex into store, which from now on holds it
+    void attach(Coordinates store) {
+        id = store.add(this, xpos, ypos);
+        coordinates = store;
+    }
+
+    // MODIFIES: this, its Coordinates
+    // EFFECTS: takes the position of this Vertex back out of the Coordinates of its Graph
+    void detach() {
+        xpos = getXpos();
+        ypos = getYpos();
+        coordinates.remove(id);
+        coordinates = null;
+    }
+
+    // EFFECTS: returns the index of the position of this Vertex in the Coordinates of its Graph
+    public int getId() {
+        return id;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records that the position of this Vertex moved to a new index in its Coordinates
+    void setId(int id) {
+        this.id = id;
     }
 
     public boolean getActive() {
         return isSelected;
     }
+
+    // MODIFIES: this
+    // EFFECTS: sets the color the Vertex is filled with when it is not selected; null restores the
+    // default color.
+    public void setFillColor(Color color) {
+        this.fillColor = color;
+    }
+
+    public Color getFillColor() {
+        return fillColor;
+    }
+
+    // REQUIRES: colour >= 0
+    // EFFECTS: returns the fill color used for the given colour number of a graph colouring. Consecutive
+    // numbers get clearly different hues, pale enough for the label to stay readable.
+    public static Color colorOf(int colour) {
+        float hue = (colour * GOLDEN_RATIO_CONJUGATE) % 1;
+        return Color.getHSBColor(hue, PALETTE_SATURATION, 1);
+    }
 }
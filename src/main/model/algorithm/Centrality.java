@@ -0,0 +1,173 @@
+package model.algorithm;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import model.Graph;
+
+// Degree statistics and approximate betweenness centrality over a CsrSnapshot.
+public class Centrality {
+    private final CsrSnapshot snapshot;
+
+    // EFFECTS: creates a Centrality over a fresh snapshot of g
+    public Centrality(Graph g) {
+        this(new CsrSnapshot(g));
+    }
+
+    // EFFECTS: creates a Centrality over an existing snapshot
+    public Centrality(CsrSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    // EFFECTS: returns the degree of every vertex, keyed by label
+    public Map<Integer, Double> degreesByLabel() {
+        double[] degrees = new double[snapshot.numOfVertices()];
+        for (int v = 0; v < degrees.length; v++) {
+            degrees[v] = snapshot.degree(v);
+        }
+        return snapshot.byLabel(degrees);
+    }
+
+    // EFFECTS: returns the degree distribution: result[d] is the number of vertices with degree d.
+    // A self-loop counts twice, once for each of its ends.
+    public int[] degreeDistribution() {
+        int maxDegree = 0;
+        for (int v = 0; v < snapshot.numOfVertices(); v++) {
+            maxDegree = Math.max(maxDegree, snapshot.degree(v));
+        }
+        int[] distribution = new int[maxDegree + 1];
+        for (int v = 0; v < snapshot.numOfVertices(); v++) {
+            distribution[snapshot.degree(v)]++;
+        }
+        return distribution;
+    }
+
+    // EFFECTS: returns the approximate betweenness of every vertex, keyed by label.
+    public Map<Integer, Double> betweennessByLabel(int samples, long seed) {
+        return snapshot.byLabel(approximateBetweenness(samples, seed));
+    }
+
+    // REQUIRES: samples > 0
+    // EFFECTS: estimates the betweenness centrality of every vertex by running Brandes' dependency
+    // accumulation from `samples` source vertices drawn without replacement (all of them if there are
+    // fewer vertices), then scaling by n / samples. Each BFS counts a pair once per direction, so the
+    // sum is halved for the undirected graph. Sources are split into one batch per processor and the
+    // batches run in parallel, each with its own scratch arrays.
+    public double[] approximateBetweenness(int samples, long seed) {
+        int n = snapshot.numOfVertices();
+        int[] sources = sampleSources(Math.min(samples, n), seed);
+        int numOfBatches = Math.max(1, Math.min(sources.length, Runtime.getRuntime().availableProcessors()));
+        double[] result = IntStream.range(0, numOfBatches).parallel()
+                .mapToObj(b -> accumulate(sources, b, numOfBatches))
+                .reduce(Centrality::add)
+                .orElse(new double[n]);
+        double scale = sources.length == 0 ? 0 : (double) n / sources.length / 2;
+        for (int v = 0; v < n; v++) {
+            result[v] *= scale;
+        }
+        return result;
+    }
+
+    // EFFECTS: returns the summed dependencies of every source sources[i] with i % numOfBatches == batch
+    private double[] accumulate(int[] sources, int batch, int numOfBatches) {
+        Brandes brandes = new Brandes(snapshot);
+        for (int i = batch; i < sources.length; i += numOfBatches) {
+            brandes.addDependencies(sources[i]);
+        }
+        return brandes.centrality;
+    }
+
+    // EFFECTS: returns count distinct vertices chosen uniformly at random (partial Fisher-Yates shuffle)
+    private int[] sampleSources(int count, long seed) {
+        int[] all = new int[snapshot.numOfVertices()];
+        for (int v = 0; v < all.length; v++) {
+            all[v] = v;
+        }
+        Random random = new Random(seed);
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(all.length - i);
+            int tmp = all[i];
+            all[i] = all[j];
+            all[j] = tmp;
+        }
+        return Arrays.copyOf(all, count);
+    }
+
+    // MODIFIES: total
+    // EFFECTS: adds values into total element-wise and returns total
+    private static double[] add(double[] total, double[] values) {
+        for (int v = 0; v < total.length; v++) {
+            total[v] += values[v];
+        }
+        return total;
+    }
+
+    // Scratch arrays for one thread running Brandes' algorithm from a sequence of sources.
+    private static class Brandes {
+        private final int[] offsets;
+        private final int[] targets;
+        private final double[] centrality;
+        private final int[] distance;
+        private final double[] paths;
+        private final double[] dependency;
+        private final int[] order; // BFS queue, read backwards afterwards as the stack of Brandes' algorithm
+
+        // EFFECTS: allocates scratch arrays for the snapshot
+        Brandes(CsrSnapshot snapshot) {
+            int n = snapshot.numOfVertices();
+            offsets = snapshot.offsets();
+            targets = snapshot.targets();
+            centrality = new double[n];
+            distance = new int[n];
+            paths = new double[n];
+            dependency = new double[n];
+            order = new int[n];
+        }
+
+        // MODIFIES: this
+        // EFFECTS: adds the dependencies of source on every other vertex to centrality
+        void addDependencies(int source) {
+            int reached = search(source);
+            for (int j = reached - 1; j > 0; j--) {
+                int w = order[j];
+                for (int k = offsets[w]; k < offsets[w + 1]; k++) {
+                    int v = targets[k];
+                    if (distance[v] == distance[w] - 1) {
+                        dependency[v] += paths[v] / paths[w] * (1 + dependency[w]);
+                    }
+                }
+                centrality[w] += dependency[w];
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: breadth-first search from source counting shortest paths; returns the number of
+        // vertices reached, which are order[0 .. result - 1] by non-decreasing distance
+        private int search(int source) {
+            Arrays.fill(distance, -1);
+            distance[source] = 0;
+            paths[source] = 1;
+            int head = 0;
+            int tail = 0;
+            order[tail++] = source;
+            while (head < tail) {
+                int v = order[head++];
+                dependency[v] = 0;
+                for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+                    int w = targets[k];
+                    if (distance[w] < 0) {
+                        distance[w] = distance[v] + 1;
+                        paths[w] = 0;
+                        order[tail++] = w;
+                    }
+                    if (distance[w] == distance[v] + 1) {
+                        paths[w] += paths[v];
+                    }
+                }
+            }
+            return tail;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package model.algorithm;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+import model.Graph;
+
+// Proper vertex colourings over a CsrSnapshot. Colours are 0, 1, 2, ...; self-loops are ignored.
+// - smallestLast: sequential greedy colouring in smallest-last (degeneracy) order, which uses at most
+//   degeneracy + 1 colours and is usually the tighter of the two.
+// - jonesPlassmann: parallel greedy colouring with random priorities. A vertex is coloured as soon as
+//   all its higher-priority neighbours are; the vertices that become ready together form an
+//   independent set and are coloured in parallel, round by round.
+public class Colouring {
+    public static final int NO_VERTEX = -1;
+
+    private Colouring() {
+    }
+
+    // EFFECTS: returns a smallest-last greedy colouring of g, indexed by label (see byLabel)
+    public static Map<Integer, Integer> smallestLastByLabel(Graph g) {
+        CsrSnapshot snapshot = new CsrSnapshot(g);
+        return byLabel(snapshot, smallestLast(snapshot));
+    }
+
+    // EFFECTS: returns a Jones-Plassmann colouring of g, indexed by label (see byLabel)
+    public static Map<Integer, Integer> jonesPlassmannByLabel(Graph g, long seed) {
+        CsrSnapshot snapshot = new CsrSnapshot(g);
+        return byLabel(snapshot, jonesPlassmann(snapshot, seed));
+    }
+
+    // REQUIRES: colours.length == g.numOfVertices()
+    // EFFECTS: returns the colour of every vertex, keyed by label, in vertex order
+    public static Map<Integer, Integer> byLabel(CsrSnapshot g, int[] colours) {
+        Map<Integer, Integer> result = new LinkedHashMap<>();
+        for (int v = 0; v < g.numOfVertices(); v++) {
+            result.put(g.label(v), colours[v]);
+        }
+        return result;
+    }
+
+    // EFFECTS: returns the number of distinct colours used, ignoring NO_VERTEX entries
+    public static int numOfColours(int[] colours) {
+        int max = -1;
+        for (int c : colours) {
+            max = Math.max(max, c);
+        }
+        return max + 1;
+    }
+
+    // EFFECTS: returns the number of distinct colours used by a colouring keyed by label
+    public static int numOfColours(Map<Integer, Integer> coloursByLabel) {
+        return coloursByLabel.values().stream().mapToInt(Integer::intValue).max().orElse(-1) + 1;
+    }
+
+    // EFFECTS: returns a greedy colouring of g in smallest-last order, indexed by vertex. The order is
+    // found with a bucket queue keyed by remaining degree in O(n + m).
+    public static int[] smallestLast(CsrSnapshot g) {
+        int[] offsets = g.offsets();
+        int[] targets = g.targets();
+        int[] order = smallestLastOrder(g);
+        int[] colours = new int[order.length];
+        Arrays.fill(colours, NO_VERTEX);
+        int maxDegree = 0;
+        for (int v = 0; v < order.length; v++) {
+            maxDegree = Math.max(maxDegree, g.degree(v));
+        }
+        boolean[] used = new boolean[maxDegree + 1];
+        for (int i = order.length - 1; i >= 0; i--) {
+            colours[order[i]] = smallestFreeColour(order[i], offsets, targets, colours, used);
+        }
+        return colours;
+    }
+
+    // EFFECTS: returns the vertices in the order they are removed when repeatedly taking a vertex of
+    // smallest remaining degree (Matula-Beck, in the bucket form of Batagelj-Zaversnik). Self-loops are
+    // not counted in degrees.
+    private static int[] smallestLastOrder(CsrSnapshot g) {
+        int n = g.numOfVertices();
+        int[] degree = loopFreeDegrees(g);
+        int maxDegree = Arrays.stream(degree).max().orElse(0);
+        // bucketStart[d] is the first position of degree d in sorted
+        int[] bucketStart = new int[maxDegree + 2];
+        for (int v = 0; v < n; v++) {
+            bucketStart[degree[v] + 1]++;
+        }
+        for (int d = 1; d <= maxDegree; d++) {
+            bucketStart[d] += bucketStart[d - 1];
+        }
+        int[] sorted = new int[n];
+        int[] position = new int[n];
+        int[] next = Arrays.copyOf(bucketStart, maxDegree + 1);
+        for (int v = 0; v < n; v++) {
+            position[v] = next[degree[v]]++;
+            sorted[position[v]] = v;
+        }
+        peel(g, degree, bucketStart, sorted, position);
+        return sorted;
+    }
+
+    // EFFECTS: returns the degree of every vertex, not counting self-loops
+    private static int[] loopFreeDegrees(CsrSnapshot g) {
+        int[] degree = new int[g.numOfVertices()];
+        for (int v = 0; v < degree.length; v++) {
+            for (int k = g.offsets()[v]; k < g.offsets()[v + 1]; k++) {
+                degree[v] += g.targets()[k] != v ? 1 : 0;
+            }
+        }
+        return degree;
+    }
+
+    // MODIFIES: degree, bucketStart, sorted, position
+    // EFFECTS: takes sorted[0], sorted[1], ... in turn; taking a vertex moves each of its neighbours of
+    // higher remaining degree to the front of its bucket and then into the bucket below, so that
+    // sorted ends up in removal order.
+    private static void peel(CsrSnapshot g, int[] degree, int[] bucketStart, int[] sorted, int[] position) {
+        int[] offsets = g.offsets();
+        int[] targets = g.targets();
+        for (int i = 0; i < sorted.length; i++) {
+            int v = sorted[i];
+            for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+                int w = targets[k];
+                if (degree[w] > degree[v]) {
+                    int first = bucketStart[degree[w]];
+                    int u = sorted[first];
+                    sorted[position[w]] = u;
+                    position[u] = position[w];
+                    sorted[first] = w;
+                    position[w] = first;
+                    bucketStart[degree[w]]++;
+                    degree[w]--;
+                }
+            }
+        }
+    }
+
+    // EFFECTS: returns a Jones-Plassmann colouring of g with priorities drawn from seed, indexed by vertex
+    public static int[] jonesPlassmann(CsrSnapshot g, long seed) {
+        int n = g.numOfVertices();
+        int[] offsets = g.offsets();
+        int[] targets = g.targets();
+        int[] priority = new Random(seed).ints(n).toArray();
+        AtomicIntegerArray waiting = countPredecessors(g, priority);
+        int[] colours = new int[n];
+        Arrays.fill(colours, NO_VERTEX);
+        int[] ready = IntStream.range(0, n).parallel().filter(v -> waiting.get(v) == 0).toArray();
+        while (ready.length > 0) {
+            IntStream.of(ready).parallel().forEach(v -> colours[v] =
+                    smallestFreeColour(v, offsets, targets, colours, new boolean[g.degree(v) + 1]));
+            ready = IntStream.of(ready).parallel()
+                    .flatMap(v -> IntStream.range(offsets[v], offsets[v + 1])
+                            .map(k -> targets[k])
+                            .filter(w -> precedes(v, w, priority) && waiting.decrementAndGet(w) == 0))
+                    .toArray();
+        }
+        return colours;
+    }
+
+    // EFFECTS: returns, for every vertex v, the number of neighbours (counted with multiplicity) that must
+    // be coloured before v
+    private static AtomicIntegerArray countPredecessors(CsrSnapshot g, int[] priority) {
+        int[] offsets = g.offsets();
+        int[] targets = g.targets();
+        AtomicIntegerArray waiting = new AtomicIntegerArray(g.numOfVertices());
+        IntStream.range(0, g.numOfVertices()).parallel().forEach(v -> {
+            int count = 0;
+            for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+                if (precedes(targets[k], v, priority)) {
+                    count++;
+                }
+            }
+            waiting.set(v, count);
+        });
+        return waiting;
+    }
+
+    // EFFECTS: returns true if v is coloured before w: v has the higher priority (ties broken by index)
+    private static boolean precedes(int v, int w, int[] priority) {
+        return priority[v] > priority[w] || (priority[v] == priority[w] && v < w);
+    }
+
+    // REQUIRES: used.length > number of neighbours of v, and is all false
+    // MODIFIES: used
+    // EFFECTS: returns the smallest colour not taken by any coloured neighbour of v, leaving used all false
+    private static int smallestFreeColour(int v, int[] offsets, int[] targets, int[] colours, boolean[] used) {
+        for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+            int c = colours[targets[k]];
+            if (c != NO_VERTEX && c < used.length && targets[k] != v) {
+                used[c] = true;
+            }
+        }
+        int colour = 0;
+        while (used[colour]) {
+            colour++;
+        }
+        for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+            int c = colours[targets[k]];
+            if (c != NO_VERTEX && c < used.length) {
+                used[c] = false;
+            }
+        }
+        return colour;
+    }
+}
@@ -0,0 +1,157 @@
+package model.algorithm;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import model.Edge;
+import model.Graph;
+import model.GraphSnapshot;
+import model.Vertex;
+
+// Compressed sparse row (CSR) copy of the adjacency of a Graph, used by the algorithms in this package.
+// Vertices are numbered 0..n-1 in the order of Graph.getVertices(); the neighbours of vertex i are
+// targets[offsets[i]] .. targets[offsets[i + 1] - 1], sorted ascending. Parallel edges and self-loops
+// are kept, so every undirected edge appears once in the row of each endpoint.
+public class CsrSnapshot {
+    private final int[] labels;
+    private final int[] offsets;
+    private final int[] targets;
+
+    // EFFECTS: creates a snapshot directly from the adjacency lists of g (without materializing
+    // g.getEdges()).
+    public CsrSnapshot(Graph g) {
+        List<Vertex> vertices = g.getVertices();
+        Map<Vertex, Integer> indexOf = new IdentityHashMap<>(vertices.size());
+        labels = new int[vertices.size()];
+        for (int i = 0; i < labels.length; i++) {
+            indexOf.put(vertices.get(i), i);
+            labels[i] = vertices.get(i).getLabel();
+        }
+        offsets = rowOffsets(vertices, indexOf);
+        targets = new int[offsets[labels.length]];
+        for (int i = 0; i < labels.length; i++) {
+            fillRow(i, vertices.get(i), indexOf);
+        }
+    }
+
+    // EFFECTS: creates a snapshot from a GraphSnapshot, which (unlike g itself) may be read on any thread
+    // while the Graph changes
+    public CsrSnapshot(GraphSnapshot g) {
+        labels = new int[g.numOfVertices()];
+        offsets = new int[labels.length + 1];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = g.getLabel(i);
+            offsets[i + 1] = offsets[i] + g.degree(i);
+        }
+        targets = new int[offsets[labels.length]];
+        for (int i = 0; i < labels.length; i++) {
+            for (int k = 0; k < g.degree(i); k++) {
+                targets[offsets[i] + k] = g.neighbour(i, k);
+            }
+            Arrays.sort(targets, offsets[i], offsets[i + 1]);
+        }
+    }
+
+    // EFFECTS: returns the CSR offsets of the vertices, counting only edges whose other end is indexed
+    private static int[] rowOffsets(List<Vertex> vertices, Map<Vertex, Integer> indexOf) {
+        int[] result = new int[vertices.size() + 1];
+        for (int i = 0; i < vertices.size(); i++) {
+            int degree = 0;
+            for (Edge e : vertices.get(i).getAdjacent()) {
+                if (indexOf.containsKey(e.getSecondVertex())) {
+                    degree++;
+                }
+            }
+            result[i + 1] = result[i] + degree;
+        }
+        return result;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the sorted neighbour indices of vertex v (numbered i) into its row of targets
+    private void fillRow(int i, Vertex v, Map<Vertex, Integer> indexOf) {
+        int pos = offsets[i];
+        for (Edge e : v.getAdjacent()) {
+            Integer j = indexOf.get(e.getSecondVertex());
+            if (j != null) {
+                targets[pos++] = j;
+            }
+        }
+        Arrays.sort(targets, offsets[i], offsets[i + 1]);
+    }
+
+    // EFFECTS: creates a snapshot from already-built CSR arrays.
+    protected CsrSnapshot(int[] labels, int[] offsets, int[] targets) {
+        this.labels = labels;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    // REQUIRES: firstEnd.length == secondEnd.length, every end is in [0, n)
+    // EFFECTS: creates a snapshot of the graph with vertices 0..n-1 (labelled 1..n) and an edge
+    // between firstEnd[i] and secondEnd[i] for every i, without going through Graph.
+    public static CsrSnapshot fromEdgeList(int n, int[] firstEnd, int[] secondEnd) {
+        int[] labels = new int[n];
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            labels[i] = i + 1;
+        }
+        for (int i = 0; i < firstEnd.length; i++) {
+            offsets[firstEnd[i] + 1]++;
+            offsets[secondEnd[i] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] targets = new int[offsets[n]];
+        int[] pos = Arrays.copyOf(offsets, n);
+        for (int i = 0; i < firstEnd.length; i++) {
+            targets[pos[firstEnd[i]]++] = secondEnd[i];
+            targets[pos[secondEnd[i]]++] = firstEnd[i];
+        }
+        for (int i = 0; i < n; i++) {
+            Arrays.sort(targets, offsets[i], offsets[i + 1]);
+        }
+        return new CsrSnapshot(labels, offsets, targets);
+    }
+
+    public int numOfVertices() {
+        return labels.length;
+    }
+
+    // EFFECTS: returns the number of (directed) adjacency entries, i.e. twice the number of edges.
+    public int numOfEntries() {
+        return targets.length;
+    }
+
+    public int label(int vertex) {
+        return labels[vertex];
+    }
+
+    public int degree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    // EFFECTS: returns the offsets array; the caller must not modify it.
+    public int[] offsets() {
+        return offsets;
+    }
+
+    // EFFECTS: returns the targets array; the caller must not modify it.
+    public int[] targets() {
+        return targets;
+    }
+
+    // REQUIRES: values.length == numOfVertices()
+    // EFFECTS: returns values keyed by the label of the vertex they belong to, in vertex order.
+    public Map<Integer, Double> byLabel(double[] values) {
+        Map<Integer, Double> result = new LinkedHashMap<>();
+        for (int i = 0; i < labels.length; i++) {
+            result.put(labels[i], values[i]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,300 @@
+package model.algorithm;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.LinkedHashMap;
+import java.util.stream.IntStream;
+
+import model.Graph;
+
+// Louvain community detection (modularity maximisation) over a CsrSnapshot.
+// Each level repeatedly moves single vertices to the neighbouring community with the best modularity
+// gain, then collapses every community into one weighted vertex of the next level, until a level
+// changes nothing. Moves are evaluated in parallel one colour class at a time (colours from
+// Colouring.jonesPlassmann): vertices of the same class are never adjacent, so the gain one of them
+// sees is not changed by the others moving.
+public class Louvain {
+    private static final int MAX_PASSES = 32;
+    private static final double MIN_IMPROVEMENT = 1e-7;
+    private static final long COLOURING_SEED = 0;
+
+    private final CsrSnapshot snapshot;
+    private final int[] communityOf;
+    private int numOfCommunities;
+    private final double modularity;
+
+    // EFFECTS: detects the communities of a fresh snapshot of g
+    public Louvain(Graph g) {
+        this(new CsrSnapshot(g));
+    }
+
+    // EFFECTS: detects the communities of the snapshot
+    public Louvain(CsrSnapshot snapshot) {
+        this.snapshot = snapshot;
+        communityOf = IntStream.range(0, snapshot.numOfVertices()).toArray();
+        numOfCommunities = communityOf.length;
+        Level first = Level.of(snapshot);
+        Level level = first;
+        while (level.size() > 0) {
+            int[] membership = level.moveVertices();
+            int k = renumber(membership);
+            for (int v = 0; v < communityOf.length; v++) {
+                communityOf[v] = membership[communityOf[v]];
+            }
+            numOfCommunities = k;
+            if (k == level.size()) {
+                break;
+            }
+            level = level.aggregate(membership, k);
+        }
+        modularity = first.modularity(communityOf);
+    }
+
+    // EFFECTS: returns the community (0 .. numOfCommunities() - 1) of every vertex, indexed by vertex;
+    // the caller must not modify it.
+    public int[] communities() {
+        return communityOf;
+    }
+
+    public int numOfCommunities() {
+        return numOfCommunities;
+    }
+
+    // EFFECTS: returns the modularity of the communities found, in [-1/2, 1]
+    public double modularity() {
+        return modularity;
+    }
+
+    public CsrSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    // EFFECTS: returns the community of every vertex, keyed by label
+    public Map<Integer, Integer> communitiesByLabel() {
+        Map<Integer, Integer> result = new LinkedHashMap<>();
+        for (int v = 0; v < communityOf.length; v++) {
+            result.put(snapshot.label(v), communityOf[v]);
+        }
+        return result;
+    }
+
+    // MODIFIES: membership
+    // EFFECTS: renumbers the communities in membership to 0 .. k - 1 in order of first appearance and
+    // returns k
+    private static int renumber(int[] membership) {
+        int[] newNumber = new int[membership.length];
+        Arrays.fill(newNumber, -1);
+        int k = 0;
+        for (int v = 0; v < membership.length; v++) {
+            if (newNumber[membership[v]] < 0) {
+                newNumber[membership[v]] = k++;
+            }
+            membership[v] = newNumber[membership[v]];
+        }
+        return k;
+    }
+
+    // One level of the Louvain hierarchy: a weighted graph in CSR form where every edge appears once in
+    // each endpoint's row. The entries of a self-loop carry both of its ends, so that the weights in a
+    // row always add up to the weighted degree.
+    private static class Level {
+        private final int[] offsets;
+        private final int[] targets;
+        private final double[] weights;
+        private final double[] strength; // weighted degree of each vertex
+        private final double totalWeight; // sum of all strengths, i.e. twice the total edge weight
+
+        // EFFECTS: creates a level from CSR arrays
+        Level(int[] offsets, int[] targets, double[] weights) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+            strength = new double[offsets.length - 1];
+            double total = 0;
+            for (int v = 0; v < strength.length; v++) {
+                for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+                    strength[v] += weights[k];
+                }
+                total += strength[v];
+            }
+            totalWeight = total;
+        }
+
+        // EFFECTS: returns the first level, where every adjacency entry has weight 1
+        static Level of(CsrSnapshot g) {
+            double[] weights = new double[g.numOfEntries()];
+            Arrays.fill(weights, 1);
+            return new Level(g.offsets(), g.targets(), weights);
+        }
+
+        int size() {
+            return strength.length;
+        }
+
+        // EFFECTS: returns a community for every vertex of this level (not necessarily numbered
+        // consecutively), found by moving vertices greedily until modularity stops improving
+        int[] moveVertices() {
+            int[] membership = IntStream.range(0, size()).toArray();
+            double[] total = Arrays.copyOf(strength, size());
+            int[][] classes = colourClasses();
+            ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(() -> new Scratch(size()));
+            double current = modularity(membership);
+            for (int pass = 0; pass < MAX_PASSES && totalWeight > 0; pass++) {
+                for (int[] members : classes) {
+                    moveClass(members, membership, total, scratch);
+                }
+                double next = modularity(membership);
+                if (next - current < MIN_IMPROVEMENT) {
+                    break;
+                }
+                current = next;
+            }
+            return membership;
+        }
+
+        // MODIFIES: membership, total
+        // EFFECTS: moves every vertex of an independent set to its best community; the choices are made
+        // in parallel, then applied
+        private void moveClass(int[] members, int[] membership, double[] total, ThreadLocal<Scratch> scratch) {
+            int[] best = IntStream.of(members).parallel()
+                    .map(v -> scratch.get().bestCommunity(this, v, membership, total))
+                    .toArray();
+            for (int i = 0; i < members.length; i++) {
+                int v = members[i];
+                total[membership[v]] -= strength[v];
+                total[best[i]] += strength[v];
+                membership[v] = best[i];
+            }
+        }
+
+        // EFFECTS: returns the vertices of this level grouped into independent sets by a parallel colouring
+        private int[][] colourClasses() {
+            int[] colours = Colouring.jonesPlassmann(new CsrSnapshot(new int[size()], offsets, targets),
+                    COLOURING_SEED);
+            return groupBy(colours, Colouring.numOfColours(colours));
+        }
+
+        // EFFECTS: returns the modularity of the partition of this level given by membership
+        double modularity(int[] membership) {
+            if (totalWeight == 0) {
+                return 0;
+            }
+            double[] inside = new double[size()];
+            double[] total = new double[size()];
+            for (int v = 0; v < size(); v++) {
+                total[membership[v]] += strength[v];
+                for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+                    if (membership[targets[k]] == membership[v]) {
+                        inside[membership[v]] += weights[k];
+                    }
+                }
+            }
+            double result = 0;
+            for (int c = 0; c < size(); c++) {
+                result += inside[c] / totalWeight - (total[c] / totalWeight) * (total[c] / totalWeight);
+            }
+            return result;
+        }
+
+        // REQUIRES: membership numbers communities 0 .. k - 1
+        // EFFECTS: returns the next level, with one vertex per community; the weight between two of them
+        // is the total weight between their communities, and internal weight becomes a self-loop
+        Level aggregate(int[] membership, int k) {
+            int[][] members = groupBy(membership, k);
+            int[] newOffsets = new int[k + 1];
+            int[] newTargets = new int[targets.length];
+            double[] newWeights = new double[targets.length];
+            Scratch scratch = new Scratch(k);
+            for (int c = 0; c < k; c++) {
+                for (int v : members[c]) {
+                    for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                        scratch.add(membership[targets[e]], weights[e]);
+                    }
+                }
+                newOffsets[c + 1] = scratch.drainInto(newOffsets[c], newTargets, newWeights);
+            }
+            return new Level(newOffsets, Arrays.copyOf(newTargets, newOffsets[k]),
+                    Arrays.copyOf(newWeights, newOffsets[k]));
+        }
+
+        // REQUIRES: every membership[v] is in 0 .. k - 1
+        // EFFECTS: returns, for every group c in 0 .. k - 1, the vertices whose membership is c
+        private static int[][] groupBy(int[] membership, int k) {
+            int[] counts = new int[k];
+            for (int c : membership) {
+                counts[c]++;
+            }
+            int[][] members = new int[k][];
+            for (int c = 0; c < k; c++) {
+                members[c] = new int[counts[c]];
+            }
+            Arrays.fill(counts, 0);
+            for (int v = 0; v < membership.length; v++) {
+                members[membership[v]][counts[membership[v]]++] = v;
+            }
+            return members;
+        }
+    }
+
+    // Per-thread accumulator of weights towards communities, reset after every use in O(touched).
+    private static class Scratch {
+        private final double[] weightTo;
+        private final int[] touched;
+        private int numOfTouched;
+
+        // EFFECTS: creates an empty accumulator for communities 0 .. size - 1
+        Scratch(int size) {
+            weightTo = new double[size];
+            touched = new int[size];
+        }
+
+        // MODIFIES: this
+        // EFFECTS: adds weight towards community c
+        void add(int c, double weight) {
+            if (weightTo[c] == 0) {
+                touched[numOfTouched++] = c;
+            }
+            weightTo[c] += weight;
+        }
+
+        // MODIFIES: this, targets, weights
+        // EFFECTS: writes the accumulated (community, weight) pairs from position start on, resets this,
+        // and returns the position after the last pair written
+        int drainInto(int start, int[] targets, double[] weights) {
+            for (int i = 0; i < numOfTouched; i++) {
+                targets[start + i] = touched[i];
+                weights[start + i] = weightTo[touched[i]];
+                weightTo[touched[i]] = 0;
+            }
+            int end = start + numOfTouched;
+            numOfTouched = 0;
+            return end;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: returns the community of level that v gains most modularity by joining, staying in its
+        // own community unless another one is strictly better
+        int bestCommunity(Level level, int v, int[] membership, double[] total) {
+            for (int k = level.offsets[v]; k < level.offsets[v + 1]; k++) {
+                if (level.targets[k] != v) {
+                    add(membership[level.targets[k]], level.weights[k]);
+                }
+            }
+            int own = membership[v];
+            double ratio = level.strength[v] / level.totalWeight;
+            int best = own;
+            double bestGain = weightTo[own] - (total[own] - level.strength[v]) * ratio;
+            for (int i = 0; i < numOfTouched; i++) {
+                int c = touched[i];
+                double gain = weightTo[c] - total[c] * ratio;
+                if (c != own && gain > bestGain) {
+                    best = c;
+                    bestGain = gain;
+                }
+                weightTo[c] = 0;
+            }
+            numOfTouched = 0;
+            return best;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package model.algorithm;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import model.Graph;
+
+// PageRank by power iteration over a CsrSnapshot. Each iteration is parallelized by vertex range:
+// every range pulls the contributions of its vertices' neighbours into its own slice of the next
+// rank vector, so no two threads write the same element.
+public class PageRank {
+    public static final double DEFAULT_DAMPING = 0.85;
+    public static final double DEFAULT_TOLERANCE = 1e-9;
+    public static final int DEFAULT_MAX_ITERATIONS = 100;
+    private static final int RANGE_SIZE = 4096;
+
+    private final double damping;
+    private final double tolerance;
+    private final int maxIterations;
+    private int iterations;
+
+    // EFFECTS: creates a PageRank with the default damping factor, tolerance and iteration cap
+    public PageRank() {
+        this(DEFAULT_DAMPING, DEFAULT_TOLERANCE, DEFAULT_MAX_ITERATIONS);
+    }
+
+    // REQUIRES: 0 <= damping < 1, tolerance > 0, maxIterations > 0
+    // EFFECTS: creates a PageRank that stops once the L1 change between two iterations drops below
+    // tolerance, or after maxIterations iterations.
+    public PageRank(double damping, double tolerance, int maxIterations) {
+        this.damping = damping;
+        this.tolerance = tolerance;
+        this.maxIterations = maxIterations;
+    }
+
+    // EFFECTS: returns the PageRank of every vertex of g, keyed by label. Scores sum to 1.
+    public Map<Integer, Double> scoresByLabel(Graph g) {
+        CsrSnapshot snapshot = new CsrSnapshot(g);
+        return snapshot.byLabel(compute(snapshot));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the PageRank of every vertex of the snapshot, indexed by vertex. The rank of
+    // vertices without neighbours is spread uniformly over the whole graph.
+    public double[] compute(CsrSnapshot g) {
+        int n = g.numOfVertices();
+        double[] rank = new double[n];
+        double[] next = new double[n];
+        double[] contribution = new double[n];
+        if (n == 0) {
+            return rank;
+        }
+        double[] partial = new double[(n + RANGE_SIZE - 1) / RANGE_SIZE];
+        Arrays.fill(rank, 1.0 / n);
+        for (iterations = 1; iterations <= maxIterations; iterations++) {
+            double dangling = spread(g, rank, contribution, partial);
+            double change = pull(g, (1 - damping) / n + damping * dangling / n, rank, contribution, next, partial);
+            double[] tmp = next;
+            next = rank;
+            rank = tmp;
+            if (change < tolerance) {
+                break;
+            }
+        }
+        return rank;
+    }
+
+    // MODIFIES: contribution, partial
+    // EFFECTS: sets contribution[v] to the share of rank[v] sent along each edge of v, and returns the
+    // total rank of vertices without neighbours. Runs in parallel by vertex range.
+    private double spread(CsrSnapshot g, double[] rank, double[] contribution, double[] partial) {
+        int[] offsets = g.offsets();
+        IntStream.range(0, partial.length).parallel().forEach(r -> {
+            double dangling = 0;
+            for (int v = r * RANGE_SIZE; v < Math.min(rank.length, (r + 1) * RANGE_SIZE); v++) {
+                int degree = offsets[v + 1] - offsets[v];
+                contribution[v] = degree == 0 ? 0 : rank[v] / degree;
+                dangling += degree == 0 ? rank[v] : 0;
+            }
+            partial[r] = dangling;
+        });
+        return sum(partial);
+    }
+
+    // MODIFIES: next, partial
+    // EFFECTS: sets next[v] to base plus the damped contributions of the neighbours of v, and returns the
+    // L1 distance between next and rank. Runs in parallel by vertex range.
+    private double pull(CsrSnapshot g, double base, double[] rank, double[] contribution, double[] next,
+                        double[] partial) {
+        int[] offsets = g.offsets();
+        int[] targets = g.targets();
+        IntStream.range(0, partial.length).parallel().forEach(r -> {
+            double change = 0;
+            for (int v = r * RANGE_SIZE; v < Math.min(rank.length, (r + 1) * RANGE_SIZE); v++) {
+                double incoming = 0;
+                for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+                    incoming += contribution[targets[k]];
+                }
+                next[v] = base + damping * incoming;
+                change += Math.abs(next[v] - rank[v]);
+            }
+            partial[r] = change;
+        });
+        return sum(partial);
+    }
+
+    // EFFECTS: returns the number of iterations the last call to compute() took
+    public int getIterations() {
+        return Math.min(iterations, maxIterations);
+    }
+
+    // EFFECTS: returns the sum of values
+    private static double sum(double[] values) {
+        double total = 0;
+        for (double value : values) {
+            total += value;
+        }
+        return total;
+    }
+}
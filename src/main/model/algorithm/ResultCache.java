@@ -0,0 +1,104 @@
+package model.algorithm;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import model.Graph;
+
+// Least recently used cache of the results of algorithms run on a Graph, keyed by the name of the
+// algorithm, its parameters and the topology version of the Graph, so that asking again for a result of an
+// unchanged Graph costs a map lookup. The results cached depend only on the vertices, labels and edges, so
+// moving vertices (a drag, or a layout frame) keeps them. Results are only valid for the Graph and topology
+// version they were computed on: as soon as a query is made for a newer version (or for another Graph),
+// every cached result is dropped. Callers must not modify the results they get.
+public class ResultCache {
+    public static final int DEFAULT_CAPACITY = 32;
+
+    private final Map<Key, Object> results;
+    private Graph graph; // the Graph the cached results belong to
+    private long version; // its topology version when they were computed
+    private int numOfHits;
+
+    // EFFECTS: creates an empty cache keeping at most capacity results
+    public ResultCache(int capacity) {
+        results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the result of algorithm, with the given parameters, on the current topology of g:
+    // the cached one if there is one, or else the one compute returns, which is then cached
+    public synchronized <T> T get(Graph g, String algorithm, Supplier<T> compute, Object... parameters) {
+        T cached = peek(g, algorithm, parameters);
+        if (cached != null) {
+            return cached;
+        }
+        T computed = compute.get();
+        results.put(new Key(algorithm, Arrays.asList(parameters)), computed);
+        return computed;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the result of algorithm, with the given parameters, cached for the current topology of
+    // g, or null if there is none; nothing is computed
+    public synchronized <T> T peek(Graph g, String algorithm, Object... parameters) {
+        if (g != graph || g.getTopologyVersion() != version) {
+            results.clear();
+            graph = g;
+            version = g.getTopologyVersion();
+        }
+        Object result = results.get(new Key(algorithm, Arrays.asList(parameters)));
+        if (result == null) {
+            return null;
+        }
+        numOfHits++;
+        // only a call for the same algorithm and parameters, hence the same type T, can have cached it
+        @SuppressWarnings({"unchecked", "checkstyle:suppresswarnings"})
+        T cached = (T) result;
+        return cached;
+    }
+
+    // EFFECTS: returns the number of results cached now
+    public synchronized int size() {
+        return results.size();
+    }
+
+    // EFFECTS: returns the number of queries answered from the cache so far
+    public synchronized int numOfHits() {
+        return numOfHits;
+    }
+
+    // An algorithm and its parameters. The version is left out, since all results cached together are
+    // of the same one.
+    private static final class Key {
+        private final String algorithm;
+        private final List<Object> parameters;
+
+        // EFFECTS: creates the key of algorithm run with parameters
+        private Key(String algorithm, List<Object> parameters) {
+            this.algorithm = algorithm;
+            this.parameters = parameters;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return algorithm.equals(other.algorithm) && parameters.equals(other.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * algorithm.hashCode() + parameters.hashCode();
+        }
+    }
+}
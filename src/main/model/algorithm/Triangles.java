@@ -0,0 +1,168 @@
+package model.algorithm;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+import model.Graph;
+
+// Exact triangle counting and clustering coefficients over a CsrSnapshot.
+// Parallel edges and self-loops are ignored, so the counts are those of the underlying simple graph.
+// Every edge is oriented from its lower-ranked to its higher-ranked endpoint, ranking vertices by
+// (degree, index); each vertex then has at most O(sqrt(m)) out-neighbours, and every triangle is found
+// exactly once as a pair of out-neighbour rows whose sorted intersection is computed by merging.
+// Vertices are processed in parallel.
+public class Triangles {
+    private static final int RANGE_SIZE = 1024;
+
+    private final CsrSnapshot snapshot;
+    private final int[] degree; // degree in the simple graph
+    private final int[] outOffsets; // CSR rows of the oriented graph
+    private final int[] outTargets;
+    private final long[] trianglesAt;
+    private final long numOfTriangles;
+
+    // EFFECTS: counts the triangles of a fresh snapshot of g
+    public Triangles(Graph g) {
+        this(new CsrSnapshot(g));
+    }
+
+    // EFFECTS: counts the triangles of the snapshot
+    public Triangles(CsrSnapshot snapshot) {
+        this.snapshot = snapshot;
+        int n = snapshot.numOfVertices();
+        degree = new int[n];
+        IntStream.range(0, n).parallel().forEach(v -> degree[v] = countSuccessors(v, false));
+        outOffsets = new int[n + 1];
+        IntStream.range(0, n).parallel().forEach(v -> outOffsets[v + 1] = countSuccessors(v, true));
+        for (int v = 0; v < n; v++) {
+            outOffsets[v + 1] += outOffsets[v];
+        }
+        outTargets = new int[outOffsets[n]];
+        IntStream.range(0, n).parallel().forEach(this::fillOrientedRow);
+
+        AtomicLongArray counts = new AtomicLongArray(n);
+        numOfTriangles = IntStream.range(0, (n + RANGE_SIZE - 1) / RANGE_SIZE).parallel()
+                .mapToLong(r -> countRange(r, counts))
+                .sum();
+        trianglesAt = new long[n];
+        for (int v = 0; v < n; v++) {
+            trianglesAt[v] = counts.get(v);
+        }
+    }
+
+    // EFFECTS: returns the number of distinct neighbours of v other than itself; if oriented, only those
+    // ranked above v are counted
+    private int countSuccessors(int v, boolean oriented) {
+        int[] offsets = snapshot.offsets();
+        int[] targets = snapshot.targets();
+        int count = 0;
+        for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+            if (isSimple(targets, offsets, v, k) && (!oriented || precedes(v, targets[k]))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the neighbours ranked above v into its row of the oriented graph, sorted by index
+    private void fillOrientedRow(int v) {
+        int[] offsets = snapshot.offsets();
+        int[] targets = snapshot.targets();
+        int pos = outOffsets[v];
+        for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+            if (isSimple(targets, offsets, v, k) && precedes(v, targets[k])) {
+                outTargets[pos++] = targets[k];
+            }
+        }
+    }
+
+    // MODIFIES: counts
+    // EFFECTS: counts the triangles whose lowest-ranked vertex lies in range r, adding one to each of
+    // their three corners in counts; returns the number found.
+    private long countRange(int r, AtomicLongArray counts) {
+        long found = 0;
+        for (int v = r * RANGE_SIZE; v < Math.min(degree.length, (r + 1) * RANGE_SIZE); v++) {
+            for (int k = outOffsets[v]; k < outOffsets[v + 1]; k++) {
+                int u = outTargets[k];
+                int i = outOffsets[v];
+                int j = outOffsets[u];
+                while (i < outOffsets[v + 1] && j < outOffsets[u + 1]) {
+                    if (outTargets[i] < outTargets[j]) {
+                        i++;
+                    } else if (outTargets[i] > outTargets[j]) {
+                        j++;
+                    } else {
+                        counts.incrementAndGet(v);
+                        counts.incrementAndGet(u);
+                        counts.incrementAndGet(outTargets[i]);
+                        found++;
+                        i++;
+                        j++;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    // EFFECTS: returns true if targets[k] is neither a self-loop nor a repeat of the previous entry of
+    // the (sorted) row of v
+    private static boolean isSimple(int[] targets, int[] offsets, int v, int k) {
+        return targets[k] != v && (k == offsets[v] || targets[k] != targets[k - 1]);
+    }
+
+    // EFFECTS: returns true if v is ranked below u, i.e. the edge between them is oriented from v to u
+    private boolean precedes(int v, int u) {
+        return degree[v] < degree[u] || (degree[v] == degree[u] && v < u);
+    }
+
+    public long numOfTriangles() {
+        return numOfTriangles;
+    }
+
+    // EFFECTS: returns the number of triangles each vertex belongs to, keyed by label
+    public Map<Integer, Double> trianglesByLabel() {
+        double[] values = new double[trianglesAt.length];
+        for (int v = 0; v < values.length; v++) {
+            values[v] = trianglesAt[v];
+        }
+        return snapshot.byLabel(values);
+    }
+
+    // EFFECTS: returns the local clustering coefficient of every vertex (the fraction of pairs of its
+    // neighbours that are adjacent; 0 for vertices with fewer than two neighbours), indexed by vertex
+    public double[] localClustering() {
+        double[] values = new double[trianglesAt.length];
+        for (int v = 0; v < values.length; v++) {
+            values[v] = degree[v] < 2 ? 0 : 2.0 * trianglesAt[v] / ((double) degree[v] * (degree[v] - 1));
+        }
+        return values;
+    }
+
+    // EFFECTS: returns the local clustering coefficient of every vertex, keyed by label
+    public Map<Integer, Double> localClusteringByLabel() {
+        return snapshot.byLabel(localClustering());
+    }
+
+    // EFFECTS: returns the average of the local clustering coefficients, or 0 for an empty graph
+    public double averageClustering() {
+        double[] values = localClustering();
+        double total = 0;
+        for (double value : values) {
+            total += value;
+        }
+        return values.length == 0 ? 0 : total / values.length;
+    }
+
+    // EFFECTS: returns the global clustering coefficient (transitivity): three times the number of
+    // triangles over the number of connected triples, or 0 if there are none
+    public double globalClustering() {
+        double triples = 0;
+        for (int d : degree) {
+            triples += (double) d * (d - 1) / 2;
+        }
+        return triples == 0 ? 0 : 3 * numOfTriangles / triples;
+    }
+}
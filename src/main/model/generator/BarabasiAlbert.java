@@ -0,0 +1,62 @@
+package model.generator;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+// Barabasi-Albert preferential attachment graph: vertices arrive one by one, and each is joined to
+// edgesPerVertex earlier vertices chosen with probability proportional to their degree. Generated as in
+// Batagelj and Brandes' "Efficient generation of large random networks": the k-th edge of all is
+// (k / edgesPerVertex, the vertex at a uniformly random earlier end among the 2k + 1 ends listed so far),
+// where a random end that is itself the second end of an edge stands for whatever that edge was joined
+// to. Only the random positions are stored, one per edge, and are drawn in parallel; the vertex an end
+// stands for is then found by following them back, which takes two steps on average, also in parallel.
+// Repeated edges are kept, but self-loops (the first edge of all, which joins the first vertex to itself,
+// and any edge whose random end is an end of the arriving vertex's own edges) are dropped, since a save
+// cannot hold them; so there are slightly fewer than numOfVertices * edgesPerVertex edges.
+public class BarabasiAlbert extends GraphGenerator {
+    private final int edgesPerVertex;
+    private int[] earlierEnd; // the random earlier end picked by every edge; null until prepared
+
+    // REQUIRES: numOfVertices > 0, edgesPerVertex > 0, numOfVertices * edgesPerVertex < 2^30
+    // EFFECTS: creates a generator of a preferential attachment graph drawn from seed
+    public BarabasiAlbert(int numOfVertices, int edgesPerVertex, long seed) {
+        super(numOfVertices, seed);
+        this.edgesPerVertex = edgesPerVertex;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: draws the earlier end of every edge, CHUNK edges at a time in parallel
+    @Override
+    protected void prepare() {
+        earlierEnd = new int[numOfVertices * edgesPerVertex];
+        IntStream.range(0, numOfChunks()).parallel().forEach(chunk -> {
+            SplittableRandom random = randomOf(chunk);
+            int last = Math.min(earlierEnd.length, (chunk + 1) * CHUNK);
+            for (int k = chunk * CHUNK; k < last; k++) {
+                earlierEnd[k] = random.nextInt(2 * k + 1);
+            }
+        });
+    }
+
+    @Override
+    protected int numOfChunks() {
+        return (numOfVertices * edgesPerVertex + CHUNK - 1) / CHUNK;
+    }
+
+    // the edges of chunk c are the edges numbered c * CHUNK .. (c + 1) * CHUNK - 1
+    @Override
+    protected void generateChunk(int chunk, SplittableRandom random, EdgeList out) {
+        int last = Math.min(earlierEnd.length, (chunk + 1) * CHUNK);
+        for (int k = chunk * CHUNK; k < last; k++) {
+            int end = earlierEnd[k];
+            while (end % 2 == 1) { // the second end of edge end / 2, which stands for its own earlier end
+                end = earlierEnd[end / 2];
+            }
+            int u = k / edgesPerVertex;
+            int v = end / 2 / edgesPerVertex;
+            if (u != v) {
+                out.add(u, v);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package model.generator;
+
+import java.util.Arrays;
+
+// Growable list of edges, kept as two arrays of vertex numbers, that a generator fills one chunk at a time.
+class EdgeList {
+    private int[] first;
+    private int[] second;
+    private int size;
+
+    // EFFECTS: creates an empty list with room for capacity edges
+    EdgeList(int capacity) {
+        first = new int[Math.max(1, capacity)];
+        second = new int[first.length];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds an edge between the vertices numbered u and v
+    void add(int u, int v) {
+        if (size == first.length) {
+            first = Arrays.copyOf(first, 2 * size);
+            second = Arrays.copyOf(second, 2 * size);
+        }
+        first[size] = u;
+        second[size] = v;
+        size++;
+    }
+
+    int[] getFirst() {
+        return first;
+    }
+
+    int[] getSecond() {
+        return second;
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,31 @@
+package model.generator;
+
+import java.util.SplittableRandom;
+
+// Erdos-Renyi G(n, m) random graph: m edges, each between two distinct vertices chosen uniformly at
+// random, independently of the others. On sparse graphs repeated edges are rare, and they are kept.
+public class ErdosRenyi extends GraphGenerator {
+    private final long numOfEdges;
+
+    // REQUIRES: numOfVertices >= 2, numOfEdges >= 0
+    // EFFECTS: creates a generator of G(numOfVertices, numOfEdges) drawn from seed
+    public ErdosRenyi(int numOfVertices, long numOfEdges, long seed) {
+        super(numOfVertices, seed);
+        this.numOfEdges = numOfEdges;
+    }
+
+    @Override
+    protected int numOfChunks() {
+        return (int) ((numOfEdges + CHUNK - 1) / CHUNK);
+    }
+
+    @Override
+    protected void generateChunk(int chunk, SplittableRandom random, EdgeList out) {
+        long count = Math.min(CHUNK, numOfEdges - (long) chunk * CHUNK);
+        for (int i = 0; i < count; i++) {
+            int u = random.nextInt(numOfVertices);
+            int v = random.nextInt(numOfVertices - 1);
+            out.add(u, v < u ? v : v + 1);
+        }
+    }
+}
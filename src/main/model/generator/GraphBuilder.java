@@ -0,0 +1,31 @@
+package model.generator;
+
+import java.util.Arrays;
+
+import model.Graph;
+
+// GraphSink filling a new Graph through its bulk operations, the vertex numbered i labelled i + 1.
+public class GraphBuilder implements GraphSink {
+    private final Graph graph = new Graph();
+
+    // MODIFIES: this
+    // EFFECTS: adds the next count vertices to the Graph, the i-th of them at (xs[i], ys[i])
+    @Override
+    public void vertices(int[] xs, int[] ys, int count) {
+        int[] labels = new int[count];
+        Arrays.setAll(labels, i -> graph.getVertices().size() + i + 1);
+        graph.addVertices(labels, xs, ys, count);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds count edges to the Graph, the i-th of them between the vertices numbered first[i] and
+    // second[i]
+    @Override
+    public void edges(int[] first, int[] second, int count) {
+        graph.addEdgesBetween(first, second, count);
+    }
+
+    public Graph getGraph() {
+        return graph;
+    }
+}
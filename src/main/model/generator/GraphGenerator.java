@@ -0,0 +1,159 @@
+package model.generator;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import model.Graph;
+import persistence.StreamingGraphWriter;
+
+// Seeded generator of a large synthetic graph, streamed to a GraphSink without building a Vertex or Edge
+// per element: vertices CHUNK at a time, then edges CHUNK (or so) at a time. Edge chunks are generated
+// in parallel, BATCH at a time, each from its own random stream derived from the seed and the number of
+// the chunk, and are passed on in order; so the same seed always gives the same graph, however many
+// threads there are. Unless a generator places its vertices itself, they are laid out on a square grid.
+public abstract class GraphGenerator {
+    protected static final int CHUNK = 1 << 16;
+    private static final int BATCH = 4 * Runtime.getRuntime().availableProcessors(); // chunks in memory at once
+    private static final int SPACING = 100; // Graph units between neighbouring vertices of the grid layout
+    public static final String USAGE = "er <vertices> <edges> <seed> | ba <vertices> <edges per vertex> <seed>"
+            + " | grid <width> <height> | geometric <vertices> <average degree> <seed> | rmat <scale> <edge factor>"
+            + " <seed>";
+    private static final Map<String, Integer> NUM_OF_PARAMETERS = Map.of("er", 3, "ba", 3, "grid", 2, "geometric", 3,
+            "rmat", 3);
+
+    protected final int numOfVertices;
+    protected final long seed;
+
+    // REQUIRES: numOfVertices >= 0
+    // EFFECTS: creates a generator of a graph with numOfVertices vertices, drawn from the given seed
+    protected GraphGenerator(int numOfVertices, long seed) {
+        this.numOfVertices = numOfVertices;
+        this.seed = seed;
+    }
+
+    public int numOfVertices() {
+        return numOfVertices;
+    }
+
+    // EFFECTS: returns the number of chunks the edges are generated in
+    protected abstract int numOfChunks();
+
+    // MODIFIES: out
+    // EFFECTS: adds the edges of the given chunk to out, drawing them from random
+    protected abstract void generateChunk(int chunk, SplittableRandom random, EdgeList out);
+
+    // MODIFIES: this
+    // EFFECTS: does whatever must be done before the graph can be streamed; nothing by default
+    protected void prepare() {
+    }
+
+    // MODIFIES: xs, ys
+    // EFFECTS: stores the positions of the count vertices numbered from first on into xs and ys
+    protected void place(int first, int[] xs, int[] ys, int count) {
+        int side = (int) Math.ceil(Math.sqrt(numOfVertices));
+        for (int i = 0; i < count; i++) {
+            xs[i] = (first + i) % side * SPACING;
+            ys[i] = (first + i) / side * SPACING;
+        }
+    }
+
+    // EFFECTS: returns the random stream of the given part of the graph
+    protected SplittableRandom randomOf(int part) {
+        return new SplittableRandom(new SplittableRandom(seed ^ part * 0x9E3779B97F4A7C15L).nextLong());
+    }
+
+    // MODIFIES: sink
+    // EFFECTS: streams the vertices and then the edges of the graph to sink
+    public void generate(GraphSink sink) throws IOException {
+        prepare();
+        int[] xs = new int[CHUNK];
+        int[] ys = new int[CHUNK];
+        for (int first = 0; first < numOfVertices; first += CHUNK) {
+            int count = Math.min(CHUNK, numOfVertices - first);
+            place(first, xs, ys, count);
+            sink.vertices(xs, ys, count);
+        }
+        for (int first = 0; first < numOfChunks(); first += BATCH) {
+            EdgeList[] batch = IntStream.range(first, Math.min(numOfChunks(), first + BATCH)).parallel()
+                    .mapToObj(this::chunkOf).toArray(EdgeList[]::new);
+            for (EdgeList edges : batch) {
+                sink.edges(edges.getFirst(), edges.getSecond(), edges.size());
+            }
+        }
+    }
+
+    // EFFECTS: returns the edges of the given chunk
+    private EdgeList chunkOf(int chunk) {
+        EdgeList edges = new EdgeList(CHUNK);
+        generateChunk(chunk, randomOf(chunk), edges);
+        return edges;
+    }
+
+    // EFFECTS: returns the generator described by args (the name of a model followed by its parameters,
+    // as in USAGE), or null if they describe none: the model is unknown, or is given too few or too many
+    // parameters, or one that is not a number
+    public static GraphGenerator of(String[] args) {
+        String model = args.length > 0 ? args[0] : "";
+        if (NUM_OF_PARAMETERS.getOrDefault(model, -1) != args.length - 1) {
+            return null;
+        }
+        try {
+            return create(model, args);
+        } catch (NumberFormatException nfe) {
+            return null;
+        }
+    }
+
+    // REQUIRES: args holds model and as many parameters as NUM_OF_PARAMETERS gives it
+    // EFFECTS: returns the generator of model with the parameters in args; throws NumberFormatException if
+    // one of them is not a number
+    private static GraphGenerator create(String model, String[] args) {
+        switch (model) {
+            case "er":
+                return new ErdosRenyi(Integer.parseInt(args[1]), Long.parseLong(args[2]), Long.parseLong(args[3]));
+            case "ba":
+                return new BarabasiAlbert(Integer.parseInt(args[1]), Integer.parseInt(args[2]),
+                        Long.parseLong(args[3]));
+            case "grid":
+                return new Lattice(Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+            case "geometric":
+                return new RandomGeometric(Integer.parseInt(args[1]), Double.parseDouble(args[2]),
+                        Long.parseLong(args[3]));
+            case "rmat":
+                return new Rmat(Integer.parseInt(args[1]), Integer.parseInt(args[2]), Long.parseLong(args[3]));
+            default:
+                return null;
+        }
+    }
+
+    // EFFECTS: streams the graph described by all but the last of args to the save file named by the last
+    public static void main(String[] args) throws IOException {
+        GraphGenerator generator = args.length > 1 ? of(Arrays.copyOf(args, args.length - 1)) : null;
+        if (generator == null) {
+            System.out.println("usage: generate " + USAGE + " <graph.json>");
+            return;
+        }
+        long start = System.nanoTime();
+        try (StreamingGraphWriter writer = new StreamingGraphWriter(new FileOutputStream(args[args.length - 1]))) {
+            generator.generate(writer);
+        }
+        System.out.println("generated " + args[args.length - 1] + " in " + (System.nanoTime() - start) / 1_000_000
+                + " ms");
+    }
+
+    // EFFECTS: returns a new Graph holding the generated graph, its vertices labelled 1, 2, ... in the
+    // order they are numbered, filled through the bulk operations of Graph
+    public Graph toGraph() {
+        GraphBuilder builder = new GraphBuilder();
+        try {
+            generate(builder);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // a GraphBuilder throws none
+        }
+        return builder.getGraph();
+    }
+}
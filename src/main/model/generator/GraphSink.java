@@ -0,0 +1,14 @@
+package model.generator;
+
+import java.io.IOException;
+
+// Receiver of a graph streamed in chunks of primitive arrays, first all of its vertices and then all of
+// its edges. Vertices are numbered 0, 1, ... in the order they are received. The arrays passed in may be
+// reused by the sender once a call returns.
+public interface GraphSink {
+    // EFFECTS: receives the next count vertices, the i-th of them at (xs[i], ys[i])
+    void vertices(int[] xs, int[] ys, int count) throws IOException;
+
+    // EFFECTS: receives count edges, the i-th of them between the vertices numbered first[i] and second[i]
+    void edges(int[] first, int[] second, int count) throws IOException;
+}
@@ -0,0 +1,45 @@
+package model.generator;
+
+import java.util.SplittableRandom;
+
+// Square lattice of width x height vertices, each joined to the ones to its right and below it, and laid
+// out where it sits in the lattice. Nothing about it is random.
+public class Lattice extends GraphGenerator {
+    private static final int SPACING = 100; // Graph units between neighbouring vertices
+
+    private final int width;
+
+    // REQUIRES: width > 0, height > 0, width * height fits in an int
+    // EFFECTS: creates a generator of the width x height lattice
+    public Lattice(int width, int height) {
+        super(width * height, 0);
+        this.width = width;
+    }
+
+    @Override
+    protected int numOfChunks() {
+        return (numOfVertices + CHUNK - 1) / CHUNK;
+    }
+
+    // the edges of chunk c are those from the vertices numbered c * CHUNK .. (c + 1) * CHUNK - 1
+    @Override
+    protected void generateChunk(int chunk, SplittableRandom random, EdgeList out) {
+        int last = Math.min(numOfVertices, (chunk + 1) * CHUNK);
+        for (int v = chunk * CHUNK; v < last; v++) {
+            if (v % width < width - 1) {
+                out.add(v, v + 1);
+            }
+            if (v + width < numOfVertices) {
+                out.add(v, v + width);
+            }
+        }
+    }
+
+    @Override
+    protected void place(int first, int[] xs, int[] ys, int count) {
+        for (int i = 0; i < count; i++) {
+            xs[i] = (first + i) % width * SPACING;
+            ys[i] = (first + i) / width * SPACING;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package model.generator;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+// Random geometric graph: vertices scattered uniformly over a square with one vertex per SPACING x SPACING
+// on average, and joined whenever they lie within a radius of each other, chosen so that vertices have
+// averageDegree neighbours on average (fewer near the border). Vertices are laid out where they were
+// scattered. Pairs are found through a grid of cells at least as wide as the radius, so each vertex is
+// only compared with the vertices of its own cell and the eight around it.
+public class RandomGeometric extends GraphGenerator {
+    private static final int SPACING = 100; // Graph units
+
+    private final double radius;
+    private final int side; // of the square, in Graph units
+    private int[] xs; // positions; null until prepared
+    private int[] ys;
+    private int cellsPerSide;
+    private int[] cellStart; // the vertices of cell c are byCell[cellStart[c]] .. byCell[cellStart[c + 1] - 1]
+    private int[] byCell;
+
+    // REQUIRES: numOfVertices > 0, averageDegree > 0
+    // EFFECTS: creates a generator of a random geometric graph drawn from seed
+    public RandomGeometric(int numOfVertices, double averageDegree, long seed) {
+        super(numOfVertices, seed);
+        side = (int) Math.ceil(Math.sqrt(numOfVertices) * SPACING);
+        radius = SPACING * Math.sqrt(averageDegree / Math.PI);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: scatters the vertices, CHUNK at a time in parallel, and sorts them into cells
+    @Override
+    protected void prepare() {
+        xs = new int[numOfVertices];
+        ys = new int[numOfVertices];
+        IntStream.range(0, numOfChunks()).parallel().forEach(chunk -> {
+            SplittableRandom random = randomOf(-1 - chunk); // not the streams of the edge chunks
+            int last = Math.min(numOfVertices, (chunk + 1) * CHUNK);
+            for (int v = chunk * CHUNK; v < last; v++) {
+                xs[v] = random.nextInt(side);
+                ys[v] = random.nextInt(side);
+            }
+        });
+        cellsPerSide = Math.max(1, (int) (side / radius));
+        cellStart = new int[cellsPerSide * cellsPerSide + 1];
+        for (int v = 0; v < numOfVertices; v++) {
+            cellStart[cellOf(v) + 1]++;
+        }
+        for (int c = 0; c < cellsPerSide * cellsPerSide; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        byCell = new int[numOfVertices];
+        int[] next = cellStart.clone();
+        for (int v = 0; v < numOfVertices; v++) {
+            byCell[next[cellOf(v)]++] = v;
+        }
+    }
+
+    // EFFECTS: returns the cell of vertex v
+    private int cellOf(int v) {
+        return cellAlong(ys[v]) * cellsPerSide + cellAlong(xs[v]);
+    }
+
+    // EFFECTS: returns the row (or column) of the cells that the given y (or x) coordinate lies in
+    private int cellAlong(int coordinate) {
+        return Math.min(cellsPerSide - 1, (int) ((long) coordinate * cellsPerSide / side));
+    }
+
+    @Override
+    protected int numOfChunks() {
+        return (numOfVertices + CHUNK - 1) / CHUNK;
+    }
+
+    // the edges of chunk c are those from the vertices numbered c * CHUNK .. (c + 1) * CHUNK - 1 to
+    // vertices with higher numbers
+    @Override
+    protected void generateChunk(int chunk, SplittableRandom random, EdgeList out) {
+        int last = Math.min(numOfVertices, (chunk + 1) * CHUNK);
+        for (int v = chunk * CHUNK; v < last; v++) {
+            int column = cellAlong(xs[v]);
+            int row = cellAlong(ys[v]);
+            for (int r = Math.max(0, row - 1); r <= Math.min(cellsPerSide - 1, row + 1); r++) {
+                for (int c = Math.max(0, column - 1); c <= Math.min(cellsPerSide - 1, column + 1); c++) {
+                    addNear(v, r * cellsPerSide + c, out);
+                }
+            }
+        }
+    }
+
+    // MODIFIES: out
+    // EFFECTS: adds an edge from v to every vertex of the given cell with a higher number within radius
+    private void addNear(int v, int cell, EdgeList out) {
+        for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+            int u = byCell[i];
+            long dx = xs[u] - xs[v];
+            long dy = ys[u] - ys[v];
+            if (u > v && dx * dx + dy * dy <= radius * radius) {
+                out.add(v, u);
+            }
+        }
+    }
+
+    @Override
+    protected void place(int first, int[] xs, int[] ys, int count) {
+        System.arraycopy(this.xs, first, xs, 0, count);
+        System.arraycopy(this.ys, first, ys, 0, count);
+    }
+}
@@ -0,0 +1,48 @@
+package model.generator;
+
+import java.util.SplittableRandom;
+
+// R-MAT recursive matrix graph, as in the Graph500 benchmark: 2^scale vertices and edgeFactor times as
+// many edges. Each edge picks a quadrant of the adjacency matrix with probabilities A, B, C and
+// 1 - A - B - C, then a quadrant of that quadrant, and so on down to a single cell, which gives a skewed,
+// community-like degree distribution. Repeated edges are kept, as in Graph500, but self-loops (the cells
+// on the diagonal) are dropped, since a save cannot hold them; so there are somewhat fewer than
+// edgeFactor * 2^scale edges.
+public class Rmat extends GraphGenerator {
+    private static final double A = 0.57;
+    private static final double B = 0.19;
+    private static final double C = 0.19;
+
+    private final int scale;
+    private final long numOfEdges;
+
+    // REQUIRES: 0 < scale < 31, edgeFactor > 0
+    // EFFECTS: creates a generator of an R-MAT graph of the given scale and edge factor drawn from seed
+    public Rmat(int scale, int edgeFactor, long seed) {
+        super(1 << scale, seed);
+        this.scale = scale;
+        this.numOfEdges = (long) edgeFactor << scale;
+    }
+
+    @Override
+    protected int numOfChunks() {
+        return (int) ((numOfEdges + CHUNK - 1) / CHUNK);
+    }
+
+    @Override
+    protected void generateChunk(int chunk, SplittableRandom random, EdgeList out) {
+        long count = Math.min(CHUNK, numOfEdges - (long) chunk * CHUNK);
+        for (int i = 0; i < count; i++) {
+            int u = 0;
+            int v = 0;
+            for (int bit = scale - 1; bit >= 0; bit--) {
+                double p = random.nextDouble();
+                u |= p >= A + B ? 1 << bit : 0;
+                v |= p >= A && p < A + B || p >= A + B + C ? 1 << bit : 0;
+            }
+            if (u != v) {
+                out.add(u, v);
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package model.layout;
+
+import java.awt.geom.Point2D;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import model.Graph;
+import model.algorithm.CsrSnapshot;
+
+// Fruchterman-Reingold force-directed layout. Every pair of vertices repels with strength k^2 / d and
+// every edge pulls its ends together with strength d^2 / k, where k is the ideal edge length; a weak
+// pull towards the centroid keeps components from drifting apart. Repulsion is approximated with a
+// Barnes-Hut QuadTree in O(n log n) per step, and forces are computed for all vertices in parallel.
+// Each step moves a vertex by at most the current temperature, which cools geometrically until the
+// layout is converged. One vertex may be pinned at a fixed position, e.g. while it is being dragged.
+public class ForceLayout {
+    public static final int NO_VERTEX = -1;
+    private static final double IDEAL_LENGTH = 120; // three vertex diameters
+    private static final double THETA = 0.8;
+    private static final double MIN_DISTANCE = 1;
+    private static final double GRAVITY = 0.01;
+    private static final double COOLING = 0.95;
+    private static final double MIN_TEMPERATURE = 0.5; // moves below half a pixel are invisible
+    private static final long SCATTER_SEED = 0;
+
+    private final CsrSnapshot graph;
+    private final double[] posX;
+    private final double[] posY;
+    private final double[] moveX;
+    private final double[] moveY;
+    private double temperature;
+    private int pinned = NO_VERTEX;
+    private int iterations;
+
+    // EFFECTS: starts a layout of g from the current positions of its vertices
+    public ForceLayout(Graph g) {
+        this(new CsrSnapshot(g), toDoubles(g.getCoordinates().copyOfXs()),
+                toDoubles(g.getCoordinates().copyOfYs()));
+    }
+
+    // REQUIRES: x.length == y.length == graph.numOfVertices()
+    // MODIFIES: x, y
+    // EFFECTS: starts a layout of graph from the positions (x[v], y[v]). Vertices stacked on the same
+    // position as an earlier one (e.g. all at the origin, in a file without coordinates) are scattered
+    // around it first, since coincident vertices cannot push each other apart.
+    public ForceLayout(CsrSnapshot graph, double[] x, double[] y) {
+        this.graph = graph;
+        posX = x;
+        posY = y;
+        moveX = new double[x.length];
+        moveY = new double[x.length];
+        double spread = Math.sqrt(x.length) * IDEAL_LENGTH;
+        scatterStacked(spread);
+        temperature = spread / 10;
+    }
+
+    // EFFECTS: returns the values as doubles
+    private static double[] toDoubles(int[] values) {
+        return Arrays.stream(values).asDoubleStream().toArray();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves every vertex that shares its position with an earlier one to a random point in the
+    // square of the given width centred on that position
+    private void scatterStacked(double width) {
+        Random random = new Random(SCATTER_SEED);
+        Set<Point2D> taken = new HashSet<>();
+        for (int v = 0; v < posX.length; v++) {
+            if (!taken.add(new Point2D.Double(posX[v], posY[v]))) {
+                posX[v] += (random.nextDouble() - 0.5) * width;
+                posY[v] += (random.nextDouble() - 0.5) * width;
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves every vertex but the pinned one along the total force on it, by at most the
+    // temperature, then cools down
+    public void step() {
+        QuadTree tree = new QuadTree(posX, posY);
+        double centreX = average(posX);
+        double centreY = average(posY);
+        IntStream.range(0, posX.length).parallel().forEach(v -> computeMove(tree, v, centreX, centreY));
+        for (int v = 0; v < posX.length; v++) {
+            double length = Math.hypot(moveX[v], moveY[v]);
+            if (v != pinned && length > 0) {
+                double scale = Math.min(length, temperature) / length;
+                posX[v] += moveX[v] * scale;
+                posY[v] += moveY[v] * scale;
+            }
+        }
+        temperature *= COOLING;
+        iterations++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the move of v to the total force on it: repulsion from all vertices, attraction
+    // along its edges, and gravity towards (centreX, centreY)
+    private void computeMove(QuadTree tree, int v, double centreX, double centreY) {
+        double[] force = tree.repulsion(v, THETA, IDEAL_LENGTH * IDEAL_LENGTH, MIN_DISTANCE);
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+            double dx = posX[targets[k]] - posX[v];
+            double dy = posY[targets[k]] - posY[v];
+            double d = Math.hypot(dx, dy);
+            force[0] += dx * d / IDEAL_LENGTH;
+            force[1] += dy * d / IDEAL_LENGTH;
+        }
+        moveX[v] = force[0] + GRAVITY * (centreX - posX[v]);
+        moveY[v] = force[1] + GRAVITY * (centreY - posY[v]);
+    }
+
+    // EFFECTS: returns the average of values, or 0 if there are none
+    private static double average(double[] values) {
+        double total = 0;
+        for (double value : values) {
+            total += value;
+        }
+        return values.length == 0 ? 0 : total / values.length;
+    }
+
+    // REQUIRES: v is a vertex of the layout, or NO_VERTEX
+    // MODIFIES: this
+    // EFFECTS: fixes v at (px, py) until another vertex is pinned, and heats the layout up again so the
+    // rest follows; NO_VERTEX releases the pinned vertex.
+    public void pin(int v, double px, double py) {
+        pinned = v;
+        if (v != NO_VERTEX) {
+            posX[v] = px;
+            posY[v] = py;
+            temperature = Math.max(temperature, IDEAL_LENGTH / 2);
+        }
+    }
+
+    // EFFECTS: returns true once vertices move by less than MIN_TEMPERATURE per step
+    public boolean isConverged() {
+        return temperature < MIN_TEMPERATURE;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public CsrSnapshot getGraph() {
+        return graph;
+    }
+
+    // EFFECTS: returns a copy of the current positions, rounded to whole pixels
+    public LayoutFrame frame() {
+        int[] frameX = new int[posX.length];
+        int[] frameY = new int[posX.length];
+        for (int v = 0; v < posX.length; v++) {
+            frameX[v] = (int) Math.round(posX[v]);
+            frameY[v] = (int) Math.round(posY[v]);
+        }
+        return new LayoutFrame(frameX, frameY);
+    }
+}
@@ -0,0 +1,27 @@
+package model.layout;
+
+// Immutable positions of all vertices of a layout at one step, indexed like the vertices of its
+// CsrSnapshot (i.e. in the order of Graph.getVertices() when the layout started).
+public class LayoutFrame {
+    private final int[] posX;
+    private final int[] posY;
+
+    // REQUIRES: x.length == y.length
+    // EFFECTS: creates a frame with vertex v at (x[v], y[v]); the arrays must not be modified afterwards
+    public LayoutFrame(int[] x, int[] y) {
+        posX = x;
+        posY = y;
+    }
+
+    public int size() {
+        return posX.length;
+    }
+
+    public int getX(int vertex) {
+        return posX[vertex];
+    }
+
+    public int getY(int vertex) {
+        return posY[vertex];
+    }
+}
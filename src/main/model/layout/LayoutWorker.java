@@ -0,0 +1,136 @@
+package model.layout;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import model.Coordinates;
+import model.Graph;
+import model.Vertex;
+
+// Runs a ForceLayout of a Graph on a background thread. After every step the worker publishes a
+// LayoutFrame; the UI thread picks up the latest one with applyLatest() whenever it is ready to draw,
+// so frames it is too slow to show are simply skipped. The worker sleeps while paused and once the
+// layout has converged, and wakes up when resumed or when a vertex is pinned. The Graph's structure must
+// not change while the worker runs; start a new worker instead.
+public class LayoutWorker implements Runnable {
+    private final ForceLayout layout;
+    private final Coordinates coordinates;
+    private final AtomicReference<LayoutFrame> latest = new AtomicReference<>();
+    private final Thread thread;
+    private boolean paused;
+    private boolean stopped;
+    private boolean pinChanged;
+    private int pinned = ForceLayout.NO_VERTEX;
+    private int pinX;
+    private int pinY;
+
+    // EFFECTS: creates a worker laying out g from the current positions of its vertices; call start()
+    // to run it.
+    public LayoutWorker(Graph g) {
+        layout = new ForceLayout(g);
+        coordinates = g.getCoordinates();
+        thread = new Thread(this, "layout");
+        thread.setDaemon(true);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts the background thread
+    public void start() {
+        thread.start();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: steps the layout and publishes its positions until stopped
+    @Override
+    public void run() {
+        try {
+            while (awaitWork()) {
+                layout.step();
+                latest.set(layout.frame());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: waits while paused or converged with nothing new pinned, then hands any pin over to the
+    // layout; returns false once stopped.
+    private synchronized boolean awaitWork() throws InterruptedException {
+        while (!stopped && (paused || (layout.isConverged() && !pinChanged))) {
+            wait();
+        }
+        if (pinChanged) {
+            layout.pin(pinned, pinX, pinY);
+            pinChanged = false;
+        }
+        return !stopped;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: suspends the layout after its current step
+    public synchronized void pause() {
+        paused = true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: continues a paused layout
+    public synchronized void resume() {
+        paused = false;
+        notifyAll();
+    }
+
+    public synchronized boolean isPaused() {
+        return paused;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: ends the background thread after its current step; the worker cannot be restarted
+    public synchronized void stop() {
+        stopped = true;
+        notifyAll();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: holds v at (x, y) while the others keep moving, e.g. while it is dragged. Vertices added
+    // to the Graph after the worker was created are ignored.
+    public synchronized void pin(Vertex v, int x, int y) {
+        if (v.getId() < layout.getGraph().numOfVertices() && coordinates.vertex(v.getId()) == v) {
+            pinned = v.getId();
+            pinX = x;
+            pinY = y;
+            pinChanged = true;
+            notifyAll();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: lets the pinned vertex, if any, move again
+    public synchronized void unpin() {
+        pinned = ForceLayout.NO_VERTEX;
+        pinChanged = true;
+        notifyAll();
+    }
+
+    // MODIFIES: the Coordinates of the Graph
+    // EFFECTS: moves the vertices to the latest positions published, if there are any not applied yet,
+    // and returns whether anything moved. The pinned vertex is left where it was put, since the frame
+    // may lag behind it. Call it from the thread that draws the Graph.
+    public boolean applyLatest() {
+        LayoutFrame frame = latest.getAndSet(null);
+        if (frame == null) {
+            return false;
+        }
+        coordinates.setAll(frame::getX, frame::getY, getPinned());
+        return true;
+    }
+
+    // EFFECTS: returns the index of the pinned vertex, or ForceLayout.NO_VERTEX
+    private synchronized int getPinned() {
+        return pinned;
+    }
+
+    // EFFECTS: waits up to millis milliseconds for the background thread to end
+    public void join(long millis) throws InterruptedException {
+        thread.join(millis);
+    }
+}
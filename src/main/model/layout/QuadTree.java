@@ -0,0 +1,142 @@
+package model.layout;
+
+import java.util.Arrays;
+
+// Barnes-Hut quadtree over a set of points of unit mass, used to approximate the repulsion every point
+// receives from all the others in O(log n) instead of O(n). Each cell stores the number of points in it
+// and the sum of their positions; a cell that is far enough away (its width over its distance below
+// theta) is treated as a single point at its centre of mass. Nodes are kept in parallel arrays, and a
+// built tree is only read, so any number of threads may query it at once.
+public class QuadTree {
+    private static final int MAX_DEPTH = 48; // points closer than width / 2^48 share a leaf
+    private static final int EMPTY = -1;
+
+    private final double[] posX;
+    private final double[] posY;
+    private double[] centreX; // centre of the cell
+    private double[] centreY;
+    private double[] halfWidth;
+    private double[] count; // number of points in the cell
+    private double[] sumX; // sum of the coordinates of those points
+    private double[] sumY;
+    private int[] firstChild; // index of the first of four consecutive children, or EMPTY for a leaf
+    private int[] body; // the single point in a leaf, or EMPTY
+    private int size;
+
+    // REQUIRES: x.length == y.length
+    // EFFECTS: builds the tree of the points (x[i], y[i])
+    public QuadTree(double[] x, double[] y) {
+        posX = x;
+        posY = y;
+        allocate(Math.max(1, 2 * x.length));
+        double minX = Arrays.stream(x).min().orElse(0);
+        double maxX = Arrays.stream(x).max().orElse(0);
+        double minY = Arrays.stream(y).min().orElse(0);
+        double maxY = Arrays.stream(y).max().orElse(0);
+        newNode((minX + maxX) / 2, (minY + maxY) / 2, Math.max(1, Math.max(maxX - minX, maxY - minY)) / 2);
+        for (int i = 0; i < x.length; i++) {
+            insert(i);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes room for capacity nodes
+    private void allocate(int capacity) {
+        centreX = centreX == null ? new double[capacity] : Arrays.copyOf(centreX, capacity);
+        centreY = centreY == null ? new double[capacity] : Arrays.copyOf(centreY, capacity);
+        halfWidth = halfWidth == null ? new double[capacity] : Arrays.copyOf(halfWidth, capacity);
+        count = count == null ? new double[capacity] : Arrays.copyOf(count, capacity);
+        sumX = sumX == null ? new double[capacity] : Arrays.copyOf(sumX, capacity);
+        sumY = sumY == null ? new double[capacity] : Arrays.copyOf(sumY, capacity);
+        firstChild = firstChild == null ? new int[capacity] : Arrays.copyOf(firstChild, capacity);
+        body = body == null ? new int[capacity] : Arrays.copyOf(body, capacity);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends an empty leaf for the given cell and returns its index
+    private int newNode(double cx, double cy, double half) {
+        if (size == centreX.length) {
+            allocate(2 * size);
+        }
+        centreX[size] = cx;
+        centreY[size] = cy;
+        halfWidth[size] = half;
+        firstChild[size] = EMPTY;
+        body[size] = EMPTY;
+        return size++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds point i to every cell containing it, splitting the leaf it lands in if that leaf
+    // already holds a point (unless the leaf is at MAX_DEPTH, where the points are merged)
+    private void insert(int i) {
+        int node = 0;
+        for (int depth = 0; ; depth++) {
+            count[node]++;
+            sumX[node] += posX[i];
+            sumY[node] += posY[i];
+            if (firstChild[node] == EMPTY) {
+                if (count[node] == 1) {
+                    body[node] = i;
+                    return;
+                } else if (depth == MAX_DEPTH) {
+                    return;
+                }
+                split(node);
+            }
+            node = childFor(node, posX[i], posY[i]);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: gives a leaf holding one point four children, and moves the point into the right one
+    private void split(int node) {
+        double quarter = halfWidth[node] / 2;
+        int first = newNode(centreX[node] - quarter, centreY[node] - quarter, quarter);
+        newNode(centreX[node] + quarter, centreY[node] - quarter, quarter);
+        newNode(centreX[node] - quarter, centreY[node] + quarter, quarter);
+        newNode(centreX[node] + quarter, centreY[node] + quarter, quarter);
+        firstChild[node] = first;
+        int old = body[node];
+        body[node] = EMPTY;
+        int child = childFor(node, posX[old], posY[old]);
+        count[child] = 1;
+        sumX[child] = posX[old];
+        sumY[child] = posY[old];
+        body[child] = old;
+    }
+
+    // EFFECTS: returns the child of node whose cell contains (px, py)
+    private int childFor(int node, double px, double py) {
+        return firstChild[node] + (px < centreX[node] ? 0 : 1) + (py < centreY[node] ? 0 : 2);
+    }
+
+    // EFFECTS: returns the repulsion on point self from all other points, as {fx, fy}, where a point at
+    // distance d pushes with strength k2 / d (clamped at distance minDistance). theta = 0 gives the
+    // exact sum; larger values are faster and less accurate (0.5 to 1 is usual).
+    public double[] repulsion(int self, double theta, double k2, double minDistance) {
+        double fx = 0;
+        double fy = 0;
+        int[] stack = new int[3 * MAX_DEPTH + 4]; // the root is stack[0]
+        int top = 1;
+        while (top > 0) {
+            int node = stack[--top];
+            double mass = count[node] - (body[node] == self ? 1 : 0);
+            if (mass == 0) {
+                continue;
+            }
+            double dx = posX[self] - sumX[node] / count[node];
+            double dy = posY[self] - sumY[node] / count[node];
+            double d2 = Math.max(dx * dx + dy * dy, minDistance * minDistance);
+            if (firstChild[node] == EMPTY || 4 * halfWidth[node] * halfWidth[node] < theta * theta * d2) {
+                fx += dx * k2 * mass / d2;
+                fy += dy * k2 * mass / d2;
+            } else {
+                for (int c = 0; c < 4; c++) {
+                    stack[top++] = firstChild[node] + c;
+                }
+            }
+        }
+        return new double[] {fx, fy};
+    }
+}
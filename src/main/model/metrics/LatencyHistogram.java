@@ -0,0 +1,108 @@
+package model.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Histogram of latencies in nanoseconds, bucketed like HdrHistogram: values below SUB_BUCKETS have a bucket
+// each, and every power of two above is split into SUB_BUCKETS buckets of equal width, so any latency from
+// a nanosecond to centuries is kept to within 1 / SUB_BUCKETS (about 3%) in a fixed array of counts.
+// Recording is lock-free and allocation-free, so any number of threads may record at once. Reads taken
+// while others record may miss some of the latest values.
+public class LatencyHistogram {
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int NUM_OF_BUCKETS = (Long.SIZE - SUB_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+    private final LongAdder count;
+    private final LongAdder totalNanos;
+    private final AtomicLong maxNanos;
+
+    // EFFECTS: creates an empty histogram
+    public LatencyHistogram() {
+        counts = new AtomicLongArray(NUM_OF_BUCKETS);
+        count = new LongAdder();
+        totalNanos = new LongAdder();
+        maxNanos = new AtomicLong();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records one latency of the given number of nanoseconds (negative ones count as 0)
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        count.increment();
+        totalNanos.add(value);
+        long max = maxNanos.get();
+        while (value > max && !maxNanos.compareAndSet(max, value)) {
+            max = maxNanos.get();
+        }
+    }
+
+    // EFFECTS: returns the number of the bucket holding value >= 0
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    // EFFECTS: returns the highest value held by the given bucket
+    private static long highestOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        long width = 1L << (exponent - SUB_BITS);
+        return (1L << exponent) + (bucket % SUB_BUCKETS) * width + width - 1;
+    }
+
+    // EFFECTS: returns the number of latencies recorded
+    public long count() {
+        return count.sum();
+    }
+
+    // EFFECTS: returns the mean of the latencies recorded, in nanoseconds, or 0 if there are none
+    public double mean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) totalNanos.sum() / n;
+    }
+
+    // EFFECTS: returns the longest latency recorded, in nanoseconds
+    public long max() {
+        return maxNanos.get();
+    }
+
+    // REQUIRES: 0 <= percentile <= 100
+    // EFFECTS: returns the latency, in nanoseconds, that the given percentage of the recorded latencies do
+    // not exceed (to within the width of its bucket), or 0 if none were recorded
+    public long percentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < NUM_OF_BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < NUM_OF_BUCKETS && total > 0; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestOf(i), max());
+            }
+        }
+        return 0;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: forgets every latency recorded
+    public void reset() {
+        for (int i = 0; i < NUM_OF_BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        totalNanos.reset();
+        maxNanos.set(0);
+    }
+}
@@ -0,0 +1,32 @@
+package model.metrics;
+
+// The operations whose calls, items and latencies Metrics keeps track of
+public enum Metric {
+    ADD_VERTEX("Graph.addVertex"),
+    ADD_VERTICES("Graph.addVertices"),
+    REMOVE_VERTEX("Graph.removeVertex"),
+    ADD_EDGE("Graph.addEdge"),
+    ADD_EDGES("Graph.addEdgesBetween"),
+    REMOVE_EDGE("Graph.removeEdge"),
+    VERTEX_WITH_LABEL("Graph.vertexWithLabel"),
+    HAS_EDGE("Graph.hasEdge"),
+    GET_EDGES("Graph.getEdges"),
+    IS_CONNECTED("Graph.isConnected"),
+    NUM_OF_COMPONENTS("Graph.numOfComponents"),
+    FIRST_UNUSED_LABEL("Graph.firstUnusedLabel"),
+    VERTEX_AT_POS("Graph.vertexAtPos"),
+    LOAD("Graph(File)"),
+    WRITE("GraphWriter.write"),
+    PAINT("GraphPanel.paintComponent");
+
+    private final String operation;
+
+    Metric(String operation) {
+        this.operation = operation;
+    }
+
+    // EFFECTS: returns the name of the operation measured, as it appears in the code
+    public String getOperation() {
+        return operation;
+    }
+}
@@ -0,0 +1,173 @@
+package model.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import model.MemoryFootprint;
+
+// Calls, items handled and latency histogram of every Metric, recorded by the code it measures as
+//     long start = Metrics.start();
+//     ...
+//     Metrics.stop(Metric.SOMETHING, start);
+// While recording is disabled (the default, unless the JVM runs with -Dgraph.metrics=true), start()
+// returns 0 after reading one volatile flag, and stop() returns at once, so instrumented code pays next to
+// nothing. Recording never locks or allocates. The single instance is the MXBean published by register().
+// The memory footprint it reports is that of the Graph the UI is showing, as given by setFootprintSource().
+public final class Metrics implements MetricsMXBean {
+    public static final String OBJECT_NAME = "math_graph_viewer:type=Metrics";
+    private static final double NANOS_PER_MICRO = 1000.0;
+    private static final Metrics INSTANCE = new Metrics();
+    private static final LatencyHistogram[] LATENCIES = new LatencyHistogram[Metric.values().length];
+    private static final LongAdder[] ITEMS = new LongAdder[Metric.values().length];
+    private static volatile boolean enabled = Boolean.getBoolean("graph.metrics");
+    private static volatile Supplier<MemoryFootprint> footprintSource; // null while no Graph is shown
+
+    static {
+        for (Metric metric : Metric.values()) {
+            LATENCIES[metric.ordinal()] = new LatencyHistogram();
+            ITEMS[metric.ordinal()] = new LongAdder();
+        }
+    }
+
+    private Metrics() {
+    }
+
+    public static Metrics getInstance() {
+        return INSTANCE;
+    }
+
+    // EFFECTS: returns the time a measured call starts at, or 0 if recording is disabled
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records a call of metric that started at start and ends now, unless start is 0
+    public static void stop(Metric metric, long start) {
+        if (start != 0) {
+            LATENCIES[metric.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records a call of metric that started at start, ends now and handled the given number of
+    // items, unless start is 0
+    public static void stop(Metric metric, long start, long items) {
+        if (start != 0) {
+            LATENCIES[metric.ordinal()].record(System.nanoTime() - start);
+            ITEMS[metric.ordinal()].add(items);
+        }
+    }
+
+    // EFFECTS: publishes the instance with the platform MBean server under OBJECT_NAME, unless it is
+    // there already; returns false if it could not be published
+    public static synchronized boolean register() {
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, name);
+            }
+            return true;
+        } catch (JMException | SecurityException e) {
+            return false;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes source give the memory footprint reported from now on; source is called from whichever
+    // thread asks for the footprint
+    public static void setFootprintSource(Supplier<MemoryFootprint> source) {
+        footprintSource = source;
+    }
+
+    // EFFECTS: returns the latencies recorded for metric
+    public LatencyHistogram latencyOf(Metric metric) {
+        return LATENCIES[metric.ordinal()];
+    }
+
+    // EFFECTS: returns the number of items handled by the calls recorded for metric
+    public long itemsOf(Metric metric) {
+        return ITEMS[metric.ordinal()].sum();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        Metrics.enabled = enabled;
+    }
+
+    @Override
+    public Map<String, Long> getCalls() {
+        Map<String, Long> calls = new LinkedHashMap<>();
+        for (Metric metric : Metric.values()) {
+            calls.put(metric.getOperation(), latencyOf(metric).count());
+        }
+        return calls;
+    }
+
+    @Override
+    public Map<String, Long> getItems() {
+        Map<String, Long> items = new LinkedHashMap<>();
+        for (Metric metric : Metric.values()) {
+            items.put(metric.getOperation(), itemsOf(metric));
+        }
+        return items;
+    }
+
+    @Override
+    public Map<String, Long> getMemoryFootprint() {
+        Supplier<MemoryFootprint> source = footprintSource;
+        return source == null ? Collections.emptyMap() : source.get().toMap();
+    }
+
+    @Override
+    public double getPercentileMicros(String metric, double percentile) {
+        for (Metric m : Metric.values()) {
+            if (m.getOperation().equals(metric)) {
+                return latencyOf(m).percentile(percentile) / NANOS_PER_MICRO;
+            }
+        }
+        return -1;
+    }
+
+    // EFFECTS: returns a table of the calls, items and latencies (in microseconds) of every metric with at
+    // least one call recorded, followed by the memory footprint if there is one
+    @Override
+    public String getReport() {
+        StringBuilder report = new StringBuilder(String.format("%-28s %10s %10s %10s %10s %10s %10s%n",
+                "operation", "calls", "items", "mean us", "p50 us", "p99 us", "max us"));
+        for (Metric metric : Metric.values()) {
+            LatencyHistogram latency = latencyOf(metric);
+            if (latency.count() > 0) {
+                report.append(String.format("%-28s %10d %10d %10.1f %10.1f %10.1f %10.1f%n", metric.getOperation(),
+                        latency.count(), itemsOf(metric), latency.mean() / NANOS_PER_MICRO,
+                        latency.percentile(50) / NANOS_PER_MICRO, latency.percentile(99) / NANOS_PER_MICRO,
+                        latency.max() / NANOS_PER_MICRO));
+            }
+        }
+        Supplier<MemoryFootprint> source = footprintSource;
+        if (source != null) {
+            report.append("Memory footprint:").append(System.lineSeparator()).append(source.get());
+        }
+        return report.toString();
+    }
+
+    @Override
+    public void reset() {
+        for (Metric metric : Metric.values()) {
+            LATENCIES[metric.ordinal()].reset();
+            ITEMS[metric.ordinal()].reset();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package model.metrics;
+
+import java.util.Map;
+
+// Management interface of Metrics, under the name Metrics.OBJECT_NAME, for JConsole, VisualVM or any other
+// JMX client. Metrics are named after the operations they measure, as in Metric.getOperation().
+public interface MetricsMXBean {
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    // EFFECTS: returns the number of calls recorded for every metric, by name
+    Map<String, Long> getCalls();
+
+    // EFFECTS: returns the number of items (vertices, edges, ...) the calls recorded for every metric
+    // handled, by name
+    Map<String, Long> getItems();
+
+    // EFFECTS: returns the latency the given percentage of the recorded calls of the named metric did not
+    // exceed, in microseconds, or -1 if there is no such metric
+    double getPercentileMicros(String metric, double percentile);
+
+    // EFFECTS: returns the estimated bytes of the structures behind the Graph being shown, by structure, or
+    // nothing if no Graph is being shown
+    Map<String, Long> getMemoryFootprint();
+
+    // EFFECTS: returns a table of every metric recorded so far, and the memory footprint
+    String getReport();
+
+    // MODIFIES: this
+    // EFFECTS: forgets everything recorded so far
+    void reset();
+}
@@ -0,0 +1,166 @@
+package persistence;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+// Position in a chunk of the bytes of a file being imported, with the few ways of moving forward the
+// importers need. Numbers are parsed digit by digit from the bytes, without copying them into a String.
+final class ByteCursor {
+    private final byte[] bytes;
+    private final int end;
+    private final long offset; // in the file, of bytes[0]
+    private int position;
+
+    // EFFECTS: creates a cursor at the start of bytes[0 .. end - 1], which begin at offset in the file
+    ByteCursor(byte[] bytes, int end, long offset) {
+        this.bytes = bytes;
+        this.end = end;
+        this.offset = offset;
+    }
+
+    boolean atEnd() {
+        return position >= end;
+    }
+
+    // REQUIRES: !atEnd()
+    // EFFECTS: returns the byte at the cursor
+    int peek() {
+        return bytes[position];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves past the byte at the cursor
+    void advance() {
+        position++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves past any spaces, tabs, commas and semicolons
+    void skipBlanks() {
+        while (position < end && (bytes[position] == ' ' || bytes[position] == '\t' || bytes[position] == ','
+                || bytes[position] == ';')) {
+            position++;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves past any whitespace, line breaks included
+    void skipWhitespace() {
+        while (position < end && bytes[position] <= ' ') {
+            position++;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves past any bytes other than whitespace
+    void skipWord() {
+        while (position < end && bytes[position] > ' ') {
+            position++;
+        }
+    }
+
+    // EFFECTS: returns true if the cursor is at the end of a line (or of the chunk)
+    boolean atLineEnd() {
+        return position >= end || bytes[position] == '\n' || bytes[position] == '\r';
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves past the rest of the line, and its line break
+    void skipLine() {
+        while (position < end && bytes[position] != '\n') {
+            position++;
+        }
+        position++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves to the next b, or to the end if there is none
+    void skipTo(int b) {
+        while (position < end && bytes[position] != b) {
+            position++;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves past the next occurrence of text, or to the end if there is none
+    void skipPast(byte[] text) {
+        while (position < end && !startsWith(text)) {
+            position++;
+        }
+        position = Math.min(end, position + text.length);
+    }
+
+    // EFFECTS: returns true if the bytes at the cursor are those of text
+    boolean startsWith(byte[] text) {
+        if (position + text.length > end) {
+            return false;
+        }
+        for (int i = 0; i < text.length; i++) {
+            if (bytes[position + i] != text[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // EFFECTS: returns true if bytes[from .. to - 1] are those of text
+    boolean equals(int from, int to, byte[] text) {
+        if (to - from != text.length) {
+            return false;
+        }
+        for (int i = 0; i < text.length; i++) {
+            if (bytes[from + i] != text[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int getPosition() {
+        return position;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the non-negative int at the cursor, and moves past it; throws IOException if there is
+    // none, or it is too large
+    int nextKey() throws IOException {
+        if (position >= end || bytes[position] < '0' || bytes[position] > '9') {
+            throw error("expected a number");
+        }
+        long key = 0;
+        while (position < end && bytes[position] >= '0' && bytes[position] <= '9') {
+            key = key * 10 + bytes[position++] - '0';
+            if (key > Integer.MAX_VALUE) {
+                throw error("number too large");
+            }
+        }
+        return (int) key;
+    }
+
+    // EFFECTS: returns the number that bytes[from .. to - 1] end in, as in "n42" or "42", or -1 if they do
+    // not end in a digit or the number is larger than an int
+    int numberAt(int from, int to) {
+        int start = to;
+        while (start > from && bytes[start - 1] >= '0' && bytes[start - 1] <= '9') {
+            start--;
+        }
+        if (start == to || to - start > 10) {
+            return -1;
+        }
+        long number = 0;
+        for (int i = start; i < to; i++) {
+            number = number * 10 + bytes[i] - '0';
+        }
+        return number > Integer.MAX_VALUE ? -1 : (int) number;
+    }
+
+    // EFFECTS: returns bytes[from .. to - 1] as text, read as UTF-8
+    String textAt(int from, int to) {
+        return new String(bytes, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    // EFFECTS: returns an IOException saying what went wrong, and where in the file
+    IOException error(String what) {
+        return new IOException(what + " at byte " + (offset + position));
+    }
+}
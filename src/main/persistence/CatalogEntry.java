@@ -0,0 +1,106 @@
+package persistence;
+
+import java.io.File;
+import java.util.Base64;
+
+import org.json.JSONObject;
+
+// What a GraphCatalog knows of one save file: its size, modification time and CRC-32 checksum when it was
+// last read or written, the numbers of vertices and edges in it, and a small thumbnail of where its
+// vertices are. The entry stays current as long as the size and modification time of the file do.
+public class CatalogEntry implements Writable {
+    public static final int THUMBNAIL_SIZE = ThumbnailSampler.SIZE;
+    private static final String[] UNITS = {"bytes", "KB", "MB", "GB", "TB"};
+
+    private final String name;
+    private final long size;
+    private final long modified;
+    private final long checksum;
+    private final long numOfVertices;
+    private final long numOfEdges;
+    private final byte[] thumbnail;
+
+    // REQUIRES: thumbnail has THUMBNAIL_SIZE rows of THUMBNAIL_SIZE pixels
+    // EFFECTS: creates an entry for the save file with the given name, in the state described
+    public CatalogEntry(String name, long size, long modified, long checksum, long numOfVertices,
+                        long numOfEdges, byte[] thumbnail) {
+        this.name = name;
+        this.size = size;
+        this.modified = modified;
+        this.checksum = checksum;
+        this.numOfVertices = numOfVertices;
+        this.numOfEdges = numOfEdges;
+        this.thumbnail = thumbnail;
+    }
+
+    // EFFECTS: returns the entry json describes for the save file with the given name; throws
+    // org.json.JSONException or IllegalArgumentException if it is malformed
+    public static CatalogEntry fromJson(String name, JSONObject json) {
+        byte[] thumbnail = Base64.getDecoder().decode(json.getString("thumbnail"));
+        if (thumbnail.length != THUMBNAIL_SIZE * THUMBNAIL_SIZE) {
+            throw new IllegalArgumentException("Thumbnail of the wrong size.");
+        }
+        return new CatalogEntry(name, json.getLong("size"), json.getLong("modified"),
+                Long.parseLong(json.getString("checksum"), 16), json.getLong("numOfVertices"),
+                json.getLong("numOfEdges"), thumbnail);
+    }
+
+    // EFFECTS: returns true if file still has the size and modification time recorded here
+    public boolean isCurrent(File file) {
+        return file.length() == size && file.lastModified() == modified;
+    }
+
+    // EFFECTS: returns a one-line summary of the save, e.g. "12 vertices, 11 edges, 1.2 KB"
+    public String describe() {
+        double amount = size;
+        int unit = 0;
+        while (amount >= 1024 && unit < UNITS.length - 1) {
+            amount /= 1024;
+            unit++;
+        }
+        String sizeText = unit == 0 ? size + " " + UNITS[0] : String.format("%.1f %s", amount, UNITS[unit]);
+        return numOfVertices + " vertices, " + numOfEdges + " edges, " + sizeText;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getModified() {
+        return modified;
+    }
+
+    public long getChecksum() {
+        return checksum;
+    }
+
+    public long getNumOfVertices() {
+        return numOfVertices;
+    }
+
+    public long getNumOfEdges() {
+        return numOfEdges;
+    }
+
+    // EFFECTS: returns the thumbnail, THUMBNAIL_SIZE rows of THUMBNAIL_SIZE pixels, each from 0 (white) to
+    // 255 (black) as an unsigned byte
+    public byte[] getThumbnail() {
+        return thumbnail.clone();
+    }
+
+    @Override
+    public JSONObject toJson() {
+        JSONObject json = new JSONObject();
+        json.put("size", size);
+        json.put("modified", modified);
+        json.put("checksum", String.format("%08x", checksum));
+        json.put("numOfVertices", numOfVertices);
+        json.put("numOfEdges", numOfEdges);
+        json.put("thumbnail", Base64.getEncoder().encodeToString(thumbnail));
+        return json;
+    }
+}
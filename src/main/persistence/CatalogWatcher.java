@@ -0,0 +1,94 @@
+package persistence;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+// Keeps a GraphCatalog up to date on a background thread while the saves in its directory change. It first
+// refreshes the whole catalog, which reads only the saves that are new or changed since the index was last
+// written, then waits for the file system to report changes. A save being written is reported many times
+// over, so the files reported are collected until none has been for QUIET_INTERVAL, and only then read.
+public class CatalogWatcher implements Runnable {
+    private static final long QUIET_INTERVAL = 500; // milliseconds
+
+    private final GraphCatalog catalog;
+    private final WatchService service;
+    private final Thread thread;
+
+    // EFFECTS: creates a watcher of the directory of catalog; call start() to run it. Throws IOException if
+    // the directory cannot be watched, e.g. because it does not exist.
+    public CatalogWatcher(GraphCatalog catalog) throws IOException {
+        this.catalog = catalog;
+        Path directory = catalog.getDirectory().toPath();
+        service = directory.getFileSystem().newWatchService();
+        directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        thread = new Thread(this, "catalog");
+        thread.setDaemon(true);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts the background thread
+    public void start() {
+        thread.start();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops watching; the background thread ends after the save it may be reading
+    public void stop() throws IOException {
+        service.close();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: refreshes the catalog, then updates it with every batch of changes reported until stopped
+    @Override
+    public void run() {
+        try {
+            catalog.refresh();
+            while (true) {
+                Set<String> changed = new TreeSet<>();
+                boolean overflow = collect(service.take(), changed);
+                for (WatchKey key = poll(); key != null; key = poll()) {
+                    overflow |= collect(key, changed);
+                }
+                if (overflow) {
+                    catalog.refresh();
+                } else {
+                    changed.forEach(catalog::update);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // stopped
+        }
+    }
+
+    // EFFECTS: waits up to QUIET_INTERVAL for more changes, and returns them, or null if there are none
+    private WatchKey poll() throws InterruptedException {
+        return service.poll(QUIET_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    // MODIFIES: changed
+    // EFFECTS: adds the names of the files key reports changed to changed, and readies key for more; returns
+    // true if some changes were lost, so that every file must be looked at
+    private boolean collect(WatchKey key, Set<String> changed) {
+        boolean overflow = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+            } else {
+                changed.add(event.context().toString());
+            }
+        }
+        key.reset();
+        return overflow;
+    }
+}
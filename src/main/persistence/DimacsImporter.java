@@ -0,0 +1,45 @@
+package persistence;
+
+import java.io.File;
+import java.io.IOException;
+
+// Importer of a DIMACS graph, as used by the DIMACS challenges for colouring and cliques (".col", ".clq")
+// and shortest paths (".gr"): a problem line "p FORMAT VERTICES EDGES" declaring the vertices 1 .. VERTICES,
+// then one line "e U V" per edge (or "a U V WEIGHT" per arc, which becomes an edge). Comment lines ("c")
+// and any other descriptor lines ("n", "d", "v", "x") are skipped.
+final class DimacsImporter extends GraphImporter {
+    // EFFECTS: creates an importer of file
+    DimacsImporter(File file) {
+        super(file);
+    }
+
+    @Override
+    byte separator() {
+        return '\n';
+    }
+
+    @Override
+    void parse(ByteCursor cursor, ParsedChunk out) throws IOException {
+        while (!cursor.atEnd()) {
+            cursor.skipWhitespace();
+            if (cursor.atEnd()) {
+                return;
+            }
+            int kind = cursor.peek();
+            cursor.advance();
+            cursor.skipBlanks();
+            if (kind == 'e' || kind == 'a') {
+                int u = cursor.nextKey();
+                cursor.skipBlanks();
+                out.addEdge(u, cursor.nextKey());
+            } else if (kind == 'p') {
+                cursor.skipWord(); // the format, e.g. "edge", "col" or "sp"
+                cursor.skipBlanks();
+                out.declareVertices(cursor.nextKey());
+            } else if (kind != 'c' && kind != 'n' && kind != 'd' && kind != 'v' && kind != 'x') {
+                throw cursor.error("unexpected DIMACS line");
+            }
+            cursor.skipLine();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package persistence;
+
+import java.io.File;
+import java.io.IOException;
+
+// Importer of a plain edge list: one edge per line, given by the keys of its two ends separated by spaces,
+// tabs, commas or semicolons, as in SNAP, CSV and TSV files. Anything after the second key (e.g. a weight)
+// is ignored, a line with a single key adds a vertex without edges, and lines not starting with a key
+// (comments starting with '#' or '%', column headers) are skipped.
+final class EdgeListImporter extends GraphImporter {
+    // EFFECTS: creates an importer of file
+    EdgeListImporter(File file) {
+        super(file);
+    }
+
+    @Override
+    byte separator() {
+        return '\n';
+    }
+
+    @Override
+    void parse(ByteCursor cursor, ParsedChunk out) throws IOException {
+        while (!cursor.atEnd()) {
+            cursor.skipBlanks();
+            if (cursor.atLineEnd() || cursor.peek() < '0' || cursor.peek() > '9') {
+                cursor.skipLine();
+                continue;
+            }
+            int u = cursor.nextKey();
+            cursor.skipBlanks();
+            if (cursor.atLineEnd()) {
+                out.addNode(u);
+            } else {
+                out.addEdge(u, cursor.nextKey());
+            }
+            cursor.skipLine();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+// An index of the save files in a directory, kept in the file FILE_NAME there, so that what each save holds
+// can be shown without reading it again: see CatalogEntry. GraphWriter records each save as it writes it,
+// and a CatalogWatcher reads the saves that appear or change otherwise, one at a time; the index file is
+// rewritten after every change, or every SAVE_INTERVAL while many saves are being read. The index is only
+// a cache: if it is lost or corrupted, it is rebuilt from the saves. There is one GraphCatalog per
+// directory, shared by everything in the program that uses it.
+public class GraphCatalog {
+    public static final String FILE_NAME = "catalog.json";
+    private static final String SAVE_EXTENSION = ".json";
+    private static final long SAVE_INTERVAL = 5000; // milliseconds
+    private static final Map<Path, GraphCatalog> CATALOGS = new HashMap<>();
+
+    private final File directory;
+    private final Map<String, CatalogEntry> entries = new TreeMap<>();
+    private long lastSaved;
+
+    // EFFECTS: creates a catalog of directory, starting from the entries in its index file, if it has a
+    // readable one
+    private GraphCatalog(File directory) {
+        this.directory = directory;
+        try {
+            JSONObject json = new JSONObject(Files.readString(indexFile().toPath(), StandardCharsets.UTF_8));
+            for (String name : json.keySet()) {
+                entries.put(name, CatalogEntry.fromJson(name, json.getJSONObject(name)));
+            }
+        } catch (IOException | JSONException | IllegalArgumentException e) {
+            entries.clear(); // no index yet, or a corrupted one
+        }
+    }
+
+    // EFFECTS: returns the catalog of directory, the same one for every call in this program
+    public static synchronized GraphCatalog of(File directory) {
+        Path path = directory.toPath().toAbsolutePath().normalize();
+        return CATALOGS.computeIfAbsent(path, p -> new GraphCatalog(p.toFile()));
+    }
+
+    // EFFECTS: returns true if a file with this name is one the catalog indexes: a save file, that is a
+    // .json file other than the index itself
+    public static boolean isSave(String name) {
+        return name.endsWith(SAVE_EXTENSION) && !name.equals(FILE_NAME);
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    // EFFECTS: returns the entry of file if it is still current, or null if it has none or changed since
+    public synchronized CatalogEntry get(File file) {
+        CatalogEntry entry = entries.get(file.getName());
+        return entry != null && entry.isCurrent(file) ? entry : null;
+    }
+
+    // EFFECTS: returns every entry, current or not, in order of file name
+    public synchronized List<CatalogEntry> getEntries() {
+        return new ArrayList<>(entries.values());
+    }
+
+    // MODIFIES: this, the index file
+    // EFFECTS: records entry for the save it describes, as GraphWriter does for each file it writes
+    public void put(CatalogEntry entry) {
+        synchronized (this) {
+            entries.put(entry.getName(), entry);
+        }
+        save(true);
+    }
+
+    // MODIFIES: this, the index file
+    // EFFECTS: brings the entry of the save with this name up to date, reading the save only if it changed
+    // since its entry was made, and drops the entry if the save is gone or cannot be read
+    public void update(String name) {
+        if (updateEntry(name, false)) {
+            save(true);
+        }
+    }
+
+    // MODIFIES: this, the index file
+    // EFFECTS: updates the entry of every save in the directory, and drops those of saves no longer there
+    public void refresh() {
+        List<String> names = new ArrayList<>();
+        File[] files = directory.listFiles();
+        for (File file : files == null ? new File[0] : files) {
+            if (file.isFile() && isSave(file.getName())) {
+                names.add(file.getName());
+            }
+        }
+        boolean changed;
+        synchronized (this) {
+            changed = entries.keySet().retainAll(names);
+        }
+        for (String name : names) {
+            changed |= updateEntry(name, true);
+        }
+        if (changed) {
+            save(true);
+        }
+    }
+
+    // MODIFIES: this, the index file
+    // EFFECTS: brings the entry of the save with this name up to date, as update(name) does, and returns
+    // true if it changed; if batched, one of many saves is being updated, and the index is written after a
+    // change only if it was last written more than SAVE_INTERVAL ago
+    private boolean updateEntry(String name, boolean batched) {
+        File file = new File(directory, name);
+        if (!isSave(name) || get(file) != null) {
+            return false;
+        }
+        CatalogEntry entry;
+        try {
+            entry = file.isFile() ? SaveScanner.scan(file) : null;
+        } catch (IOException ioe) {
+            entry = null; // deleted or being replaced while it was read; it is read again when it changes
+        }
+        synchronized (this) {
+            boolean changed = entry != null || entries.containsKey(name);
+            if (entry == null) {
+                entries.remove(name);
+            } else {
+                entries.put(name, entry);
+            }
+            if (changed && batched) {
+                save(false);
+            }
+            return changed;
+        }
+    }
+
+    // MODIFIES: the index file
+    // EFFECTS: writes every entry to the index file, unless always is false and it was written less than
+    // SAVE_INTERVAL ago. The file is replaced whole, so a reader never sees it half written; if it cannot be
+    // written, the catalog carries on without it.
+    private synchronized void save(boolean always) {
+        long now = System.currentTimeMillis();
+        if (!always && now - lastSaved < SAVE_INTERVAL) {
+            return;
+        }
+        lastSaved = now;
+        JSONObject json = new JSONObject();
+        for (CatalogEntry entry : entries.values()) {
+            json.put(entry.getName(), entry.toJson());
+        }
+        try {
+            Path temporary = new File(directory, FILE_NAME + ".tmp").toPath();
+            Files.writeString(temporary, json.toString(), StandardCharsets.UTF_8);
+            Files.move(temporary, indexFile().toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ioe) {
+            // a read-only directory, say; the entries are still kept here
+        }
+    }
+
+    // EFFECTS: returns the index file
+    private File indexFile() {
+        return new File(directory, FILE_NAME);
+    }
+}
@@ -0,0 +1,367 @@
+package persistence;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+import model.Graph;
+import model.generator.GraphBuilder;
+import model.generator.GraphSink;
+
+// Reads a graph saved in a format other than this project's own (an edge list, DIMACS or GraphML, told
+// apart by the extension of the file) and streams it to a GraphSink, to build a Graph through its bulk
+// operations or to convert it into a save file. The file is read through a FileChannel CHUNK_BYTES at a
+// time, each chunk cut just before the last separator in it (a line break, or the start of a GraphML
+// tag), so that chunks parse on their own: BATCH chunks are read, then parsed in parallel straight from
+// their bytes. The vertices, which the formats name by numbers ("keys") that need not start at 1 or be
+// consecutive, are then numbered in increasing order of key and laid out on a square grid. The Graph
+// built labels them 1, 2, ... in that order, so the labels are the keys whenever those are 1 .. n. Each
+// edge is then kept once: the two directions of a road in DIMACS .gr, or of a link in a SNAP edge list,
+// make one edge, as do repeats of an edge, and self-loops are dropped, since a save cannot hold them.
+public abstract class GraphImporter {
+    public static final List<String> EXTENSIONS = List.of("txt", "edges", "el", "csv", "tsv", "dimacs", "col",
+            "clq", "gr", "graphml");
+    public static final String USAGE = "<graph.txt|.edges|.el|.csv|.tsv|.dimacs|.col|.clq|.gr|.graphml> <graph.json>";
+    private static final int CHUNK_BYTES = 1 << 22;
+    private static final int BATCH = 2 * Runtime.getRuntime().availableProcessors(); // chunks in memory at once
+    private static final int VERTEX_CHUNK = 1 << 16;
+    private static final int EDGE_CHUNK = 1 << 16;
+    private static final long LOOP = Long.MAX_VALUE; // packed in place of a self-loop, sorted after every edge
+    private static final int SPACING = 100; // Graph units between neighbouring vertices of the grid layout
+    private static final int DENSE_KEYS = 1 << 24; // keys below this are numbered through an array
+
+    private final File file;
+    private byte[] leftover = new byte[0]; // read past the end of the last chunk
+    private long offset; // in the file, of leftover[0]
+    private int numOfVertices;
+    private int[] numberOfKey; // numberOfKey[key] is the number of the vertex with the key, or -1
+    private int[] sortedKeys; // if numberOfKey is null, the keys of the vertices in order of their numbers
+    private int declaredVertices;
+
+    // EFFECTS: creates an importer of file
+    GraphImporter(File file) {
+        this.file = file;
+    }
+
+    // EFFECTS: returns an importer of file in the format its extension names, or null if there is none
+    public static GraphImporter of(File file) {
+        String name = file.getName().toLowerCase(Locale.ROOT);
+        String extension = name.substring(name.lastIndexOf('.') + 1);
+        if (!EXTENSIONS.contains(extension)) {
+            return null;
+        } else if (extension.equals("graphml")) {
+            return new GraphMLImporter(file);
+        } else if (EXTENSIONS.indexOf(extension) >= EXTENSIONS.indexOf("dimacs")) {
+            return new DimacsImporter(file);
+        } else {
+            return new EdgeListImporter(file);
+        }
+    }
+
+    // EFFECTS: returns the graph in file: imported if its extension names a format read here, and read as a
+    // save file (as by Graph(File)) otherwise
+    public static Graph read(File file) throws IOException {
+        GraphImporter importer = of(file);
+        return importer == null ? new Graph(file) : importer.toGraph();
+    }
+
+    // EFFECTS: returns the byte that chunks of the file are cut just before
+    abstract byte separator();
+
+    // MODIFIES: out
+    // EFFECTS: adds the edges and vertices in the chunk at cursor to out; throws IOException if it is not
+    // in the format
+    abstract void parse(ByteCursor cursor, ParsedChunk out) throws IOException;
+
+    // MODIFIES: chunks
+    // EFFECTS: gives the vertices of the chunks, which parse may have named by something other than their
+    // keys, by their keys; they are already by default
+    void assignKeys(List<ParsedChunk> chunks) throws IOException {
+    }
+
+    // EFFECTS: returns a new Graph holding the graph in the file, its vertices labelled 1, 2, ... in
+    // increasing order of their keys
+    public Graph toGraph() throws IOException {
+        GraphBuilder builder = new GraphBuilder();
+        importTo(builder);
+        return builder.getGraph();
+    }
+
+    // MODIFIES: sink
+    // EFFECTS: streams the vertices and then the edges of the graph in the file to sink; throws IOException
+    // if the file cannot be read or is not in the format
+    public void importTo(GraphSink sink) throws IOException {
+        List<ParsedChunk> chunks = parseFile();
+        assignKeys(chunks);
+        numberVertices(chunks);
+        int[] xs = new int[VERTEX_CHUNK];
+        int[] ys = new int[VERTEX_CHUNK];
+        int side = (int) Math.ceil(Math.sqrt(numOfVertices));
+        for (int first = 0; first < numOfVertices; first += VERTEX_CHUNK) {
+            int count = Math.min(VERTEX_CHUNK, numOfVertices - first);
+            for (int i = 0; i < count; i++) {
+                xs[i] = (first + i) % side * SPACING;
+                ys[i] = (first + i) / side * SPACING;
+            }
+            sink.vertices(xs, ys, count);
+        }
+        runInParallel(chunks.size(), i -> renumber(chunks.get(i)));
+        sendEdges(distinctEdges(chunks), sink);
+    }
+
+    // MODIFIES: sink
+    // EFFECTS: streams the packed edges, as distinctEdges returns them, to sink
+    private static void sendEdges(long[] edges, GraphSink sink) throws IOException {
+        int[] first = new int[EDGE_CHUNK];
+        int[] second = new int[EDGE_CHUNK];
+        for (int start = 0; start < edges.length; start += EDGE_CHUNK) {
+            int count = Math.min(EDGE_CHUNK, edges.length - start);
+            for (int i = 0; i < count; i++) {
+                first[i] = (int) (edges[start + i] >>> 32);
+                second[i] = (int) edges[start + i];
+            }
+            sink.edges(first, second, count);
+        }
+    }
+
+    // EFFECTS: returns the edges of the renumbered chunks, each once and without self-loops, in increasing
+    // order, packed as the smaller number of their ends in the high 32 bits and the larger in the low 32
+    private long[] distinctEdges(List<ParsedChunk> chunks) throws IOException {
+        int[] starts = edgeStarts(chunks);
+        long[] edges = new long[starts[chunks.size()]];
+        runInParallel(chunks.size(), c -> {
+            ParsedChunk chunk = chunks.get(c);
+            for (int i = 0; i < chunk.numOfEdges(); i++) {
+                int u = chunk.getFirst()[i];
+                int v = chunk.getSecond()[i];
+                edges[starts[c] + i] = u == v ? LOOP : (long) Math.min(u, v) << 32 | Math.max(u, v);
+            }
+        });
+        Arrays.parallelSort(edges);
+        int size = 0;
+        for (int i = 0; i < edges.length && edges[i] != LOOP; i++) {
+            if (i == 0 || edges[i] != edges[i - 1]) {
+                edges[size++] = edges[i];
+            }
+        }
+        return Arrays.copyOf(edges, size);
+    }
+
+    // EFFECTS: returns where the edges of each chunk start among those of all of them, and, last, how many
+    // edges there are in all; throws IOException if there are too many to hold in one array
+    private int[] edgeStarts(List<ParsedChunk> chunks) throws IOException {
+        int[] starts = new int[chunks.size() + 1];
+        for (int c = 0; c < chunks.size(); c++) {
+            if (chunks.get(c).numOfEdges() > Integer.MAX_VALUE - 8 - starts[c]) {
+                throw new IOException("too many edges in " + file.getName());
+            }
+            starts[c + 1] = starts[c] + chunks.get(c).numOfEdges();
+        }
+        return starts;
+    }
+
+    // EFFECTS: returns what every chunk of the file holds, in order
+    private List<ParsedChunk> parseFile() throws IOException {
+        List<ParsedChunk> parsed = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            List<ByteCursor> batch = new ArrayList<>();
+            for (ByteCursor chunk = readChunk(channel); chunk != null; chunk = readChunk(channel)) {
+                batch.add(chunk);
+                if (batch.size() == BATCH) {
+                    parsed.addAll(parseAll(batch));
+                    batch.clear();
+                }
+            }
+            parsed.addAll(parseAll(batch));
+        }
+        return parsed;
+    }
+
+    // EFFECTS: returns what the chunks hold, parsing them in parallel
+    private List<ParsedChunk> parseAll(List<ByteCursor> batch) throws IOException {
+        ParsedChunk[] parsed = new ParsedChunk[batch.size()];
+        runInParallel(batch.size(), i -> {
+            parsed[i] = new ParsedChunk();
+            parse(batch.get(i), parsed[i]);
+        });
+        return Arrays.asList(parsed);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the next chunk of the file: the bytes left over from the last one, then up to
+    // CHUNK_BYTES more, cut before the last separator in them unless the file ends there; keeps the rest
+    // for the next chunk. Returns null at the end of the file.
+    private ByteCursor readChunk(FileChannel channel) throws IOException {
+        byte[] bytes = Arrays.copyOf(leftover, leftover.length + CHUNK_BYTES);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, leftover.length, CHUNK_BYTES);
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // keep reading until the buffer is full or the file ends
+        }
+        int length = buffer.position();
+        int cut = buffer.hasRemaining() ? length : lastIndexOf(separator(), bytes, length);
+        if (length == 0) {
+            return null;
+        } else if (cut <= 0) { // no separator in CHUNK_BYTES: read on
+            leftover = Arrays.copyOf(bytes, length);
+            return readChunk(channel);
+        }
+        ByteCursor chunk = new ByteCursor(bytes, cut, offset);
+        leftover = Arrays.copyOfRange(bytes, cut, length);
+        offset += cut;
+        return chunk;
+    }
+
+    // EFFECTS: returns the index of the last b in bytes[0 .. length - 1], or -1 if there is none
+    private static int lastIndexOf(byte b, byte[] bytes, int length) {
+        int i = length - 1;
+        while (i >= 0 && bytes[i] != b) {
+            i--;
+        }
+        return i;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: numbers the vertices named in chunks, in increasing order of key, or as the file declares
+    private void numberVertices(List<ParsedChunk> chunks) throws IOException {
+        declaredVertices = -1;
+        long numOfKeys = 0;
+        int maxKey = -1;
+        for (ParsedChunk chunk : chunks) {
+            declaredVertices = Math.max(declaredVertices, chunk.getDeclaredVertices());
+            numOfKeys += 2L * chunk.numOfEdges() + chunk.numOfNodes();
+            maxKey = Math.max(maxKey, max(chunk.getFirst(), chunk.numOfEdges()));
+            maxKey = Math.max(maxKey, max(chunk.getSecond(), chunk.numOfEdges()));
+            maxKey = Math.max(maxKey, max(chunk.getNodes(), chunk.numOfNodes()));
+        }
+        if (declaredVertices >= 0) {
+            numOfVertices = declaredVertices;
+        } else if (maxKey < Math.max(DENSE_KEYS, numOfKeys)) {
+            numberDensely(chunks, maxKey);
+        } else {
+            numberSparsely(chunks, numOfKeys);
+        }
+    }
+
+    // EFFECTS: returns the largest of keys[0 .. count - 1], or -1 if count is 0
+    private static int max(int[] keys, int count) {
+        int max = -1;
+        for (int i = 0; i < count; i++) {
+            max = Math.max(max, keys[i]);
+        }
+        return max;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: numbers the vertices through an array indexed by key, up to maxKey
+    private void numberDensely(List<ParsedChunk> chunks, int maxKey) {
+        numberOfKey = new int[maxKey + 1];
+        for (ParsedChunk chunk : chunks) {
+            mark(chunk.getFirst(), chunk.numOfEdges());
+            mark(chunk.getSecond(), chunk.numOfEdges());
+            mark(chunk.getNodes(), chunk.numOfNodes());
+        }
+        numOfVertices = 0;
+        for (int key = 0; key <= maxKey; key++) {
+            numberOfKey[key] = numberOfKey[key] == 0 ? -1 : numOfVertices++;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: marks keys[0 .. count - 1] in numberOfKey
+    private void mark(int[] keys, int count) {
+        for (int i = 0; i < count; i++) {
+            numberOfKey[keys[i]] = 1;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: numbers the vertices through a sorted array of their numOfKeys keys, duplicates included
+    private void numberSparsely(List<ParsedChunk> chunks, long numOfKeys) throws IOException {
+        if (numOfKeys > Integer.MAX_VALUE - 8) {
+            throw new IOException("too many edges in " + file.getName());
+        }
+        int[] keys = new int[(int) numOfKeys];
+        int size = 0;
+        for (ParsedChunk chunk : chunks) {
+            System.arraycopy(chunk.getFirst(), 0, keys, size, chunk.numOfEdges());
+            System.arraycopy(chunk.getSecond(), 0, keys, size + chunk.numOfEdges(), chunk.numOfEdges());
+            size += 2 * chunk.numOfEdges();
+            System.arraycopy(chunk.getNodes(), 0, keys, size, chunk.numOfNodes());
+            size += chunk.numOfNodes();
+        }
+        Arrays.parallelSort(keys);
+        numOfVertices = 0;
+        for (int i = 0; i < size; i++) {
+            if (i == 0 || keys[i] != keys[i - 1]) {
+                keys[numOfVertices++] = keys[i];
+            }
+        }
+        sortedKeys = Arrays.copyOf(keys, numOfVertices);
+    }
+
+    // MODIFIES: chunk
+    // EFFECTS: replaces the keys of the ends of the edges of chunk by the numbers of their vertices
+    private void renumber(ParsedChunk chunk) throws IOException {
+        for (int i = 0; i < chunk.numOfEdges(); i++) {
+            chunk.getFirst()[i] = numberOf(chunk.getFirst()[i]);
+            chunk.getSecond()[i] = numberOf(chunk.getSecond()[i]);
+        }
+    }
+
+    // EFFECTS: returns the number of the vertex with this key; throws IOException if the file declared
+    // its vertices and there is none with this key
+    private int numberOf(int key) throws IOException {
+        if (declaredVertices >= 0) {
+            if (key < 1 || key > declaredVertices) {
+                throw new IOException("vertex " + key + " is not one of the " + declaredVertices + " declared in "
+                        + file.getName());
+            }
+            return key - 1;
+        }
+        return numberOfKey != null ? numberOfKey[key] : Arrays.binarySearch(sortedKeys, key);
+    }
+
+    // Task run on every index of a range, which may fail with an IOException
+    interface IndexTask {
+        void run(int index) throws IOException;
+    }
+
+    // EFFECTS: runs task on 0 .. count - 1 in parallel; rethrows the first IOException any of them throws
+    static void runInParallel(int count, IndexTask task) throws IOException {
+        try {
+            IntStream.range(0, count).parallel().forEach(i -> {
+                try {
+                    task.run(i);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // EFFECTS: converts the file named by args[0] into the save file named by args[1]
+    public static void main(String[] args) throws IOException {
+        GraphImporter importer = args.length == 2 ? of(new File(args[0])) : null;
+        if (importer == null) {
+            System.out.println("usage: import " + USAGE);
+            return;
+        }
+        long start = System.nanoTime();
+        try (StreamingGraphWriter writer = new StreamingGraphWriter(new FileOutputStream(args[1]))) {
+            importer.importTo(writer);
+        }
+        System.out.println("imported " + args[0] + " into " + args[1] + " in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+}
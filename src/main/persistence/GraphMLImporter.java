@@ -0,0 +1,178 @@
+package persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Importer of GraphML: every <node> element is a vertex and every <edge> element an edge between the
+// nodes named by its source and target attributes, in whichever <graph> they are; everything else (keys,
+// data, nested graph attributes) is skipped. The key of a vertex is the number its id ends in, as in
+// "n0", "n1", ... (yEd, Gephi) or "0", "1", ... (NetworkX), so that the vertices keep the order of their
+// ids, or else a hash of its id, as for "alice". Every id is checked against the one that took its key
+// first: two different ids, such as "n1" and "m1", or yEd's "n0::n1" and "n1", never share a vertex, and
+// the one named later in the file takes the next free key instead. The chunks are parsed in parallel,
+// each naming its vertices by the index of their ids in it; the keys are then given out in one pass over
+// the ids in file order, so that a file always imports the same way. Chunks are cut before a '<', so they
+// start between tags; comments are skipped, but must not contain tags themselves.
+final class GraphMLImporter extends GraphImporter {
+    private static final byte[] COMMENT = "<!--".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] COMMENT_END = "-->".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NODE = "<node".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EDGE = "<edge".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ID = "id".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SOURCE = "source".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TARGET = "target".getBytes(StandardCharsets.US_ASCII);
+
+    // EFFECTS: creates an importer of file
+    GraphMLImporter(File file) {
+        super(file);
+    }
+
+    @Override
+    byte separator() {
+        return '<';
+    }
+
+    @Override
+    void parse(ByteCursor cursor, ParsedChunk out) throws IOException {
+        for (cursor.skipTo('<'); !cursor.atEnd(); cursor.skipTo('<')) {
+            if (cursor.startsWith(COMMENT)) {
+                cursor.skipPast(COMMENT_END);
+            } else if (startsElement(cursor, NODE)) {
+                out.addNode(attribute(cursor, ID, out));
+            } else if (startsElement(cursor, EDGE)) {
+                int[] ends = {-1, -1};
+                readEnds(cursor, ends, out);
+                out.addEdge(ends[0], ends[1]);
+            } else {
+                cursor.advance();
+            }
+        }
+    }
+
+    @Override
+    void assignKeys(List<ParsedChunk> chunks) throws IOException {
+        Map<Integer, String> idOfKey = new HashMap<>();
+        int[][] keys = new int[chunks.size()][];
+        for (int c = 0; c < chunks.size(); c++) {
+            ParsedChunk chunk = chunks.get(c);
+            keys[c] = new int[chunk.getIds().size()];
+            for (int i = 0; i < keys[c].length; i++) {
+                keys[c][i] = keyOf(chunk.getIds().get(i), chunk.getProposedKey(i), idOfKey);
+            }
+        }
+        runInParallel(chunks.size(), c -> chunks.get(c).rekey(keys[c]));
+    }
+
+    // MODIFIES: idOfKey
+    // EFFECTS: returns the key of the node with this id, which asks for the proposed key: that key, unless
+    // another id took it first, in which case the next key that is free or already the id's
+    private static int keyOf(String id, int proposed, Map<Integer, String> idOfKey) {
+        int key = proposed;
+        String taken = idOfKey.putIfAbsent(key, id);
+        while (taken != null && !taken.equals(id)) {
+            key = key == Integer.MAX_VALUE ? 0 : key + 1;
+            taken = idOfKey.putIfAbsent(key, id);
+        }
+        return key;
+    }
+
+    // MODIFIES: cursor
+    // EFFECTS: returns true, and moves past the name, if the cursor is at the start of a tag named as in
+    // name (which starts with '<')
+    private static boolean startsElement(ByteCursor cursor, byte[] name) {
+        if (!cursor.startsWith(name)) {
+            return false;
+        }
+        for (int i = 0; i < name.length; i++) {
+            cursor.advance();
+        }
+        return !cursor.atEnd() && (cursor.peek() <= ' ' || cursor.peek() == '/' || cursor.peek() == '>');
+    }
+
+    // MODIFIES: cursor, out
+    // EFFECTS: reads the attributes of the tag at cursor, and returns the index in out of the id that is the
+    // value of the one named name; throws IOException if there is none
+    private static int attribute(ByteCursor cursor, byte[] name, ParsedChunk out) throws IOException {
+        int[] key = {-1};
+        readAttributes(cursor, (from, to, valueFrom, valueTo) -> {
+            if (cursor.equals(from, to, name)) {
+                key[0] = indexOfId(cursor, valueFrom, valueTo, out);
+            }
+        });
+        if (key[0] < 0) {
+            throw cursor.error("missing " + new String(name, StandardCharsets.US_ASCII) + " attribute");
+        }
+        return key[0];
+    }
+
+    // MODIFIES: cursor, ends, out
+    // EFFECTS: reads the attributes of the edge tag at cursor into ends: the index in out of the id of its
+    // source, then that of its target; throws IOException if either is missing
+    private static void readEnds(ByteCursor cursor, int[] ends, ParsedChunk out) throws IOException {
+        readAttributes(cursor, (from, to, valueFrom, valueTo) -> {
+            if (cursor.equals(from, to, SOURCE)) {
+                ends[0] = indexOfId(cursor, valueFrom, valueTo, out);
+            } else if (cursor.equals(from, to, TARGET)) {
+                ends[1] = indexOfId(cursor, valueFrom, valueTo, out);
+            }
+        });
+        if (ends[0] < 0 || ends[1] < 0) {
+            throw cursor.error("edge without a source or a target");
+        }
+    }
+
+    // MODIFIES: out
+    // EFFECTS: returns the index in out of the id at from .. to - 1 in the chunk, which asks for the number
+    // it ends in as its key, or else for a hash of it
+    private static int indexOfId(ByteCursor cursor, int from, int to, ParsedChunk out) {
+        String id = cursor.textAt(from, to);
+        int key = cursor.numberAt(from, to);
+        return out.indexOfId(id, key < 0 ? id.hashCode() & Integer.MAX_VALUE : key);
+    }
+
+    // Receiver of an attribute of a tag, given by where its name and its value are in the chunk
+    private interface AttributeHandler {
+        void attribute(int from, int to, int valueFrom, int valueTo) throws IOException;
+    }
+
+    // MODIFIES: cursor
+    // EFFECTS: passes every attribute of the tag at cursor to handler, and moves past the tag
+    private static void readAttributes(ByteCursor cursor, AttributeHandler handler) throws IOException {
+        while (true) {
+            cursor.skipWhitespace();
+            if (cursor.atEnd() || cursor.peek() == '>' || cursor.peek() == '/') {
+                cursor.skipTo('>');
+                return;
+            }
+            int from = cursor.getPosition();
+            while (!cursor.atEnd() && cursor.peek() != '=' && cursor.peek() > ' ') {
+                cursor.advance();
+            }
+            int to = cursor.getPosition();
+            int quote = openValue(cursor);
+            int valueFrom = cursor.getPosition();
+            cursor.skipTo(quote);
+            handler.attribute(from, to, valueFrom, cursor.getPosition());
+            cursor.advance();
+        }
+    }
+
+    // MODIFIES: cursor
+    // EFFECTS: moves from the end of the name of an attribute past the '=' and the quote opening its value,
+    // and returns that quote; throws IOException if there is none
+    private static int openValue(ByteCursor cursor) throws IOException {
+        cursor.skipWhitespace();
+        cursor.advance(); // the '='
+        cursor.skipWhitespace();
+        int quote = cursor.atEnd() ? -1 : cursor.peek();
+        if (quote != '"' && quote != '\'') {
+            throw cursor.error("expected a quoted attribute value");
+        }
+        cursor.advance();
+        return quote;
+    }
+}
@@ -3,14 +3,22 @@
 package persistence;
 
 import model.*;
+import model.metrics.Metric;
+import model.metrics.Metrics;
 import org.json.JSONObject;
 
 import java.io.*;
+import java.nio.charset.Charset;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
 
-// Represents a writer that writes JSON representation of workroom to file
+// Represents a writer that writes JSON representation of workroom to file. A .json save is also recorded
+// in the GraphCatalog of its directory, with a checksum taken as it is written, so it need not be read back.
 public class GraphWriter {
     private static final int TAB = 4;
     private PrintWriter writer;
+    private CheckedOutputStream checked;
+    private CatalogEntry entry; // of the Graph written, but for the size, time and checksum of the file
     private String destination;
 
     // EFFECTS: constructs writer to write to destination file
@@ -28,20 +36,45 @@ public class GraphWriter {
     // cannot
     // be opened for writing
     public void open() throws FileNotFoundException {
-        writer = new PrintWriter(new File(destination));
+        checked = new CheckedOutputStream(new FileOutputStream(destination), new CRC32());
+        writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(checked, Charset.defaultCharset())));
+        entry = null;
     }
 
     // MODIFIES: the file whose path is destination
     // EFFECTS: writes JSON representation of workroom to file
     public void write(Graph g) {
+        long start = Metrics.start();
         JSONObject json = g.toJson();
         saveToFile(json.toString(TAB));
+        entry = summarize(g);
+        Metrics.stop(Metric.WRITE, start, g.getVertices().size() + g.snapshot().numOfEdges());
     }
 
-    // MODIFIES: this
-    // EFFECTS: closes writer
+    // MODIFIES: this, the GraphCatalog of the directory of the destination file
+    // EFFECTS: closes writer, and records what was written in the catalog
     public void close() {
         writer.close();
+        File file = new File(destination).getAbsoluteFile();
+        if (entry != null && !writer.checkError() && GraphCatalog.isSave(file.getName())) {
+            GraphCatalog.of(file.getParentFile()).put(new CatalogEntry(file.getName(), file.length(),
+                    file.lastModified(), checked.getChecksum().getValue(), entry.getNumOfVertices(),
+                    entry.getNumOfEdges(), entry.getThumbnail()));
+        }
+    }
+
+    // EFFECTS: returns an entry for g, as it is saved, with no file size, time or checksum; edges are
+    // counted, and vertices offered to the thumbnail, in the order they are saved in
+    private static CatalogEntry summarize(Graph g) {
+        ThumbnailSampler sampler = new ThumbnailSampler();
+        for (Vertex v : g.getVertices()) {
+            sampler.offer(v.getXpos(), v.getYpos());
+        }
+        long numOfEdges = 0;
+        for (Edge e : g.getEdges()) {
+            numOfEdges += e.getFirstVertex().getLabel() < e.getSecondVertex().getLabel() ? 1 : 0;
+        }
+        return new CatalogEntry(null, 0, 0, 0, g.getVertices().size(), numOfEdges, sampler.pixels());
     }
 
     // MODIFIES: this
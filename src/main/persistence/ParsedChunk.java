@@ -0,0 +1,115 @@
+package persistence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// What an importer found in one chunk of a file: edges between vertices, and vertices declared on their
+// own (which may have no edges), all given by the numbers ("keys") that the file calls them by. A file
+// that names its vertices by text gives them by their index among the ids the chunk names instead (see
+// indexOfId) until the importer rekeys the chunk.
+final class ParsedChunk {
+    private int[] first = new int[16];
+    private int[] second = new int[16];
+    private int numOfEdges;
+    private int[] nodes = new int[16];
+    private int numOfNodes;
+    private int declaredVertices = -1; // set by a file stating that its vertices are 1 .. declaredVertices
+    private final Map<String, Integer> indexOfId = new HashMap<>();
+    private final List<String> ids = new ArrayList<>(); // in order of first appearance in the chunk
+    private int[] proposedKeys = new int[16]; // proposedKeys[i] is the key ids.get(i) asks for
+
+    // MODIFIES: this
+    // EFFECTS: adds an edge between the vertices with keys u and v
+    void addEdge(int u, int v) {
+        if (numOfEdges == first.length) {
+            first = Arrays.copyOf(first, 2 * numOfEdges);
+            second = Arrays.copyOf(second, 2 * numOfEdges);
+        }
+        first[numOfEdges] = u;
+        second[numOfEdges] = v;
+        numOfEdges++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the vertex with key u
+    void addNode(int u) {
+        if (numOfNodes == nodes.length) {
+            nodes = Arrays.copyOf(nodes, 2 * numOfNodes);
+        }
+        nodes[numOfNodes++] = u;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records that the vertices of the file have the keys 1 .. n
+    void declareVertices(int n) {
+        declaredVertices = n;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the index of id among the ids the chunk names, adding it, with the key it asks for,
+    // if the chunk did not name it before
+    int indexOfId(String id, int proposedKey) {
+        Integer index = indexOfId.get(id);
+        if (index != null) {
+            return index;
+        }
+        if (ids.size() == proposedKeys.length) {
+            proposedKeys = Arrays.copyOf(proposedKeys, 2 * ids.size());
+        }
+        proposedKeys[ids.size()] = proposedKey;
+        indexOfId.put(id, ids.size());
+        ids.add(id);
+        return ids.size() - 1;
+    }
+
+    // REQUIRES: keys has a key for every id the chunk names
+    // MODIFIES: this
+    // EFFECTS: gives every vertex by keys[i] instead of by the index i of its id
+    void rekey(int[] keys) {
+        for (int i = 0; i < numOfEdges; i++) {
+            first[i] = keys[first[i]];
+            second[i] = keys[second[i]];
+        }
+        for (int i = 0; i < numOfNodes; i++) {
+            nodes[i] = keys[nodes[i]];
+        }
+    }
+
+    int[] getFirst() {
+        return first;
+    }
+
+    int[] getSecond() {
+        return second;
+    }
+
+    int numOfEdges() {
+        return numOfEdges;
+    }
+
+    int[] getNodes() {
+        return nodes;
+    }
+
+    int numOfNodes() {
+        return numOfNodes;
+    }
+
+    // EFFECTS: returns the ids the chunk names, in order of first appearance
+    List<String> getIds() {
+        return ids;
+    }
+
+    // EFFECTS: returns the key the id at index i asks for
+    int getProposedKey(int i) {
+        return proposedKeys[i];
+    }
+
+    // EFFECTS: returns the number of vertices the chunk declared the file to have, or -1 if it did not
+    int getDeclaredVertices() {
+        return declaredVertices;
+    }
+}
@@ -0,0 +1,137 @@
+package persistence;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+// Streaming PNG encoder for 8-bit RGB images. Rows are compressed as they are written, top to bottom,
+// and the compressed data is emitted in IDAT chunks of bounded size, so an image of any size can be
+// written while only one row of it is held in memory.
+public class PngWriter implements Closeable {
+    private static final byte[] SIGNATURE = {(byte) 137, 'P', 'N', 'G', '\r', '\n', 26, '\n'};
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final int BIT_DEPTH = 8;
+    private static final int COLOR_TYPE_RGB = 2;
+    private static final int FILTER_NONE = 0;
+    // the images written are large and mostly background, so the fastest level takes about half the time
+    // of the default one for files under twice the size
+    private static final int COMPRESSION_LEVEL = Deflater.BEST_SPEED;
+
+    private final DataOutputStream out;
+    private final Deflater deflater;
+    private final DeflaterOutputStream data;
+    private final byte[] row; // filter type, then red, green and blue of each pixel
+    private final int height;
+    private int rowsWritten;
+
+    // REQUIRES: width > 0, height > 0
+    // EFFECTS: starts a PNG image of the given size on out, writing its header
+    public PngWriter(OutputStream out, int width, int height) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.height = height;
+        row = new byte[1 + 3 * width];
+        this.out.write(SIGNATURE);
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        DataOutputStream fields = new DataOutputStream(header);
+        fields.writeInt(width);
+        fields.writeInt(height);
+        fields.writeByte(BIT_DEPTH);
+        fields.writeByte(COLOR_TYPE_RGB);
+        fields.writeByte(0); // compression: deflate
+        fields.writeByte(0); // filter method: adaptive
+        fields.writeByte(0); // no interlace
+        writeChunk("IHDR", header.toByteArray(), header.size());
+        deflater = new Deflater(COMPRESSION_LEVEL);
+        data = new DeflaterOutputStream(new ImageData(), deflater, CHUNK_SIZE);
+    }
+
+    // REQUIRES: fewer than height rows were written so far, rgb has width pixels from offset on
+    // MODIFIES: this
+    // EFFECTS: appends the next row of the image; pixels are packed 0xRRGGBB, any alpha is ignored
+    public void writeRow(int[] rgb, int offset) throws IOException {
+        row[0] = FILTER_NONE;
+        for (int i = 0, j = 1; j < row.length; i++) {
+            int pixel = rgb[offset + i];
+            row[j++] = (byte) (pixel >> 16);
+            row[j++] = (byte) (pixel >> 8);
+            row[j++] = (byte) pixel;
+        }
+        data.write(row);
+        rowsWritten++;
+    }
+
+    // REQUIRES: all height rows were written
+    // MODIFIES: this
+    // EFFECTS: flushes the compressed data and ends the image, then closes the underlying stream
+    @Override
+    public void close() throws IOException {
+        if (rowsWritten != height) {
+            throw new IOException("PNG closed after " + rowsWritten + " of " + height + " rows");
+        }
+        data.close();
+        deflater.end();
+        writeChunk("IEND", new byte[0], 0);
+        out.close();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes a chunk of the given type holding the first length bytes of body
+    private void writeChunk(String type, byte[] body, int length) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(body, 0, length);
+        out.writeInt(length);
+        out.write(typeBytes);
+        out.write(body, 0, length);
+        out.writeInt((int) crc.getValue());
+    }
+
+    // Collects compressed image data and writes it out as IDAT chunks of at most CHUNK_SIZE bytes.
+    private class ImageData extends OutputStream {
+        private final byte[] buffer = new byte[CHUNK_SIZE];
+        private int size;
+
+        // MODIFIES: this
+        // EFFECTS: buffers one byte
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        // MODIFIES: this
+        // EFFECTS: buffers the bytes, writing out a chunk each time the buffer fills up
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                int n = Math.min(length, CHUNK_SIZE - size);
+                System.arraycopy(bytes, offset, buffer, size, n);
+                size += n;
+                offset += n;
+                length -= n;
+                if (size == CHUNK_SIZE) {
+                    flush();
+                }
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: writes out what is buffered as one chunk, if anything
+        @Override
+        public void flush() throws IOException {
+            if (size > 0) {
+                writeChunk("IDAT", buffer, size);
+                size = 0;
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: writes out the last chunk; the PNG stream itself stays open
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
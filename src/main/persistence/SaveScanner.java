@@ -0,0 +1,160 @@
+package persistence;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+// Reads a save file once for its CatalogEntry, a buffer at a time and without building any JSON from it:
+// the bytes go through a CRC-32 and a small state machine that counts the "label" keys (one to a vertex)
+// and the "firstLabel" keys (one to an edge), and hands the "x" and "y" of every vertex to a
+// ThumbnailSampler. Saves of many GB are read in the same memory as small ones.
+final class SaveScanner {
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int KEY_LENGTH = 16; // longer strings are none of the keys looked for
+    private static final int NONE = 0;
+    private static final int LABEL = 1;
+    private static final int FIRST_LABEL = 2;
+    private static final int X = 3;
+    private static final int Y = 4;
+    private static final byte[][] KEYS = {{}, bytes("label"), bytes("firstLabel"), bytes("x"), bytes("y")};
+
+    private final CRC32 crc = new CRC32();
+    private final ThumbnailSampler sampler = new ThumbnailSampler();
+    private final byte[] key = new byte[KEY_LENGTH];
+    private int keyLength; // of the string being read, -1 once it is too long or has an escape in it
+    private boolean inString;
+    private boolean escaped;
+    private int lastKey = NONE; // the last string read, if it is one of KEYS and no ':' came after it yet
+    private int valueOf = NONE; // the key whose value is being waited for, if it is X or Y
+    private boolean inNumber;
+    private boolean negative;
+    private long number;
+    private int xpos;
+    private int ypos;
+    private boolean hasX;
+    private boolean hasY;
+    private long numOfVertices;
+    private long numOfEdges;
+
+    private SaveScanner() {
+    }
+
+    // EFFECTS: reads the save file and returns its entry; throws IOException if it cannot be read
+    static CatalogEntry scan(File file) throws IOException {
+        return new SaveScanner().read(file);
+    }
+
+    // EFFECTS: returns the bytes of the ASCII text
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads file through, and returns its entry; the modification time is taken first, so a file
+    // changed while it is read never looks current
+    private CatalogEntry read(File file) throws IOException {
+        long modified = file.lastModified();
+        long size = 0;
+        try (InputStream in = new FileInputStream(file)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                crc.update(buffer, 0, read);
+                for (int i = 0; i < read; i++) {
+                    accept(buffer[i]);
+                }
+                size += read;
+            }
+        }
+        accept(' '); // ends a number the file might end in
+        return new CatalogEntry(file.getName(), size, modified, crc.getValue(), numOfVertices, numOfEdges,
+                sampler.pixels());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves the state machine past the next byte b
+    private void accept(int b) {
+        if (inString) {
+            string(b);
+        } else if (inNumber && b >= '0' && b <= '9') {
+            number = number * 10 + b - '0';
+        } else {
+            if (inNumber) {
+                endNumber();
+            }
+            token(b);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves past the next byte b of a string
+    private void string(int b) {
+        if (escaped) {
+            escaped = false;
+        } else if (b == '\\') {
+            escaped = true;
+            keyLength = -1;
+        } else if (b == '"') {
+            inString = false;
+            lastKey = keyRead();
+        } else if (keyLength >= 0 && keyLength < KEY_LENGTH) {
+            key[keyLength++] = (byte) b;
+        } else {
+            keyLength = -1;
+        }
+    }
+
+    // EFFECTS: returns which of KEYS the string just read is, or NONE
+    private int keyRead() {
+        for (int k = 1; k < KEYS.length; k++) {
+            if (keyLength >= 0 && Arrays.equals(key, 0, keyLength, KEYS[k], 0, KEYS[k].length)) {
+                return k;
+            }
+        }
+        return NONE;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves past the next byte b, outside strings and numbers
+    private void token(int b) {
+        if (b == '"') {
+            inString = true;
+            keyLength = 0;
+        } else if (b == ':') {
+            numOfVertices += lastKey == LABEL ? 1 : 0;
+            numOfEdges += lastKey == FIRST_LABEL ? 1 : 0;
+            valueOf = lastKey == X || lastKey == Y ? lastKey : NONE;
+            lastKey = NONE;
+        } else if (valueOf != NONE && (b == '-' || (b >= '0' && b <= '9'))) {
+            inNumber = true;
+            negative = b == '-';
+            number = negative ? 0 : b - '0';
+        } else if (b > ' ') {
+            valueOf = NONE;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records the number just read as the x or the y of a vertex, and offers the vertex to the
+    // sampler once it has both
+    private void endNumber() {
+        inNumber = false;
+        int value = (int) (negative ? -number : number);
+        if (valueOf == X) {
+            xpos = value;
+            hasX = true;
+        } else {
+            ypos = value;
+            hasY = true;
+        }
+        valueOf = NONE;
+        if (hasX && hasY) {
+            sampler.offer(xpos, ypos);
+            hasX = false;
+            hasY = false;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package persistence;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+import model.generator.GraphSink;
+
+// Writes a graph streamed to it as a save file in the format of GraphWriter, which Graph(File) reads
+// back, without holding the graph or its JSON in memory. Vertices numbered i are labelled i + 1. The
+// counts that GraphWriter puts first are written last, once they are known.
+public class StreamingGraphWriter implements GraphSink, Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Writer out;
+    private long numOfVertices;
+    private long numOfEdges;
+    private boolean inEdges; // true once the list of vertices is closed
+
+    // EFFECTS: starts a save file on out
+    public StreamingGraphWriter(OutputStream out) throws IOException {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.out.write("{\"vertices\":[");
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the next count vertices, the i-th of them at (xs[i], ys[i])
+    @Override
+    public void vertices(int[] xs, int[] ys, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            out.write(numOfVertices == 0 ? "\n" : ",\n");
+            numOfVertices++;
+            out.write("{\"label\":" + numOfVertices + ",\"x\":" + xs[i] + ",\"y\":" + ys[i] + "}");
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes count edges, the i-th of them between the vertices numbered first[i] and second[i],
+    // with the lower label first
+    @Override
+    public void edges(int[] first, int[] second, int count) throws IOException {
+        startEdges();
+        for (int i = 0; i < count; i++) {
+            out.write(numOfEdges == 0 ? "\n" : ",\n");
+            numOfEdges++;
+            int low = Math.min(first[i], second[i]) + 1;
+            int high = Math.max(first[i], second[i]) + 1;
+            out.write("{\"firstLabel\":" + low + ",\"secondLabel\":" + high + "}");
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes the list of vertices and opens the list of edges, unless that is done already
+    private void startEdges() throws IOException {
+        if (!inEdges) {
+            out.write("],\n\"edges\":[");
+            inEdges = true;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: finishes the save file, and closes the stream it was written to
+    @Override
+    public void close() throws IOException {
+        startEdges();
+        out.write("],\n\"numOfVertices\":" + numOfVertices + ",\n\"numOfEdges\":" + numOfEdges + "}\n");
+        out.close();
+    }
+}
@@ -0,0 +1,67 @@
+package persistence;
+
+import java.util.Random;
+
+// Keeps a uniform sample of the positions of the vertices of a save, offered one at a time, and draws it as
+// a SIZE x SIZE grey-scale thumbnail, each pixel darker the more sampled vertices fall on it. The sample is
+// bounded, so a save of any size is drawn in the same memory, and seeded, so the same vertices in the same
+// order always give the same thumbnail, whether they come from a Graph or from its save file.
+final class ThumbnailSampler {
+    static final int SIZE = 32;
+    private static final int SAMPLE = 4096;
+    private static final long SEED = 1;
+    private static final int LIGHTEST = 64; // the shade of a pixel with a single sampled vertex on it
+
+    private final int[] xs = new int[SAMPLE];
+    private final int[] ys = new int[SAMPLE];
+    private final Random random = new Random(SEED);
+    private long offered;
+
+    // MODIFIES: this
+    // EFFECTS: offers the position of the next vertex to the sample
+    void offer(int x, int y) {
+        long slot = offered < SAMPLE ? offered : random.nextLong(offered + 1);
+        offered++;
+        if (slot < SAMPLE) {
+            xs[(int) slot] = x;
+            ys[(int) slot] = y;
+        }
+    }
+
+    // EFFECTS: returns the thumbnail, SIZE rows of SIZE pixels, each from 0 (white) to 255 (black)
+    byte[] pixels() {
+        int[] hits = hits((int) Math.min(offered, SAMPLE));
+        int most = 1;
+        for (int h : hits) {
+            most = Math.max(most, h);
+        }
+        byte[] pixels = new byte[SIZE * SIZE];
+        for (int p = 0; p < pixels.length; p++) {
+            if (hits[p] > 0) {
+                pixels[p] = (byte) (LIGHTEST + (255 - LIGHTEST) * hits[p] / most);
+            }
+        }
+        return pixels;
+    }
+
+    // EFFECTS: returns how many of the first count sampled vertices fall on each pixel, the sample scaled
+    // to fit the thumbnail without changing its proportions
+    private int[] hits(int count) {
+        long minX = Long.MAX_VALUE;
+        long minY = Long.MAX_VALUE;
+        long span = 1;
+        for (int i = 0; i < count; i++) {
+            minX = Math.min(minX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+        }
+        for (int i = 0; i < count; i++) {
+            span = Math.max(span, Math.max(xs[i] - minX, ys[i] - minY));
+        }
+        double scale = (SIZE - 1) / (double) span;
+        int[] hits = new int[SIZE * SIZE];
+        for (int i = 0; i < count; i++) {
+            hits[(int) ((ys[i] - minY) * scale) * SIZE + (int) ((xs[i] - minX) * scale)]++;
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,89 @@
+package ui;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.io.File;
+
+import javax.swing.JComponent;
+import javax.swing.JFileChooser;
+
+import persistence.CatalogEntry;
+import persistence.GraphCatalog;
+
+// Accessory of the Load dialog that previews the file selected with what the GraphCatalog of its directory
+// knows of it: a thumbnail of where its vertices are, how many vertices and edges it has, and its size.
+// Nothing is read from the file itself, so the preview is instant however large the save; a save that the
+// catalog has not read yet, or that changed since, is shown as such.
+public class CatalogPreview extends JComponent implements PropertyChangeListener {
+    private static final long serialVersionUID = 1L;
+    private static final int ZOOM = 4; // screen pixels per thumbnail pixel
+    private static final int MARGIN = 10;
+    private static final int LINE_HEIGHT = 15;
+    private static final int LINES = 3;
+    private static final String NOT_INDEXED = "Not in the catalog yet.";
+
+    private String[] lines = new String[0];
+    private BufferedImage thumbnail; // null if there is nothing to preview
+
+    // EFFECTS: creates a preview of no file
+    public CatalogPreview() {
+        int side = CatalogEntry.THUMBNAIL_SIZE * ZOOM + 2 * MARGIN;
+        setPreferredSize(new Dimension(side, side + LINES * LINE_HEIGHT));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: previews file, or nothing if it is null or a directory
+    public void setFile(File file) {
+        CatalogEntry entry = null;
+        lines = new String[0];
+        if (file != null && GraphCatalog.isSave(file.getName())) {
+            entry = GraphCatalog.of(file.getAbsoluteFile().getParentFile()).get(file);
+            lines = entry == null ? new String[] {NOT_INDEXED} : entry.describe().split(", ");
+        }
+        thumbnail = entry == null ? null : image(entry.getThumbnail());
+        repaint();
+    }
+
+    // EFFECTS: returns the lines of text shown under the thumbnail
+    public String[] getLines() {
+        return lines.clone();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: previews the file just selected in the dialog
+    @Override
+    public void propertyChange(PropertyChangeEvent evt) {
+        if (JFileChooser.SELECTED_FILE_CHANGED_PROPERTY.equals(evt.getPropertyName())) {
+            setFile((File) evt.getNewValue());
+        }
+    }
+
+    // EFFECTS: returns the thumbnail pixels as an image, 0 white and 255 black
+    private static BufferedImage image(byte[] pixels) {
+        int size = CatalogEntry.THUMBNAIL_SIZE;
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_BYTE_GRAY);
+        for (int p = 0; p < pixels.length; p++) {
+            int grey = 255 - (pixels[p] & 0xFF);
+            image.setRGB(p % size, p / size, grey << 16 | grey << 8 | grey);
+        }
+        return image;
+    }
+
+    // MODIFIES: g
+    // EFFECTS: draws the thumbnail, framed, and the lines of text under it
+    @Override
+    protected void paintComponent(Graphics g) {
+        int side = CatalogEntry.THUMBNAIL_SIZE * ZOOM;
+        if (thumbnail != null) {
+            g.drawImage(thumbnail, MARGIN, MARGIN, side, side, null);
+            g.setColor(Color.lightGray);
+            g.drawRect(MARGIN - 1, MARGIN - 1, side + 1, side + 1);
+        }
+        g.setColor(Color.black);
+        for (int i = 0; i < lines.length; i++) {
+            g.drawString(lines[i], MARGIN, side + MARGIN + (i + 1) * LINE_HEIGHT);
+        }
+    }
+}
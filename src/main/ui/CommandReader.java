@@ -0,0 +1,133 @@
+package ui;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+// Splits the commands typed into, or piped to, GraphSimulatorTerminal into whitespace-separated tokens, like
+// Scanner.next() and Scanner.nextInt(), but straight from a large byte buffer: numbers are parsed without
+// making a String or matching a regular expression, which is what makes replaying scripts of millions of
+// commands take seconds. Only ASCII tokens are expected; any other byte is kept as a char of its own.
+public class CommandReader {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String END_OF_INPUT = "Unexpected end of input.";
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final StringBuilder token = new StringBuilder();
+    private int position = 0;
+    private int limit = 0;
+    private int line = 1;
+
+    // EFFECTS: creates a reader of the tokens in in
+    public CommandReader(InputStream in) {
+        this.in = in;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns true if there is another token, reading past the whitespace before it
+    public boolean hasNext() {
+        while (peek() != -1 && isWhitespace(peek())) {
+            advance();
+        }
+        return peek() != -1;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns true if there is another token on the current line, reading past the spaces before it
+    public boolean hasNextOnLine() {
+        while (peek() != -1 && peek() != '\n' && isWhitespace(peek())) {
+            advance();
+        }
+        return peek() != -1 && peek() != '\n';
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the next token; throws NoSuchElementException if there is none
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException(END_OF_INPUT);
+        }
+        token.setLength(0);
+        while (peek() != -1 && !isWhitespace(peek())) {
+            token.append((char) advance());
+        }
+        return token.toString();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the next token as an int; throws NoSuchElementException if there is no token, and
+    // InputMismatchException (having read the token) if it is not an int
+    public int nextInt() {
+        if (!hasNext()) {
+            throw new NoSuchElementException(END_OF_INPUT);
+        }
+        boolean negative = peek() == '-';
+        if (negative || peek() == '+') {
+            advance();
+        }
+        long value = 0;
+        boolean valid = peek() != -1 && !isWhitespace(peek());
+        while (peek() != -1 && !isWhitespace(peek())) {
+            int digit = advance() - '0';
+            valid &= digit >= 0 && digit <= 9;
+            value = Math.min(value * 10 + (digit & 0xF), (long) Integer.MAX_VALUE + 2);
+        }
+        value = negative ? -value : value;
+        if (!valid || value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new InputMismatchException("Invalid number.");
+        }
+        return (int) value;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: throws away the rest of the current line, including its line break
+    public void skipLine() {
+        while (peek() != -1 && peek() != '\n') {
+            advance();
+        }
+        if (peek() == '\n') {
+            advance();
+        }
+    }
+
+    // EFFECTS: returns the number of the line the next byte is on, counting from 1
+    public int getLine() {
+        return line;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the next byte without reading past it, or -1 at the end of the input; fills the buffer
+    // from in if it is used up, which blocks until at least one byte arrives
+    private int peek() {
+        if (position == limit) {
+            try {
+                limit = Math.max(in.read(buffer, 0, BUFFER_SIZE), 0);
+                position = 0;
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+            if (limit == 0) {
+                return -1;
+            }
+        }
+        return buffer[position] & 0xFF;
+    }
+
+    // REQUIRES: peek() != -1
+    // MODIFIES: this
+    // EFFECTS: reads past the next byte, and returns it
+    private int advance() {
+        int next = buffer[position++] & 0xFF;
+        if (next == '\n') {
+            line++;
+        }
+        return next;
+    }
+
+    // EFFECTS: returns true if b is a space, tab or line break
+    private static boolean isWhitespace(int b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f';
+    }
+}
@@ -0,0 +1,139 @@
+package ui;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import model.GraphSnapshot;
+import model.Shape;
+import model.Vertex;
+import model.algorithm.CsrSnapshot;
+import model.algorithm.Louvain;
+
+// Aggregated picture of a Graph used when GraphPanel is zoomed out: every community found by Louvain is
+// drawn as one super-node at the centroid of its vertices, with an area proportional to its number of
+// vertices, and all edges between two communities as one super-edge whose width grows with their number.
+// Drawing cost depends only on the number of communities and super-edges, not on the size of the Graph.
+// The view is built from snapshots, so that it can be built off the event dispatch thread; when vertices
+// only move, place() moves the super-nodes and the super-edges are kept.
+public class CommunityView implements Shape {
+    private static final int BASE_RADIUS = 20;
+    private static final int MAX_RADIUS = 400;
+    private static final Color SUPER_EDGE_COLOR = Color.green;
+
+    private final double[] centreX;
+    private final double[] centreY;
+    private final int[] size;
+    private final int[] edgeFirst;
+    private final int[] edgeSecond;
+    private final int[] edgeWeight;
+    private final Louvain louvain;
+
+    // REQUIRES: louvain was run on a CsrSnapshot of snapshot
+    // EFFECTS: aggregates the vertices and edges of snapshot by community
+    public CommunityView(GraphSnapshot snapshot, Louvain louvain) {
+        this.louvain = louvain;
+        int k = louvain.numOfCommunities();
+        int[] communityOf = louvain.communities();
+        centreX = new double[k];
+        centreY = new double[k];
+        size = new int[k];
+        for (int v = 0; v < communityOf.length; v++) {
+            centreX[communityOf[v]] += snapshot.getX(v);
+            centreY[communityOf[v]] += snapshot.getY(v);
+            size[communityOf[v]]++;
+        }
+        divideCentres();
+        Map<Long, Integer> weights = superEdges(louvain.getSnapshot(), communityOf, k);
+        edgeFirst = new int[weights.size()];
+        edgeSecond = new int[weights.size()];
+        edgeWeight = new int[weights.size()];
+        int i = 0;
+        for (Map.Entry<Long, Integer> e : weights.entrySet()) {
+            edgeFirst[i] = (int) (e.getKey() / k);
+            edgeSecond[i] = (int) (e.getKey() % k);
+            edgeWeight[i++] = e.getValue();
+        }
+    }
+
+    // REQUIRES: vertices are those the view was built from, in the same order, only moved since
+    // MODIFIES: this
+    // EFFECTS: moves the centre of every community to the centroid of its vertices where they are now; takes
+    // time linear in the number of vertices, and allocates nothing
+    public void place(List<Vertex> vertices) {
+        int[] communityOf = louvain.communities();
+        Arrays.fill(centreX, 0);
+        Arrays.fill(centreY, 0);
+        for (int v = 0; v < communityOf.length; v++) {
+            centreX[communityOf[v]] += vertices.get(v).getXpos();
+            centreY[communityOf[v]] += vertices.get(v).getYpos();
+        }
+        divideCentres();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: turns the sums of the positions of the vertices of every community into their centroid
+    private void divideCentres() {
+        for (int c = 0; c < size.length; c++) {
+            centreX[c] /= size[c];
+            centreY[c] /= size[c];
+        }
+    }
+
+    // EFFECTS: returns the number of edges between every pair of distinct communities (c, d) with c < d
+    // that has any, keyed by c * k + d
+    private static Map<Long, Integer> superEdges(CsrSnapshot snapshot, int[] communityOf, long k) {
+        Map<Long, Integer> weights = new HashMap<>();
+        for (int v = 0; v < snapshot.numOfVertices(); v++) {
+            for (int e = snapshot.offsets()[v]; e < snapshot.offsets()[v + 1]; e++) {
+                int w = snapshot.targets()[e];
+                if (v < w && communityOf[v] != communityOf[w]) {
+                    long c = Math.min(communityOf[v], communityOf[w]);
+                    long d = Math.max(communityOf[v], communityOf[w]);
+                    weights.merge(c * k + d, 1, Integer::sum);
+                }
+            }
+        }
+        return weights;
+    }
+
+    public int numOfCommunities() {
+        return size.length;
+    }
+
+    // EFFECTS: returns the communities the view shows
+    public Louvain getCommunities() {
+        return louvain;
+    }
+
+    // EFFECTS: returns the centre of the given community, where it is drawn
+    public Point getCentre(int community) {
+        return new Point((int) centreX[community], (int) centreY[community]);
+    }
+
+    // MODIFIES: g
+    // EFFECTS: draws the super-edges, then the super-nodes labelled with their number of vertices
+    public void draw(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setColor(SUPER_EDGE_COLOR);
+        for (int i = 0; i < edgeWeight.length; i++) {
+            g2.setStroke(new BasicStroke(1 + (float) Math.log(edgeWeight[i])));
+            g2.drawLine((int) centreX[edgeFirst[i]], (int) centreY[edgeFirst[i]],
+                    (int) centreX[edgeSecond[i]], (int) centreY[edgeSecond[i]]);
+        }
+        g2.setStroke(new BasicStroke());
+        for (int c = 0; c < size.length; c++) {
+            int radius = (int) Math.min(MAX_RADIUS, BASE_RADIUS * Math.sqrt(size[c]));
+            int x = (int) centreX[c] - radius;
+            int y = (int) centreY[c] - radius;
+            g2.setColor(Vertex.colorOf(c));
+            g2.fillOval(x, y, 2 * radius, 2 * radius);
+            g2.setColor(Color.black);
+            g2.drawOval(x, y, 2 * radius, 2 * radius);
+            g2.drawString(Integer.toString(size[c]), (int) centreX[c] - 3, (int) centreY[c] + 4);
+        }
+        g2.dispose();
+    }
+}
@@ -0,0 +1,64 @@
+package ui;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+import javax.swing.JComponent;
+
+import model.Edge;
+import model.Graph;
+import model.Vertex;
+
+// Off-screen rendering used while a Vertex is dragged. Everything that does not move (all other
+// vertices, and the edges not touching the dragged one) is drawn once into an image the size of the
+// panel; every frame of the drag then copies the image and draws only the dragged Vertex, its edges and
+// its neighbours on top, so a frame costs as much as the degree of the dragged Vertex rather than the
+// size of the Graph. The layer is only valid while nothing else moves and the zoom stays the same.
+public class DragLayer {
+    private final Vertex moving;
+    private final AffineTransform transform;
+    private final BufferedImage image;
+
+    // MODIFIES: renderer
+    // EFFECTS: draws the static part of graph with renderer, as seen on panel through transform, into an
+    // image
+    public DragLayer(Graph graph, Vertex moving, JComponent panel, AffineTransform transform,
+                     GraphRenderer renderer) {
+        this.moving = moving;
+        this.transform = transform;
+        image = new BufferedImage(Math.max(1, panel.getWidth()), Math.max(1, panel.getHeight()),
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(panel.getForeground());
+        g.setFont(panel.getFont());
+        g.transform(transform);
+        renderer.draw(g, graph, moving);
+        g.dispose();
+    }
+
+    public Vertex getMoving() {
+        return moving;
+    }
+
+    // EFFECTS: returns the screen area the moving part currently covers
+    public Rectangle dirtyBounds() {
+        return GraphRenderer.screenBounds(moving, transform);
+    }
+
+    // MODIFIES: g
+    // EFFECTS: draws the image, then the edges of the moving Vertex, its neighbours and itself
+    public void draw(Graphics2D g) {
+        g.drawImage(image, 0, 0, null);
+        Graphics2D world = (Graphics2D) g.create();
+        world.transform(transform);
+        for (Edge e : moving.getAdjacent()) {
+            e.draw(world);
+        }
+        for (Edge e : moving.getAdjacent()) {
+            e.getSecondVertex().draw(world);
+        }
+        moving.draw(world);
+        world.dispose();
+    }
+}
@@ -0,0 +1,592 @@
+package ui;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.UnaryOperator;
+
+import model.Edge;
+import model.Graph;
+import model.GraphSnapshot;
+import model.Vertex;
+
+// Multi-resolution pyramid of pre-rendered edge layers, like the tiles of a web map. Level z holds the
+// edges drawn at 2^z screen pixels per Graph unit, cut into square tiles of TILE_SIZE pixels aligned on
+// Graph coordinates. A view at any zoom draws the tiles of the level just below its scale, stretched by
+// less than twice, so panning and zooming are mostly image copies. Tiles are rendered on background
+// threads, when first needed, from the edge segments of a GraphSnapshot, and kept in a least recently
+// used cache within a memory budget. An edit to the Graph patches the edges it added or removed into the
+// segment index and discards only the tiles over the area it touched; tiles still being rendered there
+// from before the edit are dropped when they finish. Once the patches pile up, the index is rebuilt
+// without them on a background thread, while the patched one is still drawn from.
+public class EdgeTilePyramid {
+    public static final int TILE_SIZE = 256; // pixels
+    private static final long TILE_BYTES = 4L * TILE_SIZE * TILE_SIZE;
+    private static final int MIN_LEVEL = -6; // 1/64 pixel per Graph unit, below GraphPanel's MIN_SCALE
+    private static final int MAX_LEVEL = 3; // 8 pixels per Graph unit, GraphPanel's MAX_SCALE
+    private static final int RECENT_CHANGES = 256; // areas remembered to check the tiles being rendered
+    private static final int MAX_PATCHES = 4096; // segments patched in or out before the index is rebuilt
+
+    private final long budget; // bytes
+    private final Runnable onTileReady;
+    private final ExecutorService workers;
+    private final Map<Key, BufferedImage> tiles; // guarded by itself, as are version and changes
+    private final Deque<Rectangle2D> changes = new ArrayDeque<>(); // areas of the latest changes, oldest first
+    private int version; // counts the changes to the Graph
+    private int drawnTiles; // by the last call to draw
+    // the rest is only used by the drawing thread
+    private final Map<Key, Future<?>> pending = new HashMap<>();
+    private Segments segments; // the edges as they are now, or null until they are first indexed
+    private CompletableFuture<Segments> indexing; // the edges as they were when indexing started, or null
+    private final List<UnaryOperator<Segments>> edits = new ArrayList<>(); // made since indexing started
+
+    // EFFECTS: creates an empty pyramid keeping at most budget bytes of tiles; onTileReady is run, on a
+    // background thread, each time a tile requested by draw is ready
+    public EdgeTilePyramid(long budget, Runnable onTileReady) {
+        this.budget = budget;
+        this.onTileReady = onTileReady;
+        tiles = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, BufferedImage> eldest) {
+                return size() * TILE_BYTES > EdgeTilePyramid.this.budget;
+            }
+        };
+        workers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+            Thread thread = new Thread(r, "edge tiles");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // EFFECTS: returns the level whose tiles are drawn at the given scale
+    private static int levelFor(double scale) {
+        int level = (int) Math.floor(Math.log(scale) / Math.log(2) + 1e-9);
+        return Math.max(MIN_LEVEL, Math.min(MAX_LEVEL, level));
+    }
+
+    // MODIFIES: this, g
+    // EFFECTS: draws the tiles covering the screen area visible, seen through transform from Graph
+    // coordinates, that are ready, and has the others rendered; returns the screen area of those not
+    // ready, over which the caller should draw the edges itself, or null if there are none. The first
+    // time, or after clear(), the edges of graph are copied on this thread but indexed on a background
+    // one, and until they are, nothing is drawn and all of visible is returned.
+    public Rectangle draw(Graphics2D g, Graph graph, AffineTransform transform, Rectangle visible) {
+        drawnTiles = 0;
+        Segments from = readySegments(graph);
+        if (from == null) {
+            return visible;
+        }
+        int level = levelFor(transform.getScaleX());
+        double scale = transform.getScaleX() * TILE_SIZE / Math.pow(2, level); // screen pixels per tile
+        int firstColumn = (int) Math.floor((visible.getMinX() - transform.getTranslateX()) / scale);
+        int lastColumn = (int) Math.ceil((visible.getMaxX() - transform.getTranslateX()) / scale) - 1;
+        int firstRow = (int) Math.floor((visible.getMinY() - transform.getTranslateY()) / scale);
+        int lastRow = (int) Math.ceil((visible.getMaxY() - transform.getTranslateY()) / scale) - 1;
+        Rectangle missing = null;
+        Set<Key> wanted = new HashSet<>();
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                Rectangle notReady = drawTile(g, new Key(level, column, row), transform, wanted);
+                if (notReady != null) {
+                    missing = missing == null ? notReady : missing.union(notReady);
+                }
+            }
+        }
+        request(wanted, from);
+        return missing;
+    }
+
+    // MODIFIES: g, wanted
+    // EFFECTS: draws the tile of key if it is ready and returns null; otherwise adds key to wanted and
+    // returns the screen area of the tile
+    private Rectangle drawTile(Graphics2D g, Key key, AffineTransform transform, Set<Key> wanted) {
+        Rectangle screen = key.onScreen(transform);
+        BufferedImage tile = cached(key);
+        if (tile == null) {
+            wanted.add(key);
+            return screen;
+        }
+        g.drawImage(tile, screen.x, screen.y, screen.width, screen.height, null);
+        drawnTiles++;
+        return null;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the indexed copy of the edges of graph if it is ready, or null; starts copying them
+    // if there is no copy yet, and takes over the rebuilt index, with the edits made since, once it is ready
+    private Segments readySegments(Graph graph) {
+        if (segments == null && indexing == null) {
+            GraphSnapshot snapshot = graph.snapshot();
+            indexing = CompletableFuture.supplyAsync(() -> new Segments(Segments.copyEnds(snapshot)), workers);
+            indexing.thenRun(onTileReady);
+            edits.clear();
+        }
+        if (indexing != null && indexing.isDone()) {
+            Segments rebuilt = indexing.join();
+            for (UnaryOperator<Segments> edit : edits) {
+                rebuilt = edit.apply(rebuilt);
+            }
+            segments = rebuilt;
+            indexing = null;
+            edits.clear();
+        }
+        return segments;
+    }
+
+    // EFFECTS: returns the tile of key if it is ready, or null
+    private BufferedImage cached(Key key) {
+        synchronized (tiles) {
+            return tiles.get(key);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts rendering the tiles wanted from the given segments, unless they are on their way
+    // already, and gives up on those
+    // requested before but no longer wanted (e.g. scrolled out of view)
+    private void request(Set<Key> wanted, Segments from) {
+        for (Iterator<Map.Entry<Key, Future<?>>> it = pending.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Key, Future<?>> entry = it.next();
+            if (entry.getValue().isDone() || !wanted.contains(entry.getKey())) {
+                entry.getValue().cancel(false);
+                it.remove();
+            }
+        }
+        int since = currentVersion();
+        for (Key key : wanted) {
+            if (!pending.containsKey(key)) {
+                pending.put(key, workers.submit(() -> render(key, from, since)));
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: renders the tile of key from the given segments and caches it, unless the Graph changed
+    // over the tile after version since
+    private void render(Key key, Segments from, int since) {
+        BufferedImage image = new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        double levelScale = Math.pow(2, key.level);
+        g.scale(levelScale, levelScale);
+        Rectangle2D bounds = key.bounds();
+        g.translate(-bounds.getX(), -bounds.getY());
+        bounds.add(bounds.getMinX() - 1 / levelScale, bounds.getMinY() - 1 / levelScale); // line width
+        bounds.add(bounds.getMaxX() + 1 / levelScale, bounds.getMaxY() + 1 / levelScale);
+        from.draw(g, bounds);
+        g.dispose();
+        synchronized (tiles) {
+            if (changedSince(since, key.bounds())) {
+                return;
+            }
+            tiles.put(key, image);
+        }
+        onTileReady.run();
+    }
+
+    // REQUIRES: the lock of tiles is held
+    // EFFECTS: returns true if a change after version since touched area, or may have: the areas of
+    // changes older than the last RECENT_CHANGES, or made before the last clear(), are not known
+    private boolean changedSince(int since, Rectangle2D area) {
+        if (version - since > changes.size()) {
+            return true;
+        }
+        Iterator<Rectangle2D> latest = changes.descendingIterator();
+        for (int i = since; i < version; i++) {
+            if (latest.next().intersects(area)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // EFFECTS: returns the number of changes to the Graph seen so far
+    private int currentVersion() {
+        synchronized (tiles) {
+            return version;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: patches the edge just added between first and second into the index
+    public void addEdge(Vertex first, Vertex second) {
+        float[] segment = segment(first, second);
+        patch(from -> from.with(segment), segment);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: patches the edge just removed between first and second out of the index
+    public void removeEdge(Vertex first, Vertex second) {
+        float[] segment = segment(first, second);
+        patch(from -> from.without(segment), segment);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: patches every edge of v, where v is now, into the index, e.g. once v has been moved there
+    public void addEdgesOf(Vertex v) {
+        for (float[] segment : segmentsOf(v)) {
+            patch(from -> from.with(segment), segment);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: patches every edge of v, where v is now, out of the index, e.g. before v is moved or removed
+    public void removeEdgesOf(Vertex v) {
+        for (float[] segment : segmentsOf(v)) {
+            patch(from -> from.without(segment), segment);
+        }
+    }
+
+    // EFFECTS: returns the ends of the edge between first and second
+    private static float[] segment(Vertex first, Vertex second) {
+        return new float[] {first.getXpos(), first.getYpos(), second.getXpos(), second.getYpos()};
+    }
+
+    // EFFECTS: returns the ends of every edge of v, a self-loop once although v lists it twice
+    private static List<float[]> segmentsOf(Vertex v) {
+        List<float[]> result = new ArrayList<>();
+        boolean loopSeen = false;
+        for (Edge e : v.getAdjacent()) {
+            Vertex w = e.getSecondVertex();
+            loopSeen = v == w ? !loopSeen : loopSeen;
+            if (v != w || loopSeen) {
+                result.add(segment(v, w));
+            }
+        }
+        return result;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: applies edit to the index, and records it to apply again to the index being rebuilt, if
+    // any; discards the tiles over segment, and starts rebuilding the index if too many patches piled up
+    private void patch(UnaryOperator<Segments> edit, float[] segment) {
+        if (segments != null) {
+            segments = edit.apply(segments);
+        }
+        if (indexing != null) {
+            edits.add(edit);
+        }
+        Rectangle2D area = new Rectangle2D.Float(segment[0], segment[1], 0, 0);
+        area.add(segment[2], segment[3]);
+        area.setRect(area.getX() - 1, area.getY() - 1, area.getWidth() + 2, area.getHeight() + 2); // line width
+        invalidate(area);
+        if (segments != null && indexing == null && segments.numOfPatches() > MAX_PATCHES) {
+            Segments patched = segments;
+            indexing = CompletableFuture.supplyAsync(patched::rebuilt, workers);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: discards the tiles, on every level, over the given area of Graph coordinates, and gives up
+    // on those being rendered there, e.g. after the edges there changed
+    public void invalidate(Rectangle2D area) {
+        synchronized (tiles) {
+            version++;
+            changes.addLast(area);
+            if (changes.size() > RECENT_CHANGES) {
+                changes.removeFirst();
+            }
+            tiles.keySet().removeIf(key -> key.bounds().intersects(area));
+        }
+        for (Iterator<Map.Entry<Key, Future<?>>> it = pending.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Key, Future<?>> entry = it.next();
+            if (entry.getKey().bounds().intersects(area)) {
+                entry.getValue().cancel(false);
+                it.remove();
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: discards every tile and the index, e.g. after all the vertices moved or another Graph was
+    // loaded
+    public void clear() {
+        synchronized (tiles) {
+            version++;
+            changes.clear();
+            tiles.clear();
+        }
+        segments = null;
+        if (indexing != null) {
+            indexing.cancel(false);
+            indexing = null;
+        }
+        edits.clear();
+        for (Future<?> f : pending.values()) {
+            f.cancel(false);
+        }
+        pending.clear();
+    }
+
+    // EFFECTS: returns the number of tiles cached
+    public int numOfTiles() {
+        synchronized (tiles) {
+            return tiles.size();
+        }
+    }
+
+    // EFFECTS: returns the number of tiles the last call to draw drew
+    public int numOfTilesDrawn() {
+        return drawnTiles;
+    }
+
+    // EFFECTS: returns the number of bytes the cached tiles take
+    public long memoryUsed() {
+        return numOfTiles() * TILE_BYTES;
+    }
+
+    // Position of a tile in the pyramid.
+    private static final class Key {
+        private final int level;
+        private final int column;
+        private final int row;
+
+        private Key(int level, int column, int row) {
+            this.level = level;
+            this.column = column;
+            this.row = row;
+        }
+
+        // EFFECTS: returns the area of Graph coordinates the tile covers
+        private Rectangle2D bounds() {
+            double span = TILE_SIZE / Math.pow(2, level);
+            return new Rectangle2D.Double(column * span, row * span, span, span);
+        }
+
+        // EFFECTS: returns the screen area the tile covers when seen through transform, rounded so that
+        // neighbouring tiles neither overlap nor leave a gap
+        private Rectangle onScreen(AffineTransform transform) {
+            Rectangle2D bounds = bounds();
+            double scale = transform.getScaleX();
+            double tx = transform.getTranslateX();
+            double ty = transform.getTranslateY();
+            int left = (int) Math.round(tx + bounds.getMinX() * scale);
+            int top = (int) Math.round(ty + bounds.getMinY() * scale);
+            return new Rectangle(left, top, (int) Math.round(tx + bounds.getMaxX() * scale) - left,
+                    (int) Math.round(ty + bounds.getMaxY() * scale) - top);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return level == other.level && column == other.column && row == other.row;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(level, column, row);
+        }
+    }
+
+    // Immutable copy of the edge segments of a Graph, each once, indexed by a TileGrid of square cells
+    // over the Graph so that a tile only looks at the segments passing near it. Edits made after the
+    // index was built are patched on: the indexed segments removed since are listed by number, and those
+    // added since are kept apart, outside the grid. Patching shares the index and copies only the patches.
+    private static final class Segments {
+        private static final int CELLS = 64; // per side of the Graph
+        private static final int MIN_CELL = 64; // Graph units
+        private static final int EDGE_BATCH = 4096; // segments per path, to bound the memory a path takes
+
+        private final float[] ends; // x and y of both ends of each segment
+        private final double originX; // Graph position of the corner of the first cell
+        private final double originY;
+        private final int cell; // Graph units per cell
+        private final TileGrid grid;
+        private final int[] removed; // indexed segments removed since, in increasing order
+        private final float[] added; // ends of the segments added since, four entries per segment
+
+        // EFFECTS: indexes the segments whose ends are given, four entries per segment (x and y of both ends)
+        private Segments(float[] ends) {
+            this.ends = ends;
+            Rectangle2D bounds = new Rectangle2D.Float();
+            if (ends.length > 0) {
+                bounds.setRect(ends[0], ends[1], 0, 0);
+            }
+            for (int i = 0; i < ends.length; i += 2) {
+                bounds.add(ends[i], ends[i + 1]);
+            }
+            originX = bounds.getX();
+            originY = bounds.getY();
+            cell = Math.max(MIN_CELL, (int) Math.ceil(Math.max(bounds.getWidth(), bounds.getHeight()) / CELLS));
+            float[] relative = new float[ends.length];
+            for (int i = 0; i < ends.length; i += 2) {
+                relative[i] = (float) (ends[i] - originX);
+                relative[i + 1] = (float) (ends[i + 1] - originY);
+            }
+            grid = TileGrid.ofSegments(cell, (int) (bounds.getWidth() / cell) + 1,
+                    (int) (bounds.getHeight() / cell) + 1, relative, 0);
+            removed = new int[0];
+            added = new float[0];
+        }
+
+        // EFFECTS: returns the index of indexed, with the given patches instead of its own
+        private Segments(Segments indexed, int[] removed, float[] added) {
+            ends = indexed.ends;
+            originX = indexed.originX;
+            originY = indexed.originY;
+            cell = indexed.cell;
+            grid = indexed.grid;
+            this.removed = removed;
+            this.added = added;
+        }
+
+        // EFFECTS: returns the ends of every edge of the snapshot, each once, four entries per edge
+        private static float[] copyEnds(GraphSnapshot snapshot) {
+            float[] result = new float[4 * snapshot.numOfEdges()];
+            int size = 0;
+            for (int v = 0; v < snapshot.numOfVertices(); v++) {
+                boolean loopSeen = false; // a self-loop has two entries in its row
+                for (int k = 0; k < snapshot.degree(v); k++) {
+                    int w = snapshot.neighbour(v, k);
+                    loopSeen = v == w ? !loopSeen : loopSeen;
+                    if (v < w || v == w && loopSeen) {
+                        result[size++] = snapshot.getX(v);
+                        result[size++] = snapshot.getY(v);
+                        result[size++] = snapshot.getX(w);
+                        result[size++] = snapshot.getY(w);
+                    }
+                }
+            }
+            return Arrays.copyOf(result, size);
+        }
+
+        // EFFECTS: returns these segments with segment (x and y of both ends) added
+        private Segments with(float[] segment) {
+            float[] moreAdded = Arrays.copyOf(added, added.length + 4);
+            System.arraycopy(segment, 0, moreAdded, added.length, 4);
+            return new Segments(this, removed, moreAdded);
+        }
+
+        // EFFECTS: returns these segments with one segment with the ends of segment, in either direction,
+        // removed, or these segments if there is none
+        private Segments without(float[] segment) {
+            for (int a = 0; a < added.length; a += 4) {
+                if (sameEnds(added, a, segment)) {
+                    float[] lessAdded = Arrays.copyOf(added, added.length - 4);
+                    System.arraycopy(added, a + 4, lessAdded, a, added.length - a - 4);
+                    return new Segments(this, removed, lessAdded);
+                }
+            }
+            int column = Math.min(grid.getColumns() - 1, Math.max(0, (int) Math.floor(relativeX(segment[0]) / cell)));
+            int row = Math.min(grid.getRows() - 1, Math.max(0, (int) Math.floor(relativeY(segment[1]) / cell)));
+            for (int s : grid.itemsIn(column, row)) { // a segment is listed under the cells its ends are in
+                int at = Arrays.binarySearch(removed, s);
+                if (at < 0 && sameEnds(ends, 4 * s, segment)) {
+                    int[] moreRemoved = new int[removed.length + 1];
+                    System.arraycopy(removed, 0, moreRemoved, 0, -at - 1);
+                    moreRemoved[-at - 1] = s;
+                    System.arraycopy(removed, -at - 1, moreRemoved, -at, removed.length + at + 1);
+                    return new Segments(this, moreRemoved, added);
+                }
+            }
+            return this;
+        }
+
+        // EFFECTS: returns true if the segment at offset in array has the ends of segment, in either direction
+        private static boolean sameEnds(float[] array, int offset, float[] segment) {
+            boolean forward = array[offset] == segment[0] && array[offset + 1] == segment[1]
+                    && array[offset + 2] == segment[2] && array[offset + 3] == segment[3];
+            return forward || array[offset] == segment[2] && array[offset + 1] == segment[3]
+                    && array[offset + 2] == segment[0] && array[offset + 3] == segment[1];
+        }
+
+        // EFFECTS: returns x as the grid has it, relative to the corner of the first cell
+        private double relativeX(float x) {
+            return (float) (x - originX);
+        }
+
+        // EFFECTS: returns y as the grid has it, relative to the corner of the first cell
+        private double relativeY(float y) {
+            return (float) (y - originY);
+        }
+
+        // EFFECTS: returns the number of segments patched in or out since the index was built
+        private int numOfPatches() {
+            return removed.length + added.length / 4;
+        }
+
+        // EFFECTS: returns the same segments indexed anew, without patches
+        private Segments rebuilt() {
+            float[] result = new float[ends.length - 4 * removed.length + added.length];
+            int size = 0;
+            int next = 0; // in removed
+            for (int s = 0; s < ends.length / 4; s++) {
+                if (next < removed.length && removed[next] == s) {
+                    next++;
+                } else {
+                    System.arraycopy(ends, 4 * s, result, size, 4);
+                    size += 4;
+                }
+            }
+            System.arraycopy(added, 0, result, size, added.length);
+            return new Segments(result);
+        }
+
+        // MODIFIES: g
+        // EFFECTS: strokes every segment that may cross area, once, in the color of edges
+        private void draw(Graphics2D g, Rectangle2D area) {
+            int firstColumn = Math.max(0, (int) Math.floor((area.getMinX() - originX) / cell));
+            int lastColumn = Math.min(grid.getColumns() - 1, (int) Math.floor((area.getMaxX() - originX) / cell));
+            int firstRow = Math.max(0, (int) Math.floor((area.getMinY() - originY) / cell));
+            int lastRow = Math.min(grid.getRows() - 1, (int) Math.floor((area.getMaxY() - originY) / cell));
+            g.setColor(Edge.EDGE_COLOR);
+            Path2D.Float path = new Path2D.Float(Path2D.WIND_NON_ZERO, 2 * EDGE_BATCH);
+            BitSet seen = new BitSet(ends.length / 4); // segments passing through several cells
+            int batched = 0;
+            for (int row = firstRow; row <= lastRow; row++) {
+                for (int column = firstColumn; column <= lastColumn; column++) {
+                    batched += addCell(path, column, row, seen);
+                    if (batched >= EDGE_BATCH) {
+                        g.draw(path);
+                        path.reset();
+                        batched = 0;
+                    }
+                }
+            }
+            addPatched(path, area);
+            g.draw(path);
+        }
+
+        // MODIFIES: path, seen
+        // EFFECTS: adds to path the segments of the given cell not in seen yet, unless they were removed
+        // since, and adds them to seen; returns how many there were
+        private int addCell(Path2D path, int column, int row, BitSet seen) {
+            int count = 0;
+            for (int s : grid.itemsIn(column, row)) {
+                if (!seen.get(s)) {
+                    seen.set(s);
+                    if (removed.length == 0 || Arrays.binarySearch(removed, s) < 0) {
+                        path.moveTo(ends[4 * s], ends[4 * s + 1]);
+                        path.lineTo(ends[4 * s + 2], ends[4 * s + 3]);
+                        count++;
+                    }
+                }
+            }
+            return count;
+        }
+
+        // MODIFIES: path
+        // EFFECTS: adds to path the segments added since the index was built that may cross area
+        private void addPatched(Path2D path, Rectangle2D area) {
+            for (int a = 0; a < added.length; a += 4) {
+                if (Math.max(added[a], added[a + 2]) >= area.getMinX()
+                        && Math.min(added[a], added[a + 2]) <= area.getMaxX()
+                        && Math.max(added[a + 1], added[a + 3]) >= area.getMinY()
+                        && Math.min(added[a + 1], added[a + 3]) <= area.getMaxY()) {
+                    path.moveTo(added[a], added[a + 1]);
+                    path.lineTo(added[a + 2], added[a + 3]);
+                }
+            }
+        }
+    }
+}
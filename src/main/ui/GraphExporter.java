@@ -0,0 +1,214 @@
+package ui;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import model.Edge;
+import model.Graph;
+import model.Vertex;
+import model.algorithm.CsrSnapshot;
+import persistence.GraphImporter;
+import persistence.PngWriter;
+
+// Renders a Graph into a PNG image of any size, without a display and without ever holding the whole
+// image in memory. The Graph is scaled to fit the image and the image is cut into square tiles; each
+// strip of tiles is rendered in parallel, every tile drawing only the edges and vertices that a TileGrid
+// says pass through it, and the strip is then streamed row by row to a PngWriter while the next strip renders.
+// Memory use is about two strips of pixels on top of a copy of the positions, labels and colors.
+public class GraphExporter {
+    public static final int TILE_SIZE = 512; // pixels
+    private static final int MARGIN = 20; // white pixels around the Graph
+    private static final int VERTEX_MARGIN = 40; // no part of a Vertex is further than this from its centre
+    private static final Font LABEL_FONT = new Font(Font.DIALOG, Font.PLAIN, 12);
+
+    private final int width;
+    private final int height;
+    private final double scale; // image pixels per Graph unit
+    private final double[] pixelX; // image position of the centre of each Vertex
+    private final double[] pixelY;
+    private final int[] labels;
+    private final Color[] fills;
+    private final int[] edgeEnds; // both ends of each edge, two entries per edge
+    private final TileGrid vertexTiles;
+    private final TileGrid edgeTiles;
+    private final ThreadLocal<SpriteCache> sprites; // a SpriteCache is not safe to share between threads
+
+    // REQUIRES: width > 0, height > 0
+    // EFFECTS: prepares an image of graph, as it is now, fitted into width x height pixels
+    public GraphExporter(Graph graph, int width, int height) {
+        this.width = width;
+        this.height = height;
+        List<Vertex> vertices = graph.getVertices();
+        AffineTransform fit = fitTransform(vertices, width, height);
+        scale = fit.getScaleX();
+        pixelX = new double[vertices.size()];
+        pixelY = new double[vertices.size()];
+        labels = new int[vertices.size()];
+        fills = new Color[vertices.size()];
+        for (int i = 0; i < vertices.size(); i++) {
+            Vertex v = vertices.get(i);
+            pixelX[i] = fit.getTranslateX() + v.getXpos() * scale;
+            pixelY[i] = fit.getTranslateY() + v.getYpos() * scale;
+            labels[i] = v.getLabel();
+            fills[i] = v.getDisplayColor();
+        }
+        edgeEnds = edgeEnds(new CsrSnapshot(graph));
+        int columns = (width + TILE_SIZE - 1) / TILE_SIZE;
+        int rows = (height + TILE_SIZE - 1) / TILE_SIZE;
+        vertexTiles = new TileGrid(TILE_SIZE, columns, rows, vertexBoxes());
+        edgeTiles = TileGrid.ofSegments(TILE_SIZE, columns, rows, edgeSegments(), Math.max(1, scale));
+        sprites = ThreadLocal.withInitial(() -> new SpriteCache(scale, LABEL_FONT, Color.black));
+    }
+
+    // EFFECTS: returns the transform that scales and centres the vertices, with VERTEX_MARGIN around each,
+    // in an image of width x height pixels leaving MARGIN pixels free at the borders
+    private static AffineTransform fitTransform(List<Vertex> vertices, int width, int height) {
+        if (vertices.isEmpty()) {
+            return new AffineTransform();
+        }
+        Rectangle bounds = new Rectangle(vertices.get(0).getXpos(), vertices.get(0).getYpos(), 0, 0);
+        for (Vertex v : vertices) {
+            bounds.add(v.getXpos(), v.getYpos());
+        }
+        bounds.grow(VERTEX_MARGIN, VERTEX_MARGIN);
+        double scale = Math.min(Math.max(1, width - 2 * MARGIN) / bounds.getWidth(),
+                Math.max(1, height - 2 * MARGIN) / bounds.getHeight());
+        AffineTransform transform = AffineTransform.getTranslateInstance(
+                (width - bounds.getWidth() * scale) / 2, (height - bounds.getHeight() * scale) / 2);
+        transform.scale(scale, scale);
+        transform.translate(-bounds.getX(), -bounds.getY());
+        return transform;
+    }
+
+    // EFFECTS: returns the ends of every edge of snapshot other than self-loops, each edge once
+    private static int[] edgeEnds(CsrSnapshot snapshot) {
+        int[] offsets = snapshot.offsets();
+        int[] targets = snapshot.targets();
+        int[] ends = new int[targets.length];
+        int size = 0;
+        for (int i = 0; i < snapshot.numOfVertices(); i++) {
+            for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+                if (i < targets[k]) {
+                    ends[size++] = i;
+                    ends[size++] = targets[k];
+                }
+            }
+        }
+        return Arrays.copyOf(ends, size);
+    }
+
+    // EFFECTS: returns the image area each Vertex may cover, as boxes for a TileGrid
+    private double[] vertexBoxes() {
+        double[] boxes = new double[4 * pixelX.length];
+        double extent = VERTEX_MARGIN * scale + 1;
+        for (int i = 0; i < pixelX.length; i++) {
+            boxes[4 * i] = pixelX[i] - extent;
+            boxes[4 * i + 1] = pixelY[i] - extent;
+            boxes[4 * i + 2] = pixelX[i] + extent;
+            boxes[4 * i + 3] = pixelY[i] + extent;
+        }
+        return boxes;
+    }
+
+    // EFFECTS: returns the image position of both ends of each edge, as segments for a TileGrid
+    private float[] edgeSegments() {
+        float[] segments = new float[2 * edgeEnds.length];
+        for (int e = 0; e < edgeEnds.length; e++) {
+            segments[2 * e] = (float) pixelX[edgeEnds[e]];
+            segments[2 * e + 1] = (float) pixelY[edgeEnds[e]];
+        }
+        return segments;
+    }
+
+    // MODIFIES: out
+    // EFFECTS: writes the image to out as a PNG and closes out
+    public void export(OutputStream out) throws IOException {
+        try (PngWriter png = new PngWriter(out, width, height)) {
+            CompletableFuture<BufferedImage[]> next = CompletableFuture.supplyAsync(() -> renderStrip(0));
+            for (int row = 0; row < vertexTiles.getRows(); row++) {
+                BufferedImage[] strip = next.join();
+                int nextRow = row + 1;
+                if (nextRow < vertexTiles.getRows()) {
+                    next = CompletableFuture.supplyAsync(() -> renderStrip(nextRow));
+                }
+                writeStrip(png, strip);
+            }
+        }
+    }
+
+    // MODIFIES: png
+    // EFFECTS: writes the pixel rows of a strip of tiles, left to right
+    private void writeStrip(PngWriter png, BufferedImage[] strip) throws IOException {
+        int[] line = new int[width];
+        for (int y = 0; y < strip[0].getHeight(); y++) {
+            for (int column = 0; column < strip.length; column++) {
+                int tileWidth = strip[column].getWidth();
+                int[] pixels = ((DataBufferInt) strip[column].getRaster().getDataBuffer()).getData();
+                System.arraycopy(pixels, y * tileWidth, line, column * TILE_SIZE, tileWidth);
+            }
+            png.writeRow(line, 0);
+        }
+    }
+
+    // EFFECTS: renders the tiles of the given row in parallel
+    private BufferedImage[] renderStrip(int row) {
+        return IntStream.range(0, vertexTiles.getColumns()).parallel()
+                .mapToObj(column -> renderTile(column, row))
+                .toArray(BufferedImage[]::new);
+    }
+
+    // EFFECTS: renders one tile: a white background, then the edges, then the vertices overlapping it
+    private BufferedImage renderTile(int column, int row) {
+        int left = column * TILE_SIZE;
+        int top = row * TILE_SIZE;
+        BufferedImage tile = new BufferedImage(Math.min(TILE_SIZE, width - left),
+                Math.min(TILE_SIZE, height - top), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = tile.createGraphics();
+        g.setColor(Color.white);
+        g.fillRect(0, 0, tile.getWidth(), tile.getHeight());
+        g.translate(-left, -top);
+        drawEdges(g, edgeTiles.itemsIn(column, row));
+        SpriteCache cache = sprites.get();
+        for (int i : vertexTiles.itemsIn(column, row)) {
+            cache.drawVertex(g, labels[i], fills[i], pixelX[i], pixelY[i]);
+        }
+        g.dispose();
+        return tile;
+    }
+
+    // MODIFIES: g
+    // EFFECTS: strokes the given edges as one path, as thick as a line one Graph unit wide
+    private void drawEdges(Graphics2D g, int[] edges) {
+        Path2D.Double path = new Path2D.Double(Path2D.WIND_NON_ZERO, 2 * edges.length);
+        for (int e : edges) {
+            path.moveTo(pixelX[edgeEnds[2 * e]], pixelY[edgeEnds[2 * e]]);
+            path.lineTo(pixelX[edgeEnds[2 * e + 1]], pixelY[edgeEnds[2 * e + 1]]);
+        }
+        g.setColor(Edge.EDGE_COLOR);
+        g.setStroke(new BasicStroke((float) scale));
+        g.draw(path);
+    }
+
+    // EFFECTS: exports the Graph saved in args[0] to a PNG image args[1] of args[2] x args[3] pixels,
+    // without opening a window
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        if (args.length != 4) {
+            System.out.println("usage: GraphExporter <graph file> <image.png> <width> <height>");
+            return;
+        }
+        Graph graph = GraphImporter.read(new File(args[0]));
+        GraphExporter exporter = new GraphExporter(graph, Integer.parseInt(args[2]), Integer.parseInt(args[3]));
+        long start = System.nanoTime();
+        exporter.export(new FileOutputStream(args[1]));
+        System.out.println("exported " + args[1] + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+}
@@ -0,0 +1,127 @@
+package ui;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import model.Edge;
+import model.Graph;
+import model.Vertex;
+
+// Lists the vertices or the edges of a Graph for GraphSimulatorTerminal, straight from its adjacency lists,
+// one page at a time. A vertex is listed if its label and its degree are within the ranges set; an edge is
+// listed once, from the end that comes first in Graph.getVertices(), if both its ends would be. Listings
+// are written as they are found to a Writer, meant to be buffered, so no copy of the vertices or edges is
+// ever made; a page further down costs one pass over the Graph, like the first.
+public class GraphListing {
+    public static final int DEFAULT_PAGE_SIZE = 1000;
+    private static final int LABELS_PER_LINE = 20;
+
+    private int lowLabel = Integer.MIN_VALUE;
+    private int highLabel = Integer.MAX_VALUE;
+    private int lowDegree = 0;
+    private int highDegree = Integer.MAX_VALUE;
+    private int page = 1;
+    private int pageSize = DEFAULT_PAGE_SIZE; // 0 if every match is on the one page
+    private long matches;
+
+    // MODIFIES: this
+    // EFFECTS: lists only the vertices labelled from low to high, inclusive
+    public void setLabels(int low, int high) {
+        lowLabel = low;
+        highLabel = high;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: lists only the vertices with from low to high edges, inclusive
+    public void setDegrees(int low, int high) {
+        lowDegree = low;
+        highDegree = high;
+    }
+
+    // REQUIRES: page >= 1
+    // MODIFIES: this
+    // EFFECTS: lists only the page-th page of matches, counting from 1
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    // REQUIRES: pageSize >= 1
+    // MODIFIES: this
+    // EFFECTS: puts pageSize matches on every page
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: lists every match, on one page
+    public void setAll() {
+        page = 1;
+        pageSize = 0;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    // EFFECTS: returns the number of pages the last listing had, at least 1
+    public long numOfPages() {
+        return pageSize == 0 ? 1 : Math.max(1, (matches + pageSize - 1) / pageSize);
+    }
+
+    // EFFECTS: returns the number of vertices or edges that matched in the last listing, on any page
+    public long getMatches() {
+        return matches;
+    }
+
+    // MODIFIES: this, out
+    // EFFECTS: writes the labels of the matching vertices on the page to out, LABELS_PER_LINE to a line
+    public void writeVertices(Graph graph, Writer out) throws IOException {
+        matches = 0;
+        long written = 0;
+        for (Vertex v : graph.getVertices()) {
+            if (matches(v) && onPage(matches++)) {
+                out.write(written % LABELS_PER_LINE == 0 ? "" : " ");
+                out.write(Integer.toString(v.getLabel()));
+                out.write(++written % LABELS_PER_LINE == 0 ? "\n" : "");
+            }
+        }
+        if (written % LABELS_PER_LINE != 0) {
+            out.write('\n');
+        }
+    }
+
+    // MODIFIES: this, out
+    // EFFECTS: writes every matching edge on the page to out, one to a line
+    public void writeEdges(Graph graph, Writer out) throws IOException {
+        matches = 0;
+        for (Vertex v : graph.getVertices()) {
+            if (!matches(v)) {
+                continue;
+            }
+            boolean listLoop = true; // a loop is in the list of its vertex twice, and listed at the first
+            for (Edge e : v.getAdjacent()) {
+                Vertex other = e.getSecondVertex();
+                boolean first = other == v ? listLoop : v.getId() < other.getId();
+                listLoop ^= other == v;
+                if (first && matches(other) && onPage(matches++)) {
+                    out.write("From vertex with label ");
+                    out.write(Integer.toString(v.getLabel()));
+                    out.write(" to vertex with label ");
+                    out.write(Integer.toString(other.getLabel()));
+                    out.write(".\n");
+                }
+            }
+        }
+    }
+
+    // EFFECTS: returns true if the label and the degree of v are within the ranges set
+    private boolean matches(Vertex v) {
+        int degree = v.getAdjacent().size();
+        return lowLabel <= v.getLabel() && v.getLabel() <= highLabel && lowDegree <= degree && degree <= highDegree;
+    }
+
+    // EFFECTS: returns true if the match with this index, counting from 0, is on the page
+    private boolean onPage(long index) {
+        return pageSize == 0 || index / pageSize == page - 1;
+    }
+}
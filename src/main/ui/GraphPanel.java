@@ -1,24 +1,84 @@
 package ui;
 
 import javax.swing.*;
+import javax.swing.filechooser.FileFilter;
 import javax.swing.filechooser.FileNameExtensionFilter;
 
-import model.Edge;
 import model.Graph;
+import model.GraphSnapshot;
+import model.MemoryFootprint;
 import model.Vertex;
+import model.algorithm.Centrality;
+import model.algorithm.Colouring;
+import model.algorithm.CsrSnapshot;
+import model.algorithm.Louvain;
+import model.algorithm.PageRank;
+import model.algorithm.ResultCache;
+import model.algorithm.Triangles;
 import model.exception.GraphException;
+import model.layout.LayoutWorker;
+import model.metrics.Metric;
+import model.metrics.Metrics;
+import persistence.CatalogWatcher;
+import persistence.GraphCatalog;
+import persistence.GraphImporter;
 import persistence.GraphWriter;
 
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.geom.AffineTransform;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 // A panel containg a Graph and load/save buttons.
 public class GraphPanel extends JPanel {
     private static final String DATA_DIR = "./data/";
+    private static final int STATUS_MARGIN = 10;
+    private static final String[] COLOUR_MODES = {"Plain", "PageRank", "Betweenness", "Degree", "Clustering",
+        "Colouring", "Communities"};
+    private static final int BETWEENNESS_SAMPLES = 64;
+    private static final float LOW_SCORE_HUE = 0.6f; // blue
+    private static final float SCORE_SATURATION = 0.5f; // pale enough for the labels to stay readable
+    private static final double MIN_SCALE = 0.02;
+    private static final double MAX_SCALE = 8;
+    private static final double ZOOM_STEP = 1.1; // per notch of the mouse wheel
+    private static final double SEMANTIC_ZOOM_SCALE = 0.5; // below this, communities are drawn instead
+    private static final int FRAME_INTERVAL = 33; // milliseconds between layout frames, about 30 per second
+    private static final long TILE_BUDGET = 64L << 20; // bytes of pre-rendered edge tiles kept
     private Graph currentGraph;
     private Vertex lastActive; // to add edges
+    private Vertex[] lastPair; // the two vertices of the last edge toggled, for the status line
     private JButton load;
     private JButton save;
+    private JComboBox<String> colourBy;
+    private JToggleButton layoutToggle;
+    private JToggleButton statsToggle;
+    private LayoutWorker layout; // null until the layout is first started, and after the Graph changes
+    private Timer animation;
+    private DragLayer dragLayer; // the rest of the Graph while a vertex is dragged; null otherwise
+    private RepaintScheduler scheduler;
+    private GraphRenderer renderer = new GraphRenderer();
+    private EdgeTilePyramid edgeTiles = new EdgeTilePyramid(TILE_BUDGET, this::repaint);
+    private double scale = 1; // screen pixels per Graph unit
+    private double offsetX; // screen position of the Graph origin
+    private double offsetY;
+    private ResultCache results = new ResultCache(ResultCache.DEFAULT_CAPACITY); // of the colour modes
+    private CommunityView communityView; // the last one built, maybe of an earlier topology; null if none
+    private long communityVersion = -1; // topology version of the Graph communityView was built for
+    private boolean communitiesMoved; // vertices moved since the communities of communityView were placed
+    private SwingWorker<CommunityView, Void> communityWorker; // building the next community view, or null
+    private SwingWorker<?, Void> colourWorker; // computing what the colour mode shows; null if none is
+    private long shownVersion = -1; // topology version of the Graph the view and colours were made for
+    private int drawnTiles; // by the last frame, from the tile pyramid, for the stats overlay
+    private RenderStats stats = new RenderStats();
 
     // EFFECTS: create a GraphPanel with a white background. The initial Graph is
     // empty.
@@ -27,27 +87,243 @@ public class GraphPanel extends JPanel {
         currentGraph = new Graph();
         load = new JButton("Load");
         save = new JButton("Save");
+        colourBy = new JComboBox<>(COLOUR_MODES);
+        layoutToggle = new JToggleButton("Layout");
+        statsToggle = new JToggleButton("Stats");
+        animation = new Timer(FRAME_INTERVAL, new AnimateLayout());
+        scheduler = new RepaintScheduler(this, this::handleMouseDragged);
         setBackground(Color.white);
         add(load);
         add(save);
+        add(colourBy);
+        add(layoutToggle);
+        add(statsToggle);
         load.addActionListener(new LoadGraph());
         save.addActionListener(new SaveGraph());
+        colourBy.addActionListener(new ColourVertices());
+        layoutToggle.addActionListener(new ToggleLayout());
+        statsToggle.addActionListener(e -> repaint());
+        Metrics.setFootprintSource(this::memoryFootprint);
+        watchCatalog();
+    }
+
+    // EFFECTS: keeps the catalog of the saves in DATA_DIR up to date in the background, for the previews of
+    // the Load dialog; does nothing if there is no such directory
+    private void watchCatalog() {
+        try {
+            new CatalogWatcher(GraphCatalog.of(new File(DATA_DIR))).start();
+        } catch (IOException ioe) {
+            // the Load dialog then previews only the saves indexed already
+        }
+    }
+
+    // EFFECTS: returns the memory footprint of the Graph shown, worked out on the event dispatch thread,
+    // the only one that changes it
+    private MemoryFootprint memoryFootprint() {
+        if (SwingUtilities.isEventDispatchThread()) {
+            return currentGraph.memoryFootprint();
+        }
+        FutureTask<MemoryFootprint> task = new FutureTask<>(() -> currentGraph.memoryFootprint());
+        SwingUtilities.invokeLater(task);
+        try {
+            return task.get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     // MODIFIES: this
-    // EFFECTS: draw the Graph onto the canvas. First draw edges, then vertices
-    // (so that edge lines doesn't overlap with the Vertex circles).
+    // EFFECTS: discard the running layout, whose snapshot of the Graph is out of date, and start a new one
+    // from the current positions if the layout is switched on
+    private void restartLayout() {
+        if (layout != null) {
+            layout.stop();
+            layout = null;
+            animation.stop();
+        }
+        if (layoutToggle.isSelected()) {
+            layout = new LayoutWorker(currentGraph);
+            layout.start();
+            animation.start();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: draw the Graph onto the canvas at the current zoom. First draw edges, then vertices
+    // (so that edge lines doesn't overlap with the Vertex circles). When zoomed out below
+    // SEMANTIC_ZOOM_SCALE, draw one disc per community instead of the individual vertices, once the
+    // communities are detected. If the Stats button is on, record the frame and draw the overlay of render
+    // statistics over it.
     @Override
     public void paintComponent(Graphics g) {
+        long start = Metrics.start();
+        long frameStart = System.nanoTime();
         super.paintComponent(g);
-        for (Edge e : currentGraph.getEdges()) {
-            e.draw(g);
+        renderer.resetCounts();
+        drawnTiles = 0;
+        drawGraph(g);
+        drawStatus(g);
+        if (statsToggle.isSelected()) {
+            stats.frameDrawn(System.nanoTime() - frameStart, renderer.getDrawnVertices(),
+                    renderer.getCulledVertices(), renderer.getDrawnEdges(), renderer.getCulledEdges(), drawnTiles);
+            stats.draw(g, STATUS_MARGIN, statsToggle.getY() + statsToggle.getHeight() + STATUS_MARGIN);
         }
-        for (Vertex v : currentGraph.getVertices()) {
-            v.draw(g);
+        Metrics.stop(Metric.PAINT, start);
+    }
+
+    // MODIFIES: this, g
+    // EFFECTS: draw the Graph, or the part of it that changed while a vertex is dragged
+    private void drawGraph(Graphics g) {
+        if (dragLayer != null) {
+            dragLayer.draw((Graphics2D) g);
+        } else {
+            Graphics2D world = (Graphics2D) g.create();
+            world.transform(worldTransform());
+            CommunityView view = isZoomedOut() ? getCommunityView() : null;
+            if (view != null) {
+                view.draw(world);
+            } else if (layout != null && !layout.isPaused()) {
+                renderer.draw(world, currentGraph, null);
+            } else {
+                drawEdgeTiles((Graphics2D) g);
+                renderer.drawVertices(world, currentGraph);
+            }
+            world.dispose();
         }
     }
 
+    // MODIFIES: this, g
+    // EFFECTS: draw the edges from the tile pyramid, and directly wherever their tiles are not rendered yet.
+    // Not used while the layout runs, since then every tile would be out of date at every frame.
+    private void drawEdgeTiles(Graphics2D g) {
+        Rectangle visible = g.getClipBounds() != null ? g.getClipBounds() : new Rectangle(getSize());
+        Rectangle missing = edgeTiles.draw(g, currentGraph, worldTransform(), visible);
+        drawnTiles = edgeTiles.numOfTilesDrawn();
+        if (missing != null) {
+            Graphics2D world = (Graphics2D) g.create();
+            world.clip(missing);
+            world.transform(worldTransform());
+            renderer.drawEdges(world, currentGraph);
+            world.dispose();
+        }
+    }
+
+    // EFFECTS: returns the transform from Graph coordinates to the screen at the current zoom
+    private AffineTransform worldTransform() {
+        AffineTransform transform = AffineTransform.getTranslateInstance(offsetX, offsetY);
+        transform.scale(scale, scale);
+        return transform;
+    }
+
+    // EFFECTS: returns true if the Graph is drawn by community rather than vertex by vertex
+    private boolean isZoomedOut() {
+        return scale < SEMANTIC_ZOOM_SCALE;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the aggregated view of the Graph, or null if none was built yet. If the topology of
+    // the Graph changed since it was built, a new one is built on a background thread (see
+    // buildCommunityView) and the last one is returned meanwhile; if the vertices only moved, its
+    // communities are placed where they are now.
+    private CommunityView getCommunityView() {
+        if (communityView == null || communityVersion != currentGraph.getTopologyVersion()) {
+            buildCommunityView();
+        } else if (communitiesMoved) {
+            communityView.place(currentGraph.getVertices());
+            communitiesMoved = false;
+        }
+        return communityView;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: detects the communities of the Graph, unless they are cached for its topology, and builds
+    // their view, on a background thread over a snapshot taken now, then repaints; does nothing if a view
+    // is being built already
+    private void buildCommunityView() {
+        if (communityWorker != null) {
+            return;
+        }
+        Graph graph = currentGraph;
+        GraphSnapshot snapshot = graph.snapshot();
+        Louvain cached = results.peek(graph, "Communities");
+        communityWorker = new SwingWorker<CommunityView, Void>() {
+            @Override
+            protected CommunityView doInBackground() {
+                return new CommunityView(snapshot, cached != null ? cached : new Louvain(new CsrSnapshot(snapshot)));
+            }
+
+            @Override
+            protected void done() {
+                communityWorker = null;
+                finishCommunityView(graph, snapshot, this);
+            }
+        };
+        communityWorker.execute();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shows the view worker built over snapshot of graph, and caches its communities, if graph is
+    // still shown with the same topology, then repaints; reports a failed build instead
+    private void finishCommunityView(Graph graph, GraphSnapshot snapshot, SwingWorker<CommunityView, Void> worker) {
+        CommunityView view;
+        try {
+            view = worker.get();
+        } catch (InterruptedException | ExecutionException e) {
+            e.printStackTrace();
+            return;
+        }
+        if (graph == currentGraph && snapshot.getTopologyVersion() == currentGraph.getTopologyVersion()) {
+            results.get(currentGraph, "Communities", view::getCommunities);
+            communityView = view;
+            communityVersion = snapshot.getTopologyVersion();
+            communitiesMoved = true; // maybe, since the snapshot was taken
+        }
+        repaint();
+    }
+
+    // EFFECTS: returns the position in the Graph drawn at the screen position p
+    private Point toWorld(Point p) {
+        return new Point((int) Math.round((p.getX() - offsetX) / scale),
+                (int) Math.round((p.getY() - offsetY) / scale));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: zoom in (wheel up) or out (wheel down), keeping the point under the cursor in place
+    public void handleMouseWheel(MouseWheelEvent e) {
+        double factor = Math.pow(ZOOM_STEP, -e.getPreciseWheelRotation());
+        double newScale = Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale * factor));
+        offsetX = e.getX() - (e.getX() - offsetX) * newScale / scale;
+        offsetY = e.getY() - (e.getY() - offsetY) * newScale / scale;
+        scale = newScale;
+        dragLayer = null;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: recolour, if the vertices, labels or edges of the Graph changed since last time; a click that
+    // only selects a vertex changes none of them. The community view notices such changes itself.
+    private void graphChanged() {
+        if (currentGraph.getTopologyVersion() != shownVersion) {
+            shownVersion = currentGraph.getTopologyVersion();
+            recolour();
+        }
+    }
+
+    // MODIFIES: g
+    // EFFECTS: draw the number of components of the Graph, and whether the two vertices of the last
+    // edge toggled are still connected, at the bottom-left corner of the canvas.
+    private void drawStatus(Graphics g) {
+        String status = "Components: " + currentGraph.numOfComponents();
+        CommunityView view = isZoomedOut() ? getCommunityView() : null;
+        if (view != null) {
+            status += "    Communities: " + view.numOfCommunities();
+        }
+        if (lastPair != null) {
+            status += "    Vertices " + lastPair[0].getLabel() + " and " + lastPair[1].getLabel()
+                    + (currentGraph.isConnected(lastPair[0], lastPair[1]) ? " are" : " are not") + " connected";
+        }
+        g.drawString(status, STATUS_MARGIN, getHeight() - STATUS_MARGIN);
+    }
+
     // MODIFIES: this
     // EFFECTS: handle an event where the mouse was clicked
     // if single-click AND the position is empty, create a new vertex at said
@@ -56,50 +332,239 @@ public class GraphPanel extends JPanel {
     // - if vertex was previously clicked on in the previous mouse action, create an
     // edge going from that vertex to the current vertex.
     // if double-click, remove any vertex occupying the mouse's position
+    // Clicks are ignored while zoomed out to communities.
     public void handleMouseClicked(MouseEvent e) throws GraphException {
+        if (isZoomedOut()) {
+            return;
+        }
+        Point pos = toWorld(e.getPoint());
         if (e.getClickCount() == 1) {
-            if (numOfVertexAtPos(e.getPoint()) == 0) {
-                addVertex(e.getPoint());
+            if (numOfVertexAtPos(pos) == 0) {
+                addVertex(pos);
                 clearActive();
             } else { // select vertex, deselect vertex, toggle edge
-                if (lastActive != null && numOfVertexAtPos(e.getPoint()) > 0) {
-                    Vertex otherVertex = currentGraph.vertexAtPos(e.getPoint());
-                    if (hasEdge(lastActive, otherVertex)) {
-                        removeEdge(lastActive, otherVertex);
-                    } else if (lastActive != otherVertex) {
-                        addEdge(lastActive, otherVertex);
-                    }
-                    clearActive();
-                } else {
-                    saveSelected(e.getPoint());
-                }
+                selectOrToggleEdge(pos);
             }
         } else if (e.getClickCount() == 2) {
-            removeVertex(e.getPoint());
+            removeVertex(pos);
             clearActive(); // hard hitting bug
         }
+        graphChanged();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: if a vertex is selected, toggle the edge between it and the vertex at pos (or just deselect
+    // it, if it is the same vertex); otherwise select the vertex at pos.
+    private void selectOrToggleEdge(Point pos) throws GraphException {
+        if (lastActive != null && numOfVertexAtPos(pos) > 0) {
+            Vertex otherVertex = vertexAtPos(pos);
+            if (hasEdge(lastActive, otherVertex)) {
+                removeEdge(lastActive, otherVertex);
+            } else if (lastActive != otherVertex) {
+                addEdge(lastActive, otherVertex);
+            }
+            lastPair = new Vertex[] {lastActive, otherVertex};
+            clearActive();
+        } else {
+            saveSelected(pos);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: fill every Vertex with a color from blue (lowest) to red (highest) according to its score
+    // under the chosen colour mode, or restore the default colors in "Plain" mode. What the mode shows is
+    // computed once per topology of the Graph, on a background thread (see colourWith); the vertices keep
+    // their colours until it is done.
+    public void recolour() {
+        String mode = (String) colourBy.getSelectedItem();
+        if (mode.equals("Colouring")) {
+            colourWith(mode, g -> Colouring.byLabel(g, Colouring.smallestLast(g)), this::colourGreedily);
+        } else if (mode.equals("Communities")) {
+            colourWith(mode, Louvain::new, this::colourByCommunity);
+        } else {
+            colourWith(mode, g -> computeScores(mode, g), this::colourByScores);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: colours the vertices with apply, from the result of compute cached for the current topology
+    // of the Graph; if there is none, runs compute on a background thread, over a snapshot taken now, and
+    // recolours once it is done. Only one computation runs at a time: a recolour asked for meanwhile is
+    // left to the end of the running one, which then starts over if the Graph or the mode changed.
+    private <T> void colourWith(String mode, Function<CsrSnapshot, T> compute, Consumer<T> apply) {
+        T cached = results.peek(currentGraph, mode);
+        if (cached != null) {
+            apply.accept(cached);
+            return;
+        }
+        if (colourWorker != null) {
+            return;
+        }
+        Graph graph = currentGraph;
+        GraphSnapshot snapshot = graph.snapshot();
+        colourWorker = new SwingWorker<T, Void>() {
+            @Override
+            protected T doInBackground() {
+                return compute.apply(new CsrSnapshot(snapshot));
+            }
+
+            @Override
+            protected void done() {
+                colourWorker = null;
+                finishColouring(graph, snapshot, mode, this);
+            }
+        };
+        colourWorker.execute();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: caches the result worker computed for mode over snapshot of graph, if graph is still shown
+    // with the same topology, then recolours and repaints; reports a failed computation instead
+    private <T> void finishColouring(Graph graph, GraphSnapshot snapshot, String mode, SwingWorker<T, Void> worker) {
+        T result;
+        try {
+            result = worker.get();
+        } catch (InterruptedException | ExecutionException e) {
+            e.printStackTrace();
+            return;
+        }
+        if (graph == currentGraph && snapshot.getTopologyVersion() == currentGraph.getTopologyVersion()) {
+            results.get(currentGraph, mode, () -> result);
+        }
+        recolour();
+        repaint();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: fill the vertices from blue to red by their scores, keyed by label; with no scores, restore
+    // the default colors
+    private void colourByScores(Map<Integer, Double> scores) {
+        double low = scores.values().stream().mapToDouble(Double::doubleValue).min().orElse(0);
+        double high = scores.values().stream().mapToDouble(Double::doubleValue).max().orElse(0);
+        for (Vertex v : currentGraph.getVertices()) {
+            Double score = scores.get(v.getLabel());
+            if (score == null) {
+                v.setFillColor(null);
+            } else {
+                float t = high > low ? (float) ((score - low) / (high - low)) : 0;
+                v.setFillColor(Color.getHSBColor(LOW_SCORE_HUE * (1 - t), SCORE_SATURATION, 1));
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: fill the vertices with a proper colouring of the Graph, keyed by label, by smallest-last
+    // greedy, which was both faster and used fewer colours than Jones-Plassmann at every size
+    // bench.ColouringBenchmark measured
+    private void colourGreedily(Map<Integer, Integer> colours) {
+        for (Vertex v : currentGraph.getVertices()) {
+            v.setFillColor(Vertex.colorOf(colours.get(v.getLabel())));
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: fill every Vertex with the colour of its community, as in the zoomed-out view
+    private void colourByCommunity(Louvain communities) {
+        Map<Integer, Integer> community = communities.communitiesByLabel();
+        for (Vertex v : currentGraph.getVertices()) {
+            v.setFillColor(Vertex.colorOf(community.get(v.getLabel())));
+        }
+    }
+
+    // EFFECTS: computes the score of every vertex of g, keyed by label, under the given colour mode; empty
+    // for "Plain"
+    private static Map<Integer, Double> computeScores(String mode, CsrSnapshot g) {
+        switch (mode) {
+            case "PageRank":
+                return g.byLabel(new PageRank().compute(g));
+            case "Betweenness":
+                return new Centrality(g).betweennessByLabel(BETWEENNESS_SAMPLES, 0);
+            case "Degree":
+                return new Centrality(g).degreesByLabel();
+            case "Clustering":
+                return new Triangles(g).localClusteringByLabel();
+            default:
+                return Collections.emptyMap();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: queue an event where the mouse was dragged, to be handled at the next frame; events that
+    // arrive faster than the display refreshes are merged, keeping only the latest.
+    public void queueMouseDragged(MouseEvent e) {
+        scheduler.submitDrag(e);
     }
 
     // MODIFIES: this
     // EFFECTS: handle an event where the mouse was dragged
     // if the position is occupied by a vertex, move said vertex to a new location
     // (provided that that position is not yet occupied by any other vertices)
+    // Drags are ignored while zoomed out to communities.
     public void handleMouseDragged(MouseEvent e) {
-        Vertex current = vertexAtPos(e.getPoint());
-        if (current != null && numOfVertexAtPos(e.getPoint()) < 2 && current.getActive()) {
-            current.setPos(e.getPoint());
+        if (isZoomedOut()) {
+            return;
+        }
+        Point pos = toWorld(e.getPoint());
+        Vertex current = vertexAtPos(pos);
+        if (current != null && numOfVertexAtPos(pos) < 2 && current.getActive()) {
+            Rectangle before = GraphRenderer.screenBounds(current, worldTransform());
+            edgeTiles.removeEdgesOf(current);
+            current.setPos(pos);
+            edgeTiles.addEdgesOf(current);
+            communitiesMoved = true;
+            if (layout != null) {
+                layout.pin(current, pos.x, pos.y);
+            }
+            repaintDrag(current, before);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: repaint only the area that the dragged vertex and its edges left (before) and now cover,
+    // over a cached image of the rest of the Graph. While the layout is running everything moves, so
+    // the whole panel is repainted instead.
+    private void repaintDrag(Vertex current, Rectangle before) {
+        if (layout != null && !layout.isPaused()) {
+            dragLayer = null;
+            scheduler.requestRepaint();
+        } else if (dragLayer == null || dragLayer.getMoving() != current) {
+            dragLayer = new DragLayer(currentGraph, current, this, worldTransform(), renderer);
+            scheduler.requestRepaint();
+        } else {
+            before.add(dragLayer.dirtyBounds());
+            scheduler.requestRepaint(before);
         }
     }
 
+    // MODIFIES: this
+    // EFFECTS: handle an event where the mouse was released: finish the drag, drop the image cached for
+    // it, and let the layout move the dragged vertex again
+    public void handleMouseReleased(MouseEvent e) {
+        scheduler.flushDrag();
+        dragLayer = null;
+        if (layout != null) {
+            layout.unpin();
+        }
+    }
+
+    // MODIFIES: this
     // EFFECTS: returns the first Vertex found contaning pos, or null if there is
-    // none.
+    // none. The time the hit test takes is recorded for the overlay.
     public Vertex vertexAtPos(Point pos) {
-        return currentGraph.vertexAtPos(pos);
+        long start = System.nanoTime();
+        Vertex v = currentGraph.vertexAtPos(pos);
+        stats.hitTested(System.nanoTime() - start);
+        return v;
     }
 
-    // EFFECTS: returns the number of Vertex found contaning pos.
+    // MODIFIES: this
+    // EFFECTS: returns the number of Vertex found contaning pos. The time the hit test takes is recorded
+    // for the overlay.
     public int numOfVertexAtPos(Point pos) {
-        return currentGraph.numOfVertexAtPos(pos);
+        long start = System.nanoTime();
+        int count = currentGraph.numOfVertexAtPos(pos);
+        stats.hitTested(System.nanoTime() - start);
+        return count;
     }
 
     // EFFECTS: return true if there is an edge connecting firstVertex and
@@ -114,6 +579,7 @@ public class GraphPanel extends JPanel {
         try {
             if (numOfVertexAtPos(pos) == 0) {
                 currentGraph.addVertex(new Vertex(currentGraph.firstUnusedLabel(), (int) pos.getX(), (int) pos.getY()));
+                restartLayout();
                 return true;
             }
             return false;
@@ -129,7 +595,10 @@ public class GraphPanel extends JPanel {
     public void removeVertex(Point pos) {
         try {
             if (numOfVertexAtPos(pos) > 0) {
+                edgeTiles.removeEdgesOf(vertexAtPos(pos));
                 currentGraph.removeVertex(vertexAtPos(pos));
+                lastPair = null;
+                restartLayout();
             }
         } catch (Exception e) {
             System.out.println("Unexpected error.");
@@ -141,18 +610,25 @@ public class GraphPanel extends JPanel {
     // EFFECTS: add an edge connecting firstVertex and secondVertex
     public void addEdge(Vertex firstVertex, Vertex secondVertex) throws GraphException {
         currentGraph.addEdge(firstVertex, secondVertex);
+        edgeTiles.addEdge(firstVertex, secondVertex);
+        restartLayout();
     }
 
     // MODIFIES: this
     // EFFECTS: remove an edge connecting firstVertex and secondVertex
     public boolean removeEdge(Vertex firstVertex, Vertex secondVertex) throws GraphException {
-        return currentGraph.removeEdge(firstVertex, secondVertex);
+        boolean removed = currentGraph.removeEdge(firstVertex, secondVertex);
+        if (removed) {
+            edgeTiles.removeEdge(firstVertex, secondVertex);
+        }
+        restartLayout();
+        return removed;
     }
 
     // MODIFIES: this
     // EFFECTS: mark the first Vertex found occupying pos as active.
     public void saveSelected(Point pos) {
-        lastActive = currentGraph.vertexAtPos(pos);
+        lastActive = vertexAtPos(pos);
         if (lastActive != null) {
             lastActive.setSelected(true);
         }
@@ -167,20 +643,35 @@ public class GraphPanel extends JPanel {
         lastActive = null;
     }
 
+    // MODIFIES: this
+    // EFFECTS: replace the Graph shown by g, dropping everything computed for the previous one
+    public void showGraph(Graph g) {
+        currentGraph = g;
+        lastPair = null;
+        communityView = null;
+        edgeTiles.clear();
+        restartLayout();
+        shownVersion = -1;
+        graphChanged();
+        repaint();
+    }
+
     public Vertex getLastActive() {
         return lastActive;
     }
 
+    public RepaintScheduler getScheduler() {
+        return scheduler;
+    }
+
     class LoadGraph implements ActionListener {
         // EFFECTS: Present the user with a file explorer. The file chosen will be
         // loaded onto the Graph.
         public void actionPerformed(ActionEvent e) {
-            JFileChooser chooser = new JFileChooser(DATA_DIR);
-            chooser.setFileFilter(new FileNameExtensionFilter("JSON files", "json"));
+            JFileChooser chooser = graphChooser();
             if (chooser.showOpenDialog(GraphPanel.this) == JFileChooser.APPROVE_OPTION) {
                 try {
-                    currentGraph = new Graph(chooser.getSelectedFile());
-                    repaint();
+                    showGraph(GraphImporter.read(chooser.getSelectedFile()));
                 } catch (Exception ioe) {
                     System.out.println(
                             "Unexpected error. The graph file may have been corrupted, deleted or moved elsewhere.");
@@ -188,6 +679,66 @@ public class GraphPanel extends JPanel {
                 }
             }
         }
+
+        // EFFECTS: returns a file explorer of DATA_DIR that shows only graph files, and previews the saves
+        // from their catalog
+        private JFileChooser graphChooser() {
+            JFileChooser chooser = new JFileChooser(DATA_DIR);
+            List<String> extensions = new ArrayList<>(GraphImporter.EXTENSIONS);
+            extensions.add(0, "json");
+            FileNameExtensionFilter graphFiles = new FileNameExtensionFilter(
+                    "Graph files (JSON, edge lists, DIMACS, GraphML)", extensions.toArray(new String[0]));
+            chooser.setFileFilter(new FileFilter() {
+                public boolean accept(File f) {
+                    return graphFiles.accept(f) && !f.getName().equals(GraphCatalog.FILE_NAME);
+                }
+
+                public String getDescription() {
+                    return graphFiles.getDescription();
+                }
+            });
+            CatalogPreview preview = new CatalogPreview();
+            chooser.setAccessory(preview);
+            chooser.addPropertyChangeListener(preview);
+            return chooser;
+        }
+    }
+
+    class ToggleLayout implements ActionListener {
+        // MODIFIES: this
+        // EFFECTS: start or resume the force-directed layout when switched on, and pause it when switched
+        // off.
+        public void actionPerformed(ActionEvent e) {
+            if (!layoutToggle.isSelected()) {
+                layout.pause();
+            } else if (layout == null) {
+                restartLayout();
+            } else {
+                layout.resume();
+            }
+        }
+    }
+
+    class AnimateLayout implements ActionListener {
+        // MODIFIES: this
+        // EFFECTS: move the vertices to the latest positions computed by the layout, if any.
+        public void actionPerformed(ActionEvent e) {
+            if (layout != null && layout.applyLatest()) {
+                communitiesMoved = true;
+                dragLayer = null;
+                edgeTiles.clear();
+                scheduler.requestRepaint();
+            }
+        }
+    }
+
+    class ColourVertices implements ActionListener {
+        // MODIFIES: this
+        // EFFECTS: recolor the vertices according to the colour mode just chosen.
+        public void actionPerformed(ActionEvent e) {
+            recolour();
+            repaint();
+        }
     }
 
     class SaveGraph implements ActionListener {
@@ -0,0 +1,172 @@
+package ui;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+
+import model.Coordinates;
+import model.Edge;
+import model.Graph;
+import model.Vertex;
+
+// Draws a Graph onto a Graphics whose transform maps Graph coordinates to the screen: first the edges,
+// then the vertices (so that edge lines don't overlap with the Vertex circles). Edges and vertices
+// outside the area being painted are skipped. Edges are batched into a few paths, each stroked once,
+// and vertices are copied from a SpriteCache, rebuilt whenever the zoom, font or text color changes.
+// The renderer counts the vertices and edges it draws and culls, until resetCounts() is called.
+public class GraphRenderer {
+    private static final int VERTEX_MARGIN = 40; // no part of a Vertex is further than this from its centre
+    private static final int EDGE_BATCH = 4096; // edges per path, to bound the memory a path takes
+
+    private SpriteCache sprites; // null until the first draw
+    private int drawnVertices;
+    private int culledVertices;
+    private int drawnEdges;
+    private int culledEdges;
+
+    // MODIFIES: g, this
+    // EFFECTS: draw every edge of graph not touching skip, then every visible vertex except skip; skip may
+    // be null to draw everything.
+    public void draw(Graphics g, Graph graph, Vertex skip) {
+        drawEdges((Graphics2D) g, graph, skip, visibleArea(g));
+        drawVertices((Graphics2D) g, graph, skip, visibleArea(g));
+    }
+
+    // EFFECTS: returns the area of Graph coordinates in which a Vertex centre may be for some of it to be
+    // painted on g, or null if g paints everywhere
+    private static Rectangle visibleArea(Graphics g) {
+        Rectangle visible = g.getClipBounds();
+        if (visible != null) {
+            visible.grow(VERTEX_MARGIN, VERTEX_MARGIN);
+        }
+        return visible;
+    }
+
+    // MODIFIES: g
+    // EFFECTS: draw only the visible edges of graph, e.g. where no pre-rendered image of them is at hand
+    public void drawEdges(Graphics g, Graph graph) {
+        drawEdges((Graphics2D) g, graph, null, visibleArea(g));
+    }
+
+    // MODIFIES: g
+    // EFFECTS: stroke every edge not touching skip that may cross visible (or all, if visible is null),
+    // once each, in batches of EDGE_BATCH
+    private void drawEdges(Graphics2D g, Graph graph, Vertex skip, Rectangle visible) {
+        Color initialColor = g.getColor();
+        g.setColor(Edge.EDGE_COLOR);
+        Path2D.Float path = new Path2D.Float(Path2D.WIND_NON_ZERO, 2 * EDGE_BATCH);
+        int batched = 0;
+        for (Vertex v : graph.getVertices()) {
+            for (Edge e : v.getAdjacent()) {
+                Vertex w = e.getSecondVertex();
+                if (v == skip || w == skip || v.getId() > w.getId()) {
+                    continue;
+                } else if (!crosses(visible, v, w)) {
+                    culledEdges++;
+                } else {
+                    drawnEdges++;
+                    batched = addToBatch(g, path, batched, v, w);
+                }
+            }
+        }
+        g.draw(path);
+        g.setColor(initialColor);
+    }
+
+    // MODIFIES: g, path
+    // EFFECTS: adds the segment from v to w to path, which holds batched segments, and strokes and empties
+    // path once it holds EDGE_BATCH; returns the number of segments path holds now
+    private static int addToBatch(Graphics2D g, Path2D.Float path, int batched, Vertex v, Vertex w) {
+        path.moveTo(v.getXpos(), v.getYpos());
+        path.lineTo(w.getXpos(), w.getYpos());
+        if (batched + 1 < EDGE_BATCH) {
+            return batched + 1;
+        }
+        g.draw(path);
+        path.reset();
+        return 0;
+    }
+
+    // EFFECTS: returns true if the segment from v to w crosses visible
+    private static boolean crosses(Rectangle visible, Vertex v, Vertex w) {
+        return visible == null || visible.intersectsLine(v.getXpos(), v.getYpos(), w.getXpos(), w.getYpos());
+    }
+
+    // MODIFIES: g, this
+    // EFFECTS: draw only the visible vertices of graph, e.g. over a pre-rendered image of the edges
+    public void drawVertices(Graphics g, Graph graph) {
+        drawVertices((Graphics2D) g, graph, null, visibleArea(g));
+    }
+
+    // MODIFIES: g, this
+    // EFFECTS: copy the sprite of every vertex other than skip whose centre lies in visible (or of all
+    // of them, if visible is null) onto g, found by one scan over the coordinate arrays of the Graph
+    private void drawVertices(Graphics2D g, Graph graph, Vertex skip, Rectangle visible) {
+        AffineTransform transform = g.getTransform();
+        if (sprites == null || !sprites.matches(transform.getScaleX(), g.getFont(), g.getColor())) {
+            sprites = new SpriteCache(transform.getScaleX(), g.getFont(), g.getColor());
+        }
+        Graphics2D device = (Graphics2D) g.create();
+        device.setTransform(new AffineTransform());
+        Coordinates coordinates = graph.getCoordinates();
+        double[] point = new double[2];
+        for (int i = 0; i < coordinates.size(); i++) {
+            Vertex v = coordinates.vertex(i);
+            if (v == skip) {
+                continue;
+            } else if (visible != null && !visible.contains(coordinates.getX(i), coordinates.getY(i))) {
+                culledVertices++;
+            } else {
+                drawnVertices++;
+                point[0] = coordinates.getX(i);
+                point[1] = coordinates.getY(i);
+                transform.transform(point, 0, point, 0, 1);
+                sprites.drawVertex(device, v.getLabel(), v.getDisplayColor(), point[0], point[1]);
+            }
+        }
+        device.dispose();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts counting the vertices and edges drawn and culled from 0 again
+    public void resetCounts() {
+        drawnVertices = 0;
+        culledVertices = 0;
+        drawnEdges = 0;
+        culledEdges = 0;
+    }
+
+    public int getDrawnVertices() {
+        return drawnVertices;
+    }
+
+    public int getCulledVertices() {
+        return culledVertices;
+    }
+
+    public int getDrawnEdges() {
+        return drawnEdges;
+    }
+
+    public int getCulledEdges() {
+        return culledEdges;
+    }
+
+    // EFFECTS: returns the area of Graph coordinates covering v, its edges and its neighbours
+    public static Rectangle worldBounds(Vertex v) {
+        Rectangle bounds = new Rectangle(v.getXpos(), v.getYpos(), 0, 0);
+        for (Edge e : v.getAdjacent()) {
+            bounds.add(e.getSecondVertex().getXpos(), e.getSecondVertex().getYpos());
+        }
+        bounds.grow(VERTEX_MARGIN, VERTEX_MARGIN);
+        return bounds;
+    }
+
+    // EFFECTS: returns the screen area covering v, its edges and its neighbours when drawn with the
+    // given transform from Graph coordinates
+    public static Rectangle screenBounds(Vertex v, AffineTransform transform) {
+        Rectangle screen = transform.createTransformedShape(worldBounds(v)).getBounds();
+        screen.grow(1, 1); // rounding
+        return screen;
+    }
+}
@@ -42,6 +42,7 @@ public class GraphSimulator extends JFrame {
         MouseListener ml = new MouseListener();
         addMouseListener(ml);
         addMouseMotionListener(ml);
+        addMouseWheelListener(ml);
 
         QuitLogger ql = new QuitLogger();
         addWindowListener(ql);
@@ -71,8 +72,21 @@ public class GraphSimulator extends JFrame {
 
     // MODIFIES: this
     // EFFECTS: handle an event where the mouse was dragged
+    // (the panel handles the latest drag once per frame, and repaints the area that changed)
     public void handleMouseDragged(MouseEvent e) {
-        graphPanel.handleMouseDragged(e);
+        graphPanel.queueMouseDragged(e);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: handle an event where the mouse was released
+    public void handleMouseReleased(MouseEvent e) {
+        graphPanel.handleMouseReleased(e);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: handle an event where the mouse wheel was moved
+    public void handleMouseWheelMoved(MouseWheelEvent e) {
+        graphPanel.handleMouseWheel(e);
         repaint();
     }
 
@@ -88,6 +102,16 @@ public class GraphSimulator extends JFrame {
             handleMouseDragged(translateEvent(e));
         }
 
+        // EFFECTS: Forward mouse released event to the active tool
+        public void mouseReleased(MouseEvent e) {
+            handleMouseReleased(translateEvent(e));
+        }
+
+        // EFFECTS: Forward mouse wheel event to the active tool
+        public void mouseWheelMoved(MouseWheelEvent e) {
+            handleMouseWheelMoved((MouseWheelEvent) translateEvent(e));
+        }
+
         // EFFECTS: translates the mouse event to current drawing's coordinate system
         private MouseEvent translateEvent(MouseEvent e) {
             return SwingUtilities.convertMouseEvent(e.getComponent(), e, graphPanel);
@@ -95,12 +119,16 @@ public class GraphSimulator extends JFrame {
     }
 
     private class QuitLogger extends WindowAdapter {
-        // EFFECT: print all logs to terminal the moment the app quits
+        // EFFECT: print all logs, and how smoothly the panel was repainted, to terminal the moment the app
+        // quits
         @Override
         public void windowClosing(WindowEvent we) {
             for (model.Event e : EventLog.getInstance()) {
                 System.out.println(e.toString());
             }
+            RepaintScheduler scheduler = graphPanel.getScheduler();
+            System.out.println("Frames painted: " + scheduler.getFramesPainted() + ", skipped: "
+                    + scheduler.getFramesSkipped() + "; drag events coalesced: " + scheduler.getDragsCoalesced());
         }
     }
 }
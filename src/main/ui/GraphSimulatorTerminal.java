@@ -1,76 +1,226 @@
 package ui;
 
-import java.util.Scanner;
-
 import model.*;
+import model.algorithm.Centrality;
+import model.algorithm.Colouring;
+import model.algorithm.PageRank;
+import model.algorithm.ResultCache;
+import model.algorithm.Triangles;
 import model.exception.*;
+import model.metrics.LatencyHistogram;
+import model.metrics.Metrics;
+import persistence.CatalogEntry;
+import persistence.CatalogWatcher;
+import persistence.GraphCatalog;
 import persistence.GraphWriter;
 
 import java.time.LocalDateTime;
 import java.io.*;
 import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.InputMismatchException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
 import java.time.format.DateTimeFormatter;
 import java.util.stream.Collectors;
 
 
 // Terminal app for personal project.
+// Besides being typed into interactively, it can run a script of the same commands, one per line, from a file
+// or piped to it, without showing any menu: "Main script [<commands.txt>] [--quiet]". Answers to the questions
+// some commands ask follow them on the same line (e.g. "A 1" runs PageRank, "R YOLO" reloads the graph). The
+// time every kind of command took is reported at the end.
 public class GraphSimulatorTerminal {
+    public static final String USAGE = "script [<commands.txt>] [--quiet]";
     private static final int ADD_ACTION = 1;
     private static final int REMOVE_ACTION = 2;
     private static final int LIGHT_COMMAND_LENGTH = 2;
     private static final int HEAVY_COMMAND_LENGTH = 1;
     private static final String SAVE_DIR = "./data/";
+    private static final int TOP_RESULTS = 10;
+    private static final int BETWEENNESS_SAMPLES = 64;
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+    private static final double NANOS_PER_MICRO = 1000.0;
+    private static final String INVALID_COMMAND = "Invalid command.";
     private Graph currentGraph;
-    private Scanner getInput;
+    private ResultCache results = new ResultCache(ResultCache.DEFAULT_CAPACITY);
+    private CommandReader getInput;
+    private PrintStream out;
+    private boolean scripted;
     private boolean stillRunning = true;
+    private volatile MemoryFootprint footprint; // of the graph as of a recent command, for other threads
+    private volatile boolean footprintWanted; // by another thread since footprint was worked out
 
     // EFFECTS: run the graph simulator
     // Loosely based on TellerApp
     public GraphSimulatorTerminal() {
-        init();
-        System.out.print("\nWelcome to Graph Simulator! ");
+        init(System.in, System.out, false);
+        watchCatalog();
+        out.print("\nWelcome to Graph Simulator! ");
 
         while (stillRunning) {
-            System.out.println("Choose one of the options below:");
+            out.println("Choose one of the options below:");
             displayOptions();
-            System.out.println("");
+            out.println("");
             processCommand();
-            System.out.println("");
+            updateFootprint();
+            out.println("");
         }
     }
 
+    // EFFECTS: creates a simulator of an empty graph that will read the commands of a script from in, and
+    // write what they do to out; call runScript() to run them
+    public GraphSimulatorTerminal(InputStream in, PrintStream out) {
+        init(in, out, true);
+    }
+
     // MODIFIES: this
-    // EFFECTS: creates a new empty graph and instantiates getInput
-    private void init() {
+    // EFFECTS: creates a new empty graph, and reads commands from in and writes to out, showing menus unless
+    // scripted
+    private void init(InputStream in, PrintStream out, boolean scripted) {
         currentGraph = new Graph();
-        getInput = new Scanner(System.in);
+        getInput = new CommandReader(in);
+        this.out = out;
+        this.scripted = scripted;
+        Metrics.register();
+        publishFootprint();
+        Metrics.setFootprintSource(this::publishedFootprint);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the memory footprint of the graph as of a recent command, and asks for it to be
+    // worked out again after the next one; called from other threads (e.g. JMX), which must not walk the
+    // graph while the commands change it
+    private MemoryFootprint publishedFootprint() {
+        footprintWanted = true;
+        return footprint;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: works out the memory footprint of the graph after a command, for other threads to read:
+    // after every command typed by the user, but in a script only if another thread asked for it since,
+    // as it takes time linear in the size of the graph
+    private void updateFootprint() {
+        if (!scripted || footprintWanted) {
+            publishFootprint();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: works out the memory footprint of the graph, for other threads to read
+    private void publishFootprint() {
+        footprintWanted = false;
+        footprint = currentGraph.memoryFootprint();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: runs every command of the script until it ends or quits; a line that is not a valid command is
+    // reported with its line number and skipped. Returns the time every command run took, by command, in the
+    // order they first ran.
+    public Map<String, LatencyHistogram> runScript() {
+        Map<String, LatencyHistogram> timings = new LinkedHashMap<>();
+        while (stillRunning) {
+            long start = System.nanoTime();
+            String command = processCommand();
+            if (command != null) {
+                timings.computeIfAbsent(command, c -> new LatencyHistogram()).record(System.nanoTime() - start);
+            }
+            updateFootprint();
+        }
+        out.flush();
+        return timings;
+    }
+
+    // EFFECTS: returns the graph the commands are run on
+    public Graph getGraph() {
+        return currentGraph;
+    }
+
+    // EFFECTS: runs the script named by args[0], or piped in if there is no file named, writing what it does
+    // to standard output (unless "--quiet" is given) through a large buffer, then the time every kind of
+    // command took
+    public static void main(String[] args) throws IOException {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        boolean quiet = options.remove("--quiet");
+        if (options.size() > 1) {
+            System.out.println("usage: " + USAGE);
+            return;
+        }
+        PrintStream log = new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out),
+                OUTPUT_BUFFER_SIZE), false);
+        long start = System.nanoTime();
+        try (InputStream in = options.isEmpty() ? System.in : new FileInputStream(options.get(0))) {
+            GraphSimulatorTerminal terminal = new GraphSimulatorTerminal(in,
+                    quiet ? new PrintStream(OutputStream.nullOutputStream()) : log);
+            Map<String, LatencyHistogram> timings = terminal.runScript();
+            log.printf("ran the script in %d ms; the graph has %d vertices%n", (System.nanoTime() - start) / 1_000_000,
+                    terminal.getGraph().getVertices().size());
+            log.print(timingReport(timings));
+        }
+        log.flush();
+    }
+
+    // EFFECTS: returns a table of the number of runs and the latencies (in microseconds) of every command
+    public static String timingReport(Map<String, LatencyHistogram> timings) {
+        StringBuilder report = new StringBuilder(String.format("%-8s %10s %12s %10s %10s %10s %10s%n",
+                "command", "runs", "total ms", "mean us", "p50 us", "p99 us", "max us"));
+        for (Map.Entry<String, LatencyHistogram> timing : timings.entrySet()) {
+            LatencyHistogram latency = timing.getValue();
+            report.append(String.format("%-8s %10d %12.1f %10.1f %10.1f %10.1f %10.1f%n", timing.getKey(),
+                    latency.count(), latency.mean() * latency.count() / 1_000_000, latency.mean() / NANOS_PER_MICRO,
+                    latency.percentile(50) / NANOS_PER_MICRO, latency.percentile(99) / NANOS_PER_MICRO,
+                    latency.max() / NANOS_PER_MICRO));
+        }
+        return report.toString();
     }
 
     // EFFECTS: display available commands to the user
     private void displayOptions() {
-        System.out.println(" \"av LABEL\" to add a vertex to the graph, or");
-        System.out.println(" \"rv LABEL\" to remove a existing vertex from the graph, or");
-        System.out.println(" \"ae LABEL1 LABEL2\" to add an edge to the graph, or");
-        System.out.println(" \"re LABEL1 LABEL2\" to remove an existing edge from the graph, or");
-        System.out.println(" \"vv\" to view the list of labels of current vertices, or");
-        System.out.println(" \"ve\" to view the list of current edges, or");
-        System.out.println(" \"A\" to run available algorithms on the graph, or");
-        System.out.println(" \"R\" to reload the graph, or");
-        System.out.println(" \"S\" to save the graph, or");
-        System.out.println(" \"L\" to load a saved graph, or");
-        System.out.println(" \"Q\" to quit.");
-    }
-
-    // EFFECTS: process user input.
-    private void processCommand() {
-        String command = getInput.next();
-        if (command.length() == LIGHT_COMMAND_LENGTH) {
-            processLightCommand(command);
-        } else if (command.length() == HEAVY_COMMAND_LENGTH) {
-            processHeavyCommand(command);
-        } else {
-            System.out.println("Invalid command.");
+        out.println(" \"av LABEL\" to add a vertex to the graph, or");
+        out.println(" \"rv LABEL\" to remove a existing vertex from the graph, or");
+        out.println(" \"ae LABEL1 LABEL2\" to add an edge to the graph, or");
+        out.println(" \"re LABEL1 LABEL2\" to remove an existing edge from the graph, or");
+        out.println(" \"vv\" to view the list of labels of current vertices, or");
+        out.println(" \"ve\" to view the list of current edges, or");
+        out.println("   (after \"vv\" or \"ve\", add \"labels LOW HIGH\" or \"degree LOW HIGH\" to filter the list,");
+        out.println("   \"page NUMBER\", \"size SIZE\" or \"all\" to page it, or \"file NAME\" to save it)");
+        out.println(" \"A\" to run available algorithms on the graph, or");
+        out.println(" \"R\" to reload the graph, or");
+        out.println(" \"S\" to save the graph, or");
+        out.println(" \"L\" to load a saved graph, or");
+        out.println(" \"M\" to view or switch the runtime metrics, or");
+        out.println(" \"F\" to view the estimated memory footprint of the graph, or");
+        out.println(" \"Q\" to quit.");
+    }
+
+    // MODIFIES: this
+    // EFFECTS: process user input, and returns the command run, or null if there was none. If the input is
+    // not a valid command, outputs why (and where, in a script) and skips the rest of its line. Stops running
+    // at the end of the input.
+    private String processCommand() {
+        if (!getInput.hasNext()) {
+            stillRunning = false;
+            return null;
+        }
+        int line = getInput.getLine();
+        try {
+            String command = getInput.next();
+            if (command.length() == LIGHT_COMMAND_LENGTH) {
+                processLightCommand(command);
+            } else if (command.length() == HEAVY_COMMAND_LENGTH) {
+                processHeavyCommand(command);
+            } else {
+                throw new InputMismatchException(INVALID_COMMAND);
+            }
+            return command;
+        } catch (NoSuchElementException nse) {
+            out.println((scripted ? "Line " + line + ": " : "") + nse.getMessage());
+            getInput.skipLine();
+            return null;
         }
     }
 
@@ -90,14 +240,13 @@ public class GraphSimulatorTerminal {
                 tryEdge(getInput.nextInt(), getInput.nextInt(), REMOVE_ACTION);
                 break;
             case "vv":
-                listVertices();
+                list(false);
                 break;
             case "ve":
-                listEdges();
+                list(true);
                 break;
             default:
-                System.out.println("Invalid command.");
-                break;
+                throw new InputMismatchException(INVALID_COMMAND);
         }
     }
 
@@ -120,11 +269,26 @@ public class GraphSimulatorTerminal {
                 stillRunning = false;
                 break;
             default:
-                System.out.println("Invalid command.");
+                processStatsCommand(command);
                 break;
         }
     }
 
+    // EFFECTS: process the user inputs asking about the performance of the app
+    private void processStatsCommand(String command) {
+        switch (command) {
+            case "M":
+                showMetrics();
+                break;
+            case "F":
+                out.println("Estimated memory footprint of the graph:");
+                out.print(currentGraph.memoryFootprint());
+                break;
+            default:
+                throw new InputMismatchException(INVALID_COMMAND);
+        }
+    }
+
     // MODIFIES: this
     // EFFECTS: attempts to add/remove a vertex. Outputs the first exception's
     // message, if any.
@@ -132,13 +296,13 @@ public class GraphSimulatorTerminal {
         try {
             if (action == ADD_ACTION) {
                 currentGraph.addVertex(new Vertex(label));
-                System.out.println("Added a vertex with label " + Integer.toString(label) + ".");
+                out.println("Added a vertex with label " + Integer.toString(label) + ".");
             } else if (action == REMOVE_ACTION) {
                 currentGraph.removeVertex(label);
-                System.out.println("Removed a vertex with label " + Integer.toString(label) + ".");
+                out.println("Removed a vertex with label " + Integer.toString(label) + ".");
             }
         } catch (GraphException ge) {
-            System.out.println(ge.getMessage());
+            out.println(ge.getMessage());
         }
     }
 
@@ -151,57 +315,234 @@ public class GraphSimulatorTerminal {
                     + Integer.toString(label2) + ".";
             if (action == ADD_ACTION) {
                 currentGraph.addEdge(label1, label2);
-                System.out.println("Added an edge " + message);
+                out.println("Added an edge " + message);
             } else if (action == REMOVE_ACTION) {
                 if (currentGraph.removeEdge(label1, label2)) {
-                    System.out.println("Removed an edge " + message);
+                    out.println("Removed an edge " + message);
                 } else {
-                    System.out.println("The specified edge did not exist.");
+                    out.println("The specified edge did not exist.");
                 }
             }
 
         } catch (GraphException ge) {
-            System.out.println(ge.getMessage());
+            out.println(ge.getMessage());
+        }
+    }
+
+    // EFFECTS: list the vertices currently in the graph, or its edges if edges, as chosen by the options
+    // on the rest of the line (see readListingOptions()): a page of them, or all of them written to a file
+    // Any IOException occured is unexpected and shall be outputed along with the
+    // trace stack.
+    private void list(boolean edges) {
+        GraphListing listing = new GraphListing();
+        String file = readListingOptions(listing);
+        String what = edges ? "edges" : "vertices";
+        try {
+            if (file != null) {
+                try (Writer writer = Files.newBufferedWriter(Paths.get(file))) {
+                    write(listing, edges, writer);
+                }
+                out.println("Wrote " + listing.getMatches() + " " + what + " to " + file
+                        + (listing.numOfPages() > 1 ? ", page " + listing.getPage() + " of them." : "."));
+                return;
+            }
+            out.println(edges ? "The current graph has edges:" : "The current graph has vertices with labels:");
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out), OUTPUT_BUFFER_SIZE);
+            write(listing, edges, writer);
+            writer.flush();
+            out.println("Page " + listing.getPage() + " of " + listing.numOfPages() + " (" + listing.getMatches()
+                    + " " + what + ")" + (listing.getPage() < listing.numOfPages() ? "; add \"page "
+                    + (listing.getPage() + 1) + "\" to see the next one." : "."));
+        } catch (IOException ioe) {
+            out.println("Unexpected file error.");
+            ioe.printStackTrace();
+        }
+    }
+
+    // MODIFIES: listing, out
+    // EFFECTS: writes the vertices of the current graph, or its edges if edges, that listing chooses to out
+    private void write(GraphListing listing, boolean edges, Writer out) throws IOException {
+        if (edges) {
+            listing.writeEdges(currentGraph, out);
+        } else {
+            listing.writeVertices(currentGraph, out);
+        }
+    }
+
+    // MODIFIES: listing
+    // EFFECTS: reads the options on the rest of the line into listing, and returns the name of the file to
+    // list to, or null. The options are "labels LOW HIGH" and "degree LOW HIGH" (to list only the vertices,
+    // or the edges between the vertices, with labels and degrees in these ranges), "page NUMBER", "size SIZE"
+    // (of a page), "all" (on one page) and "file NAME". Files get all of the listing unless a page is chosen.
+    // Throws InputMismatchException if an option is not valid.
+    private String readListingOptions(GraphListing listing) {
+        String file = null;
+        boolean paged = false;
+        while (getInput.hasNextOnLine()) {
+            String option = getInput.next();
+            if (option.equals("labels") || option.equals("degree")) {
+                setRange(listing, option, getInput.nextInt(), getInput.nextInt());
+            } else if (option.equals("page") || option.equals("size")) {
+                setPage(listing, option, getInput.nextInt());
+                paged = true;
+            } else if (option.equals("all")) {
+                listing.setAll();
+                paged = true;
+            } else if (option.equals("file")) {
+                file = getInput.next();
+            } else {
+                throw new InputMismatchException("Invalid listing option.");
+            }
+        }
+        if (file != null && !paged) {
+            listing.setAll();
+        }
+        return file;
+    }
+
+    // MODIFIES: listing
+    // EFFECTS: lists only the vertices with labels (if option is "labels") or degrees from low to high
+    private void setRange(GraphListing listing, String option, int low, int high) {
+        if (option.equals("labels")) {
+            listing.setLabels(low, high);
+        } else {
+            listing.setDegrees(low, high);
         }
     }
 
-    // EFFECTS: list labels of vertices currently in the graph
-    private void listVertices() {
-        System.out.println("The current graph has vertices with labels:");
-        List<Vertex> vertices = currentGraph.getVertices();
-        for (Vertex v : vertices) {
-            System.out.print(Integer.toString(v.getLabel()) + " ");
+    // MODIFIES: listing
+    // EFFECTS: lists only the page with this number (if option is "page"), or puts this many entries on every
+    // page; throws InputMismatchException if number is not positive
+    private void setPage(GraphListing listing, String option, int number) {
+        if (number < 1) {
+            throw new InputMismatchException("Invalid page.");
         }
-        System.out.println("");
-    }
-
-    // EFFECTS: list labels of edges currently in the graph
-    private void listEdges() {
-        System.out.println("The current graph has edges:");
-        List<Edge> edges = currentGraph.getEdges();
-        for (Edge e : edges) {
-            System.out.print("From vertex with label ");
-            System.out.print(Integer.toString(e.getFirstVertex().getLabel()) + " ");
-            System.out.print("to vertex with label ");
-            System.out.println(Integer.toString(e.getSecondVertex().getLabel()) + ".");
+        if (option.equals("page")) {
+            listing.setPage(number);
+        } else {
+            listing.setPageSize(number);
         }
     }
 
     // EFFECTS: presents a list of algorithms that can be run on the current graph.
     // Run the one chosen by the user.
     private void runAlgorithms() {
-        System.out.println("Currently no algorithms are available.");
+        prompt("Type the corresponding index number to run an algorithm; type ANY other number to abort:",
+                "1: PageRank",
+                "2: Degree distribution",
+                "3: Approximate betweenness centrality",
+                "4: Triangles and clustering coefficients",
+                "5: Greedy vertex colouring");
+        runAlgorithm(getInput.nextInt());
+    }
+
+    // EFFECTS: prints lines, which tell the user what to type next, unless a script is being run
+    private void prompt(String... lines) {
+        if (!scripted) {
+            for (String line : lines) {
+                out.println(line);
+            }
+        }
+    }
+
+    // EFFECTS: runs the algorithm with the given index number in the list of runAlgorithms()
+    private void runAlgorithm(int index) {
+        switch (index) {
+            case 1:
+                printTopScores("PageRank", results.get(currentGraph, "PageRank",
+                        () -> new PageRank().scoresByLabel(currentGraph)));
+                break;
+            case 2:
+                printDegreeDistribution();
+                break;
+            case 3:
+                printTopScores("Approximate betweenness", results.get(currentGraph, "Betweenness",
+                        () -> new Centrality(currentGraph).betweennessByLabel(BETWEENNESS_SAMPLES, 0),
+                        BETWEENNESS_SAMPLES, 0));
+                break;
+            case 4:
+                printClustering();
+                break;
+            case 5:
+                printColouring();
+                break;
+            default:
+                out.println("Operation aborted.");
+                break;
+        }
+    }
+
+    // EFFECTS: print the TOP_RESULTS labels with the highest scores, highest first
+    private void printTopScores(String name, Map<Integer, Double> scores) {
+        out.println(name + " of the " + Math.min(TOP_RESULTS, scores.size()) + " highest-ranked vertices:");
+        scores.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed())
+                .limit(TOP_RESULTS)
+                .forEach(e -> out.println("Vertex with label " + e.getKey() + ": " + e.getValue()));
+    }
+
+    // EFFECTS: print the number of triangles, the global and average clustering coefficients, and the
+    // vertices with the highest local clustering coefficients
+    private void printClustering() {
+        Triangles triangles = results.get(currentGraph, "Triangles", () -> new Triangles(currentGraph));
+        out.println("Number of triangles: " + triangles.numOfTriangles());
+        out.println("Global clustering coefficient: " + triangles.globalClustering());
+        out.println("Average clustering coefficient: " + triangles.averageClustering());
+        printTopScores("Local clustering coefficient", triangles.localClusteringByLabel());
+    }
+
+    // EFFECTS: print the number of colours of a smallest-last greedy colouring, and the labels of every
+    // colour class
+    private void printColouring() {
+        Map<Integer, Integer> colours = results.get(currentGraph, "Smallest-last",
+                () -> Colouring.smallestLastByLabel(currentGraph));
+        int numOfColours = Colouring.numOfColours(colours);
+        List<StringBuilder> classes = new ArrayList<>();
+        for (int c = 0; c < numOfColours; c++) {
+            classes.add(new StringBuilder("Colour " + c + ":"));
+        }
+        new TreeMap<>(colours).forEach((label, colour) -> classes.get(colour).append(" ").append(label));
+        out.println("The graph was coloured with " + numOfColours + " colours:");
+        classes.forEach(out::println);
+    }
+
+    // EFFECTS: print how many vertices have each degree
+    private void printDegreeDistribution() {
+        int[] distribution = results.get(currentGraph, "Degree distribution",
+                () -> new Centrality(currentGraph).degreeDistribution());
+        out.println("Degree distribution:");
+        for (int d = 0; d < distribution.length; d++) {
+            if (distribution[d] > 0) {
+                out.println("Degree " + d + ": " + distribution[d] + " vertices");
+            }
+        }
+    }
+
+    // MODIFIES: Metrics
+    // EFFECTS: print the metrics recorded so far, then switch recording on or off if the user types "on" or
+    // "off"
+    private void showMetrics() {
+        Metrics metrics = Metrics.getInstance();
+        publishFootprint();
+        out.println("Runtime metrics are " + (metrics.isEnabled() ? "on." : "off."));
+        out.print(metrics.getReport());
+        prompt("Type \"on\" or \"off\" to switch recording; type anything else to leave it as it is:");
+        String answer = getInput.next();
+        if (answer.equals("on") || answer.equals("off")) {
+            metrics.setEnabled(answer.equals("on"));
+            out.println("Runtime metrics are now " + answer + ".");
+        }
     }
 
     // MODIFIES: this
     // EFFECTS: reloadGraph() only if the user types "YOLO".
     private void tryReloadGraph() {
-        System.out.println("This action is irreversible. If you really intends to do this, type \"YOLO\" below:");
+        prompt("This action is irreversible. If you really intends to do this, type \"YOLO\" below:");
         if (getInput.next().equals("YOLO")) {
             reloadGraph();
-            System.out.println("Operation succeded.");
+            out.println("Operation succeded.");
         } else {
-            System.out.println("Operation aborted.");
+            out.println("Operation aborted.");
         }
     }
 
@@ -226,7 +567,7 @@ public class GraphSimulatorTerminal {
             graphWriter.write(currentGraph);
             graphWriter.close();
         } catch (IOException ioe) {
-            System.out.println("Unexpected file error.");
+            out.println("Unexpected file error.");
             ioe.printStackTrace();
         }
     }
@@ -240,31 +581,48 @@ public class GraphSimulatorTerminal {
     // trace stack.
     public void loadGraph() {
         List<String> fileList = getSavedGraphFiles();
-        System.out.println(Integer.toString(fileList.size()) + " save files found.");
+        prompt(Integer.toString(fileList.size()) + " save files found.");
 
         if (fileList != null && fileList.size() > 0) {
             try {
-                System.out.println("Type the corresponding index number (1 - " + Integer.toString(fileList.size())
+                prompt("Type the corresponding index number (1 - " + Integer.toString(fileList.size())
                         + ") to load them; type ANY other number to abort the operation:");
-                for (int i = 1; i <= fileList.size(); i++) {
-                    System.out.println(Integer.toString(i) + ": " + fileList.get(i - 1));
+                for (int i = 1; i <= fileList.size() && !scripted; i++) {
+                    out.println(Integer.toString(i) + ": " + fileList.get(i - 1) + summary(fileList.get(i - 1)));
                 }
 
                 int index = getInput.nextInt();
                 if (1 <= index && index <= fileList.size()) {
                     currentGraph = new Graph(new File("./data/" + fileList.get(index - 1)));
-                    System.out.println("Loaded graph saved in file " + fileList.get(index - 1) + ".");
+                    out.println("Loaded graph saved in file " + fileList.get(index - 1) + ".");
                 } else {
-                    System.out.println("Operation aborted.");
+                    out.println("Operation aborted.");
                 }
 
             } catch (IOException ioe) {
-                System.out.println("Unexpected file error. The file may have been corrupted or deleted.");
+                out.println("Unexpected file error. The file may have been corrupted or deleted.");
                 ioe.printStackTrace();
             }
         }
     }
 
+    // EFFECTS: keeps the catalog of the saves in SAVE_DIR up to date in the background, so that they can be
+    // listed with what they hold; does nothing if there is no such directory
+    private void watchCatalog() {
+        try {
+            new CatalogWatcher(GraphCatalog.of(new File(SAVE_DIR))).start();
+        } catch (IOException ioe) {
+            // the saves are then listed with what is known of them already
+        }
+    }
+
+    // EFFECTS: returns what the catalog of SAVE_DIR knows of the save with this name, in parentheses, or ""
+    // if it has not read the save yet
+    private String summary(String name) {
+        CatalogEntry entry = GraphCatalog.of(new File(SAVE_DIR)).get(new File(SAVE_DIR, name));
+        return entry == null ? "" : " (" + entry.describe() + ")";
+    }
+
     // EFFECTS: get a list of saved graph files (i.e. those ending in ".gssf")
     // Doesn't check for corruption signs, which is the responsibility of functions
     // calling this.
@@ -280,7 +638,7 @@ public class GraphSimulatorTerminal {
             fileList.removeIf(s -> !s.contains("graph"));
             return fileList;
         } catch (IOException ioe) {
-            System.out.println("Unexpected file error.");
+            out.println("Unexpected file error.");
             ioe.printStackTrace();
         }
         return null;
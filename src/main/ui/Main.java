@@ -1,7 +1,27 @@
 package ui;
 
+import java.io.IOException;
+import java.util.Arrays;
+
+import model.generator.GraphGenerator;
+import model.metrics.Metrics;
+import persistence.GraphImporter;
+
 public class Main {
-    public static void main(String[] args) {
-        new GraphSimulator();
+    public static void main(String[] args) throws IOException {
+        Metrics.register();
+        if (args.length > 0 && args[0].equals("export")) {
+            GraphExporter.main(Arrays.copyOfRange(args, 1, args.length));
+        } else if (args.length > 0 && args[0].equals("generate")) {
+            GraphGenerator.main(Arrays.copyOfRange(args, 1, args.length));
+        } else if (args.length > 0 && args[0].equals("import")) {
+            GraphImporter.main(Arrays.copyOfRange(args, 1, args.length));
+        } else if (args.length > 0 && args[0].equals("script")) {
+            GraphSimulatorTerminal.main(Arrays.copyOfRange(args, 1, args.length));
+        } else if (args.length > 0 && args[0].equals("terminal")) {
+            new GraphSimulatorTerminal();
+        } else {
+            new GraphSimulator();
+        }
     }
 }
@@ -0,0 +1,169 @@
+package ui;
+
+import java.awt.*;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+// Rolling statistics of the frames GraphPanel paints, and the overlay that shows them: paint time per
+// frame and hit-test latency (p50 and p99 over the last WINDOW of each), how many vertices and edges the
+// last frame drew and culled one by one, how many edge tiles it drew instead, heap use and garbage
+// collections. Recording only writes into arrays
+// allocated up front, and the overlay is formatted into a reused buffer, so that showing the numbers does
+// not make the garbage whose collections it reports.
+public class RenderStats {
+    private static final int WINDOW = 256;
+    private static final int LINES = 4;
+    private static final int LINE_HEIGHT = 15;
+    private static final int MARGIN = 5;
+    private static final int WIDTH = 420;
+    private static final Color BACKGROUND = new Color(255, 255, 255, 200);
+    private static final long NANOS_PER_MICRO = 1000;
+    private static final long NANOS_PER_MILLI = 1000_000;
+    private static final long BYTES_PER_MB = 1 << 20;
+
+    private final long[] frameNanos = new long[WINDOW]; // ring buffers of the latest recordings
+    private final long[] hitNanos = new long[WINDOW];
+    private final long[] sorted = new long[WINDOW];
+    private long numOfFrames;
+    private long numOfHits;
+    private int drawnVertices;
+    private int culledVertices;
+    private int drawnEdges;
+    private int culledEdges;
+    private int drawnTiles;
+    private final GarbageCollectorMXBean[] collectors;
+    private final StringBuilder line = new StringBuilder(WIDTH);
+    private char[] chars = new char[WIDTH];
+
+    // EFFECTS: creates statistics of no frames
+    public RenderStats() {
+        collectors = ManagementFactory.getGarbageCollectorMXBeans().toArray(new GarbageCollectorMXBean[0]);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records a frame that took the given number of nanoseconds to paint, which drew and culled
+    // the given numbers of vertices and edges one by one, and drew the other edges as drawnTiles tiles of
+    // an EdgeTilePyramid
+    public void frameDrawn(long nanos, int drawnVertices, int culledVertices, int drawnEdges, int culledEdges,
+            int drawnTiles) {
+        frameNanos[(int) (numOfFrames++ % WINDOW)] = nanos;
+        this.drawnVertices = drawnVertices;
+        this.culledVertices = culledVertices;
+        this.drawnEdges = drawnEdges;
+        this.culledEdges = culledEdges;
+        this.drawnTiles = drawnTiles;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records a hit test that took the given number of nanoseconds
+    public void hitTested(long nanos) {
+        hitNanos[(int) (numOfHits++ % WINDOW)] = nanos;
+    }
+
+    // REQUIRES: 0 < percentile <= 100
+    // EFFECTS: returns the paint time per frame, in nanoseconds, that the given percentage of the last
+    // WINDOW frames did not exceed, or 0 if there were none
+    public long framePercentile(double percentile) {
+        return percentile(frameNanos, numOfFrames, percentile);
+    }
+
+    // REQUIRES: 0 < percentile <= 100
+    // EFFECTS: returns the latency, in nanoseconds, that the given percentage of the last WINDOW hit tests
+    // did not exceed, or 0 if there were none
+    public long hitPercentile(double percentile) {
+        return percentile(hitNanos, numOfHits, percentile);
+    }
+
+    // EFFECTS: returns the given percentile of the last min(count, WINDOW) values of ring, sorting a copy
+    // of them in the scratch array
+    private long percentile(long[] ring, long count, double percentile) {
+        int n = (int) Math.min(count, WINDOW);
+        if (n == 0) {
+            return 0;
+        }
+        System.arraycopy(ring, 0, sorted, 0, n);
+        Arrays.sort(sorted, 0, n);
+        return sorted[(int) Math.ceil(percentile / 100 * n) - 1];
+    }
+
+    // MODIFIES: g
+    // EFFECTS: draws the overlay with its top-left corner at (x, y)
+    public void draw(Graphics g, int x, int y) {
+        Color initialColor = g.getColor();
+        g.setColor(BACKGROUND);
+        g.fillRect(x, y, WIDTH, LINES * LINE_HEIGHT + MARGIN);
+        g.setColor(Color.black);
+        for (int i = 0; i < LINES; i++) {
+            line.setLength(0);
+            appendLine(i);
+            drawLine(g, x, y + (i + 1) * LINE_HEIGHT);
+        }
+        g.setColor(initialColor);
+    }
+
+    // EFFECTS: returns the text of the overlay, one line to a line
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < LINES; i++) {
+            line.setLength(0);
+            appendLine(i);
+            text.append(line).append('\n');
+        }
+        return text.toString();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends the line of the overlay with the given index, from 0, to the line
+    private void appendLine(int index) {
+        if (index == 0) {
+            line.append("Frame: p50 ");
+            appendTenths(framePercentile(50), NANOS_PER_MILLI).append(" ms, p99 ");
+            appendTenths(framePercentile(99), NANOS_PER_MILLI).append(" ms over ")
+                    .append(Math.min(numOfFrames, WINDOW)).append(" frames");
+        } else if (index == 1) {
+            line.append("Vertices: ").append(drawnVertices).append(" drawn, ").append(culledVertices)
+                    .append(" culled    Edges: ").append(drawnEdges).append(" drawn, ").append(culledEdges)
+                    .append(" culled, ").append(drawnTiles).append(" tiles");
+        } else if (index == 2) {
+            line.append("Hit test: p50 ");
+            appendTenths(hitPercentile(50), NANOS_PER_MICRO).append(" us, p99 ");
+            appendTenths(hitPercentile(99), NANOS_PER_MICRO).append(" us");
+        } else {
+            appendMemory();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends the heap in use, the heap available and the collections so far to the line
+    private void appendMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        long collections = 0;
+        long collectionMillis = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            collections += Math.max(0, collector.getCollectionCount());
+            collectionMillis += Math.max(0, collector.getCollectionTime());
+        }
+        line.append("Heap: ").append((runtime.totalMemory() - runtime.freeMemory()) / BYTES_PER_MB).append(" of ")
+                .append(runtime.maxMemory() / BYTES_PER_MB).append(" MB    GC: ").append(collections)
+                .append(" collections, ").append(collectionMillis).append(" ms paused");
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends nanos in units of unit nanoseconds, with one decimal, to the line, and returns the line
+    private StringBuilder appendTenths(long nanos, long unit) {
+        long tenths = (nanos + unit / 20) / (unit / 10);
+        return line.append(tenths / 10).append('.').append(tenths % 10);
+    }
+
+    // MODIFIES: g, this
+    // EFFECTS: draws the line with its baseline at (x + MARGIN, y)
+    private void drawLine(Graphics g, int x, int y) {
+        if (chars.length < line.length()) {
+            chars = new char[line.length()];
+        }
+        line.getChars(0, line.length(), chars, 0);
+        g.drawChars(chars, 0, line.length(), x + MARGIN, y);
+    }
+}
@@ -0,0 +1,131 @@
+package ui;
+
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.MouseEvent;
+import java.util.function.Consumer;
+
+import javax.swing.JComponent;
+import javax.swing.Timer;
+
+// Paces drag handling and repaints of a component to the refresh rate of the display. Drag events are
+// coalesced: only the latest one to arrive within a frame is handled, at the start of the next frame.
+// Repaint requests made during a frame are merged into one repaint of the union of their areas. The
+// timer only runs while there is work to do, so an idle component costs nothing; while it runs, frames
+// it fires too late for (because the event dispatch thread was busy) are counted as skipped.
+public class RepaintScheduler implements ActionListener {
+    private static final int DEFAULT_REFRESH_RATE = 60;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final JComponent component;
+    private final Consumer<MouseEvent> dragHandler;
+    private final Timer timer;
+    private final long frameNanos;
+    private MouseEvent pendingDrag;
+    private Rectangle dirty; // area to repaint at the next frame, or null
+    private long lastFrame; // System.nanoTime() of the last frame, or 0 if the timer was idle
+    private long framesPainted;
+    private long framesSkipped;
+    private long dragsCoalesced;
+
+    // EFFECTS: creates a scheduler repainting component, which handles drags with dragHandler
+    public RepaintScheduler(JComponent component, Consumer<MouseEvent> dragHandler) {
+        this.component = component;
+        this.dragHandler = dragHandler;
+        int rate = refreshRate();
+        frameNanos = NANOS_PER_SECOND / rate;
+        timer = new Timer(1000 / rate, this);
+        timer.setInitialDelay(0);
+    }
+
+    // EFFECTS: returns the refresh rate of the default screen, or DEFAULT_REFRESH_RATE if it is unknown
+    private static int refreshRate() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return DEFAULT_REFRESH_RATE;
+        }
+        int rate = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                .getDisplayMode().getRefreshRate();
+        return rate == DisplayMode.REFRESH_RATE_UNKNOWN ? DEFAULT_REFRESH_RATE : rate;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: queues a drag event to be handled at the next frame, replacing any still waiting
+    public void submitDrag(MouseEvent e) {
+        if (pendingDrag != null) {
+            dragsCoalesced++;
+        }
+        pendingDrag = e;
+        wake();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: handles the waiting drag event now, if any (e.g. before the mouse release that ends it)
+    public void flushDrag() {
+        if (pendingDrag != null) {
+            MouseEvent e = pendingDrag;
+            pendingDrag = null;
+            dragHandler.accept(e);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: repaints area at the next frame
+    public void requestRepaint(Rectangle area) {
+        if (dirty == null) {
+            dirty = new Rectangle(area);
+        } else {
+            dirty.add(area);
+        }
+        wake();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: repaints the whole component at the next frame
+    public void requestRepaint() {
+        requestRepaint(new Rectangle(0, 0, component.getWidth(), component.getHeight()));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts the timer if it is idle
+    private void wake() {
+        if (!timer.isRunning()) {
+            lastFrame = 0;
+            timer.start();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: runs one frame: handles the latest drag event, then repaints the area requested; stops
+    // the timer if there was nothing to do
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        long now = System.nanoTime();
+        if (lastFrame != 0) {
+            framesSkipped += Math.max(0, (now - lastFrame - frameNanos / 2) / frameNanos);
+        }
+        lastFrame = now;
+        if (pendingDrag == null && dirty == null) {
+            timer.stop();
+            return;
+        }
+        flushDrag();
+        if (dirty != null) {
+            component.repaint(dirty);
+            dirty = null;
+            framesPainted++;
+        }
+    }
+
+    public long getFramesPainted() {
+        return framesPainted;
+    }
+
+    public long getFramesSkipped() {
+        return framesSkipped;
+    }
+
+    public long getDragsCoalesced() {
+        return dragsCoalesced;
+    }
+}
@@ -0,0 +1,109 @@
+package ui;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+import model.Vertex;
+
+// Pre-rendered images of vertex circles (one per fill color) and of the ten label digits, at one zoom
+// level, font and text color. Drawing a Vertex is then a handful of image copies in device space instead
+// of an outlined oval, a filled oval and a string laid out from scratch. Labels are drawn digit by
+// digit, so the cache stays small however many distinct labels there are.
+public class SpriteCache {
+    private static final int DISC_EXTENT = Vertex.RADIUS / 2 + 1; // the outline reaches one pixel further
+
+    private final double scale;
+    private final Font font;
+    private final Color foreground;
+    private final Map<Color, BufferedImage> discs = new HashMap<>();
+    private final BufferedImage[] digits = new BufferedImage[10];
+    private final double[] advance = new double[10]; // device pixels from one digit to the next
+    private final int ascent;
+    private final int discOffset; // device pixels from the top-left corner of a disc to its centre
+    private final int[] scratch = new int[10]; // digits of the label being drawn, last one first
+
+    // EFFECTS: creates an empty cache for drawing at the given scale from Graph to device pixels, with
+    // labels in font and foreground
+    public SpriteCache(double scale, Font font, Color foreground) {
+        this.scale = scale;
+        this.font = font;
+        this.foreground = foreground;
+        discOffset = (int) Math.ceil(DISC_EXTENT * scale);
+        Graphics2D g = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        g.scale(scale, scale);
+        FontMetrics metrics = g.getFontMetrics(font);
+        ascent = (int) Math.ceil(metrics.getAscent() * scale);
+        for (int d = 0; d < 10; d++) {
+            advance[d] = metrics.charWidth('0' + d) * scale;
+            digits[d] = renderDigit(d, metrics);
+        }
+        g.dispose();
+    }
+
+    // EFFECTS: returns true if this cache draws at the given scale, font and foreground
+    public boolean matches(double scale, Font font, Color foreground) {
+        return this.scale == scale && this.font.equals(font) && this.foreground.equals(foreground);
+    }
+
+    // EFFECTS: returns an empty image of the given size. Sprites are drawn without antialiasing, so every
+    // pixel is either opaque or transparent; on a screen, a compatible image with bitmask transparency
+    // lets Java2D keep repeatedly drawn sprites in video memory.
+    private static BufferedImage newSprite(int width, int height) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                .getDefaultConfiguration().createCompatibleImage(width, height, Transparency.BITMASK);
+    }
+
+    // EFFECTS: returns an image of digit d, with its baseline ascent pixels below the top
+    private BufferedImage renderDigit(int d, FontMetrics metrics) {
+        int width = (int) Math.ceil(advance[d]) + 1;
+        int height = ascent + (int) Math.ceil(metrics.getDescent() * scale) + 1;
+        BufferedImage image = newSprite(width, height);
+        Graphics2D g = image.createGraphics();
+        g.setColor(foreground);
+        g.translate(0, ascent);
+        g.scale(scale, scale);
+        g.setFont(font);
+        g.drawString(Character.toString('0' + d), 0, 0);
+        g.dispose();
+        return image;
+    }
+
+    // EFFECTS: returns an image of a vertex circle filled with fill, centred discOffset pixels from the
+    // top and left
+    private BufferedImage renderDisc(Color fill) {
+        BufferedImage image = newSprite(2 * discOffset + 1, 2 * discOffset + 1);
+        Graphics2D g = image.createGraphics();
+        g.setColor(foreground);
+        g.translate(discOffset, discOffset);
+        g.scale(scale, scale);
+        Vertex.drawDisc(g, 0, 0, fill);
+        g.dispose();
+        return image;
+    }
+
+    // REQUIRES: label >= 0, g draws in device pixels
+    // MODIFIES: g, this
+    // EFFECTS: draws a vertex circle filled with fill and labelled with label, centred at device pixel
+    // (x, y)
+    public void drawVertex(Graphics g, int label, Color fill, double x, double y) {
+        int left = (int) Math.round(x);
+        int top = (int) Math.round(y);
+        g.drawImage(discs.computeIfAbsent(fill, this::renderDisc), left - discOffset, top - discOffset, null);
+        int length = 0;
+        do {
+            scratch[length++] = label % 10;
+            label /= 10;
+        } while (label > 0);
+        double cursor = x + Vertex.LABEL_OFFSET_X * scale;
+        int baseline = (int) Math.round(y + Vertex.LABEL_OFFSET_Y * scale) - ascent;
+        for (int i = length - 1; i >= 0; i--) {
+            g.drawImage(digits[scratch[i]], (int) Math.round(cursor), baseline, null);
+            cursor += advance[scratch[i]];
+        }
+    }
+}
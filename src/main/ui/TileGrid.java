@@ -0,0 +1,116 @@
+package ui;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// Spatial index of an area cut into square tiles: for every tile, the items (numbered 0..n-1) that
+// overlap it, in increasing order. Items are stored tile by tile in one array, in the style of
+// CsrSnapshot, so the index costs two arrays however many tiles there are. An item overlapping
+// several tiles is listed under each of them.
+public class TileGrid {
+    private final int tileSize;
+    private final int columns;
+    private final int rows;
+    private final int[] offsets; // items of tile t are items[offsets[t]] .. items[offsets[t + 1] - 1]
+    private int[] items;
+
+    // REQUIRES: tileSize > 0, columns > 0, rows > 0, boxes.length is a multiple of 4
+    // EFFECTS: indexes the items whose boxes are given in boxes, four entries per item (left, top, right,
+    // bottom) in the same units as tileSize, on a grid of columns x rows tiles with its corner at (0, 0).
+    // Items lying entirely outside the grid are left out.
+    public TileGrid(int tileSize, int columns, int rows, double[] boxes) {
+        this(tileSize, columns, rows);
+        build(boxes.length / 4, (i, tile) -> visitBox(boxes[4 * i], boxes[4 * i + 1], boxes[4 * i + 2],
+                boxes[4 * i + 3], tile));
+    }
+
+    // EFFECTS: creates an empty grid of columns x rows tiles
+    private TileGrid(int tileSize, int columns, int rows) {
+        this.tileSize = tileSize;
+        this.columns = columns;
+        this.rows = rows;
+        offsets = new int[columns * rows + 1];
+    }
+
+    // REQUIRES: tileSize > 0, columns > 0, rows > 0, ends.length is a multiple of 4, margin >= 0
+    // EFFECTS: returns an index of the line segments given in ends, four entries per segment (x and y of
+    // both ends) in the same units as tileSize, each listed under the tiles it passes within margin of.
+    // For long diagonal segments these are far fewer than the tiles their bounding boxes overlap.
+    public static TileGrid ofSegments(int tileSize, int columns, int rows, float[] ends, double margin) {
+        TileGrid grid = new TileGrid(tileSize, columns, rows);
+        grid.build(ends.length / 4, (i, tile) -> grid.visitSegment(ends[4 * i], ends[4 * i + 1], ends[4 * i + 2],
+                ends[4 * i + 3], margin, tile));
+        return grid;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: lists the n items under the tiles cells reports for them: counts them all first, then
+    // stores them
+    private void build(int n, Cells cells) {
+        for (int i = 0; i < n; i++) {
+            cells.forEach(i, t -> offsets[t + 1]++);
+        }
+        for (int t = 0; t < columns * rows; t++) {
+            offsets[t + 1] += offsets[t];
+        }
+        items = new int[offsets[columns * rows]];
+        int[] next = Arrays.copyOf(offsets, offsets.length - 1);
+        for (int i = 0; i < n; i++) {
+            int item = i;
+            cells.forEach(i, t -> items[next[t]++] = item);
+        }
+    }
+
+    // EFFECTS: reports every tile overlapped by the box from (left, top) to (right, bottom)
+    private void visitBox(double left, double top, double right, double bottom, IntConsumer tile) {
+        int firstColumn = Math.max(0, (int) Math.floor(left / tileSize));
+        int lastColumn = Math.min(columns - 1, (int) Math.floor(right / tileSize));
+        int firstRow = Math.max(0, (int) Math.floor(top / tileSize));
+        int lastRow = Math.min(rows - 1, (int) Math.floor(bottom / tileSize));
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                tile.accept(row * columns + column);
+            }
+        }
+    }
+
+    // EFFECTS: reports every tile within margin of the segment from (x1, y1) to (x2, y2): column by
+    // column, the rows between the heights of the segment where it enters and leaves the column
+    private void visitSegment(double x1, double y1, double x2, double y2, double margin, IntConsumer tile) {
+        if (x1 > x2) {
+            visitSegment(x2, y2, x1, y1, margin, tile);
+            return;
+        }
+        double slope = x1 == x2 ? 0 : (y2 - y1) / (x2 - x1);
+        int firstColumn = Math.max(0, (int) Math.floor((x1 - margin) / tileSize));
+        int lastColumn = Math.min(columns - 1, (int) Math.floor((x2 + margin) / tileSize));
+        for (int column = firstColumn; column <= lastColumn; column++) {
+            double enterY = y1 + (Math.min(x2, Math.max(x1, column * tileSize - margin)) - x1) * slope;
+            double leaveY = x1 == x2 ? y2 : y1 + (Math.min(x2, Math.max(x1, (column + 1) * tileSize + margin)) - x1)
+                    * slope;
+            visitBox(column * tileSize, Math.min(enterY, leaveY) - margin, column * tileSize,
+                    Math.max(enterY, leaveY) + margin, tile);
+        }
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    // REQUIRES: 0 <= column < getColumns(), 0 <= row < getRows()
+    // EFFECTS: returns the items overlapping the given tile, in increasing order
+    public int[] itemsIn(int column, int row) {
+        int t = row * columns + column;
+        return Arrays.copyOfRange(items, offsets[t], offsets[t + 1]);
+    }
+
+    // The tiles an item overlaps.
+    private interface Cells {
+        // EFFECTS: reports to tile the number of every tile item overlaps
+        void forEach(int item, IntConsumer tile);
+    }
+}
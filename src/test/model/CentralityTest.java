@@ -0,0 +1,71 @@
+package test.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.Graph;
+import model.algorithm.Centrality;
+import model.algorithm.CsrSnapshot;
+import model.algorithm.PageRank;
+import model.exception.GraphException;
+
+public class CentralityTest {
+    private static final double DELTA = 1e-9;
+    private Graph g;
+
+    // EFFECTS: creates a star with centre 1 and leaves 2..5, plus an isolated vertex 6
+    @BeforeEach
+    public void createGraph() {
+        g = new Graph();
+        try {
+            for (int i = 1; i <= 6; i++) {
+                g.addVertex(i);
+            }
+            for (int i = 2; i <= 5; i++) {
+                g.addEdge(1, i);
+            }
+        } catch (GraphException ge) {
+            fail("should not reach this point");
+        }
+    }
+
+    @Test
+    public void testSnapshot() {
+        CsrSnapshot snapshot = new CsrSnapshot(g);
+        assertEquals(snapshot.numOfVertices(), 6);
+        assertEquals(snapshot.numOfEntries(), 8);
+        assertEquals(snapshot.degree(0), 4);
+        assertEquals(snapshot.degree(5), 0);
+        assertEquals(snapshot.label(3), 4);
+    }
+
+    @Test
+    public void testPageRank() {
+        Map<Integer, Double> scores = new PageRank().scoresByLabel(g);
+        double total = scores.values().stream().mapToDouble(Double::doubleValue).sum();
+        assertEquals(total, 1, 1e-6);
+        assertTrue(scores.get(1) > scores.get(2));
+        assertEquals(scores.get(2), scores.get(5), DELTA);
+        assertTrue(scores.get(6) < scores.get(2));
+    }
+
+    @Test
+    public void testDegrees() {
+        Centrality centrality = new Centrality(g);
+        assertArrayEquals(centrality.degreeDistribution(), new int[] {1, 4, 0, 0, 1});
+        assertEquals(centrality.degreesByLabel().get(1), 4, DELTA);
+    }
+
+    @Test
+    public void testBetweenness() {
+        // with every vertex sampled the estimate is exact: the centre lies on all C(4, 2) leaf pairs
+        Map<Integer, Double> exact = new Centrality(g).betweennessByLabel(100, 1);
+        assertEquals(exact.get(1), 6, DELTA);
+        assertEquals(exact.get(2), 0, DELTA);
+        assertEquals(exact.get(6), 0, DELTA);
+    }
+}
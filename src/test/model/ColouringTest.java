@@ -0,0 +1,78 @@
+package test.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import model.Graph;
+import model.algorithm.Colouring;
+import model.algorithm.CsrSnapshot;
+import model.exception.GraphException;
+
+public class ColouringTest {
+
+    // EFFECTS: returns a graph with n vertices and m random edges (self-loops and parallel edges allowed)
+    private CsrSnapshot randomGraph(int n, int m, long seed) {
+        Random random = new Random(seed);
+        int[] firstEnd = new int[m];
+        int[] secondEnd = new int[m];
+        for (int i = 0; i < m; i++) {
+            firstEnd[i] = random.nextInt(n);
+            secondEnd[i] = random.nextInt(n);
+        }
+        return CsrSnapshot.fromEdgeList(n, firstEnd, secondEnd);
+    }
+
+    // EFFECTS: fails unless no two adjacent distinct vertices share a colour
+    private void assertProper(CsrSnapshot g, int[] colours) {
+        for (int v = 0; v < g.numOfVertices(); v++) {
+            assertTrue(colours[v] >= 0);
+            for (int k = g.offsets()[v]; k < g.offsets()[v + 1]; k++) {
+                int w = g.targets()[k];
+                assertTrue(w == v || colours[v] != colours[w]);
+            }
+        }
+    }
+
+    @Test
+    public void testProperOnRandomGraphs() {
+        for (int seed = 0; seed < 5; seed++) {
+            CsrSnapshot g = randomGraph(500, 3000, seed);
+            assertProper(g, Colouring.smallestLast(g));
+            assertProper(g, Colouring.jonesPlassmann(g, seed));
+        }
+    }
+
+    @Test
+    public void testSmallestLastOnTreeAndClique() {
+        CsrSnapshot path = CsrSnapshot.fromEdgeList(4, new int[] {0, 1, 2}, new int[] {1, 2, 3});
+        assertEquals(Colouring.numOfColours(Colouring.smallestLast(path)), 2);
+
+        CsrSnapshot clique = CsrSnapshot.fromEdgeList(4, new int[] {0, 0, 0, 1, 1, 2}, new int[] {1, 2, 3, 2, 3, 3});
+        assertEquals(Colouring.numOfColours(Colouring.smallestLast(clique)), 4);
+        assertEquals(Colouring.numOfColours(Colouring.jonesPlassmann(clique, 1)), 4);
+    }
+
+    @Test
+    public void testByLabel() {
+        Graph g = new Graph();
+        try {
+            g.addVertex(2);
+            g.addVertex(5);
+            g.addVertex(Integer.MAX_VALUE);
+            g.addEdge(2, 5);
+            g.addEdge(5, Integer.MAX_VALUE);
+        } catch (GraphException ge) {
+            fail("should not reach this point");
+        }
+        Map<Integer, Integer> colours = Colouring.smallestLastByLabel(g);
+        assertEquals(colours.size(), 3);
+        assertNull(colours.get(1));
+        assertNotEquals(colours.get(2), colours.get(5));
+        assertNotEquals(colours.get(5), colours.get(Integer.MAX_VALUE));
+        assertEquals(Colouring.numOfColours(colours), 2);
+    }
+}
@@ -0,0 +1,113 @@
+package test.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.ConcurrentGraph;
+import model.Graph;
+import model.exception.*;
+
+public class ConcurrentGraphTest {
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 500;
+
+    private ConcurrentGraph graph;
+
+    @BeforeEach
+    public void runBefore() {
+        graph = new ConcurrentGraph();
+    }
+
+    @Test
+    public void testLabelChecks() {
+        try {
+            graph.addVertex(1, 0, 0);
+        } catch (GraphException e) {
+            fail("should not reach this point");
+        }
+        assertThrows(NegativeLabelException.class, () -> graph.addVertex(0, 0, 0));
+        assertThrows(UsedLabelException.class, () -> graph.addVertex(1, 5, 5));
+        assertThrows(MissingLabelException.class, () -> graph.addEdge(1, 2));
+        assertThrows(NegativeLabelException.class, () -> graph.removeEdge(-1, 1));
+        assertEquals(1, graph.numOfVertices());
+        assertEquals(1, graph.getVersion());
+    }
+
+    @Test
+    public void testEdges() {
+        try {
+            graph.addVertex(1, 0, 0);
+            graph.addVertex(2, 10, 0);
+            graph.addEdge(1, 2);
+            graph.addEdge(1, 2);
+            graph.addEdge(2, 2);
+            assertTrue(graph.hasEdge(2, 1));
+            assertEquals(4, graph.degree(2));
+            assertTrue(graph.removeEdge(2, 1));
+            assertTrue(graph.removeEdge(2, 2));
+            assertFalse(graph.removeEdge(2, 2));
+            assertEquals(1, graph.numOfEdges());
+            assertEquals(1, graph.degree(2));
+            Graph copy = graph.toGraph();
+            assertEquals(2, copy.getVertices().size());
+            assertEquals(10, copy.vertexWithLabel(2).getXpos());
+            assertTrue(copy.hasEdge(1, 2));
+        } catch (GraphException e) {
+            fail("should not reach this point");
+        }
+    }
+
+    @Test
+    public void testParallelAdds() {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS); // one each, as the paths wait on each other
+        List<Future<Void>> paths = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int first = t * PER_THREAD + 1;
+            paths.add(pool.submit(() -> {
+                addPath(first);
+                return null;
+            }));
+        }
+        try {
+            for (Future<Void> path : paths) {
+                path.get();
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            fail("should not reach this point", e);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(THREADS * PER_THREAD, graph.numOfVertices());
+        assertEquals(THREADS * PER_THREAD - 1, graph.numOfEdges());
+        for (int label = 2; label <= THREADS * PER_THREAD; label++) {
+            assertTrue(graph.hasEdge(label - 1, label));
+        }
+    }
+
+    // MODIFIES: graph
+    // EFFECTS: adds the vertices first .. first + PER_THREAD - 1, each joined to the one before it; the
+    // edge to first - 1 is added once that vertex exists. Throws GraphException if the graph refuses any.
+    private void addPath(int first) throws GraphException {
+        for (int label = first; label < first + PER_THREAD; label++) {
+            graph.addVertex(label, label, 0);
+            if (label > first) {
+                graph.addEdge(label - 1, label);
+            }
+        }
+        while (first > 1 && !graph.containsLabel(first - 1)) {
+            Thread.yield();
+        }
+        if (first > 1) {
+            graph.addEdge(first, first - 1);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package test.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.Graph;
+import model.Vertex;
+import ui.EdgeTilePyramid;
+import ui.TileGrid;
+
+public class EdgeTilePyramidTest {
+    private static final Rectangle VIEW = new Rectangle(0, 0, 1024, 512); // 4 x 2 tiles at scale 1
+    private static final long TIMEOUT = 10_000; // milliseconds
+
+    private Graph graph;
+    private Graphics2D screen;
+
+    @BeforeEach
+    public void runBefore() {
+        graph = new Graph();
+        try {
+            graph.addVertex(new Vertex(1, 100, 100));
+            graph.addVertex(new Vertex(2, 900, 400));
+            graph.addVertex(new Vertex(3, 100, 400));
+            graph.addEdge(1, 2);
+            graph.addEdge(1, 3);
+        } catch (Exception e) {
+            fail("should not reach this point");
+        }
+        screen = new BufferedImage(VIEW.width, VIEW.height, BufferedImage.TYPE_INT_ARGB).createGraphics();
+    }
+
+    // EFFECTS: draws pyramid over VIEW until no tile is missing; fails if that takes longer than TIMEOUT
+    private void drawUntilReady(EdgeTilePyramid pyramid) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (pyramid.draw(screen, graph, new AffineTransform(), VIEW) != null) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void testTilesRenderedInBackground() {
+        EdgeTilePyramid pyramid = new EdgeTilePyramid(64 << 20, () -> { });
+        assertEquals(VIEW, pyramid.draw(screen, graph, new AffineTransform(), VIEW));
+        try {
+            drawUntilReady(pyramid);
+        } catch (InterruptedException e) {
+            fail("should not reach this point");
+        }
+        assertEquals(8, pyramid.numOfTiles());
+        assertEquals(8, pyramid.numOfTilesDrawn());
+    }
+
+    @Test
+    public void testInvalidateOnlyTouchedTiles() {
+        EdgeTilePyramid pyramid = new EdgeTilePyramid(64 << 20, () -> { });
+        try {
+            drawUntilReady(pyramid);
+            pyramid.invalidate(new Rectangle(20, 20, 10, 10));
+            assertEquals(7, pyramid.numOfTiles());
+            Rectangle missing = pyramid.draw(screen, graph, new AffineTransform(), VIEW);
+            assertTrue(missing == null || missing.contains(new Rectangle(0, 0, 256, 256)));
+            drawUntilReady(pyramid);
+            assertEquals(8, pyramid.numOfTiles());
+        } catch (InterruptedException e) {
+            fail("should not reach this point");
+        }
+    }
+
+    // EFFECTS: returns true if pyramid, drawn over VIEW once every tile is ready, draws anything within a
+    // pixel of (x, y)
+    private boolean drawsNear(EdgeTilePyramid pyramid, int x, int y) throws InterruptedException {
+        drawUntilReady(pyramid);
+        BufferedImage image = new BufferedImage(VIEW.width, VIEW.height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        assertNull(pyramid.draw(g, graph, new AffineTransform(), VIEW));
+        g.dispose();
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                if (image.getRGB(x + dx, y + dy) >>> 24 != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void testEditsPatchSegments() {
+        EdgeTilePyramid pyramid = new EdgeTilePyramid(64 << 20, () -> { });
+        try {
+            drawUntilReady(pyramid);
+            Vertex second = graph.vertexWithLabel(2);
+            Vertex third = graph.vertexWithLabel(3);
+            graph.addEdge(second, third);
+            pyramid.addEdge(second, third);
+            Rectangle missing = pyramid.draw(screen, graph, new AffineTransform(), VIEW);
+            assertEquals(new Rectangle(0, 256, 1024, 256), missing); // the index was kept
+            assertTrue(drawsNear(pyramid, 500, 400));
+            pyramid.removeEdgesOf(third);
+            third.setPos(new Point(300, 300));
+            pyramid.addEdgesOf(third);
+            assertFalse(drawsNear(pyramid, 500, 400));
+            assertTrue(drawsNear(pyramid, 600, 350));
+            graph.removeEdge(graph.vertexWithLabel(1), second);
+            pyramid.removeEdge(graph.vertexWithLabel(1), second);
+            assertFalse(drawsNear(pyramid, 500, 250));
+            assertTrue(drawsNear(pyramid, 200, 200));
+        } catch (Exception e) {
+            fail("should not reach this point");
+        }
+    }
+
+    @Test
+    public void testMemoryBudget() {
+        long tileBytes = 4L * EdgeTilePyramid.TILE_SIZE * EdgeTilePyramid.TILE_SIZE;
+        EdgeTilePyramid pyramid = new EdgeTilePyramid(3 * tileBytes, () -> { });
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        try {
+            while (pyramid.numOfTiles() < 3) {
+                pyramid.draw(screen, graph, new AffineTransform(), VIEW);
+                assertTrue(System.currentTimeMillis() < deadline);
+                Thread.sleep(10);
+            }
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            fail("should not reach this point");
+        }
+        assertEquals(3, pyramid.numOfTiles());
+        assertEquals(3 * tileBytes, pyramid.memoryUsed());
+    }
+
+    @Test
+    public void testSegmentsListedWhereTheyPass() {
+        TileGrid grid = TileGrid.ofSegments(10, 4, 4, new float[] {1, 1, 39, 39, 5, 35, 5, 36}, 0);
+        for (int row = 0; row < 4; row++) {
+            for (int column = 0; column < 4; column++) {
+                boolean listed = grid.itemsIn(column, row).length > 0 && grid.itemsIn(column, row)[0] == 0;
+                if (row == column) {
+                    assertTrue(listed);
+                } else if (Math.abs(row - column) > 1) {
+                    assertFalse(listed);
+                }
+            }
+        }
+        assertArrayEquals(new int[] {1}, grid.itemsIn(0, 3));
+        TileGrid boxes = new TileGrid(10, 4, 4, new double[] {1, 1, 39, 39});
+        assertArrayEquals(new int[] {0}, boxes.itemsIn(3, 0));
+    }
+}
@@ -0,0 +1,142 @@
+package test.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import model.Graph;
+import model.Vertex;
+import model.algorithm.CsrSnapshot;
+import model.exception.GraphException;
+import model.layout.ForceLayout;
+import model.layout.LayoutFrame;
+import model.layout.LayoutWorker;
+import model.layout.QuadTree;
+
+public class ForceLayoutTest {
+    private static final double K2 = 100;
+
+    // EFFECTS: returns the exact repulsion on point self from all other points
+    private double[] exactRepulsion(double[] x, double[] y, int self) {
+        double[] force = new double[2];
+        for (int i = 0; i < x.length; i++) {
+            double dx = x[self] - x[i];
+            double dy = y[self] - y[i];
+            double d2 = Math.max(dx * dx + dy * dy, 1);
+            if (i != self) {
+                force[0] += dx * K2 / d2;
+                force[1] += dy * K2 / d2;
+            }
+        }
+        return force;
+    }
+
+    // EFFECTS: returns a path graph on n vertices
+    private CsrSnapshot path(int n) {
+        int[] firstEnd = new int[n - 1];
+        int[] secondEnd = new int[n - 1];
+        for (int i = 0; i + 1 < n; i++) {
+            firstEnd[i] = i;
+            secondEnd[i] = i + 1;
+        }
+        return CsrSnapshot.fromEdgeList(n, firstEnd, secondEnd);
+    }
+
+    @Test
+    public void testQuadTreeMatchesExactSum() {
+        Random random = new Random(1);
+        double[] x = new double[500];
+        double[] y = new double[500];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = random.nextGaussian() * 1000;
+            y[i] = random.nextGaussian() * 1000;
+        }
+        x[1] = x[0]; // coincident points must not blow up
+        y[1] = y[0];
+        QuadTree tree = new QuadTree(x, y);
+        double error = 0;
+        double total = 0;
+        for (int i = 0; i < x.length; i++) {
+            double[] exact = exactRepulsion(x, y, i);
+            double[] same = tree.repulsion(i, 0, K2, 1);
+            assertEquals(exact[0], same[0], 1e-9 * (1 + Math.abs(exact[0])));
+            assertEquals(exact[1], same[1], 1e-9 * (1 + Math.abs(exact[1])));
+            double[] approx = tree.repulsion(i, 0.5, K2, 1);
+            error += Math.hypot(approx[0] - exact[0], approx[1] - exact[1]);
+            total += Math.hypot(exact[0], exact[1]);
+        }
+        assertTrue(error < 0.05 * total);
+    }
+
+    @Test
+    public void testPathUnfolds() {
+        int n = 20;
+        ForceLayout layout = new ForceLayout(path(n), new double[n], new double[n]);
+        while (!layout.isConverged()) {
+            layout.step();
+        }
+        LayoutFrame frame = layout.frame();
+        double longest = 0;
+        for (int v = 0; v < n; v++) {
+            for (int w = v + 1; w < n; w++) {
+                double d = Math.hypot(frame.getX(v) - frame.getX(w), frame.getY(v) - frame.getY(w));
+                assertTrue(d > 20); // nothing left stacked
+                longest = Math.max(longest, d);
+            }
+            if (v + 1 < n) { // neighbours end up closer than the ends of the path
+                double d = Math.hypot(frame.getX(v) - frame.getX(v + 1), frame.getY(v) - frame.getY(v + 1));
+                assertTrue(d < 400);
+            }
+        }
+        assertTrue(longest > 1000);
+        assertTrue(layout.getIterations() < 1000);
+    }
+
+    @Test
+    public void testPinnedVertexStays() {
+        int n = 10;
+        ForceLayout layout = new ForceLayout(path(n), new double[n], new double[n]);
+        layout.pin(3, 500, -200);
+        for (int i = 0; i < 50; i++) {
+            layout.step();
+        }
+        assertEquals(layout.frame().getX(3), 500);
+        assertEquals(layout.frame().getY(3), -200);
+        layout.pin(ForceLayout.NO_VERTEX, 0, 0);
+        layout.step();
+        assertNotEquals(layout.frame().getX(3), 500);
+    }
+
+    @Test
+    public void testWorker() {
+        Graph g = new Graph();
+        try {
+            for (int i = 1; i <= 5; i++) {
+                g.addVertex(new Vertex(i, 0, 0));
+            }
+            g.addEdge(1, 2);
+            g.addEdge(2, 3);
+        } catch (GraphException ge) {
+            fail("should not reach this point");
+        }
+        LayoutWorker worker = new LayoutWorker(g);
+        worker.pin(g.vertexWithLabel(1), 0, 0);
+        worker.start();
+        try {
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (!worker.applyLatest() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(1);
+            }
+            worker.pause();
+            assertTrue(worker.isPaused());
+            worker.stop();
+            worker.join(10_000);
+        } catch (InterruptedException e) {
+            fail("should not reach this point");
+        }
+        assertEquals(g.vertexWithLabel(1).getXpos(), 0);
+        assertFalse(g.vertexWithLabel(2).getXpos() == 0 && g.vertexWithLabel(2).getYpos() == 0);
+    }
+}
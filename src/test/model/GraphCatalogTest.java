@@ -0,0 +1,167 @@
+package test.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.Graph;
+import model.Vertex;
+import model.exception.GraphException;
+import persistence.CatalogEntry;
+import persistence.CatalogWatcher;
+import persistence.GraphCatalog;
+import persistence.GraphWriter;
+import persistence.StreamingGraphWriter;
+import ui.CatalogPreview;
+
+public class GraphCatalogTest {
+    private File directory;
+    private GraphCatalog catalog;
+
+    @BeforeEach
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("saves").toFile();
+        directory.deleteOnExit();
+        catalog = GraphCatalog.of(directory);
+    }
+
+    // EFFECTS: saves a triangle 1 - 2 - 3 with a loop at 3 and a fourth vertex far away, with GraphWriter,
+    // as name in the directory, and returns the file
+    private File saveGraph(String name) throws IOException {
+        Graph graph = new Graph();
+        try {
+            graph.addVertex(new Vertex(1, 0, 0));
+            graph.addVertex(new Vertex(2, 100, 0));
+            graph.addVertex(new Vertex(3, 0, -100));
+            graph.addVertex(new Vertex(4, 3100, 3000));
+            graph.addEdge(1, 2);
+            graph.addEdge(2, 3);
+            graph.addEdge(3, 1);
+            graph.addEdge(3, 3);
+        } catch (GraphException ge) {
+            fail("should not reach this point");
+        }
+        File file = new File(directory, name);
+        file.deleteOnExit();
+        GraphWriter writer = new GraphWriter(file);
+        writer.open();
+        writer.write(graph);
+        writer.close();
+        return file;
+    }
+
+    @Test
+    public void testWriterRecordsSave() throws IOException {
+        File file = saveGraph("triangle.json");
+        CatalogEntry entry = catalog.get(file);
+        assertEquals(4, entry.getNumOfVertices());
+        assertEquals(3, entry.getNumOfEdges()); // the loop is not saved
+        assertEquals(file.length(), entry.getSize());
+        CRC32 crc = new CRC32();
+        crc.update(Files.readAllBytes(file.toPath()));
+        assertEquals(crc.getValue(), entry.getChecksum());
+        byte[] thumbnail = entry.getThumbnail();
+        int size = CatalogEntry.THUMBNAIL_SIZE;
+        assertNotEquals(0, thumbnail[0]); // vertices 1 and 3 are in the top left corner
+        assertNotEquals(0, thumbnail[size * size - 1]); // vertex 4 in the bottom right
+        assertEquals(0, thumbnail[size - 1]);
+        assertEquals("4 vertices, 3 edges, " + file.length() + " bytes", entry.describe());
+    }
+
+    @Test
+    public void testScanMatchesWriter() throws IOException {
+        File file = saveGraph("triangle.json");
+        File copy = new File(directory, "copy.json");
+        copy.deleteOnExit();
+        Files.copy(file.toPath(), copy.toPath());
+        catalog.update(copy.getName());
+        CatalogEntry written = catalog.get(file);
+        CatalogEntry scanned = catalog.get(copy);
+        assertEquals(written.getChecksum(), scanned.getChecksum());
+        assertEquals(written.getNumOfVertices(), scanned.getNumOfVertices());
+        assertEquals(written.getNumOfEdges(), scanned.getNumOfEdges());
+        assertArrayEquals(written.getThumbnail(), scanned.getThumbnail());
+    }
+
+    @Test
+    public void testRefresh() throws IOException {
+        File file = new File(directory, "streamed.json");
+        file.deleteOnExit();
+        try (StreamingGraphWriter writer = new StreamingGraphWriter(new FileOutputStream(file))) {
+            writer.vertices(new int[] {-5, 5, 7}, new int[] {0, 10, 12}, 3);
+            writer.edges(new int[] {0, 1}, new int[] {1, 2}, 2);
+        }
+        File notSave = new File(directory, "edges.txt");
+        notSave.deleteOnExit();
+        Files.writeString(notSave.toPath(), "1 2\n");
+        assertNull(catalog.get(file));
+        catalog.refresh();
+        assertEquals(1, catalog.getEntries().size());
+        assertEquals(3, catalog.get(file).getNumOfVertices());
+        assertEquals(2, catalog.get(file).getNumOfEdges());
+        Files.writeString(file.toPath(), "\n", StandardOpenOption.APPEND);
+        file.setLastModified(file.lastModified() + 2000);
+        assertNull(catalog.get(file)); // changed since it was read
+        catalog.refresh();
+        assertEquals(2, catalog.get(file).getNumOfEdges());
+        assertTrue(file.delete());
+        catalog.refresh();
+        assertTrue(catalog.getEntries().isEmpty());
+    }
+
+    @Test
+    public void testIndexFile() throws IOException {
+        File file = saveGraph("triangle.json");
+        File index = new File(directory, GraphCatalog.FILE_NAME);
+        index.deleteOnExit();
+        JSONObject json = new JSONObject(Files.readString(index.toPath(), StandardCharsets.UTF_8));
+        CatalogEntry read = CatalogEntry.fromJson("triangle.json", json.getJSONObject("triangle.json"));
+        assertTrue(read.isCurrent(file));
+        assertEquals(catalog.get(file).getChecksum(), read.getChecksum());
+        assertArrayEquals(catalog.get(file).getThumbnail(), read.getThumbnail());
+
+        File other = Files.createTempDirectory("saves").toFile();
+        other.deleteOnExit();
+        File corrupted = new File(other, GraphCatalog.FILE_NAME);
+        corrupted.deleteOnExit();
+        Files.writeString(corrupted.toPath(), "{\"a.json\": {\"size\": ");
+        assertTrue(GraphCatalog.of(other).getEntries().isEmpty());
+        assertSame(catalog, GraphCatalog.of(new File(directory, "../" + directory.getName())));
+    }
+
+    @Test
+    public void testWatcher() throws IOException, InterruptedException {
+        CatalogWatcher watcher = new CatalogWatcher(catalog);
+        watcher.start();
+        File file = new File(directory, "late.json");
+        file.deleteOnExit();
+        Files.writeString(file.toPath(), "{\"vertices\":[{\"label\":1,\"x\":0,\"y\":0}],\"edges\":[]}");
+        for (int i = 0; i < 200 && catalog.get(file) == null; i++) {
+            Thread.sleep(50);
+        }
+        watcher.stop();
+        assertEquals(1, catalog.get(file).getNumOfVertices());
+    }
+
+    @Test
+    public void testPreview() throws IOException {
+        CatalogPreview preview = new CatalogPreview();
+        File file = saveGraph("triangle.json");
+        preview.setFile(file);
+        assertArrayEquals(new String[] {"4 vertices", "3 edges", file.length() + " bytes"}, preview.getLines());
+        preview.setFile(new File(directory, "unknown.json"));
+        assertArrayEquals(new String[] {"Not in the catalog yet."}, preview.getLines());
+        preview.setFile(null);
+        assertEquals(0, preview.getLines().length);
+    }
+}
@@ -0,0 +1,117 @@
+package test.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import model.Graph;
+import model.GraphSnapshot;
+import model.algorithm.CsrSnapshot;
+import model.generator.*;
+import persistence.StreamingGraphWriter;
+
+public class GraphGeneratorTest {
+    // EFFECTS: asserts that the snapshot of g holds the same edges as its vertices, and returns it
+    private GraphSnapshot checkedSnapshot(Graph g) {
+        CsrSnapshot fromVertices = new CsrSnapshot(g);
+        CsrSnapshot fromSnapshot = new CsrSnapshot(g.snapshot());
+        assertArrayEquals(fromVertices.offsets(), fromSnapshot.offsets());
+        assertArrayEquals(fromVertices.targets(), fromSnapshot.targets());
+        return g.snapshot();
+    }
+
+    @Test
+    public void testSameSeedSameGraph() {
+        CsrSnapshot first = new CsrSnapshot(new ErdosRenyi(1000, 5000, 7).toGraph());
+        CsrSnapshot second = new CsrSnapshot(new ErdosRenyi(1000, 5000, 7).toGraph());
+        CsrSnapshot other = new CsrSnapshot(new ErdosRenyi(1000, 5000, 8).toGraph());
+        assertArrayEquals(first.targets(), second.targets());
+        assertFalse(Arrays.equals(first.targets(), other.targets()));
+        assertEquals(10000, first.numOfEntries());
+    }
+
+    @Test
+    public void testLattice() {
+        GraphSnapshot grid = checkedSnapshot(new Lattice(30, 20).toGraph());
+        assertEquals(600, grid.numOfVertices());
+        assertEquals(2 * 600 - 30 - 20, grid.numOfEdges());
+        assertEquals(2, grid.degree(0));
+        assertEquals(4, grid.degree(31));
+        assertEquals(grid.getX(0), grid.getX(30));
+        assertTrue(grid.hasEdge(31, 61));
+    }
+
+    @Test
+    public void testBarabasiAlbert() {
+        GraphSnapshot g = checkedSnapshot(new BarabasiAlbert(3 * 65536, 3, 1).toGraph());
+        int numOfLoops = 3 * 3 * 65536 - g.numOfEdges(); // dropped
+        assertTrue(numOfLoops > 0 && numOfLoops < 100);
+        int missing = 0;
+        int highest = 0;
+        for (int v = 0; v < g.numOfVertices(); v++) {
+            assertFalse(g.hasEdge(v, v));
+            missing += Math.max(0, 3 - g.degree(v)); // its own edges to earlier vertices, less the loops
+            highest = Math.max(highest, g.degree(v));
+        }
+        assertTrue(missing <= numOfLoops);
+        assertTrue(highest > 100); // preferential attachment makes hubs
+    }
+
+    @Test
+    public void testRandomGeometric() {
+        GraphSnapshot g = checkedSnapshot(new RandomGeometric(5000, 8, 3).toGraph());
+        double radius = 100 * Math.sqrt(8 / Math.PI);
+        for (int v = 0; v < g.numOfVertices(); v++) {
+            for (int k = 0; k < g.degree(v); k++) {
+                int u = g.neighbour(v, k);
+                assertTrue(Math.hypot(g.getX(u) - g.getX(v), g.getY(u) - g.getY(v)) <= radius);
+            }
+        }
+        double averageDegree = 2.0 * g.numOfEdges() / g.numOfVertices();
+        assertTrue(averageDegree > 7 && averageDegree < 8.5);
+    }
+
+    @Test
+    public void testRmatToFile() {
+        try {
+            File file = File.createTempFile("rmat", ".json");
+            file.deleteOnExit();
+            try (StreamingGraphWriter writer = new StreamingGraphWriter(new FileOutputStream(file))) {
+                new Rmat(10, 4, 5).generate(writer);
+            }
+            Graph loaded = new Graph(file);
+            Graph generated = new Rmat(10, 4, 5).toGraph();
+            assertEquals(1024, loaded.getVertices().size());
+            GraphSnapshot snapshot = loaded.snapshot();
+            assertTrue(snapshot.numOfEdges() < 4096); // the self-loops drawn are dropped
+            for (int v = 0; v < 1024; v++) {
+                assertFalse(snapshot.hasEdge(v, v));
+            }
+            assertArrayEquals(new CsrSnapshot(generated).targets(), new CsrSnapshot(loaded).targets());
+        } catch (IOException e) {
+            fail("should not reach this point");
+        }
+    }
+
+    @Test
+    public void testOf() {
+        assertTrue(GraphGenerator.of(new String[] {"er", "10", "20", "7"}) instanceof ErdosRenyi);
+        assertEquals(12, GraphGenerator.of(new String[] {"grid", "3", "4"}).numOfVertices());
+        assertNull(GraphGenerator.of(new String[] {"er", "10"}));
+        assertNull(GraphGenerator.of(new String[] {"grid", "3", "4", "5"}));
+        assertNull(GraphGenerator.of(new String[] {"geometric", "10", "many", "7"}));
+        assertNull(GraphGenerator.of(new String[] {"tree", "10"}));
+        assertNull(GraphGenerator.of(new String[0]));
+        try {
+            GraphGenerator.main(new String[] {"er", "10", "out.json"}); // prints the usage, writes nothing
+        } catch (IOException e) {
+            fail("should not reach this point");
+        }
+        assertFalse(new File("out.json").exists());
+    }
+}
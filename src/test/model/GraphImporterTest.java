@@ -0,0 +1,178 @@
+package test.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import model.Edge;
+import model.Graph;
+import model.Vertex;
+import persistence.GraphImporter;
+
+public class GraphImporterTest {
+    // EFFECTS: returns a new temporary file with the given extension holding text
+    private File fileOf(String extension, String text) throws IOException {
+        File file = File.createTempFile("graph", "." + extension);
+        file.deleteOnExit();
+        Files.writeString(file.toPath(), text);
+        return file;
+    }
+
+    // EFFECTS: returns true if graph has an edge between the vertices labelled first and second
+    private boolean hasEdge(Graph graph, int first, int second) {
+        for (Edge e : graph.vertexWithLabel(first).getAdjacent()) {
+            if (e.getSecondVertex().getLabel() == second) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void testEdgeList() throws IOException {
+        File file = fileOf("csv", "source,target,weight\r\n# a comment\n0,1,0.5\r\n1;2\n  2\t0 7\n4\n\n3 3");
+        Graph graph = GraphImporter.of(file).toGraph();
+        assertEquals(5, graph.getVertices().size()); // keys 0 .. 4, labelled 1 .. 5
+        assertEquals(3, graph.snapshot().numOfEdges());
+        assertTrue(hasEdge(graph, 1, 2) && hasEdge(graph, 2, 3) && hasEdge(graph, 3, 1));
+        assertTrue(graph.vertexWithLabel(4).getAdjacent().isEmpty()); // its self-loop is dropped
+        assertTrue(graph.vertexWithLabel(5).getAdjacent().isEmpty());
+        assertNotEquals(graph.vertexWithLabel(1).getXpos(), graph.vertexWithLabel(2).getXpos());
+    }
+
+    @Test
+    public void testSparseKeys() throws IOException {
+        Graph graph = GraphImporter.of(fileOf("edges", "2000000000 7\n7 123456789\n")).toGraph();
+        assertEquals(3, graph.getVertices().size());
+        assertTrue(hasEdge(graph, 3, 1) && hasEdge(graph, 1, 2)); // in increasing order of key
+    }
+
+    @Test
+    public void testDimacs() throws IOException {
+        Graph graph = GraphImporter.of(fileOf("col", "c a comment\np edge 5 3\ne 1 2\ne 2 3\n\ne 1 3\n"))
+                .toGraph();
+        assertEquals(5, graph.getVertices().size());
+        assertEquals(3, graph.snapshot().numOfEdges());
+        assertTrue(hasEdge(graph, 3, 1));
+        assertTrue(graph.vertexWithLabel(5).getAdjacent().isEmpty());
+        try {
+            GraphImporter.of(fileOf("dimacs", "p edge 2 1\ne 1 3\n")).toGraph();
+            fail("should not reach this point");
+        } catch (IOException ioe) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testDuplicateEdges() throws IOException {
+        Graph graph = GraphImporter.of(fileOf("gr", "p sp 3 4\na 1 2 7\na 2 1 7\na 2 3 1\na 2 3 4\n")).toGraph();
+        assertEquals(2, graph.snapshot().numOfEdges());
+        assertEquals(1, graph.vertexWithLabel(1).getAdjacent().size());
+        assertEquals(2, graph.vertexWithLabel(2).getAdjacent().size());
+        graph = GraphImporter.of(fileOf("txt", "1 2\n2 1\n1 1\n")).toGraph();
+        assertEquals(1, graph.snapshot().numOfEdges());
+        assertTrue(hasEdge(graph, 2, 1));
+    }
+
+    @Test
+    public void testGraphML() throws IOException {
+        String text = "<?xml version=\"1.0\"?>\n<graphml><key id=\"d0\" for=\"node\"/>"
+                + "<graph id=\"G\" edgedefault=\"undirected\">\n<!-- <node id=\"n9\"/> -->"
+                + "<node id=\"n0\"><data key=\"d0\">red</data></node><node id='n1'/>\n<node id=\"n2\" />"
+                + "<edge id=\"e0\" source=\"n0\" target=\"n1\"/><edge target = \"n2\" source=\"n1\"></edge>"
+                + "</graph></graphml>";
+        Graph graph = GraphImporter.of(fileOf("graphml", text)).toGraph();
+        assertEquals(3, graph.getVertices().size());
+        assertEquals(2, graph.snapshot().numOfEdges());
+        assertTrue(hasEdge(graph, 1, 2) && hasEdge(graph, 3, 2));
+        try {
+            GraphImporter.of(fileOf("graphml", "<graphml><node name=\"a\"/></graphml>")).toGraph();
+            fail("should not reach this point");
+        } catch (IOException ioe) {
+            assertTrue(ioe.getMessage().contains("missing id"));
+        }
+    }
+
+    @Test
+    public void testGraphMLIds() throws IOException {
+        String text = "<graphml><graph><node id=\"n1\"/><node id=\"m1\"/><node id=\"n0::n1\"/><node id=\"alice\"/>"
+                + "<edge source=\"n1\" target=\"alice\"/><edge source=\"m1\" target=\"n0::n1\"/>"
+                + "<edge source=\"alice\" target=\"bob\"/></graph></graphml>";
+        Graph graph = GraphImporter.of(fileOf("graphml", text)).toGraph();
+        assertEquals(5, graph.getVertices().size()); // no two ids share a vertex
+        assertEquals(3, graph.snapshot().numOfEdges());
+        for (Vertex v : graph.getVertices()) {
+            assertTrue(v.getAdjacent().size() <= 2);
+        }
+    }
+
+    @Test
+    public void testGraphMLIdsAcrossChunks() throws IOException {
+        StringBuilder text = new StringBuilder("<graphml><graph><node id=\"a7\"/>");
+        text.append("<edge source=\"a7\" target=\"f1000\"/>");
+        for (int i = 1000; i < 400000; i++) { // about 7 MB, so "b7" is in a later chunk than "a7"
+            text.append("<node id=\"f").append(i).append("\"/>");
+        }
+        text.append("<node id=\"b7\"/></graph></graphml>");
+        for (int run = 0; run < 3; run++) {
+            Graph graph = GraphImporter.of(fileOf("graphml", text.toString())).toGraph();
+            assertTrue(hasEdge(graph, 1, 3)); // "a7", named first in the file, has key 7 and "b7" key 8
+            assertTrue(graph.vertexWithLabel(2).getAdjacent().isEmpty());
+        }
+    }
+
+    @Test
+    public void testManyChunks() throws IOException {
+        File file = File.createTempFile("graph", ".txt");
+        file.deleteOnExit();
+        Random random = new Random(7);
+        Set<Long> edges = new HashSet<>();
+        long sum = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath())) {
+            for (int i = 0; i < 700000; i++) { // about 9 MB, so several chunks
+                int first = 1 + random.nextInt(100000);
+                int second = 1 + random.nextInt(100000);
+                if (first != second && edges.add((long) Math.min(first, second) << 32 | Math.max(first, second))) {
+                    sum += first + second; // a repeat or a self-loop is not imported
+                }
+                writer.write(first + " " + second + "\n");
+            }
+        }
+        Graph graph = GraphImporter.read(file);
+        assertEquals(edges.size(), graph.snapshot().numOfEdges());
+        long labels = 0;
+        for (Vertex v : graph.getVertices()) {
+            labels += (long) v.getLabel() * v.getAdjacent().size();
+        }
+        assertEquals(sum, labels); // every key 1 .. 100000 was drawn, so labels are the keys
+    }
+
+    @Test
+    public void testErrorsAndFormats() throws IOException {
+        assertNull(GraphImporter.of(new File("graph.png")));
+        try {
+            GraphImporter.of(fileOf("txt", "1 2\n3 x\n")).toGraph();
+            fail("should not reach this point");
+        } catch (IOException ioe) {
+            assertTrue(ioe.getMessage().contains("byte 6"));
+        }
+    }
+
+    @Test
+    public void testConvert() throws IOException {
+        File json = File.createTempFile("graph", ".json");
+        json.deleteOnExit();
+        GraphImporter.main(new String[] {fileOf("gr", "p sp 3 2\na 1 2 7\na 2 3 1\n").getPath(), json.getPath()});
+        Graph graph = GraphImporter.read(json);
+        assertEquals(3, graph.getVertices().size());
+        assertTrue(hasEdge(graph, 2, 3));
+    }
+}
@@ -0,0 +1,113 @@
+package test.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.Graph;
+import model.Vertex;
+import model.exception.GraphException;
+import ui.GraphListing;
+import ui.GraphSimulatorTerminal;
+
+public class GraphListingTest {
+    private Graph graph;
+    private GraphListing listing;
+
+    // a path 1 - 2 - 3 - ... - 10, with a loop at 1 and a second edge between 2 and 3
+    @BeforeEach
+    public void createGraph() {
+        graph = new Graph();
+        listing = new GraphListing();
+        try {
+            for (int i = 1; i <= 10; i++) {
+                graph.addVertex(new Vertex(i));
+            }
+            for (int i = 1; i < 10; i++) {
+                graph.addEdge(i, i + 1);
+            }
+            graph.addEdge(1, 1);
+            graph.addEdge(3, 2);
+        } catch (GraphException ge) {
+            fail("should not reach this point");
+        }
+    }
+
+    // EFFECTS: returns the lines listing writes for the vertices, or the edges if edges
+    private String[] lines(boolean edges) {
+        StringWriter out = new StringWriter();
+        try {
+            if (edges) {
+                listing.writeEdges(graph, out);
+            } else {
+                listing.writeVertices(graph, out);
+            }
+        } catch (IOException ioe) {
+            fail("should not reach this point");
+        }
+        return out.toString().isEmpty() ? new String[0] : out.toString().split("\n");
+    }
+
+    @Test
+    public void testEdgesListedOnce() {
+        String[] edges = lines(true);
+        assertEquals(11, edges.length);
+        assertEquals(11, listing.getMatches());
+        assertEquals("From vertex with label 1 to vertex with label 2.", edges[0]);
+        assertEquals("From vertex with label 1 to vertex with label 1.", edges[1]);
+        assertEquals(graph.getEdges().size() / 2, listing.getMatches());
+    }
+
+    @Test
+    public void testFilters() {
+        listing.setLabels(2, 5);
+        assertEquals("2 3 4 5", lines(false)[0]);
+        assertEquals(4, lines(true).length); // 2 - 3 twice, 3 - 4, 4 - 5
+        listing.setDegrees(3, 4);
+        assertEquals("2 3", lines(false)[0]);
+        assertEquals(2, lines(true).length);
+    }
+
+    @Test
+    public void testPages() {
+        listing.setPageSize(4);
+        listing.setPage(3);
+        assertArrayEquals(new String[] {"9 10"}, lines(false));
+        assertEquals(3, listing.numOfPages());
+        assertEquals(3, lines(true).length);
+        listing.setPage(5);
+        assertEquals(0, lines(true).length);
+        assertEquals(11, listing.getMatches());
+        listing.setAll();
+        assertEquals(11, lines(true).length);
+        assertEquals(1, listing.numOfPages());
+    }
+
+    @Test
+    public void testTerminalListing() throws IOException {
+        File file = File.createTempFile("edges", ".txt");
+        file.deleteOnExit();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        String script = "av 1\nav 2\nav 3\nae 1 2\nae 2 3\nvv labels 2 3\nve size 1 page 2\nve file "
+                + file.getPath() + "\nvv page 0\nvv colour 1\n";
+        new GraphSimulatorTerminal(new ByteArrayInputStream(script.getBytes()), new PrintStream(output)).runScript();
+        String log = output.toString();
+        assertTrue(log.contains("2 3\nPage 1 of 1 (2 vertices)."));
+        assertTrue(log.contains("label 2 to vertex with label 3.\nPage 2 of 2 (2 edges)."));
+        assertTrue(log.contains("Wrote 2 edges to " + file.getPath() + "."));
+        assertTrue(log.contains("Line 9: Invalid page."));
+        assertTrue(log.contains("Line 10: Invalid listing option."));
+        List<String> lines = Files.readAllLines(file.toPath());
+        assertEquals(2, lines.size());
+    }
+}
@@ -0,0 +1,156 @@
+package test.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import model.EventLog;
+import model.Graph;
+import model.Vertex;
+import model.exception.GraphException;
+
+// Runs core Graph operations at doubling sizes and checks that their running time grows no faster than
+// their complexity class allows. Each size is timed several times and the fastest run is kept, and the
+// growth exponent is taken over all the doublings at once, so that one slow run (a GC pause, another
+// process) does not fail the test. A whole measurement that still comes out too steep is retried before
+// the test fails.
+public class GraphScalingTest {
+    private static final int SMALLEST = 1 << 13;
+    private static final int DOUBLINGS = 3;
+    private static final int RUNS = 5; // per size; the fastest counts
+    private static final int ATTEMPTS = 3;
+    private static final int OPERATIONS = 20000; // per run of a constant-time operation
+    private static final int PROBES = 64; // distinct labels looked up by constant-time operations
+    private static final double TOLERANCE = 0.5; // on the exponent: a quadratic step in place of a linear one
+                                                 // (or a linear one in place of a constant one) adds 1
+
+    private interface Setup {
+        Graph create(int n) throws GraphException;
+    }
+
+    private interface Operation {
+        void run(Graph g, int n) throws GraphException;
+    }
+
+    // EFFECTS: fails unless the time op takes on a graph created by setup, for n doubling from SMALLEST,
+    // grows like n to the power expected (or slower), in at least one of ATTEMPTS measurements
+    private void assertScales(double expected, Setup setup, Operation op) {
+        double exponent = Double.POSITIVE_INFINITY;
+        for (int attempt = 0; attempt < ATTEMPTS && exponent > expected + TOLERANCE; attempt++) {
+            exponent = Math.min(exponent, exponent(setup, op));
+        }
+        assertTrue(exponent <= expected + TOLERANCE, "grows like n^" + exponent + ", expected n^" + expected);
+    }
+
+    // EFFECTS: returns the exponent k such that the time op takes grows like n^k between the smallest and
+    // the largest size
+    private double exponent(Setup setup, Operation op) {
+        fastest(setup, op, SMALLEST); // warm-up
+        double first = fastest(setup, op, SMALLEST);
+        double last = fastest(setup, op, SMALLEST << DOUBLINGS);
+        return Math.log(Math.max(last, 1) / Math.max(first, 1)) / Math.log(2) / DOUBLINGS;
+    }
+
+    // EFFECTS: returns the fewest nanoseconds op took, over RUNS runs on a fresh graph created by setup
+    private long fastest(Setup setup, Operation op, int n) {
+        long best = Long.MAX_VALUE;
+        try {
+            for (int run = 0; run < RUNS; run++) {
+                EventLog.getInstance().clear(); // every edit logs an event, which would pile up otherwise
+                Graph g = setup.create(n);
+                System.gc(); // so that garbage left by setup is not collected while op is timed
+                long start = System.nanoTime();
+                op.run(g, n);
+                best = Math.min(best, System.nanoTime() - start);
+            }
+        } catch (GraphException ge) {
+            fail("should not reach this point");
+        }
+        return best;
+    }
+
+    // EFFECTS: returns the (i mod PROBES)-th of PROBES numbers spread evenly over 0..n-1. Repeating a few
+    // probes keeps them in the cache at every size, while a scan would still have to pass most of n.
+    private int probe(int i, int n) {
+        return i % PROBES * (n / PROBES);
+    }
+
+    // EFFECTS: returns a graph of the vertices labelled 1..n, where i is joined to 2i and 2i + 1
+    private Graph tree(int n) throws GraphException {
+        Graph g = new Graph();
+        for (int i = 1; i <= n; i++) {
+            g.addVertex(i);
+            if (i > 1) {
+                g.addEdge(i / 2, i);
+            }
+        }
+        return g;
+    }
+
+    // EFFECTS: returns a graph of the vertices labelled 1..n, where 1 is joined to all the others
+    private Graph star(int n) throws GraphException {
+        Graph g = new Graph();
+        g.addVertex(1);
+        for (int i = 2; i <= n; i++) {
+            g.addVertex(i);
+            g.addEdge(1, i);
+        }
+        return g;
+    }
+
+    @Test
+    public void testBuildIsLinear() {
+        assertScales(1, n -> null, (g, n) -> tree(n));
+    }
+
+    @Test
+    public void testVertexWithLabelIsConstant() {
+        assertScales(0, this::tree, (g, n) -> {
+            for (int i = 0; i < OPERATIONS; i++) {
+                assertNotNull(g.vertexWithLabel(probe(i, n) + 1));
+            }
+        });
+    }
+
+    @Test
+    public void testHasEdgeIsConstant() {
+        assertScales(0, this::tree, (g, n) -> {
+            for (int i = 0; i < OPERATIONS; i++) {
+                int parent = probe(i, n / 2) + 1;
+                assertTrue(g.hasEdge(parent, 2 * parent));
+            }
+        });
+    }
+
+    @Test
+    public void testAddAtFirstUnusedLabelIsConstant() {
+        Setup withGaps = n -> {
+            Graph g = tree(n);
+            g.removeVertex(n);
+            g.removeVertex(n / 3);
+            g.removeVertex(1);
+            return g;
+        };
+        assertScales(0, withGaps, (g, n) -> {
+            for (int i = 0; i < OPERATIONS; i++) {
+                g.addVertex(new Vertex(g.firstUnusedLabel(), 0, 0));
+            }
+            assertEquals(n + OPERATIONS - 3, g.getVertices().size());
+        });
+    }
+
+    @Test
+    public void testRemoveVertexIsLinear() {
+        assertScales(1, this::tree, (g, n) -> g.removeVertex(n / 2));
+    }
+
+    @Test
+    public void testRemoveHubIsLinear() {
+        assertScales(1, this::star, (g, n) -> g.removeVertex(1));
+    }
+
+    @Test
+    public void testGetEdgesIsLinear() {
+        assertScales(1, this::tree, (g, n) -> assertEquals(2 * (n - 1), g.getEdges().size()));
+    }
+}
@@ -0,0 +1,117 @@
+package test.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.InputMismatchException;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+import model.metrics.LatencyHistogram;
+import model.metrics.Metrics;
+import ui.CommandReader;
+import ui.GraphSimulatorTerminal;
+
+public class GraphSimulatorTerminalTest {
+    private ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    // EFFECTS: returns a terminal that will run script, writing to output
+    private GraphSimulatorTerminal terminal(String script) {
+        return new GraphSimulatorTerminal(new ByteArrayInputStream(script.getBytes(StandardCharsets.US_ASCII)),
+                new PrintStream(output));
+    }
+
+    // EFFECTS: returns a reader of text
+    private CommandReader reader(String text) {
+        return new CommandReader(new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    public void testScript() {
+        GraphSimulatorTerminal terminal = terminal("av 1\nav 2\r\nae 1 2\nxx 3 4\nrv 5\nav one\nre 1 2\nae 1 2\nae 1");
+        Map<String, LatencyHistogram> timings = terminal.runScript();
+        assertEquals(2, terminal.getGraph().getVertices().size());
+        assertEquals(1, terminal.getGraph().getEdges().size() / 2);
+        String log = output.toString();
+        assertFalse(log.contains("Choose one of the options"));
+        assertTrue(log.contains("Line 4: Invalid command."));
+        assertTrue(log.contains("Line 6: Invalid number."));
+        assertTrue(log.contains("Line 9: Unexpected end of input."));
+        assertEquals(2, timings.get("av").count());
+        assertEquals(2, timings.get("ae").count());
+        assertEquals(1, timings.get("rv").count()); // runs, though the Graph has no such vertex
+        assertEquals(4, timings.size());
+        assertTrue(GraphSimulatorTerminal.timingReport(timings).contains("re "));
+    }
+
+    @Test
+    public void testScriptShowsNoMenus() {
+        GraphSimulatorTerminal terminal = terminal("av 1\nav 2\nae 1 2\nA 1\nA 9\nR YOLO\n");
+        terminal.runScript();
+        String log = output.toString();
+        assertTrue(log.contains("PageRank of the 2 highest-ranked vertices:"));
+        assertTrue(log.contains("Operation aborted."));
+        assertTrue(log.contains("Operation succeded."));
+        assertFalse(log.contains("1: PageRank"));
+        assertFalse(log.contains("Type "));
+        assertFalse(log.contains("irreversible"));
+        assertTrue(terminal.getGraph().getVertices().isEmpty());
+    }
+
+    @Test
+    public void testFootprintPublishedBetweenCommands() {
+        GraphSimulatorTerminal terminal = terminal("av 1\nav 2\nae 1 2\n");
+        Map<String, Long> before = Metrics.getInstance().getMemoryFootprint(); // of the empty graph
+        terminal.runScript();
+        Map<String, Long> after = Metrics.getInstance().getMemoryFootprint(); // worked out after "av 1"
+        assertTrue(after.get("vertices") > before.get("vertices"));
+        assertTrue(after.get("total") > before.get("total"));
+    }
+
+    @Test
+    public void testScriptQuits() {
+        GraphSimulatorTerminal terminal = terminal("av 1\nQ\nav 2\n");
+        terminal.runScript();
+        assertEquals(1, terminal.getGraph().getVertices().size());
+    }
+
+    @Test
+    public void testReader() {
+        CommandReader reader = reader("  ae\t-2147483648 +7\n\nR YOLO");
+        assertEquals("ae", reader.next());
+        assertEquals(Integer.MIN_VALUE, reader.nextInt());
+        assertEquals(7, reader.nextInt());
+        assertEquals(1, reader.getLine());
+        assertEquals("R", reader.next());
+        assertEquals(3, reader.getLine());
+        assertEquals("YOLO", reader.next());
+        assertFalse(reader.hasNext());
+        try {
+            reader.next();
+            fail("should not reach this point");
+        } catch (NoSuchElementException nse) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testReaderInvalidNumbers() {
+        CommandReader reader = reader("2147483648 -2147483649 12a - 5 6\n7");
+        for (int i = 0; i < 4; i++) {
+            try {
+                reader.nextInt();
+                fail("should not reach this point");
+            } catch (InputMismatchException ime) {
+                // expected
+            }
+        }
+        assertEquals(5, reader.nextInt());
+        reader.skipLine();
+        assertEquals(7, reader.nextInt());
+    }
+}
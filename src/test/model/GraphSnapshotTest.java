@@ -0,0 +1,158 @@
+package test.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Point;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.Graph;
+import model.GraphSnapshot;
+import model.Vertex;
+import model.algorithm.CsrSnapshot;
+
+public class GraphSnapshotTest {
+    private Graph graph;
+
+    @BeforeEach
+    public void runBefore() {
+        graph = new Graph();
+        try {
+            graph.addVertex(new Vertex(1, 10, 20));
+            graph.addVertex(new Vertex(2, 30, 40));
+            graph.addVertex(new Vertex(3, 50, 60));
+            graph.addEdge(1, 2);
+            graph.addEdge(2, 3);
+        } catch (Exception e) {
+            fail("should not reach this point");
+        }
+    }
+
+    @Test
+    public void testSnapshotMatchesGraph() {
+        GraphSnapshot snapshot = graph.snapshot();
+        assertEquals(5, snapshot.getVersion());
+        assertEquals(3, snapshot.numOfVertices());
+        assertEquals(2, snapshot.numOfEdges());
+        assertEquals(2, snapshot.getLabel(1));
+        assertEquals(50, snapshot.getX(2));
+        assertEquals(60, snapshot.getY(2));
+        assertEquals(2, snapshot.degree(1));
+        assertEquals(0, snapshot.neighbour(1, 0));
+        assertEquals(2, snapshot.neighbour(1, 1));
+        assertTrue(snapshot.hasEdge(2, 1));
+        assertFalse(snapshot.hasEdge(0, 2));
+        assertEquals(2, snapshot.idOfLabel(3));
+        assertEquals(-1, snapshot.idOfLabel(4));
+        assertSame(snapshot, graph.snapshot());
+    }
+
+    // MODIFIES: graph
+    // EFFECTS: moves, relabels, adds and removes vertices and edges of graph
+    private void change() {
+        try {
+            graph.vertexWithLabel(1).setPos(new Point(-5, -6));
+            graph.vertexWithLabel(3).setLabel(7);
+            graph.addVertex(new Vertex(4, 0, 0));
+            graph.addEdge(1, 4);
+            graph.removeEdge(1, 2);
+            graph.removeVertex(2);
+        } catch (Exception e) {
+            fail("should not reach this point");
+        }
+    }
+
+    @Test
+    public void testOldSnapshotUnchanged() {
+        GraphSnapshot before = graph.snapshot();
+        change();
+        assertEquals(3, before.numOfVertices());
+        assertEquals(2, before.numOfEdges());
+        assertEquals(10, before.getX(0));
+        assertEquals(3, before.getLabel(2));
+        assertTrue(before.hasEdge(0, 1));
+        assertTrue(graph.snapshot().getVersion() > before.getVersion());
+    }
+
+    @Test
+    public void testNewSnapshotChanged() {
+        change();
+        GraphSnapshot after = graph.snapshot();
+        assertEquals(3, after.numOfVertices());
+        assertEquals(1, after.numOfEdges());
+        assertEquals(-5, after.getX(0));
+        assertEquals(7, after.getLabel(1));
+        assertEquals(2, after.idOfLabel(4));
+        assertTrue(after.hasEdge(0, 2));
+        assertEquals(0, after.degree(1));
+    }
+
+    // EFFECTS: returns a path of n vertices labelled 1..n, vertex i at (i, 2i)
+    private Graph path(int n) {
+        Graph path = new Graph();
+        try {
+            for (int i = 1; i <= n; i++) {
+                path.addVertex(new Vertex(i, i, 2 * i));
+                if (i > 1) {
+                    path.addEdge(i - 1, i);
+                }
+            }
+        } catch (Exception e) {
+            fail("should not reach this point");
+        }
+        return path;
+    }
+
+    @Test
+    public void testManyVertices() {
+        Graph big = path(1000);
+        GraphSnapshot before = big.snapshot();
+        big.getCoordinates().setAll(id -> 0, id -> -id, 500);
+        GraphSnapshot after = big.snapshot();
+        assertEquals(999, before.numOfEdges());
+        assertEquals(700, before.getX(699));
+        assertEquals(0, after.getX(699));
+        assertEquals(-699, after.getY(699));
+        assertEquals(501, after.getX(500));
+        assertEquals(998, after.neighbour(999, 0));
+        CsrSnapshot csr = new CsrSnapshot(after);
+        assertEquals(1000, csr.numOfVertices());
+        assertEquals(1998, csr.numOfEntries());
+        assertEquals(1000, csr.label(999));
+    }
+
+    @Test
+    public void testReadWhileWriting() {
+        AtomicBoolean consistent = new AtomicBoolean(true);
+        Thread reader = new Thread(() -> {
+            for (int round = 0; round < 2000; round++) {
+                if (!isConsistent(graph.snapshot())) {
+                    consistent.set(false);
+                }
+            }
+        });
+        reader.start();
+        try {
+            for (int label = 4; label < 2000; label++) {
+                graph.addVertex(new Vertex(label, label, label));
+                graph.addEdge(label - 1, label);
+            }
+            reader.join();
+        } catch (Exception e) {
+            fail("should not reach this point");
+        }
+        assertTrue(consistent.get());
+        assertEquals(1998, graph.snapshot().numOfEdges());
+    }
+
+    // EFFECTS: returns true if the edge lists of snapshot hold two entries for each of its edges
+    private boolean isConsistent(GraphSnapshot snapshot) {
+        int entries = 0;
+        for (int v = 0; v < snapshot.numOfVertices(); v++) {
+            entries += snapshot.degree(v);
+        }
+        return entries == 2 * snapshot.numOfEdges();
+    }
+}
@@ -4,12 +4,19 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.IOException;
 import java.io.File;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
 
 import org.json.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import model.Edge;
 import model.Graph;
+import model.Vertex;
 import model.exception.GraphException;
 
 class GraphTest {
@@ -285,4 +292,138 @@ class GraphTest {
             fail("should not reach this point");
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testCoordinates() {
+        Vertex first = new Vertex(1, 100, 100);
+        Vertex second = new Vertex(2, 300, 100);
+        Vertex third = new Vertex(3, 500, 100);
+        try {
+            g.addVertex(first);
+            g.addVertex(second);
+            g.addVertex(third);
+        } catch (GraphException ge) {
+            fail("should not reach this point");
+        }
+        assertEquals(g.getCoordinates().size(), 3);
+        assertEquals(g.getCoordinates().getX(third.getId()), 500);
+        assertEquals(g.vertexAtPos(new java.awt.Point(510, 90)), third);
+        assertNull(g.vertexAtPos(new java.awt.Point(400, 100)));
+
+        g.removeVertex(second);
+        assertEquals(second.getXpos(), 300); // keeps its position outside the graph
+        assertEquals(third.getId(), 1);
+        assertEquals(g.getCoordinates().vertex(1), third);
+        third.setPos(new java.awt.Point(300, 100));
+        assertEquals(g.getCoordinates().getX(1), 300);
+        assertEquals(g.vertexAtPos(new java.awt.Point(310, 100)), third);
+        assertEquals(g.numOfVertexAtPos(new java.awt.Point(310, 100)), 1);
+        assertEquals(g.numOfVertexAtPos(new java.awt.Point(200, 100)), 0);
+        for (int i = 0; i < g.getVertices().size(); i++) {
+            assertEquals(g.getVertices().get(i).getId(), i);
+        }
+    }
+
+    @Test
+    public void testConnectivityAddRemoveEdges() {
+        for (int i = 1; i <= 5; i++) {
+            safeAddVertex(i);
+        }
+        assertEquals(g.numOfComponents(), 5);
+
+        safeAddEdge(1, 2);
+        safeAddEdge(2, 3);
+        safeAddEdge(3, 1);
+        safeAddEdge(4, 5);
+        assertEquals(g.numOfComponents(), 2);
+        try {
+            assertTrue(g.isConnected(1, 3));
+            assertFalse(g.isConnected(1, 4));
+            assertTrue(g.removeEdge(1, 2)); // not a bridge
+            assertEquals(g.numOfComponents(), 2);
+            assertTrue(g.isConnected(1, 2));
+            assertTrue(g.removeEdge(4, 5)); // bridge
+            assertEquals(g.numOfComponents(), 3);
+            assertFalse(g.isConnected(4, 5));
+        } catch (GraphException ge) {
+            fail("should not reach this point");
+        }
+
+        try {
+            g.isConnected(1, 69420);
+            fail("should not reach this point");
+        } catch (GraphException ge) {
+            assertEquals(ge.getMessage(), "No vertex with this label currently exists in the graph.");
+        }
+    }
+
+    @Test
+    public void testConnectivityRemoveVertex() {
+        for (int i = 1; i <= 5; i++) {
+            safeAddVertex(i);
+        }
+        safeAddEdge(1, 3);
+        safeAddEdge(2, 3);
+        safeAddEdge(3, 4);
+        safeAddEdge(3, 3);
+        assertEquals(g.numOfComponents(), 2);
+
+        try {
+            g.removeVertex(3);
+            assertEquals(g.numOfComponents(), 4);
+            assertFalse(g.isConnected(1, 2));
+            g.removeVertex(5);
+            assertEquals(g.numOfComponents(), 3);
+        } catch (GraphException ge) {
+            fail("should not reach this point");
+        }
+    }
+
+    @Test
+    public void testConnectivityMatchesSearch() {
+        Random random = new Random(42);
+        for (int i = 1; i <= 60; i++) {
+            safeAddVertex(i);
+        }
+        try {
+            for (int step = 0; step < 2000; step++) {
+                int first = random.nextInt(60) + 1;
+                int second = random.nextInt(60) + 1;
+                int action = random.nextInt(10);
+                if (!g.containsLabel(first) || !g.containsLabel(second)) {
+                    g.addVertex(new Vertex(g.containsLabel(first) ? second : first));
+                } else if (action < 5) {
+                    g.addEdge(first, second);
+                } else if (action < 9) {
+                    g.removeEdge(first, second);
+                } else {
+                    g.removeVertex(first);
+                }
+                assertEquals(countComponents(), g.numOfComponents());
+            }
+        } catch (GraphException ge) {
+            fail("should not reach this point");
+        }
+    }
+
+    // EFFECTS: counts the connected components of g with a plain depth-first search
+    private int countComponents() {
+        Set<Vertex> seen = new HashSet<>();
+        int components = 0;
+        for (Vertex v : g.getVertices()) {
+            if (seen.add(v)) {
+                components++;
+                Deque<Vertex> stack = new ArrayDeque<>();
+                stack.push(v);
+                while (!stack.isEmpty()) {
+                    for (Edge e : stack.pop().getAdjacent()) {
+                        if (seen.add(e.getSecondVertex())) {
+                            stack.push(e.getSecondVertex());
+                        }
+                    }
+                }
+            }
+        }
+        return components;
+    }
+}
@@ -0,0 +1,96 @@
+package test.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Point;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import model.Graph;
+import model.Vertex;
+import model.algorithm.CsrSnapshot;
+import model.algorithm.Louvain;
+import model.exception.GraphException;
+import ui.CommunityView;
+
+public class LouvainTest {
+
+    // EFFECTS: returns numOfCliques cliques of cliqueSize vertices each, joined into a ring by one edge
+    // between consecutive cliques
+    private CsrSnapshot ringOfCliques(int numOfCliques, int cliqueSize) {
+        int edgesPerClique = cliqueSize * (cliqueSize - 1) / 2 + 1;
+        int[] firstEnd = new int[numOfCliques * edgesPerClique];
+        int[] secondEnd = new int[firstEnd.length];
+        int e = 0;
+        for (int c = 0; c < numOfCliques; c++) {
+            int base = c * cliqueSize;
+            for (int i = 0; i < cliqueSize; i++) {
+                for (int j = i + 1; j < cliqueSize; j++) {
+                    firstEnd[e] = base + i;
+                    secondEnd[e++] = base + j;
+                }
+            }
+            firstEnd[e] = base;
+            secondEnd[e++] = (base + cliqueSize) % (numOfCliques * cliqueSize);
+        }
+        return CsrSnapshot.fromEdgeList(numOfCliques * cliqueSize, firstEnd, secondEnd);
+    }
+
+    @Test
+    public void testRingOfCliques() {
+        Louvain louvain = new Louvain(ringOfCliques(8, 6));
+        assertEquals(louvain.numOfCommunities(), 8);
+        int[] communities = louvain.communities();
+        for (int v = 0; v < communities.length; v++) {
+            assertEquals(communities[v], communities[v - v % 6]);
+        }
+        assertTrue(louvain.modularity() > 0.7);
+    }
+
+    @Test
+    public void testIsolatedAndEmpty() {
+        Graph g = new Graph();
+        assertEquals(new Louvain(g).numOfCommunities(), 0);
+        try {
+            g.addVertex(1);
+            g.addVertex(2);
+            g.addVertex(3);
+            g.addEdge(1, 2);
+        } catch (GraphException ge) {
+            fail("should not reach this point");
+        }
+        Louvain louvain = new Louvain(g);
+        Map<Integer, Integer> communities = louvain.communitiesByLabel();
+        assertEquals(louvain.numOfCommunities(), 2);
+        assertEquals(communities.get(1), communities.get(2));
+        assertNotEquals(communities.get(1), communities.get(3));
+        assertEquals(louvain.modularity(), 0, 1e-9);
+    }
+
+    @Test
+    public void testCommunityView() {
+        Graph graph = new Graph();
+        try {
+            for (int i = 0; i < 6; i++) {
+                graph.addVertex(new Vertex(i + 1, i < 3 ? 0 : 1000, 30 * i));
+            }
+            int[][] edges = {{1, 2}, {2, 3}, {3, 1}, {4, 5}, {5, 6}, {6, 4}, {3, 4}}; // two triangles, joined
+            for (int[] edge : edges) {
+                graph.addEdge(edge[0], edge[1]);
+            }
+        } catch (GraphException ge) {
+            fail("should not reach this point");
+        }
+        Louvain louvain = new Louvain(new CsrSnapshot(graph.snapshot()));
+        CommunityView view = new CommunityView(graph.snapshot(), louvain);
+        assertEquals(2, view.numOfCommunities());
+        int first = louvain.communities()[0];
+        assertEquals(new Point(0, 30), view.getCentre(first));
+        graph.vertexWithLabel(1).setPos(new Point(300, 0));
+        view.place(graph.getVertices());
+        assertEquals(new Point(100, 30), view.getCentre(first));
+        assertEquals(new Point(1000, 120), view.getCentre(1 - first));
+        assertSame(louvain, view.getCommunities());
+    }
+}
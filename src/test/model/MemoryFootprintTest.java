@@ -0,0 +1,90 @@
+package test.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.EventLog;
+import model.Graph;
+import model.MemoryFootprint;
+import model.Vertex;
+import model.exception.GraphException;
+import model.metrics.Metrics;
+
+public class MemoryFootprintTest {
+    private Graph graph;
+
+    @BeforeEach
+    public void createGraph() {
+        EventLog.getInstance().clear();
+        graph = new Graph();
+    }
+
+    // MODIFIES: graph
+    // EFFECTS: adds n vertices to graph, and joins each to the vertex labelled 1
+    private void addStar(int n) {
+        try {
+            for (int i = 1; i <= n; i++) {
+                graph.addVertex(new Vertex(i, i, i));
+                graph.addEdge(1, i);
+            }
+        } catch (GraphException ge) {
+            fail("should not reach this point");
+        }
+    }
+
+    @Test
+    public void testParts() {
+        MemoryFootprint empty = graph.memoryFootprint();
+        assertTrue(empty.getVertices() > 0 && empty.getIndexes() > 0 && empty.getCoordinates() > 0);
+        addStar(1000);
+        MemoryFootprint star = graph.memoryFootprint();
+        assertTrue(star.getVertices() - empty.getVertices() >= 1000 * 40); // a Vertex object each
+        assertTrue(star.getEdges() - empty.getEdges() >= 2 * 1000 * 24); // an Edge object at both ends
+        assertTrue(star.getSnapshot() > empty.getSnapshot());
+        assertTrue(star.getEventLog() > empty.getEventLog());
+        Map<String, Long> parts = star.toMap();
+        assertEquals(7, parts.size());
+        assertEquals(star.total(), parts.values().stream().mapToLong(Long::longValue).sum() - star.total());
+        assertTrue(star.toString().contains("total"));
+    }
+
+    @Test
+    public void testEventLogCleared() {
+        addStar(1000);
+        long logged = graph.memoryFootprint().getEventLog();
+        EventLog.getInstance().clear();
+        assertTrue(graph.memoryFootprint().getEventLog() < logged / 100);
+    }
+
+    @Test
+    public void testCloseToHeap() {
+        long before = usedHeap();
+        addStar(50000);
+        long used = usedHeap() - before;
+        long estimated = graph.memoryFootprint().total();
+        assertTrue(estimated > 0.6 * used && estimated < 1.5 * used, estimated + " bytes for " + used);
+    }
+
+    @Test
+    public void testMetricsSurface() {
+        addStar(10);
+        Metrics.setFootprintSource(graph::memoryFootprint);
+        assertEquals(graph.memoryFootprint().total(), Metrics.getInstance().getMemoryFootprint().get("total"));
+        assertTrue(Metrics.getInstance().getReport().contains("Memory footprint"));
+        Metrics.setFootprintSource(null);
+        assertTrue(Metrics.getInstance().getMemoryFootprint().isEmpty());
+    }
+
+    // EFFECTS: returns the bytes of heap in use, after asking for garbage to be collected
+    private long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,142 @@
+package test.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.Attribute;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.Graph;
+import model.Vertex;
+import model.exception.GraphException;
+import model.metrics.LatencyHistogram;
+import model.metrics.Metric;
+import model.metrics.Metrics;
+
+public class MetricsTest {
+    private Metrics metrics;
+
+    @BeforeEach
+    public void resetMetrics() {
+        metrics = Metrics.getInstance();
+        metrics.setEnabled(false);
+        metrics.reset();
+    }
+
+    @AfterEach
+    public void disableMetrics() {
+        metrics.setEnabled(false);
+        metrics.reset();
+    }
+
+    @Test
+    public void testHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentile(50));
+        for (int nanos = 1; nanos <= 10000; nanos++) {
+            histogram.record(nanos);
+        }
+        assertEquals(10000, histogram.count());
+        assertEquals(5000.5, histogram.mean(), 1e-9);
+        assertEquals(10000, histogram.max());
+        assertEquals(5000, histogram.percentile(50), 5000 / 32.0);
+        assertEquals(9900, histogram.percentile(99), 9900 / 32.0);
+        assertEquals(10000, histogram.percentile(100));
+        histogram.reset();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.max());
+    }
+
+    @Test
+    public void testConcurrentRecording() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 100000; i++) {
+                    histogram.record(i);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            fail("should not reach this point");
+        }
+        assertEquals(400000, histogram.count());
+        assertEquals(99999, histogram.max());
+    }
+
+    @Test
+    public void testDisabledRecordsNothing() {
+        metrics.setEnabled(false);
+        assertEquals(0, Metrics.start());
+        addPath(new Graph(), 10);
+        assertTrue(metrics.getCalls().values().stream().allMatch(calls -> calls == 0));
+    }
+
+    @Test
+    public void testEnabledRecordsGraphOperations() {
+        metrics.setEnabled(true);
+        Graph g = new Graph();
+        addPath(g, 10);
+        assertTrue(g.hasEdge(g.vertexWithLabel(1), g.vertexWithLabel(2)));
+        g.addVertices(new int[] {11, 12}, new int[2], new int[2], 2);
+        assertEquals(10, metrics.latencyOf(Metric.ADD_VERTEX).count());
+        assertEquals(9, metrics.latencyOf(Metric.ADD_EDGE).count());
+        assertEquals(1, metrics.latencyOf(Metric.HAS_EDGE).count());
+        assertEquals(1, metrics.latencyOf(Metric.ADD_VERTICES).count());
+        assertEquals(2, metrics.itemsOf(Metric.ADD_VERTICES));
+        assertTrue(metrics.latencyOf(Metric.VERTEX_WITH_LABEL).count() >= 2);
+        assertTrue(metrics.getReport().contains("Graph.addVertex "));
+        assertFalse(metrics.getReport().contains("Graph.removeVertex"));
+        assertEquals(-1, metrics.getPercentileMicros("Graph.noSuchThing", 50));
+    }
+
+    @Test
+    public void testMXBean() {
+        assertTrue(Metrics.register());
+        assertTrue(Metrics.register());
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(Metrics.OBJECT_NAME);
+            assertEquals(false, server.getAttribute(name, "Enabled"));
+            server.setAttribute(name, new Attribute("Enabled", true));
+            assertTrue(metrics.isEnabled());
+            addPath(new Graph(), 3);
+            Object p99 = server.invoke(name, "getPercentileMicros", new Object[] {"Graph.addEdge", 99.0},
+                    new String[] {String.class.getName(), double.class.getName()});
+            assertTrue((Double) p99 > 0);
+            assertTrue(((String) server.getAttribute(name, "Report")).contains("Graph.addEdge"));
+        } catch (JMException e) {
+            fail("should not reach this point");
+        }
+    }
+
+    // MODIFIES: g
+    // EFFECTS: adds the vertices labelled 1..n to g, each joined to the one before
+    private void addPath(Graph g, int n) {
+        try {
+            for (int i = 1; i <= n; i++) {
+                g.addVertex(new Vertex(i, 0, 0));
+                if (i > 1) {
+                    g.addEdge(i - 1, i);
+                }
+            }
+        } catch (GraphException ge) {
+            fail("should not reach this point");
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package test.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.*;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+
+import model.Edge;
+import model.Graph;
+import model.Vertex;
+import persistence.PngWriter;
+import ui.GraphExporter;
+
+public class PngWriterTest {
+    @Test
+    public void testRowsReadBack() {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            PngWriter png = new PngWriter(out, 300, 200);
+            int[] row = new int[300];
+            for (int y = 0; y < 200; y++) {
+                for (int x = 0; x < 300; x++) {
+                    row[x] = (x << 16) | (y << 8) | ((x + y) & 0xff);
+                }
+                png.writeRow(row, 0);
+            }
+            png.close();
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+            assertEquals(300, image.getWidth());
+            assertEquals(200, image.getHeight());
+            assertEquals(0x000000, image.getRGB(0, 0) & 0xffffff);
+            assertEquals((17 << 16) | (123 << 8) | 140, image.getRGB(17, 123) & 0xffffff);
+            assertEquals((299 & 0xff) << 16 | (199 << 8) | ((299 + 199) & 0xff), image.getRGB(299, 199) & 0xffffff);
+        } catch (IOException e) {
+            fail("should not reach this point");
+        }
+    }
+
+    @Test
+    public void testMissingRows() {
+        try {
+            PngWriter png = new PngWriter(new ByteArrayOutputStream(), 10, 10);
+            png.writeRow(new int[10], 0);
+            png.close();
+            fail("should not reach this point");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testExportAcrossTiles() {
+        Graph g = new Graph();
+        Vertex left = new Vertex(1, 0, 0);
+        Vertex right = new Vertex(2, 1000, 0);
+        try {
+            g.addVertex(left);
+            g.addVertex(right);
+            g.addEdge(1, 2);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            new GraphExporter(g, 1100, 600).export(out);
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+            assertEquals(1100, image.getWidth());
+            assertEquals(600, image.getHeight());
+            assertEquals(Color.white.getRGB(), image.getRGB(0, 0));
+            assertEquals(Color.white.getRGB(), image.getRGB(1099, 599));
+            assertTrue(crossesColumn(image, GraphExporter.TILE_SIZE, Edge.EDGE_COLOR));
+            assertEquals(left.getDisplayColor().getRGB(), image.getRGB(59, 312));
+            assertEquals(right.getDisplayColor().getRGB(), image.getRGB(1041, 312));
+        } catch (Exception e) {
+            fail("should not reach this point");
+        }
+    }
+
+    // EFFECTS: returns true if some pixel of the given column of image has the given color
+    private boolean crossesColumn(BufferedImage image, int x, Color color) {
+        for (int y = 0; y < image.getHeight(); y++) {
+            if (image.getRGB(x, y) == color.getRGB()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
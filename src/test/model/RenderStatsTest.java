@@ -0,0 +1,79 @@
+package test.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Test;
+
+import model.Graph;
+import model.Vertex;
+import model.exception.GraphException;
+import ui.GraphRenderer;
+import ui.RenderStats;
+
+public class RenderStatsTest {
+    @Test
+    public void testPercentilesOverWindow() {
+        RenderStats stats = new RenderStats();
+        assertEquals(0, stats.framePercentile(50));
+        for (int i = 1; i <= 100; i++) {
+            stats.frameDrawn(i, 0, 0, 0, 0, 0);
+            stats.hitTested(1000 * i);
+        }
+        assertEquals(50, stats.framePercentile(50));
+        assertEquals(99, stats.framePercentile(99));
+        assertEquals(50000, stats.hitPercentile(50));
+        for (int i = 0; i < 1000; i++) {
+            stats.frameDrawn(7, 0, 0, 0, 0, 0); // pushes the earlier frames out of the window
+        }
+        assertEquals(7, stats.framePercentile(99));
+    }
+
+    @Test
+    public void testDraw() {
+        RenderStats stats = new RenderStats();
+        stats.frameDrawn(1_500_000, 10, 2, 30, 4, 6);
+        stats.hitTested(300);
+        stats.hitTested(2_460);
+        String[] lines = stats.toString().split("\n");
+        assertEquals("Frame: p50 1.5 ms, p99 1.5 ms over 1 frames", lines[0]);
+        assertEquals("Vertices: 10 drawn, 2 culled    Edges: 30 drawn, 4 culled, 6 tiles", lines[1]);
+        assertEquals("Hit test: p50 0.3 us, p99 2.5 us", lines[2]);
+        BufferedImage image = new BufferedImage(500, 100, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        stats.draw(g, 0, 0);
+        stats.draw(g, 0, 0);
+        g.dispose();
+        assertNotEquals(0, image.getRGB(1, 1)); // the background
+    }
+
+    @Test
+    public void testRendererCounts() {
+        Graph graph = new Graph();
+        try {
+            graph.addVertex(new Vertex(1, 10, 10));
+            graph.addVertex(new Vertex(2, 20, 10));
+            graph.addVertex(new Vertex(3, 5000, 5000));
+            graph.addVertex(new Vertex(4, 6000, 5000));
+            graph.addEdge(1, 2);
+            graph.addEdge(2, 3);
+            graph.addEdge(3, 4);
+        } catch (GraphException ge) {
+            fail("should not reach this point");
+        }
+        GraphRenderer renderer = new GraphRenderer();
+        Graphics2D g = new BufferedImage(200, 200, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        g.setClip(new Rectangle(0, 0, 200, 200));
+        renderer.draw(g, graph, null);
+        assertEquals(2, renderer.getDrawnVertices());
+        assertEquals(2, renderer.getCulledVertices());
+        assertEquals(2, renderer.getDrawnEdges()); // 2-3 crosses the visible area
+        assertEquals(1, renderer.getCulledEdges());
+        renderer.resetCounts();
+        assertEquals(0, renderer.getDrawnVertices() + renderer.getCulledEdges());
+        g.dispose();
+    }
+}
@@ -0,0 +1,112 @@
+package test.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Point;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.Graph;
+import model.algorithm.ResultCache;
+
+public class ResultCacheTest {
+    private Graph graph;
+    private ResultCache cache;
+    private AtomicInteger runs;
+
+    @BeforeEach
+    public void runBefore() {
+        graph = new Graph();
+        try {
+            graph.addVertex(1);
+            graph.addVertex(2);
+        } catch (Exception e) {
+            fail("should not reach this point");
+        }
+        cache = new ResultCache(2);
+        runs = new AtomicInteger();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: asks cache for the result of algorithm on graph, counting the runs it needs
+    private Integer query(String algorithm, Object... parameters) {
+        return cache.get(graph, algorithm, () -> runs.incrementAndGet(), parameters);
+    }
+
+    @Test
+    public void testVersionCounts() {
+        long before = graph.getVersion();
+        try {
+            graph.addEdge(1, 2);
+            graph.removeEdge(1, 2);
+            graph.removeVertex(2);
+        } catch (Exception e) {
+            fail("should not reach this point");
+        }
+        assertEquals(before + 3, graph.getVersion());
+    }
+
+    @Test
+    public void testRepeatedQueryHits() {
+        assertEquals(1, query("PageRank"));
+        assertEquals(1, query("PageRank"));
+        assertEquals(2, query("Betweenness", 64, 0));
+        assertEquals(2, query("Betweenness", 64, 0));
+        assertEquals(3, query("Betweenness", 32, 0));
+        assertEquals(3, runs.get());
+        assertEquals(2, cache.numOfHits());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEvicted() {
+        query("PageRank");
+        query("Degree");
+        query("PageRank");
+        query("Clustering");
+        assertEquals(2, cache.size());
+        assertEquals(1, query("PageRank"));
+        assertEquals(4, query("Degree"));
+    }
+
+    @Test
+    public void testChangeInvalidates() {
+        query("PageRank");
+        try {
+            graph.addEdge(1, 2);
+        } catch (Exception e) {
+            fail("should not reach this point");
+        }
+        assertEquals(2, query("PageRank"));
+        assertEquals(1, cache.size());
+        graph = new Graph();
+        assertEquals(3, query("PageRank"));
+    }
+
+    @Test
+    public void testMovesKeepResults() {
+        query("PageRank");
+        long before = graph.getTopologyVersion();
+        graph.vertexWithLabel(1).setPos(new Point(40, 50));
+        assertEquals(before, graph.getTopologyVersion());
+        assertEquals(1, query("PageRank"));
+        try {
+            graph.vertexWithLabel(2).setLabel(3);
+        } catch (Exception e) {
+            fail("should not reach this point");
+        }
+        assertEquals(before + 1, graph.getTopologyVersion());
+        assertEquals(2, query("PageRank"));
+    }
+
+    @Test
+    public void testPeekComputesNothing() {
+        assertNull(cache.peek(graph, "PageRank"));
+        query("PageRank");
+        Integer cached = cache.peek(graph, "PageRank");
+        assertEquals(1, cached);
+        assertNull(cache.peek(graph, "Betweenness", 64, 0));
+        assertEquals(1, runs.get());
+    }
+}
@@ -0,0 +1,92 @@
+package test.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.Graph;
+import model.algorithm.Triangles;
+import model.exception.GraphException;
+
+public class TrianglesTest {
+    private static final double DELTA = 1e-9;
+    private Graph g;
+
+    @BeforeEach
+    public void createGraph() {
+        g = new Graph();
+    }
+
+    // EFFECTS: bypasses repetitive try-catch blocks
+    private void safeAddEdge(int firstLabel, int secondLabel) {
+        try {
+            for (int label : new int[] {firstLabel, secondLabel}) {
+                if (!g.containsLabel(label)) {
+                    g.addVertex(label);
+                }
+            }
+            g.addEdge(firstLabel, secondLabel);
+        } catch (GraphException ge) {
+            fail("should not reach this point");
+        }
+    }
+
+    @Test
+    public void testCompleteGraph() {
+        for (int i = 1; i <= 4; i++) {
+            for (int j = i + 1; j <= 4; j++) {
+                safeAddEdge(i, j);
+            }
+        }
+        Triangles triangles = new Triangles(g);
+        assertEquals(triangles.numOfTriangles(), 4);
+        assertEquals(triangles.globalClustering(), 1, DELTA);
+        assertEquals(triangles.averageClustering(), 1, DELTA);
+        assertEquals(triangles.trianglesByLabel().get(1), 3, DELTA);
+    }
+
+    @Test
+    public void testIgnoresLoopsAndParallelEdges() {
+        safeAddEdge(1, 2);
+        safeAddEdge(2, 3);
+        safeAddEdge(3, 1);
+        safeAddEdge(3, 4);
+        safeAddEdge(1, 2);
+        safeAddEdge(4, 4);
+        Triangles triangles = new Triangles(g);
+        assertEquals(triangles.numOfTriangles(), 1);
+        Map<Integer, Double> local = triangles.localClusteringByLabel();
+        assertEquals(local.get(1), 1, DELTA);
+        assertEquals(local.get(3), 1.0 / 3, DELTA);
+        assertEquals(local.get(4), 0, DELTA);
+        assertEquals(triangles.globalClustering(), 3.0 / 5, DELTA);
+    }
+
+    @Test
+    public void testMatchesBruteForce() {
+        Random random = new Random(7);
+        boolean[][] adjacent = new boolean[41][41];
+        for (int i = 0; i < 300; i++) {
+            int first = random.nextInt(40) + 1;
+            int second = random.nextInt(40) + 1;
+            safeAddEdge(first, second);
+            adjacent[first][second] = first != second;
+            adjacent[second][first] = first != second;
+        }
+        long expected = 0;
+        for (int a = 1; a <= 40; a++) {
+            for (int b = a + 1; b <= 40; b++) {
+                for (int c = b + 1; c <= 40; c++) {
+                    if (adjacent[a][b] && adjacent[b][c] && adjacent[a][c]) {
+                        expected++;
+                    }
+                }
+            }
+        }
+        assertEquals(new Triangles(g).numOfTriangles(), expected);
+    }
+}